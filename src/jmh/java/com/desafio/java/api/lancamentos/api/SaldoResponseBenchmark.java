@@ -0,0 +1,59 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.model.SaldoResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do {@link SaldoResponse} (incluindo o link self) a cada resposta.
+ * {@code linkPorBuilder} é a referência: o link montado com um {@link ServletUriComponentsBuilder}
+ * por resposta, contra o template pré-resolvido de {@link LinkSaldo}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaldoResponseBenchmark {
+
+	private SaldoConta saldo;
+
+	@Setup
+	public void setUp() {
+		saldo = new SaldoConta("0001-123456-7", 123025);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/contas/0001-123456-7/saldo");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@TearDown
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Benchmark
+	public SaldoResponse mapToSaldoResponse() {
+		return ContasApiDelegateImpl.mapToSaldoResponse(saldo);
+	}
+
+	@Benchmark
+	public URI linkPorBuilder() {
+		return ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/api/v1/contas/{numeroConta}/saldo")
+				.buildAndExpand(saldo.numeroConta())
+				.toUri();
+	}
+
+	@Benchmark
+	public URI linkPorTemplate() {
+		return LinkSaldo.para(saldo.numeroConta());
+	}
+}
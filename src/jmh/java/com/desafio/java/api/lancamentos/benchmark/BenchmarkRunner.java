@@ -0,0 +1,38 @@
+package com.desafio.java.api.lancamentos.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada dos benchmarks (perfil Maven {@code jmh}).
+ *
+ * Aceita as mesmas opções da linha de comando do JMH e, por padrão, liga o
+ * profiler de GC (taxa de alocação) e grava o resultado em target/jmh-result.json,
+ * para que duas execuções possam ser comparadas.
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+
+		ChainedOptionsBuilder opcoes = new OptionsBuilder()
+				.parent(linhaDeComando)
+				.addProfiler(GCProfiler.class);
+
+		if (!linhaDeComando.getResultFormat().hasValue()) {
+			opcoes.resultFormat(ResultFormatType.JSON);
+		}
+		if (!linhaDeComando.getResult().hasValue()) {
+			opcoes.result("target/jmh-result.json");
+		}
+
+		new Runner(opcoes.build()).run();
+	}
+}
@@ -0,0 +1,61 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Laço de débito/crédito em centavos ({@code long}) contra o código anterior com
+ * BigDecimal (parse + compareTo + subtract/add por operação). A alocação por operação
+ * sai do profiler de GC ({@code gc.alloc.rate.norm}), ligado no perfil {@code jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CentavosBenchmark {
+
+	private static final String[] VALORES = { "1.00", "150.75", "0.35", "20.10" };
+
+	private Conta conta;
+	private BigDecimal saldo;
+	private int operacao;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		conta = new Conta();
+		conta.creditar(Centavos.parse("1000000.00"));
+		saldo = new BigDecimal("1000000.00");
+		operacao = 0;
+	}
+
+	@Benchmark
+	public long centavos() {
+		int i = operacao++;
+		long valor = Centavos.parse(VALORES[i & 3]);
+		if ((i & 1) == 0) {
+			conta.debitar(valor);
+		} else {
+			conta.creditar(valor);
+		}
+		return conta.getSaldoEmCentavos();
+	}
+
+	@Benchmark
+	public BigDecimal bigDecimal() {
+		int i = operacao++;
+		BigDecimal valor = new BigDecimal(VALORES[i & 3]);
+		if ((i & 1) == 0) {
+			if (saldo.compareTo(valor) < 0) {
+				throw new IllegalStateException();
+			}
+			saldo = saldo.subtract(valor);
+		} else {
+			saldo = saldo.add(valor);
+		}
+		return saldo;
+	}
+}
@@ -0,0 +1,45 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regras de débito/crédito da entidade {@link Conta}, isoladas do banco.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContaBenchmark {
+
+	private Conta conta;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		conta = new Conta();
+		conta.creditar(Centavos.parse("1000000000.00"));
+	}
+
+	@Benchmark
+	public long debitar() {
+		conta.debitar(1);
+		return conta.getSaldoEmCentavos();
+	}
+
+	@Benchmark
+	public long creditar() {
+		conta.creditar(1);
+		return conta.getSaldoEmCentavos();
+	}
+
+	@Benchmark
+	public void debitarECreditar(Blackhole blackhole) {
+		conta.debitar(15075);
+		conta.creditar(15075);
+		blackhole.consume(conta.getSaldoEmCentavos());
+	}
+}
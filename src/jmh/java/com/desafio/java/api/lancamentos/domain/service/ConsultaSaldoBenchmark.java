@@ -0,0 +1,106 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.LancamentosBancariosApplication;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.LinhaSaldo;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura do saldo no miss do cache (H2 embarcado, cache de saldo, outbox e resumos
+ * desligados). Os três braços rodam na mesma transação somente leitura:
+ * {@code entidade} e {@code projecao} são a mesma consulta JPQL por número da conta,
+ * carregando a {@link Conta} gerenciada ou só as colunas do saldo ({@link LinhaSaldo},
+ * a consulta de {@link ContaRepository#buscarSaldo}), então a diferença entre eles é
+ * só a projeção. {@code metodoDerivado} é o caminho antigo do GET /saldo
+ * ({@link ContaRepository#findByNumeroConta}), que também paga a montagem da consulta
+ * derivada a cada chamada. Rodar com {@code -prof gc} para comparar a alocação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+// O Hibernate leva alguns segundos para estabilizar (cache de planos de consulta, JIT).
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ConsultaSaldoBenchmark {
+
+	private static final String NUMERO_CONTA = "JMH-SALDO";
+
+	private static final String ENTIDADE = "select c from Conta c where c.numeroConta = :numeroConta";
+	private static final String PROJECAO = "select new com.desafio.java.api.lancamentos.domain.model.LinhaSaldo("
+			+ "c.id, c.numeroConta, c.saldo, c.parcelasSaldo, c.version) "
+			+ "from Conta c where c.numeroConta = :numeroConta";
+
+	private ConfigurableApplicationContext contexto;
+	private ContaRepository contaRepository;
+	private EntityManager entityManager;
+	private TransactionTemplate leitura;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		// Como argumentos (e não .properties), para valer sobre o application.yml.
+		// Sem tarefas agendadas concorrendo pelo banco durante a medição.
+		contexto = new SpringApplicationBuilder(LancamentosBancariosApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.datasource.url=jdbc:h2:mem:jmh-saldo",
+						"--spring.jpa.show-sql=false",
+						"--lancamentos.cache-saldo.habilitado=false",
+						"--lancamentos.outbox.habilitado=false",
+						"--lancamentos.outbox.intervalo=PT24H",
+						"--lancamentos.resumos.habilitado=false",
+						"--lancamentos.resumos.intervalo=PT24H",
+						"--lancamentos.idempotencia.intervalo-limpeza=PT24H",
+						"--logging.level.root=WARN");
+		contaRepository = contexto.getBean(ContaRepository.class);
+		entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+		leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+		leitura.setReadOnly(true);
+
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal("1230.25")));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public SaldoConta entidade() {
+		return leitura.execute(status -> SaldoConta.de(entityManager.createQuery(ENTIDADE, Conta.class)
+				.setParameter("numeroConta", NUMERO_CONTA)
+				.getSingleResult()));
+	}
+
+	@Benchmark
+	public SaldoConta projecao() {
+		return leitura.execute(status -> {
+			LinhaSaldo linha = entityManager.createQuery(PROJECAO, LinhaSaldo.class)
+					.setParameter("numeroConta", NUMERO_CONTA)
+					.getSingleResult();
+			return new SaldoConta(linha.numeroConta(), linha.saldo());
+		});
+	}
+
+	@Benchmark
+	public SaldoConta metodoDerivado() {
+		return leitura.execute(status -> SaldoConta.de(contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow()));
+	}
+}
@@ -0,0 +1,100 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.LancamentosBancariosApplication;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ContaService#processarTransacoes} completo (JPA + H2 embarcado), variando
+ * o tamanho do lote e o número de threads. Cada thread usa a sua própria conta,
+ * então o resultado mede o custo do pipeline e não conflitos de @Version.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessarTransacoesBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Aplicacao {
+
+		@Param({ "1", "10", "100" })
+		public int tamanhoLote;
+
+		ConfigurableApplicationContext contexto;
+		ContaService contaService;
+		ContaRepository contaRepository;
+		List<TransacaoRequest> requests;
+		final AtomicInteger proximaConta = new AtomicInteger();
+
+		@Setup(Level.Trial)
+		public void iniciar() {
+			contexto = new SpringApplicationBuilder(LancamentosBancariosApplication.class)
+					.web(WebApplicationType.NONE)
+					.properties(
+							"spring.datasource.url=jdbc:h2:mem:jmh;LOCK_TIMEOUT=10000",
+							"spring.jpa.show-sql=false",
+							"logging.level.root=WARN")
+					.run();
+			contaService = contexto.getBean(ContaService.class);
+			contaRepository = contexto.getBean(ContaRepository.class);
+
+			requests = new ArrayList<>(tamanhoLote);
+			for (int i = 0; i < tamanhoLote; i++) {
+				requests.add(new TransacaoRequest()
+						.tipo(TransacaoRequest.TipoEnum.CREDITO)
+						.valor("1.00"));
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void encerrar() {
+			contexto.close();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ContaDaThread {
+
+		String numeroConta;
+
+		@Setup(Level.Trial)
+		public void criar(Aplicacao aplicacao) {
+			numeroConta = "JMH-" + aplicacao.proximaConta.incrementAndGet();
+
+			Conta conta = new Conta();
+			ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+			aplicacao.contaRepository.saveAndFlush(conta);
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public Conta umaThread(Aplicacao aplicacao, ContaDaThread conta) {
+		return aplicacao.contaService.processarTransacoes(conta.numeroConta, aplicacao.requests);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Conta quatroThreads(Aplicacao aplicacao, ContaDaThread conta) {
+		return aplicacao.contaService.processarTransacoes(conta.numeroConta, aplicacao.requests);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public Conta dezesseisThreads(Aplicacao aplicacao, ContaDaThread conta) {
+		return aplicacao.contaService.processarTransacoes(conta.numeroConta, aplicacao.requests);
+	}
+}
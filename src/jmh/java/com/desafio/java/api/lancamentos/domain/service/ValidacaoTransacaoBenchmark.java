@@ -0,0 +1,49 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de cada {@link TransacaoRequest} no laço do {@link ContaService}:
+ * leitura do valor (centavos x BigDecimal) e validação do tipo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoTransacaoBenchmark {
+
+	@Param({ "1.00", "150.75", "98765432.10" })
+	private String valor;
+
+	private TransacaoRequest request;
+
+	@Setup
+	public void setUp() {
+		request = new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor(valor);
+	}
+
+	@Benchmark
+	public long parseCentavos() {
+		return Centavos.parse(request.getValor());
+	}
+
+	@Benchmark
+	public BigDecimal parseBigDecimal() {
+		return new BigDecimal(request.getValor());
+	}
+
+	@Benchmark
+	public TipoTransacao validarTipo() {
+		return ContaService.validarTipoTransacao(request.getTipo());
+	}
+}
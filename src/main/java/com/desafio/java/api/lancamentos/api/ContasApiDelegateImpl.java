@@ -1,18 +1,50 @@
 package com.desafio.java.api.lancamentos.api;
 
-import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoVersionado;
 import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.ExtratoService;
+import com.desafio.java.api.lancamentos.domain.service.IdempotenciaService;
+import com.desafio.java.api.lancamentos.domain.service.Operacao;
+import com.desafio.java.api.lancamentos.domain.service.OperacaoService;
+import com.desafio.java.api.lancamentos.domain.service.PaginaExtrato;
+import com.desafio.java.api.lancamentos.domain.service.ParcelasSaldoService;
+import com.desafio.java.api.lancamentos.domain.service.ResumoDiarioService;
+import com.desafio.java.api.lancamentos.domain.service.ResumoPeriodo;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorTransacoes;
+import com.desafio.java.api.lancamentos.model.ExtratoResponse;
+import com.desafio.java.api.lancamentos.model.ItemSaldo;
+import com.desafio.java.api.lancamentos.model.LancamentoExtrato;
 import com.desafio.java.api.lancamentos.model.Links;
 import com.desafio.java.api.lancamentos.model.LinksSelf;
+import com.desafio.java.api.lancamentos.model.OperacaoResponse;
+import com.desafio.java.api.lancamentos.model.ParcelasRequest;
+import com.desafio.java.api.lancamentos.model.ResumoDia;
+import com.desafio.java.api.lancamentos.model.ResumoResponse;
 import com.desafio.java.api.lancamentos.model.SaldoResponse;
+import com.desafio.java.api.lancamentos.model.SaldosRequest;
+import com.desafio.java.api.lancamentos.model.SaldosResponse;
+import com.desafio.java.api.lancamentos.model.TotaisResumo;
 import com.desafio.java.api.lancamentos.model.TransacaoRequest;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -21,39 +53,241 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class ContasApiDelegateImpl implements ContasApiDelegate {
 
 	private final ContaService contaService;
+	private final ExecutorTransacoes executorTransacoes;
+	private final ExtratoService extratoService;
+	private final IdempotenciaService idempotenciaService;
+	private final OperacaoService operacaoService;
+	private final ParcelasSaldoService parcelasSaldoService;
+	private final ResumoDiarioService resumoDiarioService;
 
-	public ContasApiDelegateImpl(ContaService contaService) {
+	public ContasApiDelegateImpl(ContaService contaService, ExecutorTransacoes executorTransacoes,
+								 ExtratoService extratoService, IdempotenciaService idempotenciaService,
+								 OperacaoService operacaoService, ParcelasSaldoService parcelasSaldoService,
+								 ResumoDiarioService resumoDiarioService) {
 		this.contaService = contaService;
+		this.executorTransacoes = executorTransacoes;
+		this.extratoService = extratoService;
+		this.idempotenciaService = idempotenciaService;
+		this.operacaoService = operacaoService;
+		this.parcelasSaldoService = parcelasSaldoService;
+		this.resumoDiarioService = resumoDiarioService;
 	}
 
 	@Override
-	public ResponseEntity<SaldoResponse> getSaldo(String numeroConta) {
-		Conta conta = contaService.getContaParaSaldo(numeroConta);
+	public ResponseEntity<SaldoResponse> getSaldo(String numeroConta, String ifNoneMatch) {
+		Optional<SaldoConta> emMemoria = executorTransacoes.consultarSaldo(numeroConta);
+		if (emMemoria.isPresent()) {
+			// Modo journal: o saldo em memória está à frente da @Version do banco, então vai sem ETag.
+			return ResponseEntity.ok(mapToSaldoResponse(emMemoria.get()));
+		}
 
-		SaldoResponse response = mapToSaldoResponse(conta);
+		if (ifNoneMatch != null) {
+			Optional<Long> versao = contaService.consultarVersao(numeroConta);
+			if (versao.isPresent() && EtagSaldo.corresponde(ifNoneMatch, versao.get())) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EtagSaldo.de(versao.get())).build();
+			}
+		}
+
+		SaldoVersionado saldo = contaService.consultarSaldoVersionado(numeroConta);
+		ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+		if (saldo.versao() != null) {
+			resposta.eTag(EtagSaldo.de(saldo.versao()));
+		}
+
+		return resposta.body(mapToSaldoResponse(saldo.conta()));
+	}
+
+	@Override
+	public ResponseEntity<SaldosResponse> consultarSaldos(SaldosRequest saldosRequest) {
+		Map<String, SaldoConta> saldos = contaService.consultarSaldos(saldosRequest.getNumerosConta());
+
+		SaldosResponse response = new SaldosResponse();
+		for (String numeroConta : new LinkedHashSet<>(saldosRequest.getNumerosConta())) {
+			// Modo journal: como no GET /saldo, o saldo em memória está à frente do banco.
+			SaldoConta saldo = executorTransacoes.consultarSaldo(numeroConta).orElse(saldos.get(numeroConta));
+			ItemSaldo item = new ItemSaldo(numeroConta,
+					saldo == null ? ItemSaldo.StatusEnum.NAO_ENCONTRADA : ItemSaldo.StatusEnum.ENCONTRADA);
+			if (saldo != null) {
+				item.setResultado(mapToSaldoResponse(saldo));
+			}
+			response.addSaldosItem(item);
+		}
 
 		return ResponseEntity.ok(response);
 	}
 
 	@Override
-	public ResponseEntity<SaldoResponse> realizarTransacoes(String numeroConta, List<TransacaoRequest> transacaoRequest) {
-		Conta contaAtualizada = contaService.processarTransacoes(numeroConta, transacaoRequest);
+	public ResponseEntity<SaldoResponse> realizarTransacoes(String numeroConta, List<TransacaoRequest> transacaoRequest,
+															String idempotencyKey, String ifMatch) {
+		if (ifMatch != null && !EtagSaldo.qualquer(ifMatch)) {
+			return realizarTransacoesSeVersao(numeroConta, transacaoRequest, idempotencyKey, ifMatch);
+		}
 
-		SaldoResponse response = mapToSaldoResponse(contaAtualizada);
+		SaldoConta saldoAtualizado = idempotencyKey == null
+				? executorTransacoes.executar(numeroConta, transacaoRequest)
+				: realizarTransacoesIdempotentes(numeroConta, transacaoRequest, idempotencyKey);
+
+		SaldoResponse response = mapToSaldoResponse(saldoAtualizado);
 
 		return ResponseEntity.ok(response);
 	}
 
-	private SaldoResponse mapToSaldoResponse(Conta conta) {
+	/**
+	 * Idempotency-Key: o registro da chave é gravado na mesma transação que os lançamentos,
+	 * então o pedido vai direto ao banco, com a conta bloqueada, em vez de passar pelo executor
+	 * (que pode aplicá-lo em outra thread ou em lote). No modo journal é recusado: o saldo em
+	 * memória não enxergaria essa escrita.
+	 */
+	private SaldoConta realizarTransacoesIdempotentes(String numeroConta, List<TransacaoRequest> transacaoRequest,
+													  String idempotencyKey) {
+		executorTransacoes.verificarEscritaDireta("Idempotency-Key");
+
+		return idempotenciaService.executar(idempotencyKey, numeroConta, transacaoRequest, registro ->
+				SaldoConta.de(contaService.processarTransacoesComLockPessimista(numeroConta, transacaoRequest, registro)));
+	}
+
+	/**
+	 * If-Match: o pedido vai direto ao banco, com a comparação de versão sob o lock da conta.
+	 * No modo journal é recusado: a @Version do banco não acompanha o saldo em memória.
+	 * O ETag da resposta é a versão gravada (ausente numa repetição servida pela Idempotency-Key).
+	 */
+	private ResponseEntity<SaldoResponse> realizarTransacoesSeVersao(String numeroConta,
+																	 List<TransacaoRequest> transacaoRequest,
+																	 String idempotencyKey, String ifMatch) {
+		executorTransacoes.verificarEscritaDireta("If-Match");
+
+		Set<Long> versoesAceitas = EtagSaldo.versoes(ifMatch, false);
+		AtomicReference<SaldoVersionado> executado = new AtomicReference<>();
+		Function<RegistroIdempotencia, SaldoConta> operacao = registro -> {
+			executado.set(contaService.processarTransacoesSeVersao(numeroConta, transacaoRequest, versoesAceitas, registro));
+			return executado.get().conta();
+		};
+		SaldoConta saldoAtualizado = idempotencyKey == null
+				? operacao.apply(null)
+				: idempotenciaService.executar(idempotencyKey, numeroConta, transacaoRequest, operacao);
+
+		ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+		if (executado.get() != null) {
+			resposta.eTag(EtagSaldo.de(executado.get().versao()));
+		}
+
+		return resposta.body(mapToSaldoResponse(saldoAtualizado));
+	}
+
+	@Override
+	public ResponseEntity<OperacaoResponse> submeterTransacoes(String numeroConta, List<TransacaoRequest> transacaoRequest) {
+		Operacao operacao = operacaoService.submeter(numeroConta, transacaoRequest);
+
+		OperacaoResponse response = OperacoesApiDelegateImpl.mapToOperacaoResponse(operacao);
+
+		return ResponseEntity.accepted()
+				.location(OperacoesApiDelegateImpl.uriOperacao(operacao.id()))
+				.body(response);
+	}
+
+	@Override
+	public ResponseEntity<SaldoResponse> configurarParcelas(String numeroConta, ParcelasRequest parcelasRequest) {
+		executorTransacoes.verificarEscritaDireta("parcelas");
+		SaldoConta saldo = parcelasSaldoService.configurar(numeroConta, parcelasRequest.getParcelas());
+
+		return ResponseEntity.ok(mapToSaldoResponse(saldo));
+	}
+
+	@Override
+	public ResponseEntity<ExtratoResponse> getExtrato(String numeroConta, Integer limite, String cursor) {
+		PaginaExtrato pagina = extratoService.consultar(numeroConta, limite, cursor);
+
+		return ResponseEntity.ok(mapToExtratoResponse(pagina, limite, cursor));
+	}
+
+	@Override
+	public ResponseEntity<ResumoResponse> getResumo(String numeroConta, LocalDate inicio, LocalDate fim) {
+		ResumoPeriodo resumo = resumoDiarioService.resumir(numeroConta, inicio, fim);
+
+		return ResponseEntity.ok(mapToResumoResponse(resumo));
+	}
+
+	ResumoResponse mapToResumoResponse(ResumoPeriodo resumo) {
+		ResumoResponse response = new ResumoResponse();
+		response.setNumeroConta(resumo.numeroConta());
+		response.setInicio(resumo.inicio());
+		response.setFim(resumo.fim());
+		response.setCreditos(mapToTotaisResumo(resumo.creditos()));
+		response.setDebitos(mapToTotaisResumo(resumo.debitos()));
+		response.setLiquido(Centavos.formatar(resumo.liquido()));
+		for (ResumoPeriodo.Dia dia : resumo.dias()) {
+			response.addDiasItem(new ResumoDia(dia.dia(),
+					mapToTotaisResumo(dia.creditos()), mapToTotaisResumo(dia.debitos())));
+		}
+
+		LinksSelf selfLink = new LinksSelf();
+		selfLink.setHref(ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/api/v1/contas/{numeroConta}/resumo")
+				.queryParam("inicio", resumo.inicio())
+				.queryParam("fim", resumo.fim())
+				.buildAndExpand(resumo.numeroConta())
+				.toUri());
+
+		Links linksContainer = new Links();
+		linksContainer.setSelf(selfLink);
+		response.setLinks(linksContainer);
+
+		return response;
+	}
+
+	private static TotaisResumo mapToTotaisResumo(ResumoPeriodo.Totais totais) {
+		return new TotaisResumo(totais.quantidade(), Centavos.formatar(totais.total()));
+	}
+
+	ExtratoResponse mapToExtratoResponse(PaginaExtrato pagina, Integer limite, String cursor) {
+		ExtratoResponse response = new ExtratoResponse();
+		response.setNumeroConta(pagina.numeroConta());
+
+		ZoneId zona = ZoneId.systemDefault();
+		for (ItemExtrato item : pagina.itens()) {
+			response.addLancamentosItem(new LancamentoExtrato(
+					item.id(),
+					LancamentoExtrato.TipoEnum.fromValue(item.tipo().name()),
+					Centavos.formatar(item.valor()),
+					item.dataHoraProcessamento().atZone(zona).toOffsetDateTime()));
+		}
+
+		Links linksContainer = new Links();
+		linksContainer.setSelf(linkExtrato(pagina.numeroConta(), limite, cursor));
+
+		if (pagina.proximo() != null) {
+			String proximoCursor = pagina.proximo().codificar();
+			response.setProximoCursor(proximoCursor);
+			linksContainer.putAdditionalProperty("next", linkExtrato(pagina.numeroConta(), limite, proximoCursor));
+		}
+
+		response.setLinks(linksContainer);
+
+		return response;
+	}
+
+	private LinksSelf linkExtrato(String numeroConta, Integer limite, String cursor) {
+		ServletUriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentContextPath();
+		builder.path("/api/v1/contas/{numeroConta}/extrato");
+		if (limite != null) {
+			builder.queryParam("limite", limite);
+		}
+		if (cursor != null) {
+			builder.queryParam("cursor", cursor);
+		}
+
+		LinksSelf link = new LinksSelf();
+		link.setHref(builder.buildAndExpand(numeroConta).toUri());
+		return link;
+	}
+
+	static SaldoResponse mapToSaldoResponse(SaldoConta conta) {
+		// Link montado a partir do template pré-resolvido (ver LinkSaldo), sem builder por resposta.
+		URI selfUri = LinkSaldo.para(conta.numeroConta());
+
 		SaldoResponse response = new SaldoResponse();
-		response.setNumeroConta(conta.getNumeroConta());
-		response.setSaldo(conta.getSaldo().toPlainString());
-
-		// Manually construct the URI to avoid issues with property placeholders in @RequestMapping
-		URI selfUri = ServletUriComponentsBuilder.fromCurrentContextPath()
-				.path("/api/v1/contas/{numeroConta}/saldo")
-				.buildAndExpand(conta.getNumeroConta())
-				.toUri();
+		response.setNumeroConta(conta.numeroConta());
+		response.setSaldo(Centavos.formatar(conta.saldo()));
 
 		LinksSelf selfLink = new LinksSelf();
 		selfLink.setHref(selfUri);
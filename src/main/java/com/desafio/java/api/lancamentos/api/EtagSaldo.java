@@ -0,0 +1,55 @@
+package com.desafio.java.api.lancamentos.api;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * ETag do saldo: a @Version da conta entre aspas (ex: {@code "42"}).
+ * A versão muda a cada escrita na linha da conta, então ETags iguais significam o mesmo saldo.
+ */
+public final class EtagSaldo {
+
+	private EtagSaldo() {
+	}
+
+	public static String de(long versao) {
+		return "\"" + versao + "\"";
+	}
+
+	static boolean qualquer(String cabecalho) {
+		return "*".equals(cabecalho.trim());
+	}
+
+	/**
+	 * Versões listadas num If-Match ou If-None-Match. Entradas em outro formato são ignoradas;
+	 * ETags fracos ({@code W/}) só contam com {@code aceitarFracos} (o If-Match exige comparação forte).
+	 */
+	static Set<Long> versoes(String cabecalho, boolean aceitarFracos) {
+		Set<Long> versoes = new HashSet<>();
+		for (String entrada : cabecalho.split(",")) {
+			String etag = entrada.trim();
+			if (etag.startsWith("W/")) {
+				if (!aceitarFracos) {
+					continue;
+				}
+				etag = etag.substring(2);
+			}
+			if (etag.length() < 3 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+				continue;
+			}
+			try {
+				versoes.add(Long.parseLong(etag.substring(1, etag.length() - 1)));
+			} catch (NumberFormatException e) {
+				// ETag que não é deste recurso: não corresponde a nenhuma versão.
+			}
+		}
+		return versoes;
+	}
+
+	/**
+	 * If-None-Match: comparação fraca, {@code *} corresponde a qualquer versão.
+	 */
+	static boolean corresponde(String ifNoneMatch, long versao) {
+		return qualquer(ifNoneMatch) || versoes(ifNoneMatch, true).contains(versao);
+	}
+}
@@ -0,0 +1,33 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.infrastructure.eventos.CanalEventosSaldo;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stream SSE dos eventos de saldo alterado, para quem hoje consulta o GET /saldo em polling.
+ *
+ * Fica fora do contrato gerado pelo OpenAPI porque a resposta é um fluxo sem fim
+ * ({@code text/event-stream}), e não um corpo único.
+ */
+@RestController
+@RequestMapping("${openapi.aPIDeLanamentosBancrios.base-path:/api/v1}")
+public class EventosSaldoController {
+
+	private final CanalEventosSaldo canal;
+
+	public EventosSaldoController(CanalEventosSaldo canal) {
+		this.canal = canal;
+	}
+
+	@GetMapping(path = "/eventos/saldos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter assinar(@RequestParam(required = false) String numeroConta,
+							  @RequestHeader(name = "Last-Event-ID", required = false) Long ultimoId) {
+		return canal.assinar(numeroConta, ultimoId);
+	}
+}
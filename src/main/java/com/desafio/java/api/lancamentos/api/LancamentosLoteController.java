@@ -0,0 +1,39 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.domain.service.lote.ImportadorLote;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Importação em massa de lançamentos de várias contas em NDJSON.
+ *
+ * Fica fora do contrato gerado pelo OpenAPI porque precisa ler o corpo e escrever a
+ * resposta como fluxo: o conversor de mensagens do Spring materializaria o corpo inteiro.
+ */
+@RestController
+@RequestMapping("${openapi.aPIDeLanamentosBancrios.base-path:/api/v1}")
+public class LancamentosLoteController {
+
+	static final String NDJSON = "application/x-ndjson";
+
+	private final ImportadorLote importadorLote;
+
+	public LancamentosLoteController(ImportadorLote importadorLote) {
+		this.importadorLote = importadorLote;
+	}
+
+	@PostMapping(path = "/lancamentos/lote", consumes = NDJSON)
+	public void importar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(NDJSON);
+		response.setCharacterEncoding("UTF-8");
+
+		importadorLote.importar(request.getInputStream(), response.getOutputStream());
+	}
+}
@@ -0,0 +1,81 @@
+package com.desafio.java.api.lancamentos.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Link self do saldo ({@code /api/v1/contas/{numeroConta}/saldo}) a partir de um template
+ * resolvido uma vez, em vez de um {@code ServletUriComponentsBuilder} por resposta.
+ *
+ * A origem (esquema, host, porta e context path) é a mesma do
+ * {@code ServletUriComponentsBuilder.fromCurrentContextPath()}; o prefixo montado para ela
+ * fica guardado e é reutilizado enquanto as requisições chegarem pela mesma origem,
+ * então cada link custa só a concatenação do número da conta e o {@link URI}.
+ */
+final class LinkSaldo {
+
+	private static final String CAMINHO = "/api/v1/contas/";
+	private static final String SUFIXO = "/saldo";
+
+	private static volatile Origem ultima;
+
+	private LinkSaldo() {
+	}
+
+	static URI para(String numeroConta) {
+		return URI.create(prefixo() + UriUtils.encodePathSegment(numeroConta, StandardCharsets.UTF_8) + SUFIXO);
+	}
+
+	private static String prefixo() {
+		HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+		String esquema = request.getScheme();
+		String host = request.getServerName();
+		int porta = request.getServerPort();
+		String contextPath = request.getContextPath();
+
+		Origem origem = ultima;
+		if (origem == null || !origem.de(esquema, host, porta, contextPath)) {
+			origem = new Origem(esquema, host, porta, contextPath);
+			ultima = origem;
+		}
+		return origem.prefixo;
+	}
+
+	private static final class Origem {
+
+		private final String esquema;
+		private final String host;
+		private final int porta;
+		private final String contextPath;
+		private final String prefixo;
+
+		Origem(String esquema, String host, int porta, String contextPath) {
+			this.esquema = esquema;
+			this.host = host;
+			this.porta = porta;
+			this.contextPath = contextPath;
+
+			StringBuilder sb = new StringBuilder(esquema).append("://");
+			sb.append(host.indexOf(':') >= 0 && !host.startsWith("[") ? "[" + host + "]" : host);
+			boolean portaPadrao = porta <= 0
+					|| ("http".equals(esquema) && porta == 80)
+					|| ("https".equals(esquema) && porta == 443);
+			if (!portaPadrao) {
+				sb.append(':').append(porta);
+			}
+			this.prefixo = sb.append(UriUtils.encodePath(contextPath, StandardCharsets.UTF_8)).append(CAMINHO).toString();
+		}
+
+		boolean de(String esquema, String host, int porta, String contextPath) {
+			return this.porta == porta
+					&& this.esquema.equals(esquema)
+					&& this.host.equals(host)
+					&& this.contextPath.equals(contextPath);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.api.exception.RestApiExceptionHandler;
+import com.desafio.java.api.lancamentos.domain.service.Operacao;
+import com.desafio.java.api.lancamentos.domain.service.OperacaoService;
+import com.desafio.java.api.lancamentos.model.ErrorResponse;
+import com.desafio.java.api.lancamentos.model.Links;
+import com.desafio.java.api.lancamentos.model.LinksSelf;
+import com.desafio.java.api.lancamentos.model.OperacaoResponse;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+@Service
+public class OperacoesApiDelegateImpl implements OperacoesApiDelegate {
+
+	private final OperacaoService operacaoService;
+	private final RestApiExceptionHandler exceptionHandler;
+
+	public OperacoesApiDelegateImpl(OperacaoService operacaoService, RestApiExceptionHandler exceptionHandler) {
+		this.operacaoService = operacaoService;
+		this.exceptionHandler = exceptionHandler;
+	}
+
+	@Override
+	public ResponseEntity<OperacaoResponse> getOperacao(UUID idOperacao) {
+		return operacaoService.consultar(idOperacao)
+				.map(operacao -> {
+					OperacaoResponse response = mapToOperacaoResponse(operacao);
+					if (operacao.falha() != null) {
+						response.setErro(mapToErrorResponse(operacao));
+					}
+					return ResponseEntity.ok(response);
+				})
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	static OperacaoResponse mapToOperacaoResponse(Operacao operacao) {
+		OperacaoResponse response = new OperacaoResponse(operacao.id(), operacao.numeroConta(),
+				OperacaoResponse.StatusEnum.fromValue(operacao.status().name()));
+
+		if (operacao.resultado() != null) {
+			response.setResultado(ContasApiDelegateImpl.mapToSaldoResponse(operacao.resultado()));
+		}
+
+		LinksSelf selfLink = new LinksSelf();
+		selfLink.setHref(uriOperacao(operacao.id()));
+
+		Links linksContainer = new Links();
+		linksContainer.setSelf(selfLink);
+		response.setLinks(linksContainer);
+
+		return response;
+	}
+
+	static URI uriOperacao(UUID id) {
+		return ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/api/v1/operacoes/{idOperacao}")
+				.buildAndExpand(id)
+				.toUri();
+	}
+
+	/**
+	 * O mesmo corpo que o RestApiExceptionHandler daria ao POST /transacoes síncrono,
+	 * com o path do pedido assíncrono.
+	 */
+	private ErrorResponse mapToErrorResponse(Operacao operacao) {
+		ServletWebRequest request = new ServletWebRequest(
+				((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest());
+
+		ErrorResponse errorResponse = exceptionHandler.corpoDoErro(operacao.falha().comoExcecao(), request);
+		errorResponse.setPath("/api/v1/contas/" + operacao.numeroConta() + "/transacoes/assincronas");
+		return errorResponse;
+	}
+}
@@ -0,0 +1,39 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.ResultadoTransferencia;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorTransacoes;
+import com.desafio.java.api.lancamentos.model.TransferenciaRequest;
+import com.desafio.java.api.lancamentos.model.TransferenciaResponse;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TransferenciasApiDelegateImpl implements TransferenciasApiDelegate {
+
+	private final ContaService contaService;
+	private final ExecutorTransacoes executorTransacoes;
+
+	public TransferenciasApiDelegateImpl(ContaService contaService, ExecutorTransacoes executorTransacoes) {
+		this.contaService = contaService;
+		this.executorTransacoes = executorTransacoes;
+	}
+
+	@Override
+	public ResponseEntity<TransferenciaResponse> realizarTransferencia(TransferenciaRequest transferenciaRequest) {
+		executorTransacoes.verificarEscritaDireta("transferência");
+
+		ResultadoTransferencia resultado = contaService.transferir(
+				transferenciaRequest.getContaOrigem(),
+				transferenciaRequest.getContaDestino(),
+				transferenciaRequest.getValor());
+
+		TransferenciaResponse response = new TransferenciaResponse(
+				resultado.idTransferencia(),
+				ContasApiDelegateImpl.mapToSaldoResponse(resultado.origem()),
+				ContasApiDelegateImpl.mapToSaldoResponse(resultado.destino()));
+
+		return ResponseEntity.ok(response);
+	}
+}
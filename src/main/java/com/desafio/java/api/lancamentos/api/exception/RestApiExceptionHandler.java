@@ -1,7 +1,12 @@
 package com.desafio.java.api.lancamentos.api.exception;
 
+import com.desafio.java.api.lancamentos.api.EtagSaldo;
+import com.desafio.java.api.lancamentos.domain.exception.ChaveIdempotenciaReutilizadaException;
 import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.EscritaIndisponivelException;
+import com.desafio.java.api.lancamentos.domain.exception.FilaOperacoesCheiaException;
 import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.exception.VersaoDivergenteException;
 import com.desafio.java.api.lancamentos.model.ErrorResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -10,21 +15,50 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.ReflectionUtils;
 
+import java.lang.reflect.Method;
 import java.time.OffsetDateTime;
 
 
 @ControllerAdvice
 public class RestApiExceptionHandler extends ResponseEntityExceptionHandler {
 
+	private static final ExceptionHandlerMethodResolver HANDLERS =
+			new ExceptionHandlerMethodResolver(RestApiExceptionHandler.class);
+
 	/**
-	 * Captura exceções de regra de negócio (ex: Saldo Insuficiente).
+	 * O corpo de erro que o handler da exceção daria, para respostas que não passam pelo
+	 * tratamento de exceções do MVC (ex: o resultado de uma operação assíncrona).
+	 * Sem handler nesta classe, devolve um 500 genérico, sem o texto da exceção.
+	 */
+	public ErrorResponse corpoDoErro(Exception ex, WebRequest request) {
+		Method handler = HANDLERS.resolveMethod(ex);
+		if (handler != null && handler.getDeclaringClass() == RestApiExceptionHandler.class
+				&& ReflectionUtils.invokeMethod(handler, this, ex, request) instanceof ResponseEntity<?> resposta
+				&& resposta.getBody() instanceof ErrorResponse errorResponse) {
+			return errorResponse;
+		}
+
+		ErrorResponse errorResponse = new ErrorResponse();
+		errorResponse.setTimestamp(OffsetDateTime.now());
+		errorResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+		errorResponse.setError("Erro interno");
+		errorResponse.setMessage("Falha inesperada ao processar a requisição.");
+		errorResponse.setPath(((ServletWebRequest)request).getRequest().getRequestURI());
+		return errorResponse;
+	}
+
+	/**
+	 * Captura exceções de regra de negócio (ex: Saldo Insuficiente, Idempotency-Key reutilizada).
 	 * Retorna 422 UNPROCESSABLE_ENTITY.
 	 */
-	@ExceptionHandler({ SaldoInsuficienteException.class })
+	@ExceptionHandler({ SaldoInsuficienteException.class, ChaveIdempotenciaReutilizadaException.class })
 	public ResponseEntity<Object> handleNegocioException(
 			Exception ex, WebRequest request) {
 
@@ -42,11 +76,13 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler {
 	/**
 	 * Captura a falha de 'retry' (concorrência).
 	 * Se o @Retryable falhar 5 vezes, esta exceção será lançada.
+	 * Também cobre o timeout de espera pelo lock nas estratégias pessimista e atômica.
 	 * Retorna 409 CONFLICT.
 	 */
 	@ExceptionHandler({
 			ObjectOptimisticLockingFailureException.class, 
-			OptimisticLockingFailureException.class      
+			OptimisticLockingFailureException.class,
+			PessimisticLockingFailureException.class
 	})
 	public ResponseEntity<Object> handleConcorrenciaException(
 			Exception ex, WebRequest request) {
@@ -67,6 +103,71 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler {
 				errorResponse, new HttpHeaders(), HttpStatus.CONFLICT);
 	}
 
+	/**
+	 * Captura uma escrita direta no banco pedida no modo journal.
+	 * Retorna 409 CONFLICT.
+	 */
+	@ExceptionHandler({ EscritaIndisponivelException.class })
+	public ResponseEntity<Object> handleEscritaIndisponivelException(
+			Exception ex, WebRequest request) {
+
+		ErrorResponse errorResponse = new ErrorResponse();
+		errorResponse.setTimestamp(OffsetDateTime.now());
+		errorResponse.setStatus(HttpStatus.CONFLICT.value());
+		errorResponse.setError("Operação indisponível");
+		errorResponse.setMessage(ex.getMessage());
+		errorResponse.setPath(((ServletWebRequest)request).getRequest().getRequestURI());
+
+		return new ResponseEntity<>(
+				errorResponse, new HttpHeaders(), HttpStatus.CONFLICT);
+	}
+
+	/**
+	 * Captura um pedido condicional (If-Match) com versão desatualizada.
+	 * Retorna 412 PRECONDITION FAILED, com o ETag atual quando a conta tem um.
+	 */
+	@ExceptionHandler({ VersaoDivergenteException.class })
+	public ResponseEntity<Object> handleVersaoDivergenteException(
+			VersaoDivergenteException ex, WebRequest request) {
+
+		ErrorResponse errorResponse = new ErrorResponse();
+		errorResponse.setTimestamp(OffsetDateTime.now());
+		errorResponse.setStatus(HttpStatus.PRECONDITION_FAILED.value());
+		errorResponse.setError("Versão desatualizada");
+		errorResponse.setMessage(ex.getMessage());
+		errorResponse.setPath(((ServletWebRequest)request).getRequest().getRequestURI());
+
+		HttpHeaders headers = new HttpHeaders();
+		if (ex.getVersaoAtual() != null) {
+			headers.setETag(EtagSaldo.de(ex.getVersaoAtual()));
+		}
+
+		return new ResponseEntity<>(
+				errorResponse, headers, HttpStatus.PRECONDITION_FAILED);
+	}
+
+	/**
+	 * Captura a recusa de um pedido assíncrono com a fila de operações cheia.
+	 * Retorna 503 SERVICE UNAVAILABLE com Retry-After.
+	 */
+	@ExceptionHandler({ FilaOperacoesCheiaException.class })
+	public ResponseEntity<Object> handleFilaOperacoesCheiaException(
+			Exception ex, WebRequest request) {
+
+		ErrorResponse errorResponse = new ErrorResponse();
+		errorResponse.setTimestamp(OffsetDateTime.now());
+		errorResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		errorResponse.setError("Fila cheia");
+		errorResponse.setMessage(ex.getMessage());
+		errorResponse.setPath(((ServletWebRequest)request).getRequest().getRequestURI());
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, "1");
+
+		return new ResponseEntity<>(
+				errorResponse, headers, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
 	/**
 	 * Captura exceções de Recurso Não Encontrado (ex: Conta).
 	 * Retorna 404 NOT FOUND.
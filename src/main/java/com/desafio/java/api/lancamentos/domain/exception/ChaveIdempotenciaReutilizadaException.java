@@ -0,0 +1,12 @@
+package com.desafio.java.api.lancamentos.domain.exception;
+
+/**
+ * Lançada quando uma {@code Idempotency-Key} já usada chega com outro corpo
+ * ou outra conta. Retorna 422 (ver RestApiExceptionHandler).
+ */
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+
+	public ChaveIdempotenciaReutilizadaException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,13 @@
+package com.desafio.java.api.lancamentos.domain.exception;
+
+/**
+ * Lançada quando um caminho de escrita que vai direto ao banco (transferência, importação
+ * em lote, If-Match) é pedido no modo journal, em que o saldo das contas fica em memória à
+ * frente do banco. Retorna 409 (ver RestApiExceptionHandler); nada foi aplicado.
+ */
+public class EscritaIndisponivelException extends RuntimeException {
+
+	public EscritaIndisponivelException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,12 @@
+package com.desafio.java.api.lancamentos.domain.exception;
+
+/**
+ * Lançada quando a fila de operações assíncronas está cheia.
+ * Retorna 503 com Retry-After (ver RestApiExceptionHandler); nada foi enfileirado.
+ */
+public class FilaOperacoesCheiaException extends RuntimeException {
+
+	public FilaOperacoesCheiaException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,20 @@
+package com.desafio.java.api.lancamentos.domain.exception;
+
+/**
+ * Lançada quando um pedido condicional (If-Match) chega com uma versão que não é mais a
+ * da conta. Nenhum lançamento é aplicado. Retorna 412 (ver RestApiExceptionHandler), com a
+ * versão atual quando a conta tem uma.
+ */
+public class VersaoDivergenteException extends RuntimeException {
+
+	private final Long versaoAtual;
+
+	public VersaoDivergenteException(String message, Long versaoAtual) {
+		super(message);
+		this.versaoAtual = versaoAtual;
+	}
+
+	public Long getVersaoAtual() {
+		return versaoAtual;
+	}
+}
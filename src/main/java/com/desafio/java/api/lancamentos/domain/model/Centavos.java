@@ -0,0 +1,141 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Valores monetários representados como {@code long} em centavos (escala 2).
+ *
+ * Usado no caminho quente de débito/crédito para evitar a alocação de
+ * {@link BigDecimal} a cada operação. A conversão para BigDecimal acontece apenas
+ * nas bordas (coluna do banco e respostas que precisam do tipo).
+ * Estouros de capacidade são rejeitados com {@link IllegalArgumentException}.
+ */
+public final class Centavos {
+
+	public static final int ESCALA = 2;
+
+	private Centavos() {
+	}
+
+	/**
+	 * Lê um valor decimal (ex: "150.75", "-3", ".5") direto da string, sem criar BigDecimal.
+	 * Casas decimais além da segunda só são aceitas se forem zeros.
+	 */
+	public static long parse(CharSequence texto) {
+		if (texto == null || texto.length() == 0) {
+			throw valorInvalido(texto);
+		}
+
+		int tamanho = texto.length();
+		int i = 0;
+		boolean negativo = false;
+
+		char sinal = texto.charAt(0);
+		if (sinal == '-' || sinal == '+') {
+			negativo = sinal == '-';
+			i++;
+		}
+
+		try {
+			long inteiro = 0;
+			int digitosInteiros = 0;
+			for (; i < tamanho && texto.charAt(i) != '.'; i++) {
+				inteiro = Math.addExact(Math.multiplyExact(inteiro, 10), digito(texto, i));
+				digitosInteiros++;
+			}
+
+			long fracao = 0;
+			int digitosFracao = 0;
+			if (i < tamanho) {
+				for (i++; i < tamanho; i++) {
+					int digito = digito(texto, i);
+					if (digitosFracao < ESCALA) {
+						fracao = fracao * 10 + digito;
+					} else if (digito != 0) {
+						throw new IllegalArgumentException("Valor monetário com mais de " + ESCALA + " casas decimais: " + texto);
+					}
+					digitosFracao++;
+				}
+			}
+
+			if (digitosInteiros == 0 && digitosFracao == 0) {
+				throw valorInvalido(texto);
+			}
+			if (digitosFracao == 1) {
+				fracao *= 10;
+			}
+
+			long centavos = Math.addExact(Math.multiplyExact(inteiro, 100), fracao);
+			return negativo ? -centavos : centavos;
+		} catch (ArithmeticException e) {
+			throw limiteExcedido();
+		}
+	}
+
+	public static long de(BigDecimal valor) {
+		try {
+			return valor.setScale(ESCALA).unscaledValue().longValueExact();
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Valor monetário inválido: " + valor.toPlainString());
+		}
+	}
+
+	public static BigDecimal paraBigDecimal(long centavos) {
+		return BigDecimal.valueOf(centavos, ESCALA);
+	}
+
+	public static long somar(long a, long b) {
+		try {
+			return Math.addExact(a, b);
+		} catch (ArithmeticException e) {
+			throw limiteExcedido();
+		}
+	}
+
+	public static long subtrair(long a, long b) {
+		try {
+			return Math.subtractExact(a, b);
+		} catch (ArithmeticException e) {
+			throw limiteExcedido();
+		}
+	}
+
+	/**
+	 * Formata com exatamente duas casas decimais, no mesmo formato de
+	 * {@code BigDecimal.toPlainString()} para escala 2 (ex: "1230.25", "-0.50").
+	 */
+	public static String formatar(long centavos) {
+		if (centavos == Long.MIN_VALUE) {
+			return paraBigDecimal(centavos).toPlainString();
+		}
+
+		long absoluto = Math.abs(centavos);
+		long resto = absoluto % 100;
+
+		StringBuilder texto = new StringBuilder(22);
+		if (centavos < 0) {
+			texto.append('-');
+		}
+		return texto.append(absoluto / 100)
+				.append('.')
+				.append((char) ('0' + resto / 10))
+				.append((char) ('0' + resto % 10))
+				.toString();
+	}
+
+	private static int digito(CharSequence texto, int indice) {
+		char c = texto.charAt(indice);
+		if (c < '0' || c > '9') {
+			throw valorInvalido(texto);
+		}
+		return c - '0';
+	}
+
+	private static IllegalArgumentException valorInvalido(CharSequence texto) {
+		return new IllegalArgumentException("Valor monetário inválido: " + texto);
+	}
+
+	private static IllegalArgumentException limiteExcedido() {
+		return new IllegalArgumentException("Valor monetário excede o limite suportado.");
+	}
+}
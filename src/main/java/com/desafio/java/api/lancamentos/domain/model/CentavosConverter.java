@@ -0,0 +1,24 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Mantém as colunas monetárias como DECIMAL(19, 2) no banco enquanto
+ * as entidades trabalham com centavos em {@code long}.
+ */
+@Converter
+public class CentavosConverter implements AttributeConverter<Long, BigDecimal> {
+
+	@Override
+	public BigDecimal convertToDatabaseColumn(Long centavos) {
+		return centavos == null ? null : Centavos.paraBigDecimal(centavos);
+	}
+
+	@Override
+	public Long convertToEntityAttribute(BigDecimal valor) {
+		return valor == null ? null : Centavos.de(valor);
+	}
+}
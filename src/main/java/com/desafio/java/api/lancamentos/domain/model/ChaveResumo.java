@@ -0,0 +1,9 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Chave de uma linha de {@link ResumoDiario}: conta, dia do processamento e tipo do lançamento.
+ */
+public record ChaveResumo(long contaId, LocalDate dia, TipoTransacao tipo) {
+}
@@ -0,0 +1,51 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Até onde o journal de lançamentos já está refletido no banco (linha única).
+ *
+ * {@code sequencia} é gravada na mesma transação que aplica os registros em
+ * {@code contas} e {@code transacao}, então nunca fica adiantada nem atrasada em relação
+ * a eles. {@code identificador} distingue este banco de outro: segmentos do journal
+ * gravados para outro identificador não são reaplicados aqui.
+ */
+@Entity
+@Table(name = "journal_checkpoint")
+public class CheckpointJournal {
+
+	public static final int ID = 1;
+
+	@Id
+	private Integer id;
+
+	@Column(nullable = false, updatable = false)
+	private UUID identificador;
+
+	@Column(nullable = false)
+	private long sequencia;
+
+	protected CheckpointJournal() {
+	}
+
+	public static CheckpointJournal inicial() {
+		CheckpointJournal checkpoint = new CheckpointJournal();
+		checkpoint.id = ID;
+		checkpoint.identificador = UUID.randomUUID();
+		return checkpoint;
+	}
+
+	public void avancar(long sequencia) {
+		this.sequencia = Math.max(this.sequencia, sequencia);
+	}
+
+	public UUID getIdentificador() {
+		return identificador;
+	}
+
+	public long getSequencia() {
+		return sequencia;
+	}
+}
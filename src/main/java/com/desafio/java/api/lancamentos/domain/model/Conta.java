@@ -2,6 +2,7 @@ package com.desafio.java.api.lancamentos.domain.model;
 
 import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
@@ -17,37 +18,121 @@ public class Conta {
 	@Column(name = "numero_conta", unique = true, nullable = false, length = 50)
 	private String numeroConta; 
 
+	/** Saldo em centavos (ver {@link Centavos}). */
+	@Convert(converter = CentavosConverter.class)
 	@Column(nullable = false, precision = 19, scale = 2)
-	private BigDecimal saldo;
+	private long saldo;
 
 	@Version
 	private Long version;
 
+	/**
+	 * Saldo com que a conta foi criada, em centavos. Base da reconciliação enquanto não
+	 * há {@link SaldoSnapshot}: {@code saldo = saldoAbertura + Σ lançamentos}.
+	 */
+	@Convert(converter = CentavosConverter.class)
+	@ColumnDefault("0")
+	@Column(name = "saldo_abertura", nullable = false, updatable = false, precision = 19, scale = 2)
+	private long saldoAbertura;
+
+	/**
+	 * Quantidade de parcelas do saldo (ver {@link ParcelaSaldo}). Com 1, o saldo está todo
+	 * nesta linha; acima de 1, a conta é "quente" e créditos vão para as parcelas.
+	 */
+	@ColumnDefault("1")
+	@Column(name = "parcelas_saldo", nullable = false)
+	private int parcelasSaldo = 1;
+
+	/** Soma das parcelas lida na transação corrente, em centavos. Não é persistida. */
+	@Transient
+	private long saldoParcelas;
+
+	public Long getId() {
+		return id;
+	}
+
 	public BigDecimal getSaldo() {
+		return Centavos.paraBigDecimal(saldo);
+	}
+
+	public long getSaldoEmCentavos() {
 		return saldo;
 	}
 
+	/**
+	 * Saldo da conta somado às parcelas carregadas com {@link #registrarSaldoParcelas(long)}.
+	 * Para conta sem parcelas, é o próprio saldo.
+	 */
+	public long getSaldoTotalEmCentavos() {
+		return Centavos.somar(saldo, saldoParcelas);
+	}
+
+	public int getParcelasSaldo() {
+		return parcelasSaldo;
+	}
+
+	public boolean isParticionada() {
+		return parcelasSaldo > 1;
+	}
+
+	public void definirParcelas(int parcelas) {
+		this.parcelasSaldo = parcelas;
+	}
+
+	public void registrarSaldoParcelas(long saldoParcelas) {
+		this.saldoParcelas = saldoParcelas;
+	}
+
+	public long getSaldoAberturaEmCentavos() {
+		return saldoAbertura;
+	}
+
+	@PrePersist
+	void registrarAbertura() {
+		this.saldoAbertura = saldo;
+	}
+
 	public String getNumeroConta() {
 		return numeroConta;
 	}
 
-	public void debitar(BigDecimal valor) {
-		if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+	public Long getVersion() {
+		return version;
+	}
+
+	public void debitar(long valor) {
+		if (valor <= 0) {
 			throw new IllegalArgumentException("Valor do débito deve ser positivo.");
 		}
 		
-		if (this.saldo.compareTo(valor) < 0) {
-			throw new SaldoInsuficienteException("Saldo insuficiente para debitar " + valor);
+		if (this.saldo < valor) {
+			throw new SaldoInsuficienteException("Saldo insuficiente para debitar " + Centavos.formatar(valor));
 		}
 		
-		this.saldo = this.saldo.subtract(valor);
+		this.saldo -= valor;
 	}
 
-	public void creditar(BigDecimal valor) {
-		if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+	public void creditar(long valor) {
+		if (valor <= 0) {
 			throw new IllegalArgumentException("Valor do crédito deve ser positivo.");
 		}
 		
-		this.saldo = this.saldo.add(valor);
+		this.saldo = Centavos.somar(this.saldo, valor);
+	}
+
+	/**
+	 * Soma ao saldo o valor líquido de lançamentos já validados em outro lugar
+	 * (checkpoint do journal), sem repetir as regras de débito e crédito.
+	 */
+	public void ajustarSaldo(long delta) {
+		this.saldo = Centavos.somar(this.saldo, delta);
+	}
+
+	/**
+	 * Desfaz, em memória, os lançamentos de um pedido rejeitado dentro de um lote,
+	 * devolvendo o saldo ao valor observado antes do pedido.
+	 */
+	public void reverterSaldo(long saldoAnterior) {
+		this.saldo = saldoAnterior;
 	}
 }
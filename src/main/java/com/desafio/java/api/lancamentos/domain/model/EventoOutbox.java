@@ -0,0 +1,139 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evento de saldo alterado ainda não publicado, gravado na mesma transação dos lançamentos
+ * (outbox transacional): se o commit acontece, o evento existe; se não, ele também não.
+ *
+ * Os ids dos lançamentos são guardados como faixas ({@code 101-150,175}): os ids de um mesmo
+ * pedido vêm de blocos contíguos da sequence, então a lista fica curta mesmo em pedidos grandes.
+ *
+ * Conta particionada: os créditos em parcela não incrementam a @Version e o total das parcelas é
+ * lido antes do commit dos créditos concorrentes, então nem o saldo nem a versão de um evento
+ * dela ordenam os eventos. O evento leva só o {@code delta}, com saldo e versão nulos.
+ */
+@Entity
+@Table(name = "outbox_saldo")
+public class EventoOutbox {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_saldo_seq")
+	@SequenceGenerator(name = "outbox_saldo_seq", sequenceName = "outbox_saldo_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "numero_conta", nullable = false)
+	private String numeroConta;
+
+	/** Saldo total da conta após o commit, em centavos (ver {@link Centavos}); nulo se particionada. */
+	@Convert(converter = CentavosConverter.class)
+	@Column(precision = 19, scale = 2)
+	private Long saldo;
+
+	/** @Version da conta após o commit; nula se particionada. */
+	private Long versao;
+
+	/** Créditos menos débitos dos lançamentos do evento, em centavos. */
+	@Convert(converter = CentavosConverter.class)
+	@Column(nullable = false, precision = 19, scale = 2)
+	private long delta;
+
+	@Lob
+	@Column(name = "ids_transacao", nullable = false)
+	private String idsTransacao;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime dataHoraRegistro;
+
+	protected EventoOutbox() {
+	}
+
+	/**
+	 * Deve ser criado depois do flush, quando a @Version da conta já foi incrementada.
+	 */
+	public EventoOutbox(Conta conta, List<Transacao> transacoes) {
+		this.numeroConta = conta.getNumeroConta();
+		if (!conta.isParticionada()) {
+			this.saldo = conta.getSaldoTotalEmCentavos();
+			this.versao = conta.getVersion() == null ? 0 : conta.getVersion();
+		}
+		List<Long> ids = new ArrayList<>(transacoes.size());
+		for (Transacao transacao : transacoes) {
+			ids.add(transacao.getId());
+			delta = transacao.getTipo() == TipoTransacao.CREDITO
+					? Centavos.somar(delta, transacao.getValorEmCentavos())
+					: Centavos.subtrair(delta, transacao.getValorEmCentavos());
+		}
+		this.idsTransacao = compactar(ids);
+		this.dataHoraRegistro = LocalDateTime.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNumeroConta() {
+		return numeroConta;
+	}
+
+	public Long getSaldoEmCentavos() {
+		return saldo;
+	}
+
+	public Long getVersao() {
+		return versao;
+	}
+
+	public long getDeltaEmCentavos() {
+		return delta;
+	}
+
+	public List<Long> getIdsTransacao() {
+		return expandir(idsTransacao);
+	}
+
+	public LocalDateTime getDataHoraRegistro() {
+		return dataHoraRegistro;
+	}
+
+	static String compactar(List<Long> ids) {
+		long[] ordenados = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+		StringBuilder texto = new StringBuilder();
+		int i = 0;
+		while (i < ordenados.length) {
+			int fim = i;
+			while (fim + 1 < ordenados.length && ordenados[fim + 1] == ordenados[fim] + 1) {
+				fim++;
+			}
+			if (!texto.isEmpty()) {
+				texto.append(',');
+			}
+			texto.append(ordenados[i]);
+			if (fim > i) {
+				texto.append('-').append(ordenados[fim]);
+			}
+			i = fim + 1;
+		}
+		return texto.toString();
+	}
+
+	static List<Long> expandir(String texto) {
+		List<Long> ids = new ArrayList<>();
+		if (texto.isEmpty()) {
+			return ids;
+		}
+		for (String faixa : texto.split(",")) {
+			int traco = faixa.indexOf('-');
+			long inicio = Long.parseLong(traco < 0 ? faixa : faixa.substring(0, traco));
+			long fim = traco < 0 ? inicio : Long.parseLong(faixa.substring(traco + 1));
+			for (long id = inicio; id <= fim; id++) {
+				ids.add(id);
+			}
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,10 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do extrato lida como projeção (sem entidade gerenciada nem proxy da conta).
+ * O valor é mantido em centavos (ver {@link Centavos}).
+ */
+public record ItemExtrato(Long id, TipoTransacao tipo, long valor, LocalDateTime dataHoraProcessamento) {
+}
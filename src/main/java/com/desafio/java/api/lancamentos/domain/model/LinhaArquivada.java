@@ -0,0 +1,16 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lançamento lido da tabela quente para ser movido ao arquivo frio, como projeção.
+ * O valor é mantido em centavos (ver {@link Centavos}).
+ */
+public record LinhaArquivada(Long id, Long contaId, TipoTransacao tipo, long valor,
+							 LocalDateTime dataHoraProcessamento, UUID idCorrelacao) {
+
+	public ItemExtrato paraItemExtrato() {
+		return new ItemExtrato(id, tipo, valor, dataHoraProcessamento);
+	}
+}
@@ -0,0 +1,10 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Quantidade e total (em centavos, ver {@link Centavos}) dos lançamentos de um tipo em um dia,
+ * lidos do {@link ResumoDiario} como projeção.
+ */
+public record LinhaResumo(LocalDate dia, TipoTransacao tipo, long quantidade, long total) {
+}
@@ -0,0 +1,24 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo de uma conta lido como projeção, sem entidade gerenciada.
+ * O saldo é o total, em centavos (ver {@link Centavos}): a linha da conta mais as parcelas
+ * (ver {@link ParcelaSaldo}), lidas no mesmo comando. A versão é a @Version lida na mesma
+ * linha, usada para alimentar o cache de saldo.
+ */
+public record LinhaSaldo(Long contaId, String numeroConta, long saldo, int parcelasSaldo, long versao) {
+
+	/**
+	 * Usado pelas projeções do {@code ContaRepository}: a soma da linha com as parcelas é feita
+	 * no banco e chega como o DECIMAL da coluna, sem passar pelo {@link CentavosConverter}.
+	 */
+	public LinhaSaldo(Long contaId, String numeroConta, BigDecimal saldo, int parcelasSaldo, long versao) {
+		this(contaId, numeroConta, Centavos.de(saldo), parcelasSaldo, versao);
+	}
+
+	public boolean particionada() {
+		return parcelasSaldo > 1;
+	}
+}
@@ -0,0 +1,58 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Parcela do saldo de uma conta quente (ver {@link Conta#getParcelasSaldo()}).
+ *
+ * Créditos somam numa parcela escolhida ao acaso com um UPDATE atômico, sem tocar na
+ * linha da conta: créditos simultâneos só disputam a mesma linha quando caem na mesma
+ * parcela. O saldo da conta é {@code conta.saldo + Σ parcelas}; débitos usam o saldo da
+ * conta e, quando ele não basta, as parcelas são consolidadas nele.
+ */
+@Entity
+@Table(name = "conta_parcela",
+		uniqueConstraints = @UniqueConstraint(name = "uk_conta_parcela_indice", columnNames = {"conta_id", "indice"}))
+public class ParcelaSaldo {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
+	@JoinColumn(name = "conta_id")
+	private Conta conta;
+
+	@Column(nullable = false)
+	private int indice;
+
+	/** Saldo em centavos (ver {@link Centavos}). */
+	@Convert(converter = CentavosConverter.class)
+	@Column(nullable = false, precision = 19, scale = 2)
+	private long saldo;
+
+	protected ParcelaSaldo() {
+	}
+
+	public ParcelaSaldo(Conta conta, int indice) {
+		this.conta = conta;
+		this.indice = indice;
+	}
+
+	public int getIndice() {
+		return indice;
+	}
+
+	public long getSaldoEmCentavos() {
+		return saldo;
+	}
+
+	/**
+	 * Zera a parcela e devolve o valor retirado, para ser somado ao saldo da conta.
+	 */
+	public long esvaziar() {
+		long valor = saldo;
+		saldo = 0;
+		return valor;
+	}
+}
@@ -0,0 +1,112 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado gravado de uma requisição com {@code Idempotency-Key}.
+ *
+ * Um sucesso é inserido na mesma transação que altera o saldo: a chave primária impede que
+ * duas execuções da mesma chave façam commit. Um erro de negócio é inserido depois do
+ * rollback, numa transação própria. O saldo é mantido em centavos (ver {@link Centavos}).
+ */
+@Entity
+@Table(name = "idempotencia",
+		indexes = @Index(name = "idx_idempotencia_criado_em", columnList = "criado_em"))
+public class RegistroIdempotencia implements Persistable<String> {
+
+	public enum Situacao {
+		SUCESSO,
+		SALDO_INSUFICIENTE,
+		CONTA_NAO_ENCONTRADA,
+		REQUISICAO_INVALIDA
+	}
+
+	@Id
+	@Column(length = 255)
+	private String chave;
+
+	@Column(name = "numero_conta", nullable = false, length = 50)
+	private String numeroConta;
+
+	/** SHA-256 do corpo da requisição, para detectar a chave reutilizada com outro corpo. */
+	@Column(nullable = false, length = 64)
+	private String impressao;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 30)
+	private Situacao situacao;
+
+	@Column(name = "saldo_centavos")
+	private Long saldo;
+
+	@Column(length = 1000)
+	private String mensagem;
+
+	@CreationTimestamp
+	@Column(name = "criado_em", nullable = false, updatable = false)
+	private LocalDateTime criadoEm;
+
+	@Transient
+	private boolean novo;
+
+	protected RegistroIdempotencia() {
+	}
+
+	/**
+	 * Registro ainda sem resultado; só é gravado depois de {@link #concluir}.
+	 */
+	public static RegistroIdempotencia novo(String chave, String numeroConta, String impressao) {
+		RegistroIdempotencia registro = new RegistroIdempotencia();
+		registro.chave = chave;
+		registro.numeroConta = numeroConta;
+		registro.impressao = impressao;
+		registro.novo = true;
+		return registro;
+	}
+
+	public void concluir(Situacao situacao, Long saldo, String mensagem) {
+		this.situacao = situacao;
+		this.saldo = saldo;
+		this.mensagem = mensagem;
+	}
+
+	@Override
+	public String getId() {
+		return chave;
+	}
+
+	@Override
+	public boolean isNew() {
+		return novo;
+	}
+
+	@PostLoad
+	@PostPersist
+	void marcarComoPersistido() {
+		this.novo = false;
+	}
+
+	public String getNumeroConta() {
+		return numeroConta;
+	}
+
+	public String getImpressao() {
+		return impressao;
+	}
+
+	public Situacao getSituacao() {
+		return situacao;
+	}
+
+	public Long getSaldo() {
+		return saldo;
+	}
+
+	public String getMensagem() {
+		return mensagem;
+	}
+}
@@ -0,0 +1,57 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Quantidade e total dos lançamentos de uma conta por dia e tipo, mantidos incrementalmente
+ * a partir dos {@link ResumoPendente}. Continua valendo depois que os lançamentos do dia vão
+ * para o arquivo frio.
+ *
+ * {@code conta_id} não tem chave estrangeira: a tabela só é escrita pelo consolidador, em
+ * lote, e não precisa consultar a linha da conta (quente) a cada incremento.
+ */
+@Entity
+@Table(name = "resumo_diario",
+		uniqueConstraints = @UniqueConstraint(name = "uk_resumo_diario_conta_dia_tipo",
+				columnNames = {"conta_id", "dia", "tipo"}))
+public class ResumoDiario {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "conta_id", nullable = false)
+	private Long contaId;
+
+	@Column(nullable = false)
+	private LocalDate dia;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private TipoTransacao tipo;
+
+	@Column(nullable = false)
+	private long quantidade;
+
+	/** Total em centavos (ver {@link Centavos}). */
+	@Convert(converter = CentavosConverter.class)
+	@Column(nullable = false, precision = 19, scale = 2)
+	private long total;
+
+	protected ResumoDiario() {
+	}
+
+	public ChaveResumo chave() {
+		return new ChaveResumo(contaId, dia, tipo);
+	}
+
+	public long getQuantidade() {
+		return quantidade;
+	}
+
+	public long getTotalEmCentavos() {
+		return total;
+	}
+}
@@ -0,0 +1,76 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Incremento de um {@link ResumoDiario} ainda não consolidado.
+ *
+ * Gravado na mesma transação dos lançamentos (uma linha por conta, dia e tipo do pedido), só
+ * com INSERT: pedidos simultâneos da mesma conta não disputam a linha do resumo.
+ */
+@Entity
+@Table(name = "resumo_pendente")
+public class ResumoPendente {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resumo_pendente_seq")
+	@SequenceGenerator(name = "resumo_pendente_seq", sequenceName = "resumo_pendente_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "conta_id", nullable = false)
+	private Long contaId;
+
+	@Column(nullable = false)
+	private LocalDate dia;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private TipoTransacao tipo;
+
+	@Column(nullable = false)
+	private long quantidade;
+
+	/** Total em centavos (ver {@link Centavos}). */
+	@Convert(converter = CentavosConverter.class)
+	@Column(nullable = false, precision = 19, scale = 2)
+	private long total;
+
+	protected ResumoPendente() {
+	}
+
+	public ResumoPendente(ChaveResumo chave) {
+		this.contaId = chave.contaId();
+		this.dia = chave.dia();
+		this.tipo = chave.tipo();
+	}
+
+	/** Conta um lançamento de {@code valor} centavos. */
+	public void somar(long valor) {
+		quantidade++;
+		total = Centavos.somar(total, valor);
+	}
+
+	/** Junta outro incremento da mesma chave a este. */
+	public void somar(ResumoPendente outro) {
+		quantidade += outro.quantidade;
+		total = Centavos.somar(total, outro.total);
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public ChaveResumo chave() {
+		return new ChaveResumo(contaId, dia, tipo);
+	}
+
+	public long getQuantidade() {
+		return quantidade;
+	}
+
+	public long getTotalEmCentavos() {
+		return total;
+	}
+}
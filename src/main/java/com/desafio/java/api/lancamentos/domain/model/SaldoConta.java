@@ -0,0 +1,15 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+/**
+ * Fotografia imutável do saldo de uma conta em um determinado ponto do processamento.
+ *
+ * Usada quando o resultado precisa sobreviver à transação (ex: vários pedidos
+ * aplicados em lote, cada um com o seu saldo resultante).
+ * O saldo é mantido em centavos (ver {@link Centavos}).
+ */
+public record SaldoConta(String numeroConta, long saldo) {
+
+	public static SaldoConta de(Conta conta) {
+		return new SaldoConta(conta.getNumeroConta(), conta.getSaldoTotalEmCentavos());
+	}
+}
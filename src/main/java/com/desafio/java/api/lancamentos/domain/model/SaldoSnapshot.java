@@ -0,0 +1,56 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de uma conta em um corte: o resultado de todos os lançamentos anteriores a
+ * {@code dataHoraCorte}, inclusive os já movidos para o arquivo frio.
+ *
+ * Vale {@code conta.saldo = snapshot.saldo + Σ lançamentos da tabela quente a partir do corte},
+ * então o saldo pode ser conferido sem reler o histórico arquivado.
+ */
+@Entity
+@Table(name = "saldo_snapshot",
+		uniqueConstraints = @UniqueConstraint(name = "uk_saldo_snapshot_conta_corte",
+				columnNames = {"conta_id", "data_hora_corte"}))
+public class SaldoSnapshot {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
+	@JoinColumn(name = "conta_id")
+	private Conta conta;
+
+	@Column(name = "data_hora_corte", nullable = false)
+	private LocalDateTime dataHoraCorte;
+
+	/** Saldo em centavos (ver {@link Centavos}). */
+	@Convert(converter = CentavosConverter.class)
+	@Column(nullable = false, precision = 19, scale = 2)
+	private long saldo;
+
+	protected SaldoSnapshot() {
+	}
+
+	public SaldoSnapshot(Conta conta, LocalDateTime dataHoraCorte, long saldo) {
+		this.conta = conta;
+		this.dataHoraCorte = dataHoraCorte;
+		this.saldo = saldo;
+	}
+
+	public void atualizar(long saldo) {
+		this.saldo = saldo;
+	}
+
+	public LocalDateTime getDataHoraCorte() {
+		return dataHoraCorte;
+	}
+
+	public long getSaldoEmCentavos() {
+		return saldo;
+	}
+}
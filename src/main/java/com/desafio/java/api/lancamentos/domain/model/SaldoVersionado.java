@@ -0,0 +1,9 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+/**
+ * Saldo com a versão (@Version) da linha da conta em que foi lido, para o ETag do GET /saldo.
+ * A versão é nula para conta particionada: créditos em parcelas não mudam a @Version,
+ * então ela não identifica o saldo.
+ */
+public record SaldoVersionado(SaldoConta conta, Long versao) {
+}
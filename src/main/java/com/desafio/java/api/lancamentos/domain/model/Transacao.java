@@ -1,15 +1,17 @@
 package com.desafio.java.api.lancamentos.domain.model;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.CreationTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_transacao_conta_data_id",
+		columnList = "conta_id, data_hora_processamento, id"))
 public class Transacao {
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacao_seq")
+	@SequenceGenerator(name = "transacao_seq", sequenceName = "transacao_seq", allocationSize = 50)
 	private Long id;
 
 	@ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -20,10 +22,15 @@ public class Transacao {
 	@Column(nullable = false)
 	private TipoTransacao tipo;
 
+	/** Valor em centavos (ver {@link Centavos}). */
+	@Convert(converter = CentavosConverter.class)
 	@Column(nullable = false, precision = 19, scale = 2)
-	private BigDecimal valor;
+	private long valor;
+
+	/** Liga as duas pernas (débito e crédito) de uma transferência. */
+	@Column(name = "id_correlacao")
+	private UUID idCorrelacao;
 
-	@CreationTimestamp
 	@Column(nullable = false, updatable = false)
 	private LocalDateTime dataHoraProcessamento;
 
@@ -31,9 +38,47 @@ public class Transacao {
 	}
 
 
-	public Transacao(Conta conta, TipoTransacao tipoTransacaoRequest, BigDecimal valor) {
+	public Transacao(Conta conta, TipoTransacao tipoTransacaoRequest, long valor) {
 		this.conta = conta;
 		this.tipo = tipoTransacaoRequest;
 		this.valor = valor;
 	}
+
+	public Transacao(Conta conta, TipoTransacao tipoTransacaoRequest, long valor, UUID idCorrelacao) {
+		this(conta, tipoTransacaoRequest, valor);
+		this.idCorrelacao = idCorrelacao;
+	}
+
+	/** Lançamento já aceito em outro momento (ex: journal), gravado com o instante original. */
+	public Transacao(Conta conta, TipoTransacao tipoTransacaoRequest, long valor, LocalDateTime dataHoraProcessamento) {
+		this(conta, tipoTransacaoRequest, valor);
+		this.dataHoraProcessamento = dataHoraProcessamento;
+	}
+
+	@PrePersist
+	void definirDataHoraProcessamento() {
+		if (dataHoraProcessamento == null) {
+			dataHoraProcessamento = LocalDateTime.now();
+		}
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Conta getConta() {
+		return conta;
+	}
+
+	public TipoTransacao getTipo() {
+		return tipo;
+	}
+
+	public long getValorEmCentavos() {
+		return valor;
+	}
+
+	public LocalDateTime getDataHoraProcessamento() {
+		return dataHoraProcessamento;
+	}
 }
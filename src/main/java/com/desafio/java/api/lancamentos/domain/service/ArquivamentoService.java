@@ -0,0 +1,159 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.LinhaArquivada;
+import com.desafio.java.api.lancamentos.infrastructure.arquivo.ArquivoTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Move os lançamentos mais antigos que a retenção para o {@link ArquivoTransacoes},
+ * um dia por vez, e registra o snapshot de saldo das contas afetadas no corte.
+ *
+ * A ordem é: grava o segmento do dia (com fsync), registra os snapshots das contas do
+ * dia e só então apaga as linhas da tabela quente. O snapshot só depende dos lançamentos
+ * a partir do corte, então pode vir antes da remoção. Se o processo cair no meio, a
+ * próxima execução regrava o mesmo dia sem duplicar e termina a remoção; o extrato
+ * ignora ids repetidos.
+ *
+ * O dia nunca fica inteiro em memória: as linhas são lidas em blocos de {@value #TAMANHO_BLOCO}
+ * por keyset (conta, dataHora, id) enquanto o segmento é escrito, guardando só as contas
+ * lidas. Os ids a apagar saem do próprio segmento gravado, uma dessas contas por vez, então
+ * só é apagado o que já está no arquivo.
+ */
+@Service
+public class ArquivamentoService {
+
+	private static final Logger log = LoggerFactory.getLogger(ArquivamentoService.class);
+
+	private static final int TAMANHO_BLOCO = 1_000;
+
+	private final TransacaoRepository transacaoRepository;
+	private final ArquivoTransacoes arquivo;
+	private final SaldoSnapshotService snapshotService;
+	private final Duration retencao;
+
+	public ArquivamentoService(TransacaoRepository transacaoRepository, ArquivoTransacoes arquivo,
+							   SaldoSnapshotService snapshotService,
+							   @Value("${lancamentos.arquivamento.retencao:90d}") Duration retencao) {
+		this.transacaoRepository = transacaoRepository;
+		this.arquivo = arquivo;
+		this.snapshotService = snapshotService;
+		this.retencao = retencao;
+	}
+
+	@Scheduled(fixedDelayString = "${lancamentos.arquivamento.intervalo:PT1H}")
+	public void arquivarAgendado() {
+		if (arquivo.isHabilitado()) {
+			arquivar(LocalDateTime.now());
+		}
+	}
+
+	/**
+	 * Arquiva os dias inteiros anteriores a {@code agora - retencao}.
+	 *
+	 * @return quantidade de lançamentos movidos
+	 */
+	public int arquivar(LocalDateTime agora) {
+		if (!arquivo.isHabilitado()) {
+			throw new IllegalStateException("Arquivamento desabilitado (lancamentos.arquivamento.habilitado).");
+		}
+		LocalDateTime corte = agora.minus(retencao).toLocalDate().atStartOfDay();
+		Set<Long> contasRegistradas = new HashSet<>();
+		int movidos = 0;
+
+		Optional<LocalDateTime> proximo = transacaoRepository.buscarMaisAntigoAntes(corte);
+		while (proximo.isPresent()) {
+			LocalDate dia = proximo.get().toLocalDate();
+			LocalDateTime fimDoDia = dia.plusDays(1).atStartOfDay();
+
+			LinhasDoDia linhas = new LinhasDoDia(dia.atStartOfDay(), fimDoDia);
+			arquivo.gravar(dia, linhas);
+			for (Long contaId : linhas.contas) {
+				if (contasRegistradas.add(contaId)) {
+					snapshotService.registrar(contaId, corte);
+				}
+			}
+
+			List<Long> ids = new ArrayList<>(TAMANHO_BLOCO);
+			int[] removidos = {0};
+			arquivo.percorrer(dia, linhas.contas::contains, linhasDaConta -> {
+				for (LinhaArquivada linha : linhasDaConta) {
+					ids.add(linha.id());
+					if (ids.size() == TAMANHO_BLOCO) {
+						removidos[0] += transacaoRepository.removerPorIds(ids);
+						ids.clear();
+					}
+				}
+			});
+			if (!ids.isEmpty()) {
+				removidos[0] += transacaoRepository.removerPorIds(ids);
+			}
+			movidos += removidos[0];
+			log.info("Arquivamento: {} lançamento(s) de {} movidos para o arquivo.", removidos[0], dia);
+
+			proximo = transacaoRepository.buscarMaisAntigoEntre(fimDoDia, corte);
+		}
+		return movidos;
+	}
+
+	/**
+	 * Lançamentos de [inicio, fim) na ordem do índice, buscando o próximo bloco só quando o
+	 * anterior foi consumido. Guarda as contas que apareceram.
+	 */
+	private final class LinhasDoDia implements Iterator<LinhaArquivada> {
+
+		private final LocalDateTime inicio;
+		private final LocalDateTime fim;
+		private final Set<Long> contas = new HashSet<>();
+		private List<LinhaArquivada> bloco;
+		private int posicao;
+
+		LinhasDoDia(LocalDateTime inicio, LocalDateTime fim) {
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (bloco != null && posicao < bloco.size()) {
+				return true;
+			}
+			if (bloco != null && bloco.size() < TAMANHO_BLOCO) {
+				return false;
+			}
+			LinhaArquivada ultima = bloco == null || bloco.isEmpty() ? null : bloco.get(bloco.size() - 1);
+			bloco = ultima == null
+					? transacaoRepository.buscarParaArquivar(inicio, fim, Limit.of(TAMANHO_BLOCO))
+					: transacaoRepository.buscarParaArquivarApos(inicio, fim, ultima.contaId(),
+							ultima.dataHoraProcessamento(), ultima.id(), Limit.of(TAMANHO_BLOCO));
+			posicao = 0;
+			return !bloco.isEmpty();
+		}
+
+		@Override
+		public LinhaArquivada next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			LinhaArquivada linha = bloco.get(posicao++);
+			contas.add(linha.contaId());
+			return linha;
+		}
+	}
+}
@@ -1,66 +1,525 @@
 package com.desafio.java.api.lancamentos.domain.service;
 
 import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.exception.VersaoDivergenteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
 import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.LinhaSaldo;
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia;
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia.Situacao;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoVersionado;
 import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
 import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.infrastructure.cache.SaldoCache;
+import com.desafio.java.api.lancamentos.infrastructure.eventos.OutboxSaldo;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes.Etapa;
 import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.RegistroIdempotenciaRepository;
 import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
 import com.desafio.java.api.lancamentos.model.TransacaoRequest;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 
 @Service
 public class ContaService {
 
+	static final int BLOCO_CONSULTA_SALDOS = 100;
+
 	private ContaRepository contaRepository;
 	private TransacaoRepository transacaoRepository;
+	private SaldoCache saldoCache;
+	private MetricasTransacoes metricas;
+	private ParcelasSaldoService parcelasSaldo;
+	private RegistroIdempotenciaRepository idempotenciaRepository;
+	private ResumoDiarioService resumoDiario;
+	private OutboxSaldo outbox;
 
-	public ContaService(ContaRepository contaRepository, TransacaoRepository transacaoRepository) {
+	public ContaService(ContaRepository contaRepository, TransacaoRepository transacaoRepository, SaldoCache saldoCache,
+			MetricasTransacoes metricas, ParcelasSaldoService parcelasSaldo,
+			RegistroIdempotenciaRepository idempotenciaRepository, ResumoDiarioService resumoDiario,
+			OutboxSaldo outbox) {
 		this.contaRepository = contaRepository;
 		this.transacaoRepository = transacaoRepository;
+		this.saldoCache = saldoCache;
+		this.metricas = metricas;
+		this.parcelasSaldo = parcelasSaldo;
+		this.idempotenciaRepository = idempotenciaRepository;
+		this.resumoDiario = resumoDiario;
+		this.outbox = outbox;
 	}
 
+	/**
+	 * Variante otimista, com retry nos conflitos de @Version. O tamanho do pedido
+	 * ({@code lancamentos.lote}) é registrado por quem chama: aqui contaria cada tentativa.
+	 */
 	@Transactional
 	@Retryable(retryFor = {
-			ObjectOptimisticLockingFailureException.class, 
-			OptimisticLockingFailureException.class      
-	}, maxAttempts = 5) 
+			ObjectOptimisticLockingFailureException.class,
+			OptimisticLockingFailureException.class
+	}, maxAttempts = 5, backoff = @Backoff(
+			delayExpression = "${lancamentos.concorrencia.backoff.atraso-inicial-ms:5}",
+			multiplierExpression = "${lancamentos.concorrencia.backoff.multiplicador:2}",
+			maxDelayExpression = "${lancamentos.concorrencia.backoff.atraso-maximo-ms:100}",
+			random = true))
 	public Conta processarTransacoes(String numeroConta, List<TransacaoRequest> requests) {
 
+		long inicio = System.nanoTime();
 		Conta conta = buscarContaPorNumero(numeroConta);
+		inicio = metricas.etapa(Etapa.CARREGAR_CONTA, inicio);
+
+		if (conta.isParticionada() && somenteCreditos(requests)) {
+			return creditarEmParcela(conta, requests, inicio);
+		}
+
+		List<Transacao> transacoes = new ArrayList<>(requests.size());
+		aplicarLancamentos(conta, requests, transacoes);
+		inicio = metricas.etapa(Etapa.APLICAR, inicio);
+
+		gravarLancamentos(transacoes);
+		metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+		carregarParcelas(conta);
+		saldoCache.atualizar(conta);
+		metricas.medirCommit();
+
+		//return contaRepository.save(conta);
+		return conta;
+	}
+
+	/**
+	 * Variante pessimista: a linha da conta fica bloqueada (SELECT ... FOR UPDATE)
+	 * do carregamento até o commit, então requisições concorrentes esperam em vez de
+	 * conflitar e não há retry.
+	 */
+	@Transactional
+	public Conta processarTransacoesComLockPessimista(String numeroConta, List<TransacaoRequest> requests) {
+		return processarTransacoesComLockPessimista(numeroConta, requests, null);
+	}
+
+	/**
+	 * Variante pessimista que grava também o {@link RegistroIdempotencia} do pedido, concluído
+	 * como sucesso, na mesma transação dos lançamentos: ou os dois fazem commit, ou nenhum.
+	 * Se a chave já foi gravada por outra execução, o flush falha com
+	 * {@code DataIntegrityViolationException} e os lançamentos são desfeitos.
+	 *
+	 * @param idempotencia registro a gravar, ou {@code null} sem Idempotency-Key
+	 */
+	@Transactional
+	public Conta processarTransacoesComLockPessimista(String numeroConta, List<TransacaoRequest> requests,
+													  RegistroIdempotencia idempotencia) {
+
+		metricas.lote(requests.size());
+		long inicio = System.nanoTime();
+		Conta conta = contaRepository.findByNumeroContaParaAtualizacao(numeroConta)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+		inicio = metricas.etapa(Etapa.CARREGAR_CONTA, inicio);
+
+		if (conta.isParticionada() && somenteCreditos(requests)) {
+			conta = creditarEmParcela(conta, requests, inicio);
+			gravarIdempotencia(idempotencia, conta);
+			return conta;
+		}
+
+		List<Transacao> transacoes = new ArrayList<>(requests.size());
+		aplicarLancamentos(conta, requests, transacoes);
+		inicio = metricas.etapa(Etapa.APLICAR, inicio);
+
+		gravarLancamentos(transacoes);
+		metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+		carregarParcelas(conta);
+		gravarIdempotencia(idempotencia, conta);
+		saldoCache.atualizar(conta);
+		metricas.medirCommit();
+
+		return conta;
+	}
+
+	/**
+	 * Variante condicional (If-Match): aplica o pedido somente se a conta ainda está numa das
+	 * {@code versoesAceitas}. A linha fica bloqueada (SELECT ... FOR UPDATE) do carregamento
+	 * até o commit, então a comparação e a escrita não se separam e não há retry: uma escrita
+	 * concorrente só pode vir antes, e muda a versão. Conta particionada não tem versão que
+	 * cubra os créditos em parcelas, então o pedido é sempre recusado.
+	 *
+	 * O {@code idempotencia}, se houver, é gravado na mesma transação, como na variante pessimista.
+	 *
+	 * @return o novo saldo com a versão gravada (o ETag da resposta)
+	 * @throws VersaoDivergenteException se a versão atual não é uma das aceitas
+	 */
+	@Transactional
+	public SaldoVersionado processarTransacoesSeVersao(String numeroConta, List<TransacaoRequest> requests,
+													   Set<Long> versoesAceitas, RegistroIdempotencia idempotencia) {
+
+		metricas.lote(requests.size());
+		long inicio = System.nanoTime();
+		Conta conta = contaRepository.findByNumeroContaParaAtualizacao(numeroConta)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+		inicio = metricas.etapa(Etapa.CARREGAR_CONTA, inicio);
+
+		Long versaoAtual = conta.isParticionada() ? null : conta.getVersion();
+		if (versaoAtual == null || !versoesAceitas.contains(versaoAtual)) {
+			throw new VersaoDivergenteException(
+					"A conta " + numeroConta + " não está na versão informada em If-Match.", versaoAtual);
+		}
+
+		List<Transacao> transacoes = new ArrayList<>(requests.size());
+		aplicarLancamentos(conta, requests, transacoes);
+		inicio = metricas.etapa(Etapa.APLICAR, inicio);
+
+		gravarLancamentos(transacoes);
+		// A nova versão só existe depois do flush.
+		contaRepository.flush();
+		metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+		gravarIdempotencia(idempotencia, conta);
+		saldoCache.atualizar(conta);
+		metricas.medirCommit();
+
+		return new SaldoVersionado(SaldoConta.de(conta), conta.getVersion());
+	}
+
+	/**
+	 * Variante atômica: o pedido inteiro vira um único UPDATE condicional no banco,
+	 * sem ler a conta antes. Se nenhuma linha for afetada, a conta não existe ou
+	 * algum débito do pedido não tem saldo suficiente.
+	 */
+	@Transactional
+	public Conta processarTransacoesAtomicamente(String numeroConta, List<TransacaoRequest> requests) {
+
+		metricas.lote(requests.size());
+		long inicio = System.nanoTime();
+		TipoTransacao[] tipos = new TipoTransacao[requests.size()];
+		long[] valores = new long[requests.size()];
+		long delta = 0;
+		long minimoParcial = 0;
+
+		for (int i = 0; i < requests.size(); i++) {
+			TransacaoRequest req = requests.get(i);
+			long valor = Centavos.parse(req.getValor());
+
+			TipoTransacao tipoTransacaoRequest = validarTipoTransacao(req.getTipo());
+			validarValorPositivo(tipoTransacaoRequest, valor);
+
+			delta = tipoTransacaoRequest == TipoTransacao.DEBITO
+					? Centavos.subtrair(delta, valor)
+					: Centavos.somar(delta, valor);
+			minimoParcial = Math.min(minimoParcial, delta);
+
+			tipos[i] = tipoTransacaoRequest;
+			valores[i] = valor;
+		}
+
+		int atualizadas = contaRepository.aplicarDeltaCondicional(
+				numeroConta, Centavos.paraBigDecimal(delta), Centavos.paraBigDecimal(minimoParcial));
+		inicio = metricas.etapa(Etapa.APLICAR, inicio);
+
+		Conta conta = buscarContaPorNumero(numeroConta);
+		inicio = metricas.etapa(Etapa.CARREGAR_CONTA, inicio);
+
+		List<Transacao> transacoes = new ArrayList<>(tipos.length);
+		if (atualizadas == 0 && conta.isParticionada()) {
+			// O saldo fora das parcelas não bastou: aplica em memória, consolidando as parcelas.
+			// A gravação da conta passa pelo @Version, então uma escrita concorrente vira 409.
+			aplicarLancamentos(conta, requests, transacoes);
+		} else if (atualizadas == 0) {
+			// Reaplica em memória só para reproduzir a mensagem exata da regra de negócio;
+			// a exceção desfaz a transação, então nada disso é gravado.
+			aplicarLancamentos(conta, requests, new ArrayList<>());
+			metricas.saldoInsuficiente();
+			throw new SaldoInsuficienteException("Saldo insuficiente para processar as transações.");
+		} else {
+			for (int i = 0; i < tipos.length; i++) {
+				transacoes.add(new Transacao(conta, tipos[i], valores[i]));
+			}
+		}
+
+		gravarLancamentos(transacoes);
+		metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+		carregarParcelas(conta);
+		saldoCache.atualizar(conta);
+		metricas.medirCommit();
+
+		return conta;
+	}
+
+	/**
+	 * Aplica vários pedidos da mesma conta, em ordem, em uma única transação.
+	 *
+	 * Cada pedido continua atômico: se um deles falhar por regra de negócio,
+	 * apenas ele é desfeito e rejeitado, e os demais seguem para o commit.
+	 * Falhas técnicas (conta inexistente, conflito após retries) derrubam o lote inteiro.
+	 * Como em {@link #processarTransacoes}, o tamanho de cada pedido é registrado por quem chama.
+	 */
+	@Transactional
+	@Retryable(retryFor = {
+			ObjectOptimisticLockingFailureException.class,
+			OptimisticLockingFailureException.class
+	}, maxAttempts = 5, backoff = @Backoff(
+			delayExpression = "${lancamentos.concorrencia.backoff.atraso-inicial-ms:5}",
+			multiplierExpression = "${lancamentos.concorrencia.backoff.multiplicador:2}",
+			maxDelayExpression = "${lancamentos.concorrencia.backoff.atraso-maximo-ms:100}",
+			random = true))
+	public List<ResultadoTransacao> processarLote(String numeroConta, List<List<TransacaoRequest>> pedidos) {
+
+		long inicio = System.nanoTime();
+		Conta conta = buscarContaPorNumero(numeroConta);
+		if (conta.isParticionada()) {
+			// Consolida uma vez, antes dos pedidos: desfazer um pedido rejeitado volta só o
+			// saldo da conta, então as parcelas não podem mudar no meio do lote.
+			parcelasSaldo.consolidar(conta);
+		}
+		inicio = metricas.etapa(Etapa.CARREGAR_CONTA, inicio);
+
+		List<ResultadoTransacao> resultados = new ArrayList<>(pedidos.size());
+		List<Transacao> transacoes = new ArrayList<>();
+
+		for (List<TransacaoRequest> pedido : pedidos) {
+			long saldoAnterior = conta.getSaldoEmCentavos();
+			int aplicadas = transacoes.size();
+
+			try {
+				aplicarLancamentos(conta, pedido, transacoes);
+				resultados.add(ResultadoTransacao.sucesso(SaldoConta.de(conta)));
+			} catch (SaldoInsuficienteException | IllegalArgumentException e) {
+				conta.reverterSaldo(saldoAnterior);
+				transacoes.subList(aplicadas, transacoes.size()).clear();
+				resultados.add(ResultadoTransacao.falha(e));
+			}
+		}
+		inicio = metricas.etapa(Etapa.APLICAR, inicio);
+
+		gravarLancamentos(transacoes);
+		metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+		saldoCache.atualizar(conta);
+		metricas.medirCommit();
+
+		return resultados;
+	}
+
+	/**
+	 * Transfere {@code valor} da conta de origem para a de destino em uma única transação.
+	 *
+	 * As duas linhas são bloqueadas (SELECT ... FOR UPDATE) sempre em ordem crescente de id,
+	 * independentemente do sentido da transferência: A→B e B→A simultâneas esperam uma pela
+	 * outra em vez de entrar em deadlock, e não há conflito de @Version para retentar.
+	 * Os dois lançamentos são gravados com o mesmo id de correlação.
+	 */
+	@Transactional
+	public ResultadoTransferencia transferir(String contaOrigem, String contaDestino, String valorTransferencia) {
+		if (contaOrigem.equals(contaDestino)) {
+			throw new IllegalArgumentException("Conta de origem e de destino devem ser diferentes.");
+		}
+		long valor = Centavos.parse(valorTransferencia);
+		if (valor <= 0) {
+			throw new IllegalArgumentException("Valor da transferência deve ser positivo.");
+		}
+
+		metricas.lote(2);
+		long inicio = System.nanoTime();
+		Long idOrigem = buscarIdPorNumero(contaOrigem);
+		Long idDestino = buscarIdPorNumero(contaDestino);
+
+		Conta origem;
+		Conta destino;
+		if (idOrigem < idDestino) {
+			origem = bloquearPorId(idOrigem, contaOrigem);
+			destino = bloquearPorId(idDestino, contaDestino);
+		} else {
+			destino = bloquearPorId(idDestino, contaDestino);
+			origem = bloquearPorId(idOrigem, contaOrigem);
+		}
+		inicio = metricas.etapa(Etapa.CARREGAR_CONTA, inicio);
+
+		debitar(origem, valor);
+		destino.creditar(valor);
+		inicio = metricas.etapa(Etapa.APLICAR, inicio);
+
+		UUID idTransferencia = UUID.randomUUID();
+		gravarLancamentos(List.of(
+				new Transacao(origem, TipoTransacao.DEBITO, valor, idTransferencia),
+				new Transacao(destino, TipoTransacao.CREDITO, valor, idTransferencia)));
+		metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+		carregarParcelas(origem);
+		carregarParcelas(destino);
+		saldoCache.atualizar(origem);
+		saldoCache.atualizar(destino);
+		metricas.medirCommit();
+
+		return new ResultadoTransferencia(idTransferencia, SaldoConta.de(origem), SaldoConta.de(destino));
+	}
+
+	public SaldoConta consultarSaldo(String numeroConta) {
+		return consultarSaldoVersionado(numeroConta).conta();
+	}
+
+	/**
+	 * Saldo para o GET /saldo, com a versão para o ETag: servido pelo {@link SaldoCache}
+	 * quando possível, sem abrir transação; em caso de miss, lê a projeção {@link LinhaSaldo}
+	 * (sem carregar a entidade) e alimenta o cache.
+	 */
+	public SaldoVersionado consultarSaldoVersionado(String numeroConta) {
+		return saldoCache.buscarComVersao(numeroConta).orElseGet(() -> {
+			LinhaSaldo linha = contaRepository.buscarSaldo(numeroConta)
+					.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+			saldoCache.atualizar(linha);
+			return new SaldoVersionado(new SaldoConta(linha.numeroConta(), linha.saldo()),
+					linha.particionada() ? null : linha.versao());
+		});
+	}
+
+	/**
+	 * Versão atual do saldo, para o If-None-Match, sem ler o saldo: do {@link SaldoCache} ou
+	 * de uma consulta só da coluna version. Vazio para conta inexistente ou particionada
+	 * (o chamador segue pelo caminho completo).
+	 */
+	public Optional<Long> consultarVersao(String numeroConta) {
+		Optional<SaldoVersionado> emCache = saldoCache.buscarComVersao(numeroConta);
+		return emCache.isPresent() ? Optional.of(emCache.get().versao()) : contaRepository.buscarVersao(numeroConta);
+	}
+
+	/**
+	 * Saldos de várias contas de uma vez. Os hits vêm do {@link SaldoCache}; as demais contas
+	 * são lidas como projeção, já com a soma das parcelas, em consultas {@code IN} de até
+	 * {@value #BLOCO_CONSULTA_SALDOS} números (que também alimentam o cache), então o número de
+	 * idas ao banco não cresce com cada conta pedida. Contas inexistentes não aparecem no mapa.
+	 */
+	@Transactional(readOnly = true)
+	public Map<String, SaldoConta> consultarSaldos(Collection<String> numerosConta) {
+		Map<String, SaldoConta> saldos = new HashMap<>();
+		List<String> pendentes = new ArrayList<>();
+		for (String numeroConta : new LinkedHashSet<>(numerosConta)) {
+			saldoCache.buscar(numeroConta).ifPresentOrElse(
+					saldo -> saldos.put(numeroConta, saldo),
+					() -> pendentes.add(numeroConta));
+		}
+
+		for (int inicio = 0; inicio < pendentes.size(); inicio += BLOCO_CONSULTA_SALDOS) {
+			List<String> bloco = pendentes.subList(inicio, Math.min(inicio + BLOCO_CONSULTA_SALDOS, pendentes.size()));
+			for (LinhaSaldo linha : contaRepository.buscarSaldos(bloco)) {
+				saldoCache.atualizar(linha);
+				saldos.put(linha.numeroConta(), new SaldoConta(linha.numeroConta(), linha.saldo()));
+			}
+		}
+		return saldos;
+	}
+
+	/**
+	 * Grava os lançamentos e, na mesma transação, os incrementos do resumo diário e o evento
+	 * de saldo alterado de cada conta (outbox).
+	 */
+	private void gravarLancamentos(List<Transacao> transacoes) {
+		transacaoRepository.inserirEmLote(transacoes);
+		resumoDiario.registrarPendentes(transacoes);
+		outbox.registrar(transacoes);
+	}
 
+	private void gravarIdempotencia(RegistroIdempotencia idempotencia, Conta conta) {
+		if (idempotencia != null) {
+			idempotencia.concluir(Situacao.SUCESSO, conta.getSaldoTotalEmCentavos(), null);
+			// Flush aqui para a chave duplicada falhar antes do commit, ainda dentro da transação.
+			idempotenciaRepository.saveAndFlush(idempotencia);
+		}
+	}
+
+	private void aplicarLancamentos(Conta conta, List<TransacaoRequest> requests, List<Transacao> transacoes) {
 		for (TransacaoRequest req : requests) {
-			BigDecimal valor = new BigDecimal(req.getValor()); 
+			long valor = Centavos.parse(req.getValor()); 
 			
 			TipoTransacao tipoTransacaoRequest = validarTipoTransacao(req.getTipo());
 
-			if (tipoTransacaoRequest.equals(TipoTransacao.DEBITO)) {
-				conta.debitar(valor); 
+			if (tipoTransacaoRequest == TipoTransacao.DEBITO) {
+				debitar(conta, valor);
 			} else {
 				conta.creditar(valor);
 			}
 
-			transacaoRepository.save(
-					new Transacao(conta, tipoTransacaoRequest, valor)
-			);
+			transacoes.add(new Transacao(conta, tipoTransacaoRequest, valor));
 		}
+	}
+
+	/**
+	 * Debita da conta. Numa conta particionada, se o saldo fora das parcelas não basta,
+	 * as parcelas são consolidadas na conta e o débito é tentado mais uma vez.
+	 */
+	private void debitar(Conta conta, long valor) {
+		try {
+			conta.debitar(valor);
+			return;
+		} catch (SaldoInsuficienteException e) {
+			if (!conta.isParticionada() || parcelasSaldo.consolidar(conta) == 0) {
+				metricas.saldoInsuficiente();
+				throw e;
+			}
+		}
+		debitar(conta, valor);
+	}
+
+	/**
+	 * Pedido só de créditos numa conta particionada: o valor vai inteiro para uma parcela
+	 * sorteada e a linha da conta não é escrita, então não há conflito de @Version entre
+	 * créditos simultâneos. Os lançamentos são gravados antes da parcela, na mesma ordem
+	 * de locks (conta, depois parcelas) dos débitos que consolidam.
+	 */
+	private Conta creditarEmParcela(Conta conta, List<TransacaoRequest> requests, long inicio) {
+		List<Transacao> transacoes = new ArrayList<>(requests.size());
+		long total = 0;
+		for (TransacaoRequest req : requests) {
+			long valor = Centavos.parse(req.getValor());
+			TipoTransacao tipo = validarTipoTransacao(req.getTipo());
+			validarValorPositivo(tipo, valor);
+			total = Centavos.somar(total, valor);
+			transacoes.add(new Transacao(conta, tipo, valor));
+		}
+		inicio = metricas.etapa(Etapa.APLICAR, inicio);
+
+		gravarLancamentos(transacoes);
+		parcelasSaldo.creditar(conta, total);
+		metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+		parcelasSaldo.carregarSaldo(conta);
+		saldoCache.atualizar(conta);
+		metricas.medirCommit();
 
-		//return contaRepository.save(conta);
 		return conta;
 	}
 
-	@Transactional(readOnly = true)
-	public Conta getContaParaSaldo(String numeroConta) {
-		return buscarContaPorNumero(numeroConta);
+	private void carregarParcelas(Conta conta) {
+		if (conta.isParticionada()) {
+			parcelasSaldo.carregarSaldo(conta);
+		}
+	}
+
+	private static boolean somenteCreditos(List<TransacaoRequest> requests) {
+		for (TransacaoRequest req : requests) {
+			if (req.getTipo() != TransacaoRequest.TipoEnum.CREDITO) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static void validarValorPositivo(TipoTransacao tipo, long valor) {
+		if (valor <= 0) {
+			throw new IllegalArgumentException(tipo == TipoTransacao.DEBITO
+					? "Valor do débito deve ser positivo."
+					: "Valor do crédito deve ser positivo.");
+		}
 	}
 
 	private Conta buscarContaPorNumero(String numeroConta) {
@@ -68,7 +527,17 @@ public class ContaService {
 				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
 	}
 
-	private TipoTransacao validarTipoTransacao(TransacaoRequest.@NotNull TipoEnum tipo) {
+	private Long buscarIdPorNumero(String numeroConta) {
+		return contaRepository.findIdByNumeroConta(numeroConta)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+	}
+
+	private Conta bloquearPorId(Long id, String numeroConta) {
+		return contaRepository.findByIdParaAtualizacao(id)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+	}
+
+	static TipoTransacao validarTipoTransacao(TransacaoRequest.@NotNull TipoEnum tipo) {
 		try {
 			return TipoTransacao.valueOf(tipo.name());
 		} catch (IllegalArgumentException e) {
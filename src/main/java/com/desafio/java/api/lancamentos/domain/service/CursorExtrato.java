@@ -0,0 +1,38 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição no extrato: (dataHoraProcessamento, id) do último lançamento entregue.
+ * Trafega na API como texto opaco (Base64 URL-safe).
+ */
+public record CursorExtrato(LocalDateTime dataHora, Long id) {
+
+	private static final char SEPARADOR = '|';
+
+	public static CursorExtrato apos(ItemExtrato item) {
+		return new CursorExtrato(item.dataHoraProcessamento(), item.id());
+	}
+
+	public String codificar() {
+		String texto = dataHora.toString() + SEPARADOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static CursorExtrato decodificar(String cursor) {
+		try {
+			String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separador = texto.lastIndexOf(SEPARADOR);
+			return new CursorExtrato(
+					LocalDateTime.parse(texto.substring(0, separador)),
+					Long.parseLong(texto.substring(separador + 1)));
+		} catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Cursor do extrato inválido.");
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+/**
+ * Como o modo de execução direto protege o saldo contra escritas concorrentes.
+ * Selecionada por {@code lancamentos.concorrencia.estrategia}.
+ */
+public enum EstrategiaConcorrencia {
+
+	/** Entidade JPA + @Version, com retry em caso de conflito. */
+	OTIMISTA,
+
+	/** SELECT ... FOR UPDATE: concorrentes esperam na fila do banco, sem retry. */
+	PESSIMISTA,
+
+	/** UPDATE condicional único por pedido, sem carregar a entidade antes de alterar. */
+	ATOMICA
+}
@@ -0,0 +1,111 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+import com.desafio.java.api.lancamentos.infrastructure.arquivo.ArquivoTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Extrato da conta com paginação por cursor (keyset).
+ *
+ * Cada página é uma leitura de faixa no índice (conta_id, dataHoraProcessamento, id)
+ * a partir do cursor, sem OFFSET: a página 1 e a página 10.000 custam o mesmo.
+ *
+ * Lançamentos já movidos para o {@link ArquivoTransacoes} entram na mesma ordem: o arquivo
+ * só é lido quando a página ainda pode alcançar os dias arquivados.
+ */
+@Service
+public class ExtratoService {
+
+	public static final int LIMITE_PADRAO = 50;
+	public static final int LIMITE_MAXIMO = 500;
+
+	private static final Comparator<ItemExtrato> ORDEM_EXTRATO = Comparator
+			.comparing(ItemExtrato::dataHoraProcessamento)
+			.thenComparing(ItemExtrato::id)
+			.reversed();
+
+	private final ContaRepository contaRepository;
+	private final TransacaoRepository transacaoRepository;
+	private final ArquivoTransacoes arquivo;
+
+	public ExtratoService(ContaRepository contaRepository, TransacaoRepository transacaoRepository,
+						  ArquivoTransacoes arquivo) {
+		this.contaRepository = contaRepository;
+		this.transacaoRepository = transacaoRepository;
+		this.arquivo = arquivo;
+	}
+
+	@Transactional(readOnly = true)
+	public PaginaExtrato consultar(String numeroConta, Integer limite, String cursor) {
+		int tamanhoPagina = limite == null ? LIMITE_PADRAO : limite;
+		if (tamanhoPagina < 1 || tamanhoPagina > LIMITE_MAXIMO) {
+			throw new IllegalArgumentException("Limite do extrato deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+		}
+
+		Long contaId = contaRepository.findIdByNumeroConta(numeroConta)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+
+		// Busca um item a mais só para saber se existe próxima página.
+		Limit limiteConsulta = Limit.of(tamanhoPagina + 1);
+		CursorExtrato posicao = null;
+		List<ItemExtrato> itens;
+		if (cursor == null || cursor.isBlank()) {
+			itens = transacaoRepository.buscarExtrato(contaId, limiteConsulta);
+		} else {
+			posicao = CursorExtrato.decodificar(cursor);
+			itens = transacaoRepository.buscarExtratoApos(contaId, posicao.dataHora(), posicao.id(), limiteConsulta);
+		}
+		itens = incluirArquivados(contaId, posicao, itens, tamanhoPagina + 1);
+
+		if (itens.size() <= tamanhoPagina) {
+			return new PaginaExtrato(numeroConta, itens, null);
+		}
+
+		List<ItemExtrato> pagina = itens.subList(0, tamanhoPagina);
+		return new PaginaExtrato(numeroConta, pagina, CursorExtrato.apos(pagina.get(tamanhoPagina - 1)));
+	}
+
+	/**
+	 * Junta à página da tabela quente os lançamentos arquivados que caem nela. Se a tabela
+	 * quente já encheu a página só com lançamentos posteriores ao último dia arquivado,
+	 * o arquivo não tem o que acrescentar e não é lido.
+	 */
+	private List<ItemExtrato> incluirArquivados(Long contaId, CursorExtrato posicao, List<ItemExtrato> quentes, int limite) {
+		Optional<LocalDateTime> limiteArquivo = arquivo.limiteSuperior();
+		if (limiteArquivo.isEmpty()) {
+			return quentes;
+		}
+		if (quentes.size() == limite
+				&& !quentes.get(limite - 1).dataHoraProcessamento().isBefore(limiteArquivo.get())) {
+			return quentes;
+		}
+
+		List<ItemExtrato> arquivados = posicao == null
+				? arquivo.buscar(contaId, null, null, limite)
+				: arquivo.buscar(contaId, posicao.dataHora(), posicao.id(), limite);
+		if (arquivados.isEmpty()) {
+			return quentes;
+		}
+
+		// Uma linha pode estar nos dois lados se o arquivamento caiu entre gravar e apagar.
+		Map<Long, ItemExtrato> porId = new LinkedHashMap<>();
+		quentes.forEach(item -> porId.put(item.id(), item));
+		arquivados.forEach(item -> porId.putIfAbsent(item.id(), item));
+		List<ItemExtrato> juntos = new ArrayList<>(porId.values());
+		juntos.sort(ORDEM_EXTRATO);
+		return juntos.size() > limite ? juntos.subList(0, limite) : juntos;
+	}
+}
@@ -0,0 +1,161 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Taxa de conflitos de lock otimista por conta, numa janela deslizante, para o modo direto
+ * com a estratégia otimista.
+ *
+ * Cada chamada de {@link ContaService#processarTransacoes} registra, ao terminar, as tentativas
+ * usadas e quantas delas conflitaram (é um {@link RetryListener}, aplicado pelo Spring Retry).
+ * Uma conta com pelo menos {@code amostras-minimas} tentativas na janela e taxa de conflitos
+ * acima do {@code limiar} passa a ser atendida pelo lock pessimista, que não gera conflitos:
+ * ela volta ao caminho otimista quando os conflitos antigos saem da janela. Contas frias não
+ * entram no mapa de janelas ou ficam abaixo do limiar, e seguem pelo caminho otimista.
+ */
+@Component
+public class GerenciadorContencao implements RetryListener {
+
+	private static final int FATIAS = 10;
+	private static final String METODO = "processarTransacoes";
+
+	private final boolean habilitado;
+	private final long fatiaNanos;
+	private final double limiar;
+	private final int amostrasMinimas;
+	private final Cache<String, Janela> janelas;
+	private final MetricasTransacoes metricas;
+	private final Ticker ticker;
+
+	@Autowired
+	public GerenciadorContencao(@Value("${lancamentos.concorrencia.contencao.habilitado:true}") boolean habilitado,
+								@Value("${lancamentos.concorrencia.contencao.janela:10s}") Duration janela,
+								@Value("${lancamentos.concorrencia.contencao.limiar:0.3}") double limiar,
+								@Value("${lancamentos.concorrencia.contencao.amostras-minimas:20}") int amostrasMinimas,
+								@Value("${lancamentos.concorrencia.contencao.tamanho-maximo:100000}") long tamanhoMaximo,
+								MetricasTransacoes metricas) {
+		this(habilitado, janela, limiar, amostrasMinimas, tamanhoMaximo, metricas, Ticker.systemTicker());
+	}
+
+	/**
+	 * @param ticker relógio em nanossegundos das fatias e da expiração das janelas
+	 */
+	GerenciadorContencao(boolean habilitado, Duration janela, double limiar, int amostrasMinimas, long tamanhoMaximo,
+						 MetricasTransacoes metricas, Ticker ticker) {
+		this.habilitado = habilitado;
+		this.fatiaNanos = Math.max(1, janela.toNanos() / FATIAS);
+		this.limiar = limiar;
+		this.amostrasMinimas = amostrasMinimas;
+		this.janelas = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterAccess(janela)
+				.ticker(ticker)
+				.build();
+		this.metricas = metricas;
+		this.ticker = ticker;
+	}
+
+	/**
+	 * Indica se a conta deve ir para o lock pessimista. Conta sem registros na janela não está em contenção.
+	 */
+	public boolean emContencao(String numeroConta) {
+		if (!habilitado) {
+			return false;
+		}
+		Janela janela = janelas.getIfPresent(numeroConta);
+		boolean contencao = janela != null && janela.acimaDoLimiar(ticker.read());
+		if (contencao) {
+			metricas.desvioPessimista();
+		}
+		return contencao;
+	}
+
+	void registrar(String numeroConta, int tentativas, int conflitos) {
+		if (habilitado) {
+			janelas.get(numeroConta, chave -> new Janela()).registrar(ticker.read(), tentativas, conflitos);
+		}
+	}
+
+	/**
+	 * O Spring Retry conta toda tentativa que falhou, qualquer que seja a exceção: só a última
+	 * pode não ter sido conflito (ex: saldo insuficiente).
+	 */
+	@Override
+	public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+		if (!(callback instanceof MethodInvocationRetryCallback<?, ?> invocacao)
+				|| !METODO.equals(invocacao.getInvocation().getMethod().getName())
+				|| !(invocacao.getInvocation().getArguments()[0] instanceof String numeroConta)) {
+			return;
+		}
+
+		int falhas = context.getRetryCount();
+		if (throwable == null) {
+			registrar(numeroConta, falhas + 1, falhas);
+		} else if (throwable instanceof OptimisticLockingFailureException) {
+			registrar(numeroConta, falhas, falhas);
+		} else {
+			registrar(numeroConta, falhas, falhas - 1);
+		}
+	}
+
+	/**
+	 * {@link #FATIAS} contadores circulares, cada um cobrindo uma fatia de tempo da janela.
+	 * A posição de uma fatia que já saiu da janela é zerada quando reutilizada.
+	 */
+	private final class Janela {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final long[] fatias = new long[FATIAS];
+		private final int[] tentativas = new int[FATIAS];
+		private final int[] conflitos = new int[FATIAS];
+
+		void registrar(long agora, int novasTentativas, int novosConflitos) {
+			long fatia = agora / fatiaNanos;
+			int posicao = (int) Math.floorMod(fatia, (long) FATIAS);
+			lock.lock();
+			try {
+				if (fatias[posicao] != fatia) {
+					fatias[posicao] = fatia;
+					tentativas[posicao] = 0;
+					conflitos[posicao] = 0;
+				}
+				tentativas[posicao] += novasTentativas;
+				conflitos[posicao] += novosConflitos;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		boolean acimaDoLimiar(long agora) {
+			long atual = agora / fatiaNanos;
+			int totalTentativas = 0;
+			int totalConflitos = 0;
+			lock.lock();
+			try {
+				for (int i = 0; i < FATIAS; i++) {
+					if (atual - fatias[i] < FATIAS) {
+						totalTentativas += tentativas[i];
+						totalConflitos += conflitos[i];
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+			return totalTentativas >= amostrasMinimas && totalConflitos > limiar * totalTentativas;
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ChaveIdempotenciaReutilizadaException;
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia;
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia.Situacao;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.infrastructure.repository.RegistroIdempotenciaRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Deduplicação de {@code POST /transacoes} pelo header {@code Idempotency-Key}.
+ *
+ * <ul>
+ *   <li>Memória: resultados concluídos em um cache limitado por tamanho e TTL. Um reenvio
+ *   recente é respondido daqui, sem tocar no banco nem na conta;</li>
+ *   <li>Em andamento: duplicatas simultâneas da mesma chave esperam o futuro da original
+ *   e recebem o mesmo resultado, em vez de disputar a conta;</li>
+ *   <li>Banco ({@link RegistroIdempotencia}): a operação recebe o registro e o grava na
+ *   mesma transação que altera o saldo, então a chave só existe se os lançamentos existem.
+ *   O reenvio funciona após reinício ou em outra instância; se duas instâncias executam a
+ *   mesma chave, a chave primária faz a segunda transação desfazer tudo, e ela devolve o
+ *   resultado gravado pela primeira. Registros mais antigos que {@code retencao} são
+ *   removidos periodicamente.</li>
+ * </ul>
+ *
+ * Resultados de negócio (sucesso, saldo insuficiente, conta inexistente, requisição
+ * inválida) são guardados e reproduzidos; os erros, depois do rollback, numa transação
+ * própria. Falhas técnicas (ex: conflito após retries) não gravam nada, então o cliente
+ * pode tentar de novo com a mesma chave.
+ */
+@Service
+public class IdempotenciaService {
+
+	private final RegistroIdempotenciaRepository repository;
+	private final Cache<String, Resultado> concluidos;
+	private final ConcurrentHashMap<String, CompletableFuture<Resultado>> emAndamento = new ConcurrentHashMap<>();
+	private final Duration retencao;
+
+	public IdempotenciaService(RegistroIdempotenciaRepository repository,
+							   @Value("${lancamentos.idempotencia.tamanho-maximo:100000}") long tamanhoMaximo,
+							   @Value("${lancamentos.idempotencia.expiracao:10m}") Duration expiracao,
+							   @Value("${lancamentos.idempotencia.retencao:24h}") Duration retencao,
+							   ObjectProvider<MeterRegistry> meterRegistry) {
+		this.repository = repository;
+		this.retencao = retencao;
+		this.concluidos = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterWrite(expiracao)
+				.recordStats()
+				.build();
+
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, concluidos, "idempotencia"));
+	}
+
+	/**
+	 * @param operacao aplica os lançamentos e grava o registro recebido (já concluído como
+	 *                 sucesso) na mesma transação
+	 */
+	public SaldoConta executar(String chave, String numeroConta, List<TransacaoRequest> requests,
+							   Function<RegistroIdempotencia, SaldoConta> operacao) {
+		String impressao = impressao(numeroConta, requests);
+
+		Resultado pronto = concluidos.getIfPresent(chave);
+		if (pronto != null) {
+			return reproduzir(pronto, impressao);
+		}
+
+		CompletableFuture<Resultado> execucao = new CompletableFuture<>();
+		CompletableFuture<Resultado> original = emAndamento.putIfAbsent(chave, execucao);
+		if (original != null) {
+			return reproduzir(aguardar(original), impressao);
+		}
+
+		try {
+			Resultado resultado = executarUmaVez(chave, numeroConta, impressao, operacao);
+			execucao.complete(resultado);
+			return reproduzir(resultado, impressao);
+		} catch (RuntimeException e) {
+			execucao.completeExceptionally(e);
+			throw e;
+		} finally {
+			emAndamento.remove(chave, execucao);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${lancamentos.idempotencia.intervalo-limpeza:PT1H}")
+	public void removerExpirados() {
+		repository.removerCriadosAntesDe(LocalDateTime.now().minus(retencao));
+	}
+
+	private Resultado executarUmaVez(String chave, String numeroConta, String impressao,
+									 Function<RegistroIdempotencia, SaldoConta> operacao) {
+		Optional<Resultado> gravado = buscar(chave);
+		if (gravado.isPresent()) {
+			return gravado.get();
+		}
+
+		RegistroIdempotencia registro = RegistroIdempotencia.novo(chave, numeroConta, impressao);
+		Resultado resultado;
+		try {
+			SaldoConta saldo = operacao.apply(registro);
+			resultado = new Resultado(saldo.numeroConta(), impressao, Situacao.SUCESSO, saldo.saldo(), null);
+		} catch (DataIntegrityViolationException e) {
+			// Outra instância gravou a chave primeiro: a transação desta foi desfeita inteira.
+			return buscar(chave).orElseThrow(() -> e);
+		} catch (SaldoInsuficienteException e) {
+			return gravarErro(registro, Situacao.SALDO_INSUFICIENTE, e.getMessage());
+		} catch (ContaNotFoundException e) {
+			return gravarErro(registro, Situacao.CONTA_NAO_ENCONTRADA, e.getMessage());
+		} catch (IllegalArgumentException e) {
+			return gravarErro(registro, Situacao.REQUISICAO_INVALIDA, e.getMessage());
+		}
+
+		concluidos.put(chave, resultado);
+		return resultado;
+	}
+
+	/**
+	 * Grava o erro de negócio depois do rollback da operação. Se outra instância gravou a
+	 * chave nesse meio tempo, vale o resultado dela.
+	 */
+	private Resultado gravarErro(RegistroIdempotencia registro, Situacao situacao, String mensagem) {
+		registro.concluir(situacao, null, mensagem);
+		try {
+			repository.saveAndFlush(registro);
+		} catch (DataIntegrityViolationException e) {
+			return buscar(registro.getId()).orElseThrow(() -> e);
+		}
+
+		Resultado resultado = Resultado.de(registro);
+		concluidos.put(registro.getId(), resultado);
+		return resultado;
+	}
+
+	private Optional<Resultado> buscar(String chave) {
+		Optional<Resultado> resultado = repository.findById(chave).map(Resultado::de);
+		resultado.ifPresent(gravado -> concluidos.put(chave, gravado));
+		return resultado;
+	}
+
+	private static SaldoConta reproduzir(Resultado resultado, String impressao) {
+		if (!resultado.impressao().equals(impressao)) {
+			throw new ChaveIdempotenciaReutilizadaException(
+					"Idempotency-Key já utilizada com outra requisição.");
+		}
+
+		return switch (resultado.situacao()) {
+			case SUCESSO -> new SaldoConta(resultado.numeroConta(), resultado.saldo());
+			case SALDO_INSUFICIENTE -> throw new SaldoInsuficienteException(resultado.mensagem());
+			case CONTA_NAO_ENCONTRADA -> throw new ContaNotFoundException(resultado.mensagem());
+			case REQUISICAO_INVALIDA -> throw new IllegalArgumentException(resultado.mensagem());
+		};
+	}
+
+	private static Resultado aguardar(CompletableFuture<Resultado> original) {
+		try {
+			return original.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando a requisição original.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException causa) {
+				throw causa;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	static String impressao(String numeroConta, List<TransacaoRequest> requests) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		digest.update(numeroConta.getBytes(StandardCharsets.UTF_8));
+		for (TransacaoRequest request : requests) {
+			digest.update((byte) '\n');
+			digest.update(String.valueOf(request.getTipo()).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) ':');
+			digest.update(String.valueOf(request.getValor()).getBytes(StandardCharsets.UTF_8));
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Fotografia imutável de um {@link RegistroIdempotencia}, guardada no cache em memória.
+	 */
+	private record Resultado(String numeroConta, String impressao, Situacao situacao, Long saldo, String mensagem) {
+
+		static Resultado de(RegistroIdempotencia registro) {
+			return new Resultado(registro.getNumeroConta(), registro.getImpressao(), registro.getSituacao(),
+					registro.getSaldo(), registro.getMensagem());
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.util.UUID;
+
+/**
+ * Estado de um pedido de lançamentos submetido de forma assíncrona.
+ * Imutável: cada mudança de estado substitui a instância guardada no {@link OperacaoService}.
+ * Uma falha guarda só o motivo e a mensagem, não a exceção.
+ */
+public record Operacao(UUID id, String numeroConta, Status status, SaldoConta resultado, Falha falha) {
+
+	public enum Status {
+		PENDENTE,
+		CONCLUIDA,
+		FALHOU
+	}
+
+	/**
+	 * Por que a execução falhou. A mensagem só é guardada para os motivos de regra de negócio;
+	 * o texto de uma falha técnica não sai para o cliente.
+	 */
+	public record Falha(Motivo motivo, String mensagem) {
+
+		public enum Motivo {
+			SALDO_INSUFICIENTE,
+			CONTA_NAO_ENCONTRADA,
+			REQUISICAO_INVALIDA,
+			CONFLITO,
+			INTERNA
+		}
+
+		static Falha de(Throwable causa) {
+			if (causa instanceof SaldoInsuficienteException) {
+				return new Falha(Motivo.SALDO_INSUFICIENTE, causa.getMessage());
+			}
+			if (causa instanceof ContaNotFoundException) {
+				return new Falha(Motivo.CONTA_NAO_ENCONTRADA, causa.getMessage());
+			}
+			if (causa instanceof IllegalArgumentException) {
+				return new Falha(Motivo.REQUISICAO_INVALIDA, causa.getMessage());
+			}
+			if (causa instanceof OptimisticLockingFailureException || causa instanceof PessimisticLockingFailureException) {
+				return new Falha(Motivo.CONFLITO, null);
+			}
+			return new Falha(Motivo.INTERNA, null);
+		}
+
+		/**
+		 * A exceção que o caminho síncrono teria lançado, para reaproveitar o mesmo mapeamento
+		 * de erros da API. {@link Motivo#INTERNA} vira uma exceção sem handler, que a API
+		 * responde com um 500 genérico.
+		 */
+		public RuntimeException comoExcecao() {
+			return switch (motivo) {
+				case SALDO_INSUFICIENTE -> new SaldoInsuficienteException(mensagem);
+				case CONTA_NAO_ENCONTRADA -> new ContaNotFoundException(mensagem);
+				case REQUISICAO_INVALIDA -> new IllegalArgumentException(mensagem);
+				case CONFLITO -> new OptimisticLockingFailureException("Conflito de concorrência.");
+				case INTERNA -> new IllegalStateException("Falha interna.");
+			};
+		}
+	}
+
+	static Operacao pendente(String numeroConta) {
+		return new Operacao(UUID.randomUUID(), numeroConta, Status.PENDENTE, null, null);
+	}
+
+	Operacao concluida(SaldoConta saldo) {
+		return new Operacao(id, numeroConta, Status.CONCLUIDA, saldo, null);
+	}
+
+	Operacao falhou(Throwable causa) {
+		return new Operacao(id, numeroConta, Status.FALHOU, null, Falha.de(causa));
+	}
+}
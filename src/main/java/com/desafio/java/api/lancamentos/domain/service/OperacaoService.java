@@ -0,0 +1,167 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.FilaOperacoesCheiaException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processamento assíncrono de lançamentos: o pedido é validado na chegada, entra numa
+ * fila limitada e é executado por um pool fixo de workers pelo {@link ExecutorTransacoes}
+ * ativo, com as mesmas regras do caminho síncrono.
+ *
+ * A thread da requisição volta assim que o pedido é enfileirado, então a quantidade de
+ * requisições em andamento deixa de depender da latência do banco; a concorrência no banco
+ * fica limitada pelo número de workers. Com a fila cheia o pedido é recusado na hora, em vez
+ * de acumular memória. O estado das operações fica em memória: é local à instância e não
+ * sobrevive a reinício. As pendentes ficam num mapa à parte, limitado pela fila e pelos
+ * workers, e nunca expiram; as terminadas vão para um cache (Caffeine) limitado por
+ * {@code tamanho-maximo} e {@code expiracao}.
+ */
+@Service
+public class OperacaoService {
+
+	private static final Logger log = LoggerFactory.getLogger(OperacaoService.class);
+
+	private final ExecutorTransacoes executorTransacoes;
+	private final ContaRepository contaRepository;
+	private final ConcurrentMap<UUID, Operacao> pendentes = new ConcurrentHashMap<>();
+	private final Cache<UUID, Operacao> terminadas;
+	private final ThreadPoolExecutor workers;
+
+	public OperacaoService(ExecutorTransacoes executorTransacoes, ContaRepository contaRepository,
+						   @Value("${lancamentos.operacoes.workers:8}") int quantidadeWorkers,
+						   @Value("${lancamentos.operacoes.capacidade-fila:10000}") int capacidadeFila,
+						   @Value("${lancamentos.operacoes.tamanho-maximo:100000}") long tamanhoMaximo,
+						   @Value("${lancamentos.operacoes.expiracao:10m}") Duration expiracao,
+						   @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais,
+						   ObjectProvider<MeterRegistry> meterRegistry) {
+		if (quantidadeWorkers <= 0 || capacidadeFila <= 0 || tamanhoMaximo <= 0) {
+			throw new IllegalArgumentException("Configuração inválida das operações assíncronas.");
+		}
+		this.executorTransacoes = executorTransacoes;
+		this.contaRepository = contaRepository;
+		this.terminadas = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterWrite(expiracao)
+				.recordStats()
+				.build();
+		this.workers = new ThreadPoolExecutor(quantidadeWorkers, quantidadeWorkers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(capacidadeFila),
+				threadsVirtuais
+						? Thread.ofVirtual().name("operacoes-", 0).factory()
+						: Thread.ofPlatform().name("operacoes-", 0).daemon(true).factory(),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		meterRegistry.ifAvailable(registry -> {
+			CaffeineCacheMetrics.monitor(registry, terminadas, "operacoes");
+			Gauge.builder("lancamentos.operacoes.fila", workers, executor -> executor.getQueue().size())
+					.description("Operações assíncronas aguardando um worker")
+					.register(registry);
+		});
+	}
+
+	/**
+	 * Valida o pedido e a existência da conta e enfileira a execução.
+	 * Erros de validação são lançados aqui, como no caminho síncrono; saldo insuficiente e
+	 * conflitos só são conhecidos na execução e ficam registrados na operação.
+	 *
+	 * @throws FilaOperacoesCheiaException se não houver espaço na fila
+	 */
+	public Operacao submeter(String numeroConta, List<TransacaoRequest> requests) {
+		validar(requests);
+		if (contaRepository.findIdByNumeroConta(numeroConta).isEmpty()) {
+			throw new ContaNotFoundException("Conta não encontrada: " + numeroConta);
+		}
+
+		List<TransacaoRequest> pedido = List.copyOf(requests);
+		Operacao operacao = Operacao.pendente(numeroConta);
+		pendentes.put(operacao.id(), operacao);
+		try {
+			workers.execute(() -> processar(operacao, pedido));
+		} catch (RejectedExecutionException e) {
+			pendentes.remove(operacao.id());
+			throw new FilaOperacoesCheiaException("Fila de operações cheia. Tente novamente em instantes.");
+		}
+		return operacao;
+	}
+
+	public Optional<Operacao> consultar(UUID id) {
+		Operacao pendente = pendentes.get(id);
+		return pendente != null ? Optional.of(pendente) : Optional.ofNullable(terminadas.getIfPresent(id));
+	}
+
+	private void processar(Operacao operacao, List<TransacaoRequest> requests) {
+		Operacao resultado;
+		Throwable falha = null;
+		try {
+			SaldoConta saldo = executorTransacoes.executar(operacao.numeroConta(), requests);
+			resultado = operacao.concluida(saldo);
+		} catch (Throwable e) {
+			// Qualquer falha, inclusive Error, termina a operação: senão ela ficaria PENDENTE para sempre.
+			resultado = operacao.falhou(e);
+			falha = e;
+			if (resultado.falha().motivo() == Operacao.Falha.Motivo.INTERNA) {
+				log.error("Operação {} da conta {} falhou", operacao.id(), operacao.numeroConta(), e);
+			} else {
+				log.debug("Operação {} da conta {} falhou: {}", operacao.id(), operacao.numeroConta(), e.getMessage());
+			}
+		}
+		// Terminada antes de sair das pendentes: a consulta nunca fica sem a operação.
+		terminadas.put(operacao.id(), resultado);
+		pendentes.remove(operacao.id());
+		if (falha instanceof Error erro) {
+			throw erro;
+		}
+	}
+
+	private static void validar(List<TransacaoRequest> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new IllegalArgumentException("O pedido deve ter ao menos uma transação.");
+		}
+		for (TransacaoRequest req : requests) {
+			if (req == null || req.getTipo() == null || req.getValor() == null) {
+				throw new IllegalArgumentException("Transação deve informar tipo e valor.");
+			}
+			TipoTransacao tipo = ContaService.validarTipoTransacao(req.getTipo());
+			ContaService.validarValorPositivo(tipo, Centavos.parse(req.getValor()));
+		}
+	}
+
+	/**
+	 * Para de aceitar pedidos e dá aos workers um tempo para terminar os já enfileirados.
+	 */
+	@PreDestroy
+	public void encerrar() throws InterruptedException {
+		workers.shutdown();
+		if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+			log.warn("{} operação(ões) assíncrona(s) não processada(s) no encerramento.", workers.shutdownNow().size());
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+
+import java.util.List;
+
+/**
+ * Uma página do extrato e o cursor da próxima ({@code null} na última página).
+ */
+public record PaginaExtrato(String numeroConta, List<ItemExtrato> itens, CursorExtrato proximo) {
+}
@@ -0,0 +1,144 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.ParcelaSaldo;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.infrastructure.cache.SaldoCache;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ParcelaSaldoRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Saldo particionado de contas quentes (ver {@link ParcelaSaldo}).
+ *
+ * Invariante: {@code saldo da conta = conta.saldo + Σ parcelas}. Créditos entram numa
+ * parcela; débitos saem de {@code conta.saldo}. Quando um débito precisa de mais do que
+ * a conta tem, todas as parcelas são bloqueadas (sempre depois da conta e em ordem de
+ * índice) e transferidas para ela. Os métodos sem {@code @Transactional} próprio rodam
+ * na transação de quem chama.
+ */
+@Service
+public class ParcelasSaldoService {
+
+	public static final int PARCELAS_MAXIMO = 64;
+
+	private final ContaRepository contaRepository;
+	private final ParcelaSaldoRepository parcelaRepository;
+	private final SaldoCache saldoCache;
+	private final MetricasTransacoes metricas;
+
+	public ParcelasSaldoService(ContaRepository contaRepository, ParcelaSaldoRepository parcelaRepository,
+								SaldoCache saldoCache, MetricasTransacoes metricas) {
+		this.contaRepository = contaRepository;
+		this.parcelaRepository = parcelaRepository;
+		this.saldoCache = saldoCache;
+		this.metricas = metricas;
+	}
+
+	/**
+	 * Redistribui a conta em {@code parcelas} parcelas vazias (1 desliga), consolidando antes
+	 * o que estava nas parcelas atuais. O saldo total não muda.
+	 */
+	@Transactional
+	public SaldoConta configurar(String numeroConta, int parcelas) {
+		if (parcelas < 1 || parcelas > PARCELAS_MAXIMO) {
+			throw new IllegalArgumentException("Quantidade de parcelas deve estar entre 1 e " + PARCELAS_MAXIMO + ".");
+		}
+		Conta conta = contaRepository.findByNumeroContaParaAtualizacao(numeroConta)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+
+		if (conta.isParticionada()) {
+			transferirParcelasParaConta(conta);
+			parcelaRepository.removerPorConta(conta.getId());
+		}
+		conta.definirParcelas(parcelas);
+		conta.registrarSaldoParcelas(0);
+
+		if (parcelas > 1) {
+			List<ParcelaSaldo> novas = new ArrayList<>(parcelas);
+			for (int indice = 0; indice < parcelas; indice++) {
+				novas.add(new ParcelaSaldo(conta, indice));
+			}
+			parcelaRepository.saveAll(novas);
+		}
+		saldoCache.atualizar(conta);
+		return SaldoConta.de(conta);
+	}
+
+	/**
+	 * Soma {@code valor} a uma parcela sorteada. A linha da conta não é escrita.
+	 *
+	 * @throws OptimisticLockingFailureException se as parcelas foram reconfiguradas depois
+	 *                                           que a conta foi lida (o chamador refaz o pedido)
+	 */
+	public void creditar(Conta conta, long valor) {
+		int indice = ThreadLocalRandom.current().nextInt(conta.getParcelasSaldo());
+		if (parcelaRepository.creditar(conta.getId(), indice, Centavos.paraBigDecimal(valor)) == 0) {
+			throw new OptimisticLockingFailureException(
+					"Parcelas da conta " + conta.getNumeroConta() + " foram reconfiguradas.");
+		}
+	}
+
+	/**
+	 * Traz todas as parcelas para o saldo da conta, para cobrir um débito.
+	 *
+	 * @return o valor transferido (0 se as parcelas estavam vazias)
+	 */
+	public long consolidar(Conta conta) {
+		long transferido = transferirParcelasParaConta(conta);
+		if (transferido > 0) {
+			metricas.consolidacaoParcelas();
+		}
+		return transferido;
+	}
+
+	/**
+	 * Registra na conta a soma atual das parcelas, para que {@link SaldoConta#de(Conta)}
+	 * devolva o saldo total. Não faz nada para conta sem parcelas.
+	 */
+	public void carregarSaldo(Conta conta) {
+		if (conta.isParticionada()) {
+			conta.registrarSaldoParcelas(saldoDasParcelas(conta.getId()));
+		}
+	}
+
+	/**
+	 * Como {@link #carregarSaldo}, mas com as parcelas bloqueadas (SELECT ... FOR UPDATE) até o
+	 * fim da transação. Um crédito em parcela não passa pela linha da conta, então o lock da
+	 * conta não basta para que nenhum lançamento entre entre esta leitura e uma soma dos
+	 * lançamentos feita depois dela. Deve ser chamado com a conta já bloqueada.
+	 */
+	public void carregarSaldoBloqueado(Conta conta) {
+		if (conta.isParticionada()) {
+			parcelaRepository.bloquearPorConta(conta.getId());
+			conta.registrarSaldoParcelas(saldoDasParcelas(conta.getId()));
+		}
+	}
+
+	/**
+	 * Soma das parcelas da conta, para leituras que não carregam a entidade.
+	 */
+	public long saldoDasParcelas(Long contaId) {
+		return Centavos.de(parcelaRepository.somarSaldo(contaId));
+	}
+
+	private long transferirParcelasParaConta(Conta conta) {
+		long transferido = 0;
+		for (ParcelaSaldo parcela : parcelaRepository.bloquearPorConta(conta.getId())) {
+			transferido = Centavos.somar(transferido, parcela.esvaziar());
+		}
+		conta.ajustarSaldo(transferido);
+		conta.registrarSaldoParcelas(0);
+		return transferido;
+	}
+}
@@ -0,0 +1,210 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoSnapshot;
+import com.desafio.java.api.lancamentos.domain.service.RelatorioReconciliacao.Divergencia;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ReconciliacaoRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.SaldoSnapshotRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Confere, para todas as contas, que {@code saldo (+ parcelas) = base + Σ lançamentos}, onde a
+ * base é o último {@link SaldoSnapshot} (com os lançamentos a partir do corte) ou, sem snapshot,
+ * o saldo de abertura da conta.
+ *
+ * As contas são divididas por faixa de id num {@link ForkJoinPool} de {@code paralelismo}
+ * threads: cada faixa de até {@code contas-por-particao} ids percorre os seus lançamentos com
+ * cursor, somando em um {@code long[]} indexado pelo id, e compara com as contas da faixa.
+ * A memória fica limitada a uma faixa por thread, seja qual for o volume de lançamentos.
+ *
+ * Cada faixa é lida na sua transação, então um lançamento gravado durante a leitura pode
+ * parecer uma divergência. Por isso cada candidata é conferida de novo com a conta bloqueada,
+ * e só as confirmadas entram no relatório.
+ */
+@Service
+public class ReconciliacaoService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReconciliacaoService.class);
+
+	private final ReconciliacaoRepository reconciliacaoRepository;
+	private final ContaRepository contaRepository;
+	private final TransacaoRepository transacaoRepository;
+	private final SaldoSnapshotRepository snapshotRepository;
+	private final ParcelasSaldoService parcelasSaldo;
+	private final TransactionTemplate leitura;
+	private final TransactionTemplate escrita;
+	private final boolean habilitado;
+	private final int paralelismo;
+	private final int contasPorParticao;
+	private final int limiteRelatorio;
+	private final AtomicLong ultimasDivergencias = new AtomicLong();
+
+	public ReconciliacaoService(ReconciliacaoRepository reconciliacaoRepository, ContaRepository contaRepository,
+								TransacaoRepository transacaoRepository, SaldoSnapshotRepository snapshotRepository,
+								ParcelasSaldoService parcelasSaldo, PlatformTransactionManager transactionManager,
+								MeterRegistry registry,
+								@Value("${lancamentos.reconciliacao.habilitado:false}") boolean habilitado,
+								@Value("${lancamentos.reconciliacao.paralelismo:4}") int paralelismo,
+								@Value("${lancamentos.reconciliacao.contas-por-particao:10000}") int contasPorParticao,
+								@Value("${lancamentos.reconciliacao.limite-relatorio:1000}") int limiteRelatorio) {
+		this.reconciliacaoRepository = reconciliacaoRepository;
+		this.contaRepository = contaRepository;
+		this.transacaoRepository = transacaoRepository;
+		this.snapshotRepository = snapshotRepository;
+		this.parcelasSaldo = parcelasSaldo;
+		this.leitura = new TransactionTemplate(transactionManager);
+		this.leitura.setReadOnly(true);
+		this.escrita = new TransactionTemplate(transactionManager);
+		this.habilitado = habilitado;
+		this.paralelismo = paralelismo;
+		this.contasPorParticao = contasPorParticao;
+		this.limiteRelatorio = limiteRelatorio;
+
+		Gauge.builder("lancamentos.reconciliacao.divergencias", ultimasDivergencias, AtomicLong::get)
+				.description("Contas com saldo divergente na última reconciliação")
+				.register(registry);
+	}
+
+	@Scheduled(fixedDelayString = "${lancamentos.reconciliacao.intervalo:PT24H}",
+			initialDelayString = "${lancamentos.reconciliacao.intervalo:PT24H}")
+	public void reconciliarAgendado() {
+		if (habilitado) {
+			reconciliar();
+		}
+	}
+
+	public RelatorioReconciliacao reconciliar() {
+		long inicio = System.nanoTime();
+		Optional<long[]> faixa = leitura.execute(status -> reconciliacaoRepository.faixaDeIds());
+
+		ResultadoFaixa resultado = ResultadoFaixa.VAZIO;
+		if (faixa.isPresent()) {
+			try (ForkJoinPool pool = new ForkJoinPool(paralelismo)) {
+				resultado = pool.invoke(new TarefaFaixa(faixa.get()[0], faixa.get()[1]));
+			}
+		}
+
+		List<Divergencia> divergencias = new ArrayList<>();
+		long total = 0;
+		for (long contaId : resultado.candidatas()) {
+			Optional<Divergencia> divergencia = escrita.execute(status -> reverificar(contaId));
+			if (divergencia.isPresent()) {
+				total++;
+				if (divergencias.size() < limiteRelatorio) {
+					divergencias.add(divergencia.get());
+				}
+			}
+		}
+		ultimasDivergencias.set(total);
+
+		RelatorioReconciliacao relatorio = new RelatorioReconciliacao(resultado.contas(), resultado.lancamentos(),
+				total, divergencias, Duration.ofNanos(System.nanoTime() - inicio));
+		if (total > 0) {
+			log.warn("Reconciliação: {} conta(s) com saldo divergente de {} verificada(s): {}",
+					total, relatorio.contasVerificadas(), divergencias);
+		} else {
+			log.info("Reconciliação: {} conta(s) e {} lançamento(s) conferidos em {} ms, sem divergências.",
+					relatorio.contasVerificadas(), relatorio.lancamentosLidos(), relatorio.duracao().toMillis());
+		}
+		return relatorio;
+	}
+
+	/**
+	 * Lê a faixa {@code [inicio, fim]} de ids: soma os lançamentos por conta e devolve as
+	 * contas em que {@code base + soma} difere do saldo atual.
+	 */
+	private ResultadoFaixa verificarFaixa(long inicio, long fim) {
+		return leitura.execute(status -> {
+			long[] somas = new long[(int) (fim - inicio + 1)];
+			long lancamentos = reconciliacaoRepository.percorrerLancamentos(inicio, fim,
+					(contaId, valor) -> somas[(int) (contaId - inicio)] = Centavos.somar(somas[(int) (contaId - inicio)], valor));
+
+			List<Long> candidatas = new ArrayList<>();
+			int contas = reconciliacaoRepository.percorrerContas(inicio, fim, (contaId, saldoAtual, saldoBase) -> {
+				if (Centavos.somar(saldoBase, somas[(int) (contaId - inicio)]) != saldoAtual) {
+					candidatas.add(contaId);
+				}
+			});
+			return new ResultadoFaixa(contas, lancamentos, candidatas);
+		});
+	}
+
+	/**
+	 * Refaz a conta de uma candidata com a linha e as parcelas bloqueadas, sem escritas
+	 * concorrentes no meio.
+	 */
+	private Optional<Divergencia> reverificar(long contaId) {
+		Optional<Conta> encontrada = contaRepository.findByIdParaAtualizacao(contaId);
+		if (encontrada.isEmpty()) {
+			return Optional.empty();
+		}
+		Conta conta = encontrada.get();
+		parcelasSaldo.carregarSaldoBloqueado(conta);
+
+		Optional<SaldoSnapshot> snapshot = snapshotRepository.findFirstByContaIdOrderByDataHoraCorteDesc(contaId);
+		long esperado = snapshot.isPresent()
+				? Centavos.somar(snapshot.get().getSaldoEmCentavos(),
+						Centavos.de(transacaoRepository.somarDesde(contaId, snapshot.get().getDataHoraCorte())))
+				: Centavos.somar(conta.getSaldoAberturaEmCentavos(),
+						Centavos.de(transacaoRepository.somarPorConta(contaId)));
+
+		if (esperado == conta.getSaldoTotalEmCentavos()) {
+			return Optional.empty();
+		}
+		return Optional.of(new Divergencia(conta.getNumeroConta(), esperado, conta.getSaldoTotalEmCentavos()));
+	}
+
+	private final class TarefaFaixa extends RecursiveTask<ResultadoFaixa> {
+
+		private final long inicio;
+		private final long fim;
+
+		TarefaFaixa(long inicio, long fim) {
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		@Override
+		protected ResultadoFaixa compute() {
+			if (fim - inicio < contasPorParticao) {
+				return verificarFaixa(inicio, fim);
+			}
+			long meio = inicio + (fim - inicio) / 2;
+			TarefaFaixa esquerda = new TarefaFaixa(inicio, meio);
+			esquerda.fork();
+			ResultadoFaixa direita = new TarefaFaixa(meio + 1, fim).compute();
+			return esquerda.join().juntar(direita);
+		}
+	}
+
+	private record ResultadoFaixa(long contas, long lancamentos, List<Long> candidatas) {
+
+		static final ResultadoFaixa VAZIO = new ResultadoFaixa(0, 0, List.of());
+
+		ResultadoFaixa juntar(ResultadoFaixa outro) {
+			List<Long> todas = new ArrayList<>(candidatas.size() + outro.candidatas.size());
+			todas.addAll(candidatas);
+			todas.addAll(outro.candidatas);
+			return new ResultadoFaixa(contas + outro.contas, lancamentos + outro.lancamentos, todas);
+		}
+	}
+}
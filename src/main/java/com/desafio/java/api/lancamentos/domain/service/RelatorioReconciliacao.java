@@ -0,0 +1,23 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado de uma reconciliação: contas e lançamentos lidos e as contas cujo saldo não bate
+ * com a base (abertura ou último snapshot) mais os lançamentos. {@code divergencias} é limitada
+ * a {@code lancamentos.reconciliacao.limite-relatorio}; {@code totalDivergencias} é a contagem real.
+ */
+public record RelatorioReconciliacao(long contasVerificadas, long lancamentosLidos, long totalDivergencias,
+									 List<Divergencia> divergencias, Duration duracao) {
+
+	/**
+	 * Valores em centavos.
+	 */
+	public record Divergencia(String numeroConta, long saldoEsperado, long saldoAtual) {
+
+		public long diferenca() {
+			return saldoAtual - saldoEsperado;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+
+/**
+ * Resultado individual de um pedido processado dentro de um lote.
+ *
+ * Ou o pedido foi aplicado (saldo preenchido), ou foi rejeitado
+ * isoladamente (erro preenchido) sem afetar os demais pedidos do lote.
+ */
+public record ResultadoTransacao(SaldoConta saldo, RuntimeException erro) {
+
+	public static ResultadoTransacao sucesso(SaldoConta saldo) {
+		return new ResultadoTransacao(saldo, null);
+	}
+
+	public static ResultadoTransacao falha(RuntimeException erro) {
+		return new ResultadoTransacao(null, erro);
+	}
+
+	public boolean isSucesso() {
+		return erro == null;
+	}
+}
@@ -0,0 +1,12 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+
+import java.util.UUID;
+
+/**
+ * Resultado de uma transferência: o id de correlação gravado nas duas pernas
+ * e os saldos das contas de origem e destino após o commit.
+ */
+public record ResultadoTransferencia(UUID idTransferencia, SaldoConta origem, SaldoConta destino) {
+}
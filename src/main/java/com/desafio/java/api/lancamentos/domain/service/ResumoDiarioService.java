@@ -0,0 +1,220 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.model.ChaveResumo;
+import com.desafio.java.api.lancamentos.domain.model.ResumoDiario;
+import com.desafio.java.api.lancamentos.domain.model.ResumoPendente;
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ResumoDiarioRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ResumoPendenteRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Resumo diário por conta e tipo ({@link ResumoDiario}), para responder totais de um período
+ * sem ler os lançamentos.
+ *
+ * Cada gravação de lançamentos insere, na mesma transação, os seus {@link ResumoPendente}
+ * (ver {@link #registrarPendentes}); o consolidador agendado junta os pendentes
+ * por chave e os soma ao resumo em lote, apagando-os na mesma transação. O resumo por período
+ * soma as duas tabelas, então fica exato mesmo antes da consolidação. No modo journal os
+ * lançamentos, e portanto os pendentes, só chegam ao banco no checkpoint.
+ *
+ * O consolidador e o preenchimento do histórico são os únicos escritores do resumo e rodam
+ * um de cada vez nesta instância. Entre instâncias, cada bloco apaga os seus pendentes antes
+ * de somá-los e só soma se apagou todos: um pendente já levado por outro consolidador não é
+ * contado duas vezes.
+ */
+@Service
+public class ResumoDiarioService {
+
+	private static final Logger log = LoggerFactory.getLogger(ResumoDiarioService.class);
+
+	public static final int MAXIMO_DIAS = 366;
+
+	private final ContaRepository contaRepository;
+	private final TransacaoRepository transacaoRepository;
+	private final ResumoDiarioRepository resumoRepository;
+	private final ResumoPendenteRepository pendenteRepository;
+	private final TransactionTemplate escrita;
+	private final boolean habilitado;
+	private final boolean preencherNaInicializacao;
+	private final int tamanhoBloco;
+	private final ReentrantLock escritor = new ReentrantLock();
+
+	public ResumoDiarioService(ContaRepository contaRepository, TransacaoRepository transacaoRepository,
+							   ResumoDiarioRepository resumoRepository, ResumoPendenteRepository pendenteRepository,
+							   PlatformTransactionManager transactionManager,
+							   @Value("${lancamentos.resumos.habilitado:true}") boolean habilitado,
+							   @Value("${lancamentos.resumos.preencher-historico:false}") boolean preencherNaInicializacao,
+							   @Value("${lancamentos.resumos.tamanho-bloco:1000}") int tamanhoBloco) {
+		this.contaRepository = contaRepository;
+		this.transacaoRepository = transacaoRepository;
+		this.resumoRepository = resumoRepository;
+		this.pendenteRepository = pendenteRepository;
+		this.escrita = new TransactionTemplate(transactionManager);
+		this.habilitado = habilitado;
+		this.preencherNaInicializacao = preencherNaInicializacao;
+		this.tamanhoBloco = tamanhoBloco;
+	}
+
+	/**
+	 * Um {@link ResumoPendente} por conta, dia e tipo dos lançamentos, gravado na transação
+	 * de quem gravou os lançamentos (mesmo batch) e consolidado depois no resumo diário.
+	 */
+	public void registrarPendentes(List<Transacao> transacoes) {
+		if (!habilitado) {
+			return;
+		}
+		Map<ChaveResumo, ResumoPendente> pendentes = new HashMap<>();
+		for (Transacao transacao : transacoes) {
+			ChaveResumo chave = new ChaveResumo(transacao.getConta().getId(),
+					transacao.getDataHoraProcessamento().toLocalDate(), transacao.getTipo());
+			pendentes.computeIfAbsent(chave, ResumoPendente::new).somar(transacao.getValorEmCentavos());
+		}
+		pendenteRepository.saveAll(pendentes.values());
+	}
+
+	@Scheduled(fixedDelayString = "${lancamentos.resumos.intervalo:PT1S}")
+	public void consolidarAgendado() {
+		if (habilitado) {
+			consolidar();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void preencherHistoricoNaInicializacao() {
+		if (habilitado && preencherNaInicializacao) {
+			preencherHistorico();
+		}
+	}
+
+	/**
+	 * Soma os pendentes ao resumo, em blocos de {@code tamanho-bloco}, até esvaziar a fila.
+	 *
+	 * @return pendentes consolidados
+	 */
+	public int consolidar() {
+		escritor.lock();
+		try {
+			int total = 0;
+			int lidos;
+			do {
+				lidos = escrita.execute(this::consolidarBloco);
+				total += lidos;
+			} while (lidos == tamanhoBloco);
+			return total;
+		} finally {
+			escritor.unlock();
+		}
+	}
+
+	private int consolidarBloco(TransactionStatus status) {
+		List<ResumoPendente> pendentes = pendenteRepository.findAllByOrderByIdAsc(Limit.of(tamanhoBloco));
+		if (pendentes.isEmpty()) {
+			return 0;
+		}
+
+		// Apaga antes de somar. Se outro consolidador (outra instância) leu os mesmos pendentes,
+		// o DELETE espera o commit dele e apaga menos linhas: o bloco é desfeito sem somar nada.
+		int removidos = pendenteRepository.removerPorIds(pendentes.stream().map(ResumoPendente::getId).toList());
+		if (removidos != pendentes.size()) {
+			log.debug("Resumo diário: {} de {} pendente(s) já consolidado(s) por outro processo; bloco desfeito.",
+					pendentes.size() - removidos, pendentes.size());
+			status.setRollbackOnly();
+			return 0;
+		}
+
+		Map<ChaveResumo, ResumoPendente> incrementos = new HashMap<>();
+		for (ResumoPendente pendente : pendentes) {
+			incrementos.computeIfAbsent(pendente.chave(), ResumoPendente::new).somar(pendente);
+		}
+		resumoRepository.somar(incrementos.values());
+		return pendentes.size();
+	}
+
+	/**
+	 * Preenche o histórico anterior à manutenção incremental (ver {@link #inicioManutencao()}).
+	 */
+	public int preencherHistorico() {
+		return preencherHistorico(inicioManutencao());
+	}
+
+	/**
+	 * Preenche o resumo dos dias anteriores a {@code ate} a partir dos lançamentos da tabela
+	 * quente (os já arquivados ficam de fora), um dia por transação, do mais recente para o
+	 * mais antigo: se parar no meio, {@link #inicioManutencao()} retoma do último dia preenchido.
+	 * Dias a partir de {@code ate} não são tocados, porque os seus lançamentos já chegam pelos
+	 * pendentes e contariam em dobro.
+	 *
+	 * @return linhas de resumo criadas
+	 */
+	public int preencherHistorico(LocalDate ate) {
+		escritor.lock();
+		try {
+			Optional<LocalDateTime> maisAntigo = transacaoRepository.buscarMaisAntigoAntes(ate.atStartOfDay());
+			if (maisAntigo.isEmpty()) {
+				return 0;
+			}
+			LocalDate primeiroDia = maisAntigo.get().toLocalDate();
+			int criadas = 0;
+			for (LocalDate dia = ate.minusDays(1); !dia.isBefore(primeiroDia); dia = dia.minusDays(1)) {
+				LocalDate diaPreenchido = dia;
+				criadas += escrita.execute(status -> resumoRepository.preencherDia(diaPreenchido,
+						diaPreenchido.atStartOfDay(), diaPreenchido.plusDays(1).atStartOfDay()));
+			}
+			log.info("Resumo diário: {} linha(s) preenchida(s) de {} até {} (exclusive).", criadas, primeiroDia, ate);
+			return criadas;
+		} finally {
+			escritor.unlock();
+		}
+	}
+
+	/**
+	 * Primeiro dia com resumo: o dia em que a manutenção incremental começou ou, depois de um
+	 * preenchimento, o dia mais antigo já preenchido. Sem nenhum resumo, amanhã.
+	 */
+	LocalDate inicioManutencao() {
+		return Stream.of(resumoRepository.buscarPrimeiroDia(), pendenteRepository.buscarPrimeiroDia())
+				.flatMap(Optional::stream)
+				.min(LocalDate::compareTo)
+				.orElseGet(() -> LocalDate.now().plusDays(1));
+	}
+
+	@Transactional(readOnly = true)
+	public ResumoPeriodo resumir(String numeroConta, LocalDate inicio, LocalDate fim) {
+		if (fim.isBefore(inicio)) {
+			throw new IllegalArgumentException("A data final do resumo não pode ser anterior à inicial.");
+		}
+		if (ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS) {
+			throw new IllegalArgumentException("O período do resumo deve ter no máximo " + MAXIMO_DIAS + " dias.");
+		}
+
+		Long contaId = contaRepository.findIdByNumeroConta(numeroConta)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+
+		return ResumoPeriodo.de(numeroConta, inicio, fim, resumoRepository.buscarPeriodo(contaId, inicio, fim));
+	}
+}
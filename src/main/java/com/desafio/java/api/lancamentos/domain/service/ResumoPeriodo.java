@@ -0,0 +1,67 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.LinhaResumo;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lançamentos de uma conta em [inicio, fim], totalizados por tipo e por dia (só os dias com
+ * lançamentos). Valores em centavos.
+ */
+public record ResumoPeriodo(String numeroConta, LocalDate inicio, LocalDate fim,
+							Totais creditos, Totais debitos, List<Dia> dias) {
+
+	public record Totais(long quantidade, long total) {
+
+		static final Totais VAZIO = new Totais(0, 0);
+
+		Totais somar(long outraQuantidade, long outroTotal) {
+			return new Totais(quantidade + outraQuantidade, Centavos.somar(total, outroTotal));
+		}
+	}
+
+	public record Dia(LocalDate dia, Totais creditos, Totais debitos) {
+	}
+
+	/** Créditos menos débitos do período. */
+	public long liquido() {
+		return Centavos.subtrair(creditos.total(), debitos.total());
+	}
+
+	/**
+	 * @param linhas ordenadas por dia
+	 */
+	static ResumoPeriodo de(String numeroConta, LocalDate inicio, LocalDate fim, List<LinhaResumo> linhas) {
+		Totais creditos = Totais.VAZIO;
+		Totais debitos = Totais.VAZIO;
+		List<Dia> dias = new ArrayList<>();
+		LocalDate diaAtual = null;
+		Totais creditosDia = Totais.VAZIO;
+		Totais debitosDia = Totais.VAZIO;
+		for (LinhaResumo linha : linhas) {
+			if (!linha.dia().equals(diaAtual)) {
+				if (diaAtual != null) {
+					dias.add(new Dia(diaAtual, creditosDia, debitosDia));
+				}
+				diaAtual = linha.dia();
+				creditosDia = Totais.VAZIO;
+				debitosDia = Totais.VAZIO;
+			}
+			if (linha.tipo() == TipoTransacao.CREDITO) {
+				creditosDia = creditosDia.somar(linha.quantidade(), linha.total());
+				creditos = creditos.somar(linha.quantidade(), linha.total());
+			} else {
+				debitosDia = debitosDia.somar(linha.quantidade(), linha.total());
+				debitos = debitos.somar(linha.quantidade(), linha.total());
+			}
+		}
+		if (diaAtual != null) {
+			dias.add(new Dia(diaAtual, creditosDia, debitosDia));
+		}
+		return new ResumoPeriodo(numeroConta, inicio, fim, creditos, debitos, dias);
+	}
+}
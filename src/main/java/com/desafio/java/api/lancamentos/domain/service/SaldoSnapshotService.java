@@ -0,0 +1,64 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoSnapshot;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.SaldoSnapshotRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Fotografa o saldo das contas no corte do arquivamento, para que o saldo continue
+ * verificável depois que os lançamentos antigos saem da tabela quente.
+ */
+@Service
+public class SaldoSnapshotService {
+
+	private final ContaRepository contaRepository;
+	private final TransacaoRepository transacaoRepository;
+	private final SaldoSnapshotRepository snapshotRepository;
+	private final ParcelasSaldoService parcelasSaldo;
+
+	public SaldoSnapshotService(ContaRepository contaRepository, TransacaoRepository transacaoRepository,
+								SaldoSnapshotRepository snapshotRepository, ParcelasSaldoService parcelasSaldo) {
+		this.contaRepository = contaRepository;
+		this.transacaoRepository = transacaoRepository;
+		this.snapshotRepository = snapshotRepository;
+		this.parcelasSaldo = parcelasSaldo;
+	}
+
+	/**
+	 * Registra o saldo da conta em {@code corte}: o saldo atual (com as parcelas, se houver)
+	 * menos os lançamentos a partir do corte.
+	 * A conta e as suas parcelas ficam bloqueadas durante o cálculo, então nenhum lançamento,
+	 * nem um crédito em parcela, entra entre a leitura do saldo e a soma. Reexecutar para o
+	 * mesmo corte recalcula o mesmo snapshot.
+	 *
+	 * @return o saldo no corte, em centavos
+	 */
+	@Transactional
+	public long registrar(Long contaId, LocalDateTime corte) {
+		Conta conta = contaRepository.findByIdParaAtualizacao(contaId).orElseThrow();
+		parcelasSaldo.carregarSaldoBloqueado(conta);
+		long posteriores = Centavos.de(transacaoRepository.somarDesde(contaId, corte));
+		long saldoNoCorte = Centavos.subtrair(conta.getSaldoTotalEmCentavos(), posteriores);
+
+		Optional<SaldoSnapshot> existente = snapshotRepository.buscar(contaId, corte);
+		if (existente.isPresent()) {
+			existente.get().atualizar(saldoNoCorte);
+		} else {
+			snapshotRepository.save(new SaldoSnapshot(conta, corte, saldoNoCorte));
+		}
+		return saldoNoCorte;
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<SaldoSnapshot> ultimo(Long contaId) {
+		return snapshotRepository.findFirstByContaIdOrderByDataHoraCorteDesc(contaId);
+	}
+}
@@ -0,0 +1,56 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.EstrategiaConcorrencia;
+import com.desafio.java.api.lancamentos.domain.service.GerenciadorContencao;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Modo padrão: cada requisição abre a sua própria transação na thread do servlet.
+ * A proteção contra escritas concorrentes segue {@code lancamentos.concorrencia.estrategia}
+ * (por padrão, lock otimista com @Version e retry). Na estratégia otimista, contas com muitos
+ * conflitos recentes vão para o lock pessimista (ver {@link GerenciadorContencao}).
+ */
+@Component
+@ConditionalOnProperty(name = "lancamentos.execucao.modo", havingValue = "direto", matchIfMissing = true)
+public class ExecutorDireto implements ExecutorTransacoes {
+
+	private final ContaService contaService;
+	private final EstrategiaConcorrencia estrategia;
+	private final GerenciadorContencao contencao;
+	private final MetricasTransacoes metricas;
+
+	public ExecutorDireto(ContaService contaService,
+						  @Value("${lancamentos.concorrencia.estrategia:otimista}") EstrategiaConcorrencia estrategia,
+						  GerenciadorContencao contencao, MetricasTransacoes metricas) {
+		this.contaService = contaService;
+		this.estrategia = estrategia;
+		this.contencao = contencao;
+		this.metricas = metricas;
+	}
+
+	@Override
+	public SaldoConta executar(String numeroConta, List<TransacaoRequest> requests) {
+		return SaldoConta.de(switch (estrategia) {
+			case OTIMISTA -> contencao.emContencao(numeroConta)
+					? contaService.processarTransacoesComLockPessimista(numeroConta, requests)
+					: processarOtimista(numeroConta, requests);
+			case PESSIMISTA -> contaService.processarTransacoesComLockPessimista(numeroConta, requests);
+			case ATOMICA -> contaService.processarTransacoesAtomicamente(numeroConta, requests);
+		});
+	}
+
+	/** O tamanho do pedido é registrado uma vez, fora do @Retryable. */
+	private Conta processarOtimista(String numeroConta, List<TransacaoRequest> requests) {
+		metricas.lote(requests.size());
+		return contaService.processarTransacoes(numeroConta, requests);
+	}
+}
@@ -0,0 +1,212 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.ResultadoTransacao;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit: requisições que chegam para a mesma conta dentro de uma pequena
+ * janela (ou até atingir o tamanho máximo) são aplicadas, em ordem de chegada,
+ * em uma única transação via {@link ContaService#processarLote}.
+ *
+ * Não há threads próprias: a primeira requisição de cada grupo é a "líder", espera
+ * a janela, fecha o grupo e faz o commit em nome de todas; as demais apenas aguardam
+ * o seu resultado. Os grupos de uma conta são commitados estritamente na ordem em que
+ * foram abertos, então não disputam o @Version entre si.
+ */
+@Component
+@ConditionalOnProperty(name = "lancamentos.execucao.modo", havingValue = "group-commit")
+public class ExecutorGroupCommit implements ExecutorTransacoes {
+
+	private final ContaService contaService;
+	private final MetricasTransacoes metricas;
+	private final long janelaNanos;
+	private final int tamanhoMaximo;
+
+	private final ConcurrentMap<String, FilaConta> filas = new ConcurrentHashMap<>();
+
+	public ExecutorGroupCommit(ContaService contaService, MetricasTransacoes metricas,
+							   @Value("${lancamentos.execucao.group-commit.janela:2ms}") Duration janela,
+							   @Value("${lancamentos.execucao.group-commit.tamanho-maximo:128}") int tamanhoMaximo) {
+		if (janela.isNegative() || tamanhoMaximo <= 0) {
+			throw new IllegalArgumentException("Configuração inválida do group commit.");
+		}
+		this.contaService = contaService;
+		this.metricas = metricas;
+		this.janelaNanos = janela.toNanos();
+		this.tamanhoMaximo = tamanhoMaximo;
+	}
+
+	@Override
+	public SaldoConta executar(String numeroConta, List<TransacaoRequest> requests) {
+		metricas.lote(requests.size());
+		CompletableFuture<SaldoConta> resultado = new CompletableFuture<>();
+
+		FilaConta fila;
+		Grupo grupo;
+		boolean lider;
+
+		while (true) {
+			fila = filas.computeIfAbsent(numeroConta, FilaConta::new);
+			fila.lock.lock();
+			try {
+				if (fila.descartada) {
+					continue;
+				}
+				lider = fila.aberto == null;
+				if (lider) {
+					fila.aberto = new Grupo(fila.proximoGrupo++);
+				}
+				grupo = fila.aberto;
+				grupo.requests.add(requests);
+				grupo.resultados.add(resultado);
+
+				if (grupo.requests.size() >= tamanhoMaximo) {
+					fila.aberto = null;
+					fila.mudou.signalAll();
+				}
+				break;
+			} finally {
+				fila.lock.unlock();
+			}
+		}
+
+		if (lider) {
+			liderar(fila, grupo);
+		}
+
+		try {
+			return resultado.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando o processamento da conta " + numeroConta, e);
+		} catch (ExecutionException e) {
+			throw desembrulhar(e.getCause());
+		}
+	}
+
+	private void liderar(FilaConta fila, Grupo grupo) {
+		aguardarFechamento(fila, grupo);
+
+		try {
+			commitar(fila.numeroConta, grupo);
+		} finally {
+			fila.lock.lock();
+			try {
+				fila.emCommit++;
+				fila.mudou.signalAll();
+				if (fila.aberto == null && fila.emCommit == fila.proximoGrupo) {
+					fila.descartada = true;
+					filas.remove(fila.numeroConta, fila);
+				}
+			} finally {
+				fila.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Segura o grupo aberto até a janela expirar (ou ele encher) e até que o grupo
+	 * anterior da mesma conta tenha terminado o seu commit. Enquanto espera a vez,
+	 * o grupo continua aceitando novas requisições.
+	 */
+	private void aguardarFechamento(FilaConta fila, Grupo grupo) {
+		long prazo = System.nanoTime() + janelaNanos;
+
+		fila.lock.lock();
+		try {
+			while (true) {
+				boolean aberto = fila.aberto == grupo;
+				boolean minhaVez = fila.emCommit == grupo.numero;
+				long restante = prazo - System.nanoTime();
+
+				if (minhaVez && (!aberto || restante <= 0)) {
+					break;
+				}
+
+				if (minhaVez) {
+					try {
+						fila.mudou.awaitNanos(restante);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						prazo = System.nanoTime();
+					}
+				} else {
+					fila.mudou.awaitUninterruptibly();
+				}
+			}
+
+			if (fila.aberto == grupo) {
+				fila.aberto = null;
+			}
+		} finally {
+			fila.lock.unlock();
+		}
+	}
+
+	private void commitar(String numeroConta, Grupo grupo) {
+		try {
+			List<ResultadoTransacao> resultados = contaService.processarLote(numeroConta, grupo.requests);
+			for (int i = 0; i < resultados.size(); i++) {
+				ResultadoTransacao resultado = resultados.get(i);
+				if (resultado.isSucesso()) {
+					grupo.resultados.get(i).complete(resultado.saldo());
+				} else {
+					grupo.resultados.get(i).completeExceptionally(resultado.erro());
+				}
+			}
+		} catch (Throwable e) {
+			// Inclui Error: os seguidores só acordam quando o seu futuro é completado.
+			grupo.resultados.forEach(resultado -> resultado.completeExceptionally(e));
+		}
+	}
+
+	private static RuntimeException desembrulhar(Throwable causa) {
+		if (causa instanceof RuntimeException runtime) {
+			return runtime;
+		}
+		return new IllegalStateException(causa);
+	}
+
+	private static final class FilaConta {
+
+		private final String numeroConta;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition mudou = lock.newCondition();
+
+		private Grupo aberto;
+		private long proximoGrupo;
+		private long emCommit;
+		private boolean descartada;
+
+		private FilaConta(String numeroConta) {
+			this.numeroConta = numeroConta;
+		}
+	}
+
+	private static final class Grupo {
+
+		private final long numero;
+		private final List<List<TransacaoRequest>> requests = new ArrayList<>();
+		private final List<CompletableFuture<SaldoConta>> resultados = new ArrayList<>();
+
+		private Grupo(long numero) {
+			this.numero = numero;
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.EscritaIndisponivelException;
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.CheckpointJournal;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import com.desafio.java.api.lancamentos.domain.service.ParcelasSaldoService;
+import com.desafio.java.api.lancamentos.infrastructure.journal.JournalLancamentos;
+import com.desafio.java.api.lancamentos.infrastructure.journal.JournalLancamentos.Anexo;
+import com.desafio.java.api.lancamentos.infrastructure.journal.RegistroJournal;
+import com.desafio.java.api.lancamentos.infrastructure.journal.RegistroJournal.Lancamento;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes.Etapa;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Modo journal: o pedido é validado e aplicado sobre o saldo em memória, anexado ao
+ * {@link JournalLancamentos} e respondido assim que o fsync do journal o cobre. Não há
+ * ida ao banco no caminho de escrita (só a primeira carga de cada conta).
+ *
+ * <ul>
+ *   <li>Os pedidos de uma conta são serializados no seu estado em memória; a sequência do
+ *   journal é atribuída dentro dessa seção, então a ordem no arquivo é a ordem de aplicação;</li>
+ *   <li>a cada {@code intervalo-checkpoint}, os registros já em disco são gravados no banco
+ *   pelo {@link GravadorCheckpoint} (saldo, lançamentos e sequência do checkpoint em uma
+ *   transação) e os segmentos cobertos são apagados. O saldo em memória é então
+ *   reconciliado com o do banco;</li>
+ *   <li>na inicialização, antes de o servidor aceitar requisições, o journal é relido a
+ *   partir do último checkpoint e reaplicado no banco: um pedido confirmado ao cliente
+ *   nunca se perde numa queda.</li>
+ * </ul>
+ *
+ * Contas sem escrita desde o último checkpoint saem da memória; o GET /saldo de uma
+ * conta em memória é respondido daqui ({@link #consultarSaldo}), já que o banco só a
+ * alcança no próximo checkpoint. Os débitos são validados só contra o saldo em memória,
+ * então este é o único caminho de escrita do saldo: transferências, importação em lote,
+ * If-Match e a configuração de parcelas são recusados ({@link #verificarEscritaDireta}).
+ * Uma conta que já tinha parcelas tem as parcelas trazidas para {@code contas.saldo} (com a
+ * conta bloqueada) antes de ser carregada, então o saldo em memória é o saldo total.
+ * Se o journal falhar, o GET /saldo volta a ler o banco e o checkpoint seguinte descarta as
+ * contas em memória, depois de gravar o que chegou ao disco.
+ */
+@Component
+@ConditionalOnProperty(name = "lancamentos.execucao.modo", havingValue = "journal")
+public class ExecutorJournal implements ExecutorTransacoes, SmartInitializingSingleton {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutorJournal.class);
+
+	private final ContaRepository contaRepository;
+	private final ParcelasSaldoService parcelasSaldo;
+	private final GravadorCheckpoint gravadorCheckpoint;
+	private final MetricasTransacoes metricas;
+	private final JournalLancamentos journal;
+
+	private final ConcurrentMap<String, EstadoConta> contas = new ConcurrentHashMap<>();
+	private final ReentrantLock lockCheckpoint = new ReentrantLock();
+	private long ultimoCheckpoint;
+
+	public ExecutorJournal(ContaRepository contaRepository, ParcelasSaldoService parcelasSaldo,
+						   GravadorCheckpoint gravadorCheckpoint,
+						   MetricasTransacoes metricas, MeterRegistry meterRegistry,
+						   @Value("${lancamentos.execucao.journal.diretorio:${java.io.tmpdir}/lancamentos-journal}") Path diretorio,
+						   @Value("${lancamentos.execucao.journal.tamanho-segmento:64MB}") DataSize tamanhoSegmento,
+						   @Value("${lancamentos.execucao.journal.capacidade-fila:10000}") int capacidadeFila) {
+		this.contaRepository = contaRepository;
+		this.parcelasSaldo = parcelasSaldo;
+		this.gravadorCheckpoint = gravadorCheckpoint;
+		this.metricas = metricas;
+		this.journal = new JournalLancamentos(diretorio, tamanhoSegmento.toBytes(), capacidadeFila, meterRegistry);
+	}
+
+	/**
+	 * Recuperação: reaplica no banco os registros posteriores ao último checkpoint.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		CheckpointJournal checkpoint = gravadorCheckpoint.carregar();
+
+		Map<String, List<RegistroJournal>> pendentes = new LinkedHashMap<>();
+		int[] quantidade = {0};
+		long ultima = journal.abrir(checkpoint.getIdentificador(), checkpoint.getSequencia(), registro -> {
+			pendentes.computeIfAbsent(registro.numeroConta(), k -> new ArrayList<>()).add(registro);
+			quantidade[0]++;
+		});
+
+		if (ultima > checkpoint.getSequencia()) {
+			gravadorCheckpoint.gravar(pendentes, ultima);
+			log.info("Journal: {} pedido(s) reaplicado(s) após o checkpoint {} (até a sequência {}).",
+					quantidade[0], checkpoint.getSequencia(), ultima);
+		}
+		lockCheckpoint.lock();
+		try {
+			ultimoCheckpoint = ultima;
+		} finally {
+			lockCheckpoint.unlock();
+		}
+		journal.descartarAte(ultima);
+	}
+
+	@Override
+	public SaldoConta executar(String numeroConta, List<TransacaoRequest> requests) {
+		metricas.lote(requests.size());
+		long inicio = System.nanoTime();
+
+		while (true) {
+			EstadoConta estado = estadoDa(numeroConta);
+			SaldoConta saldo;
+			Anexo anexo;
+
+			estado.lock.lock();
+			try {
+				if (estado.descartado) {
+					continue;
+				}
+				inicio = metricas.etapa(Etapa.CARREGAR_CONTA, inicio);
+
+				long saldoAnterior = estado.conta.getSaldoEmCentavos();
+				List<Lancamento> lancamentos = aplicar(estado.conta, requests);
+				try {
+					anexo = journal.anexar(numeroConta, lancamentos);
+				} catch (RuntimeException e) {
+					estado.conta.reverterSaldo(saldoAnterior);
+					throw e;
+				}
+				estado.pendentes.add(anexo.registro());
+				estado.usado = true;
+				saldo = SaldoConta.de(estado.conta);
+				inicio = metricas.etapa(Etapa.APLICAR, inicio);
+			} finally {
+				estado.lock.unlock();
+			}
+
+			aguardarFsync(anexo, numeroConta);
+			metricas.etapa(Etapa.GRAVAR_TRANSACOES, inicio);
+			return saldo;
+		}
+	}
+
+	@Override
+	public Optional<SaldoConta> consultarSaldo(String numeroConta) {
+		// Depois de uma falha do journal a memória pode ter pedidos que nunca chegaram ao disco.
+		EstadoConta estado = journal.falhou() ? null : contas.get(numeroConta);
+		if (estado == null) {
+			return Optional.empty();
+		}
+		estado.lock.lock();
+		try {
+			return estado.descartado ? Optional.empty() : Optional.of(SaldoConta.de(estado.conta));
+		} finally {
+			estado.lock.unlock();
+		}
+	}
+
+	@Override
+	public void verificarEscritaDireta(String operacao) {
+		throw new EscritaIndisponivelException(
+				"Operação indisponível no modo de execução journal: " + operacao + ".");
+	}
+
+	/**
+	 * Grava no banco tudo o que já está em disco no journal e libera os segmentos cobertos.
+	 * Se o journal falhou, o que ficou além do disco é descartado com as contas em memória.
+	 */
+	@Scheduled(fixedDelayString = "${lancamentos.execucao.journal.intervalo-checkpoint:PT1S}")
+	public void checkpoint() {
+		lockCheckpoint.lock();
+		try {
+			// Lido antes da sequência: com a falha já registrada, o limite não avança mais.
+			boolean falhou = journal.falhou();
+			long limite = journal.sequenciaDuravel();
+
+			Map<String, List<RegistroJournal>> lote = new LinkedHashMap<>();
+			for (EstadoConta estado : contas.values()) {
+				estado.lock.lock();
+				try {
+					List<RegistroJournal> duraveis = new ArrayList<>();
+					for (RegistroJournal registro : estado.pendentes) {
+						if (registro.sequencia() > limite) {
+							break;
+						}
+						duraveis.add(registro);
+					}
+					if (!duraveis.isEmpty()) {
+						lote.put(estado.conta.getNumeroConta(), duraveis);
+					}
+				} finally {
+					estado.lock.unlock();
+				}
+			}
+
+			if (limite > ultimoCheckpoint) {
+				Map<String, Long> saldosNoBanco = gravadorCheckpoint.gravar(lote, limite);
+				ultimoCheckpoint = limite;
+				if (!falhou) {
+					reconciliar(lote, saldosNoBanco);
+				}
+				journal.descartarAte(limite);
+			}
+
+			if (falhou) {
+				descartarTodas();
+			} else {
+				descartarOciosas();
+			}
+		} finally {
+			lockCheckpoint.unlock();
+		}
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		journal.close();
+		checkpoint();
+	}
+
+	private void reconciliar(Map<String, List<RegistroJournal>> gravados, Map<String, Long> saldosNoBanco) {
+		gravados.forEach((numeroConta, registros) -> {
+			EstadoConta estado = contas.get(numeroConta);
+			estado.lock.lock();
+			try {
+				estado.pendentes.subList(0, registros.size()).clear();
+
+				Long saldoNoBanco = saldosNoBanco.get(numeroConta);
+				if (saldoNoBanco == null) {
+					// A conta sumiu do banco: o próximo pedido a recarrega (e recebe 404).
+					estado.descartado = true;
+					contas.remove(numeroConta, estado);
+					return;
+				}
+
+				long emMemoria = saldoNoBanco;
+				for (RegistroJournal pendente : estado.pendentes) {
+					emMemoria = Centavos.somar(emMemoria, pendente.delta());
+				}
+				estado.conta.ajustarSaldo(emMemoria - estado.conta.getSaldoEmCentavos());
+			} finally {
+				estado.lock.unlock();
+			}
+		});
+	}
+
+	private void descartarOciosas() {
+		Iterator<EstadoConta> iterator = contas.values().iterator();
+		while (iterator.hasNext()) {
+			EstadoConta estado = iterator.next();
+			estado.lock.lock();
+			try {
+				if (estado.pendentes.isEmpty() && !estado.usado) {
+					estado.descartado = true;
+					iterator.remove();
+				}
+				estado.usado = false;
+			} finally {
+				estado.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Após uma falha do journal: os pedidos além do último fsync foram aplicados em memória mas
+	 * nunca serão gravados, então nenhuma conta fica em memória e as leituras vão ao banco.
+	 */
+	private void descartarTodas() {
+		Iterator<EstadoConta> iterator = contas.values().iterator();
+		while (iterator.hasNext()) {
+			EstadoConta estado = iterator.next();
+			estado.lock.lock();
+			try {
+				estado.descartado = true;
+				iterator.remove();
+			} finally {
+				estado.lock.unlock();
+			}
+		}
+	}
+
+	private EstadoConta estadoDa(String numeroConta) {
+		EstadoConta estado = contas.get(numeroConta);
+		if (estado != null) {
+			return estado;
+		}
+
+		// Conta lida fora de transação: a entidade fica desanexada e nunca é gravada por aqui.
+		Conta conta = buscarConta(numeroConta);
+		if (conta.isParticionada()) {
+			// Nenhum estado em memória existe ainda para ela, então a escrita direta é segura.
+			parcelasSaldo.configurar(numeroConta, 1);
+			conta = buscarConta(numeroConta);
+		}
+		EstadoConta novo = new EstadoConta(conta);
+		EstadoConta existente = contas.putIfAbsent(numeroConta, novo);
+		return existente != null ? existente : novo;
+	}
+
+	private Conta buscarConta(String numeroConta) {
+		return contaRepository.findByNumeroConta(numeroConta)
+				.orElseThrow(() -> new ContaNotFoundException("Conta não encontrada: " + numeroConta));
+	}
+
+	/**
+	 * Aplica o pedido inteiro ou nada, com as mesmas regras e mensagens do {@code ContaService}.
+	 */
+	private List<Lancamento> aplicar(Conta conta, List<TransacaoRequest> requests) {
+		long saldoAnterior = conta.getSaldoEmCentavos();
+		List<Lancamento> lancamentos = new ArrayList<>(requests.size());
+
+		try {
+			for (TransacaoRequest req : requests) {
+				long valor = Centavos.parse(req.getValor());
+				TipoTransacao tipo = TipoTransacao.valueOf(req.getTipo().name());
+
+				if (tipo == TipoTransacao.DEBITO) {
+					try {
+						conta.debitar(valor);
+					} catch (SaldoInsuficienteException e) {
+						metricas.saldoInsuficiente();
+						throw e;
+					}
+				} else {
+					conta.creditar(valor);
+				}
+				lancamentos.add(new Lancamento(tipo, valor));
+			}
+		} catch (RuntimeException e) {
+			conta.reverterSaldo(saldoAnterior);
+			throw e;
+		}
+		return lancamentos;
+	}
+
+	private static void aguardarFsync(Anexo anexo, String numeroConta) {
+		try {
+			anexo.duravel().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando o journal da conta " + numeroConta, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException causa) {
+				throw causa;
+			}
+			throw new IllegalStateException("Falha no journal da conta " + numeroConta, e.getCause());
+		}
+	}
+
+	private static final class EstadoConta {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Conta conta;
+		/** Registros ainda não gravados no banco, em ordem de sequência. */
+		private final List<RegistroJournal> pendentes = new ArrayList<>();
+		private boolean usado = true;
+		private boolean descartado;
+
+		private EstadoConta(Conta conta) {
+			this.conta = conta;
+		}
+	}
+}
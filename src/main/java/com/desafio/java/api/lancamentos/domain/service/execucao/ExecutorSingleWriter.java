@@ -0,0 +1,170 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.ResultadoTransacao;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Motor "single-writer": cada conta pertence a exatamente um shard, e cada shard
+ * é uma única thread que consome a sua própria fila (mailbox).
+ *
+ * Como só existe um escritor por conta, débitos e créditos são aplicados em ordem
+ * de chegada sem disputar o @Version. Cada shard drena a fila em lotes e grava
+ * os pedidos de uma mesma conta em uma única transação ({@link ContaService#processarLote}).
+ *
+ * Com {@code spring.threads.virtual.enabled}, as threads dos shards também são virtuais.
+ */
+@Component
+@ConditionalOnProperty(name = "lancamentos.execucao.modo", havingValue = "single-writer")
+public class ExecutorSingleWriter implements ExecutorTransacoes {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutorSingleWriter.class);
+
+	private final ContaService contaService;
+	private final MetricasTransacoes metricas;
+	private final int tamanhoLote;
+	private final Thread.Builder fabricaThreads;
+	private final Shard[] shards;
+
+	public ExecutorSingleWriter(ContaService contaService, MetricasTransacoes metricas,
+								@Value("${lancamentos.execucao.single-writer.shards:8}") int numeroShards,
+								@Value("${lancamentos.execucao.single-writer.tamanho-lote:64}") int tamanhoLote,
+								@Value("${lancamentos.execucao.single-writer.capacidade-fila:10000}") int capacidadeFila,
+								@Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+		if (numeroShards <= 0 || tamanhoLote <= 0 || capacidadeFila <= 0) {
+			throw new IllegalArgumentException("Configuração inválida do motor single-writer.");
+		}
+		this.contaService = contaService;
+		this.metricas = metricas;
+		this.tamanhoLote = tamanhoLote;
+		this.fabricaThreads = threadsVirtuais
+				? Thread.ofVirtual().name("single-writer-", 0)
+				: Thread.ofPlatform().name("single-writer-", 0).daemon(true);
+		this.shards = new Shard[numeroShards];
+		for (int i = 0; i < numeroShards; i++) {
+			shards[i] = new Shard(capacidadeFila);
+			shards[i].thread.start();
+		}
+	}
+
+	@Override
+	public SaldoConta executar(String numeroConta, List<TransacaoRequest> requests) {
+		metricas.lote(requests.size());
+		Pedido pedido = new Pedido(numeroConta, requests, new CompletableFuture<>());
+
+		try {
+			shardDa(numeroConta).fila.put(pedido);
+			return pedido.resultado.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando o processamento da conta " + numeroConta, e);
+		} catch (ExecutionException e) {
+			throw desembrulhar(e.getCause());
+		}
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		for (Shard shard : shards) {
+			shard.thread.interrupt();
+		}
+	}
+
+	private Shard shardDa(String numeroConta) {
+		return shards[Math.floorMod(numeroConta.hashCode(), shards.length)];
+	}
+
+	private void processar(List<Pedido> lote) {
+		Map<String, List<Pedido>> porConta = new LinkedHashMap<>();
+		for (Pedido pedido : lote) {
+			porConta.computeIfAbsent(pedido.numeroConta, k -> new ArrayList<>()).add(pedido);
+		}
+
+		porConta.forEach((numeroConta, pedidos) -> {
+			List<List<TransacaoRequest>> requests = new ArrayList<>(pedidos.size());
+			for (Pedido pedido : pedidos) {
+				requests.add(pedido.requests);
+			}
+
+			try {
+				List<ResultadoTransacao> resultados = contaService.processarLote(numeroConta, requests);
+				for (int i = 0; i < pedidos.size(); i++) {
+					ResultadoTransacao resultado = resultados.get(i);
+					if (resultado.isSucesso()) {
+						pedidos.get(i).resultado.complete(resultado.saldo());
+					} else {
+						pedidos.get(i).resultado.completeExceptionally(resultado.erro());
+					}
+				}
+			} catch (Throwable e) {
+				// Inclui Error: um pedido sem resultado deixaria a requisição esperando para sempre.
+				pedidos.forEach(pedido -> pedido.resultado.completeExceptionally(e));
+			}
+		});
+	}
+
+	private static RuntimeException desembrulhar(Throwable causa) {
+		if (causa instanceof CompletionException && causa.getCause() != null) {
+			causa = causa.getCause();
+		}
+		if (causa instanceof RuntimeException runtime) {
+			return runtime;
+		}
+		return new IllegalStateException(causa);
+	}
+
+	private record Pedido(String numeroConta, List<TransacaoRequest> requests, CompletableFuture<SaldoConta> resultado) {
+	}
+
+	private final class Shard {
+
+		private final BlockingQueue<Pedido> fila;
+		private final Thread thread;
+
+		private Shard(int capacidadeFila) {
+			this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+			this.thread = fabricaThreads.unstarted(this::consumir);
+		}
+
+		private void consumir() {
+			List<Pedido> lote = new ArrayList<>(tamanhoLote);
+			while (!Thread.currentThread().isInterrupted()) {
+				try {
+					lote.add(fila.take());
+					fila.drainTo(lote, tamanhoLote - 1);
+					processar(lote);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (Throwable e) {
+					log.error("Falha inesperada no shard {}", thread.getName(), e);
+					lote.forEach(pedido -> pedido.resultado.completeExceptionally(e));
+				} finally {
+					lote.clear();
+				}
+			}
+
+			List<Pedido> pendentes = new ArrayList<>();
+			fila.drainTo(pendentes);
+			pendentes.forEach(pedido -> pedido.resultado.completeExceptionally(
+					new IllegalStateException("Motor single-writer encerrado.")));
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.exception.EscritaIndisponivelException;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ponto de entrada do caminho de escrita.
+ *
+ * A implementação ativa é escolhida por {@code lancamentos.execucao.modo}
+ * no application.yaml.
+ */
+public interface ExecutorTransacoes {
+
+	SaldoConta executar(String numeroConta, List<TransacaoRequest> requests);
+
+	/**
+	 * Saldo mantido pelo próprio executor quando ele está à frente do banco
+	 * (modo journal). Vazio quando o banco (ou o cache de saldo) é a fonte correta.
+	 */
+	default Optional<SaldoConta> consultarSaldo(String numeroConta) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Chamado antes de uma escrita que vai direto ao banco, sem passar por {@link #executar}.
+	 * O executor que guarda o saldo em memória (modo journal) recusa: os débitos dele são
+	 * validados contra esse saldo, que não enxergaria a escrita.
+	 *
+	 * @throws EscritaIndisponivelException se o modo ativo não aceita escritas fora do executor
+	 */
+	default void verificarEscritaDireta(String operacao) {
+	}
+}
@@ -0,0 +1,113 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.model.CheckpointJournal;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.domain.service.ResumoDiarioService;
+import com.desafio.java.api.lancamentos.infrastructure.cache.SaldoCache;
+import com.desafio.java.api.lancamentos.infrastructure.eventos.OutboxSaldo;
+import com.desafio.java.api.lancamentos.infrastructure.journal.RegistroJournal;
+import com.desafio.java.api.lancamentos.infrastructure.journal.RegistroJournal.Lancamento;
+import com.desafio.java.api.lancamentos.infrastructure.repository.CheckpointJournalRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Lado banco do {@link ExecutorJournal}: aplica em {@code contas} e {@code transacao}
+ * os registros do journal até uma sequência e avança o {@link CheckpointJournal},
+ * tudo na mesma transação.
+ */
+@Component
+public class GravadorCheckpoint {
+
+	private static final Logger log = LoggerFactory.getLogger(GravadorCheckpoint.class);
+
+	private final ContaRepository contaRepository;
+	private final TransacaoRepository transacaoRepository;
+	private final CheckpointJournalRepository checkpointRepository;
+	private final SaldoCache saldoCache;
+	private final ResumoDiarioService resumoDiario;
+	private final OutboxSaldo outbox;
+
+	public GravadorCheckpoint(ContaRepository contaRepository, TransacaoRepository transacaoRepository,
+							  CheckpointJournalRepository checkpointRepository, SaldoCache saldoCache,
+							  ResumoDiarioService resumoDiario, OutboxSaldo outbox) {
+		this.contaRepository = contaRepository;
+		this.transacaoRepository = transacaoRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.saldoCache = saldoCache;
+		this.resumoDiario = resumoDiario;
+		this.outbox = outbox;
+	}
+
+	@Transactional
+	public CheckpointJournal carregar() {
+		return checkpointRepository.findById(CheckpointJournal.ID)
+				.orElseGet(() -> checkpointRepository.save(CheckpointJournal.inicial()));
+	}
+
+	/**
+	 * Aplica os registros de cada conta, em ordem, e marca {@code sequencia} como checkpoint.
+	 *
+	 * O saldo é ajustado pelo valor líquido já validado no journal, sem sobrescrever o do
+	 * banco. As contas são bloqueadas em ordem crescente de id, como em
+	 * {@code ContaService#transferir}.
+	 *
+	 * @return o saldo de cada conta no banco após o checkpoint, em centavos
+	 * @throws IllegalStateException se algum registro deixaria a conta com saldo negativo:
+	 *                               o banco divergiu do saldo em memória e nada é gravado
+	 */
+	@Transactional
+	public Map<String, Long> gravar(Map<String, List<RegistroJournal>> porConta, long sequencia) {
+		TreeMap<Long, String> contasPorId = new TreeMap<>();
+		porConta.forEach((numeroConta, registros) -> {
+			Optional<Long> id = contaRepository.findIdByNumeroConta(numeroConta);
+			if (id.isPresent()) {
+				contasPorId.put(id.get(), numeroConta);
+			} else {
+				log.warn("Conta {} não existe mais; {} registro(s) do journal ignorado(s).", numeroConta, registros.size());
+			}
+		});
+
+		Map<String, Long> saldos = new HashMap<>();
+		List<Transacao> transacoes = new ArrayList<>();
+		ZoneId zona = ZoneId.systemDefault();
+
+		contasPorId.forEach((id, numeroConta) -> {
+			Conta conta = contaRepository.findByIdParaAtualizacao(id).orElseThrow();
+			for (RegistroJournal registro : porConta.get(numeroConta)) {
+				LocalDateTime dataHora = LocalDateTime.ofInstant(Instant.ofEpochMilli(registro.instante()), zona);
+				for (Lancamento lancamento : registro.lancamentos()) {
+					transacoes.add(new Transacao(conta, lancamento.tipo(), lancamento.valor(), dataHora));
+				}
+				conta.ajustarSaldo(registro.delta());
+				if (conta.getSaldoEmCentavos() < 0) {
+					throw new IllegalStateException("Checkpoint deixaria a conta " + numeroConta
+							+ " com saldo negativo no registro " + registro.sequencia() + " do journal.");
+				}
+			}
+			saldos.put(numeroConta, conta.getSaldoEmCentavos());
+			saldoCache.atualizar(conta);
+		});
+
+		transacaoRepository.inserirEmLote(transacoes);
+		resumoDiario.registrarPendentes(transacoes);
+		outbox.registrar(transacoes);
+		carregar().avancar(sequencia);
+		return saldos;
+	}
+}
@@ -0,0 +1,224 @@
+package com.desafio.java.api.lancamentos.domain.service.lote;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.EscritaIndisponivelException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.ResultadoTransacao;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importação em massa de lançamentos em NDJSON (um {@link LinhaLote} por linha).
+ *
+ * A entrada é lida de forma incremental em blocos de até {@code tamanho-bloco} linhas.
+ * Dentro de um bloco, as linhas são agrupadas por conta; cada conta é aplicada em uma
+ * única transação ({@link ContaService#processarLote}) e contas diferentes rodam em
+ * paralelo. Os blocos são processados um após o outro, então a ordem dentro de uma
+ * conta é a ordem do arquivo. O resultado de cada linha é escrito na saída assim que
+ * o bloco termina: a memória usada é proporcional ao bloco, não ao arquivo.
+ *
+ * A importação grava direto no banco, sem passar pelo {@link ExecutorTransacoes}, então é
+ * recusada no modo journal.
+ */
+@Service
+public class ImportadorLote {
+
+	private static final Logger log = LoggerFactory.getLogger(ImportadorLote.class);
+
+	private final ContaService contaService;
+	private final ExecutorTransacoes executorTransacoes;
+	private final MetricasTransacoes metricas;
+	private final ObjectReader leitorLinha;
+	private final ObjectWriter escritorResultado;
+	private final int tamanhoBloco;
+	private final ExecutorService executor;
+
+	public ImportadorLote(ContaService contaService, ExecutorTransacoes executorTransacoes,
+						  MetricasTransacoes metricas, ObjectMapper objectMapper,
+						  @Value("${lancamentos.lote.tamanho-bloco:1000}") int tamanhoBloco,
+						  @Value("${lancamentos.lote.paralelismo:8}") int paralelismo,
+						  @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+		if (tamanhoBloco <= 0 || paralelismo <= 0) {
+			throw new IllegalArgumentException("Configuração inválida da importação em lote.");
+		}
+		this.contaService = contaService;
+		this.executorTransacoes = executorTransacoes;
+		this.metricas = metricas;
+		this.leitorLinha = objectMapper.readerFor(LinhaLote.class);
+		this.escritorResultado = objectMapper.writerFor(ResultadoLinha.class);
+		this.tamanhoBloco = tamanhoBloco;
+		this.executor = Executors.newFixedThreadPool(paralelismo, threadsVirtuais
+				? Thread.ofVirtual().name("importador-lote-", 0).factory()
+				: Thread.ofPlatform().name("importador-lote-", 0).daemon(true).factory());
+	}
+
+	/**
+	 * Lê o NDJSON de {@code entrada} até o fim e escreve um {@link ResultadoLinha} por
+	 * linha não vazia em {@code saida}, também em NDJSON. A saída é descarregada a cada bloco.
+	 *
+	 * @throws EscritaIndisponivelException no modo journal, antes de ler a entrada
+	 */
+	public void importar(InputStream entrada, OutputStream saida) throws IOException {
+		executorTransacoes.verificarEscritaDireta("importação em lote");
+
+		BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+		Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+
+		List<Item> bloco = new ArrayList<>(tamanhoBloco);
+		long numeroLinha = 0;
+		String texto;
+
+		while ((texto = leitor.readLine()) != null) {
+			numeroLinha++;
+			if (texto.isBlank()) {
+				continue;
+			}
+			bloco.add(lerLinha(numeroLinha, texto));
+
+			if (bloco.size() == tamanhoBloco) {
+				processarBloco(bloco, escritor);
+				bloco.clear();
+			}
+		}
+
+		if (!bloco.isEmpty()) {
+			processarBloco(bloco, escritor);
+		}
+		escritor.flush();
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	private Item lerLinha(long numeroLinha, String texto) {
+		try {
+			LinhaLote linha = leitorLinha.readValue(texto);
+			if (linha.numeroConta() == null || linha.tipo() == null || linha.valor() == null) {
+				return new Item(numeroLinha, linha, ResultadoLinha.erro(numeroLinha, linha.numeroConta(),
+						"Linha inválida: numeroConta, tipo e valor são obrigatórios."));
+			}
+			return new Item(numeroLinha, linha, null);
+		} catch (JsonProcessingException e) {
+			return new Item(numeroLinha, null, ResultadoLinha.erro(numeroLinha, null,
+					"Linha inválida: " + e.getOriginalMessage()));
+		}
+	}
+
+	private void processarBloco(List<Item> bloco, Writer escritor) throws IOException {
+		Map<String, List<Item>> porConta = new LinkedHashMap<>();
+		for (Item item : bloco) {
+			if (item.resultado == null) {
+				porConta.computeIfAbsent(item.linha.numeroConta(), k -> new ArrayList<>()).add(item);
+			}
+		}
+
+		List<Future<?>> contas = new ArrayList<>(porConta.size());
+		porConta.forEach((numeroConta, itens) -> contas.add(executor.submit(() -> aplicarConta(numeroConta, itens))));
+
+		for (Future<?> conta : contas) {
+			aguardar(conta);
+		}
+
+		for (Item item : bloco) {
+			escritor.write(escritorResultado.writeValueAsString(item.resultado));
+			escritor.write('\n');
+		}
+		escritor.flush();
+	}
+
+	private void aplicarConta(String numeroConta, List<Item> itens) {
+		List<List<TransacaoRequest>> pedidos = new ArrayList<>(itens.size());
+		for (Item item : itens) {
+			List<TransacaoRequest> pedido = List.of(item.linha.paraRequest());
+			metricas.lote(pedido.size());
+			pedidos.add(pedido);
+		}
+
+		try {
+			List<ResultadoTransacao> resultados = contaService.processarLote(numeroConta, pedidos);
+			for (int i = 0; i < itens.size(); i++) {
+				Item item = itens.get(i);
+				ResultadoTransacao resultado = resultados.get(i);
+				item.resultado = resultado.isSucesso()
+						? ResultadoLinha.ok(item.numero, numeroConta, Centavos.formatar(resultado.saldo().saldo()))
+						: ResultadoLinha.erro(item.numero, numeroConta, resultado.erro().getMessage());
+			}
+		} catch (RuntimeException e) {
+			// Falha da conta inteira (ex: conta inexistente, conflito após retries).
+			String mensagem = mensagemDaFalha(numeroConta, e);
+			for (Item item : itens) {
+				item.resultado = ResultadoLinha.erro(item.numero, numeroConta, mensagem);
+			}
+		}
+	}
+
+	/**
+	 * Mesmas mensagens do RestApiExceptionHandler: o texto de uma falha técnica não vai para a saída.
+	 */
+	private static String mensagemDaFalha(String numeroConta, RuntimeException e) {
+		if (e instanceof ContaNotFoundException || e instanceof IllegalArgumentException) {
+			return e.getMessage();
+		}
+		if (e instanceof OptimisticLockingFailureException || e instanceof PessimisticLockingFailureException) {
+			return "Não foi possível processar a transação devido a alta concorrência. Por favor, tente novamente.";
+		}
+		log.error("Falha inesperada importando os lançamentos da conta {}", numeroConta, e);
+		return "Falha inesperada ao processar os lançamentos da conta.";
+	}
+
+	private static void aguardar(Future<?> tarefa) {
+		try {
+			tarefa.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Importação interrompida.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Falha inesperada na importação.", e.getCause());
+		}
+	}
+
+	private static final class Item {
+		private final long numero;
+		private final LinhaLote linha;
+		private ResultadoLinha resultado;
+
+		private Item(long numero, LinhaLote linha, ResultadoLinha resultado) {
+			this.numero = numero;
+			this.linha = linha;
+			this.resultado = resultado;
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.desafio.java.api.lancamentos.domain.service.lote;
+
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+
+/**
+ * Uma linha do arquivo NDJSON de lançamentos: um débito ou crédito em uma conta.
+ */
+public record LinhaLote(String numeroConta, TransacaoRequest.TipoEnum tipo, String valor) {
+
+	TransacaoRequest paraRequest() {
+		return new TransacaoRequest().tipo(tipo).valor(valor);
+	}
+}
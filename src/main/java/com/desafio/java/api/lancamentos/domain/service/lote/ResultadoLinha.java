@@ -0,0 +1,21 @@
+package com.desafio.java.api.lancamentos.domain.service.lote;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de uma linha do lote, devolvido na mesma ordem da entrada.
+ * {@code saldo} vem preenchido quando a linha foi aplicada; {@code erro}, quando foi rejeitada.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResultadoLinha(long linha, String numeroConta, Status status, String saldo, String erro) {
+
+	public enum Status { OK, ERRO }
+
+	static ResultadoLinha ok(long linha, String numeroConta, String saldo) {
+		return new ResultadoLinha(linha, numeroConta, Status.OK, saldo, null);
+	}
+
+	static ResultadoLinha erro(long linha, String numeroConta, String erro) {
+		return new ResultadoLinha(linha, numeroConta, Status.ERRO, null, erro);
+	}
+}
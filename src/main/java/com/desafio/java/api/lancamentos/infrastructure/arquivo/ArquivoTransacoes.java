@@ -0,0 +1,460 @@
+package com.desafio.java.api.lancamentos.infrastructure.arquivo;
+
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+import com.desafio.java.api.lancamentos.domain.model.LinhaArquivada;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Arquivo frio de lançamentos: um segmento por dia ({@code transacoes-AAAA-MM-DD.seg}),
+ * com os lançamentos agrupados por conta em blocos comprimidos (Deflate).
+ *
+ * Layout: cabeçalho (marca, quantidade de contas), índice ordenado por conta
+ * (conta, posição, tamanho comprimido, tamanho original, linhas) e os blocos. Cada bloco
+ * guarda as linhas da conta já na ordem do extrato (mais recente primeiro). O segmento é
+ * lido por mmap: a consulta faz busca binária no índice e descomprime só o bloco da conta.
+ *
+ * Segmentos são imutáveis; regravar um dia junta as linhas novas às existentes (sem repetir
+ * id) em um arquivo temporário e troca por rename atômico, então reexecutar o arquivamento
+ * após uma queda não duplica nada. A gravação recebe as linhas por conta e escreve um bloco
+ * por vez: a memória é a de uma conta, não a do dia.
+ */
+@Component
+public class ArquivoTransacoes {
+
+	private static final Logger log = LoggerFactory.getLogger(ArquivoTransacoes.class);
+
+	private static final int MARCA = 0x54584131; // "TXA1"
+	private static final int TAMANHO_CABECALHO = 8;
+	private static final int TAMANHO_ENTRADA_INDICE = 28;
+	private static final String PREFIXO = "transacoes-";
+	private static final String EXTENSAO = ".seg";
+
+	/** Ordem do extrato: mais recente primeiro, id como desempate. */
+	private static final Comparator<LinhaArquivada> ORDEM_EXTRATO = Comparator
+			.comparing(LinhaArquivada::dataHoraProcessamento)
+			.thenComparing(LinhaArquivada::id)
+			.reversed();
+
+	private final Path diretorio;
+	private final boolean habilitado;
+	private final NavigableMap<LocalDate, MappedByteBuffer> segmentos = new ConcurrentSkipListMap<>();
+	private final ReentrantLock lockEscrita = new ReentrantLock();
+
+	public ArquivoTransacoes(@Value("${lancamentos.arquivamento.diretorio:${java.io.tmpdir}/lancamentos-arquivo}") Path diretorio,
+							 @Value("${lancamentos.arquivamento.habilitado:false}") boolean habilitado) {
+		this.diretorio = diretorio;
+		this.habilitado = habilitado;
+		if (habilitado) {
+			carregarSegmentos();
+		}
+	}
+
+	public boolean isHabilitado() {
+		return habilitado;
+	}
+
+	/**
+	 * Fim (exclusivo) do dia arquivado mais recente: lançamentos a partir daí estão só na tabela quente.
+	 */
+	public Optional<LocalDateTime> limiteSuperior() {
+		if (segmentos.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(segmentos.lastKey().plusDays(1).atStartOfDay());
+	}
+
+	/**
+	 * Lançamentos arquivados da conta, na ordem do extrato, estritamente anteriores a {@code apos}
+	 * (ou desde o mais recente, se nulo), no máximo {@code limite}.
+	 */
+	public List<ItemExtrato> buscar(long contaId, LocalDateTime aposDataHora, Long aposId, int limite) {
+		List<ItemExtrato> itens = new ArrayList<>(Math.min(limite, 64));
+		NavigableMap<LocalDate, MappedByteBuffer> dias = aposDataHora == null
+				? segmentos.descendingMap()
+				: segmentos.headMap(aposDataHora.toLocalDate(), true).descendingMap();
+
+		for (Map.Entry<LocalDate, MappedByteBuffer> dia : dias.entrySet()) {
+			for (LinhaArquivada linha : lerConta(dia.getValue(), contaId)) {
+				if (aposDataHora != null && !antes(linha, aposDataHora, aposId)) {
+					continue;
+				}
+				itens.add(linha.paraItemExtrato());
+				if (itens.size() == limite) {
+					return itens;
+				}
+			}
+		}
+		return itens;
+	}
+
+	/**
+	 * Todas as linhas do dia, por conta e na ordem do extrato.
+	 */
+	List<LinhaArquivada> ler(LocalDate dia) {
+		List<LinhaArquivada> linhas = new ArrayList<>();
+		percorrer(dia, contaId -> true, linhas::addAll);
+		return linhas;
+	}
+
+	/**
+	 * Entrega as linhas do segmento do dia das contas aceitas por {@code contas}, uma conta por
+	 * vez e na ordem do índice; só o bloco de uma conta fica descomprimido em memória.
+	 */
+	public void percorrer(LocalDate dia, LongPredicate contas, Consumer<List<LinhaArquivada>> porConta) {
+		MappedByteBuffer segmento = segmentos.get(dia);
+		if (segmento == null) {
+			return;
+		}
+		int quantidade = segmento.getInt(4);
+		for (int i = 0; i < quantidade; i++) {
+			int entrada = TAMANHO_CABECALHO + i * TAMANHO_ENTRADA_INDICE;
+			long contaId = segmento.getLong(entrada);
+			if (contas.test(contaId)) {
+				porConta.accept(lerBloco(segmento, entrada, contaId));
+			}
+		}
+	}
+
+	/**
+	 * Grava (ou completa) o segmento do dia com as linhas informadas, de forma durável.
+	 */
+	void gravar(LocalDate dia, List<LinhaArquivada> linhas) {
+		gravar(dia, linhas.stream().sorted(Comparator.comparing(LinhaArquivada::contaId)).iterator());
+	}
+
+	/**
+	 * Grava (ou completa) o segmento do dia, de forma durável, consumindo as linhas à medida
+	 * que são escritas. As linhas devem vir agrupadas por conta, em ordem crescente de conta.
+	 *
+	 * Cada conta vira um bloco assim que a próxima começa, juntado ao bloco que ela já tinha no
+	 * segmento; as contas do segmento sem linhas novas são copiadas sem descomprimir. Os blocos
+	 * vão para um arquivo temporário e o índice (28 bytes por conta) fica em memória até o fim,
+	 * quando é escrito à frente dos blocos.
+	 */
+	public void gravar(LocalDate dia, Iterator<LinhaArquivada> linhas) {
+		lockEscrita.lock();
+		try {
+			Path destino = diretorio.resolve(nomeSegmento(dia));
+			Path temporario = diretorio.resolve(nomeSegmento(dia) + ".tmp");
+			Files.createDirectories(diretorio);
+
+			try (Escrita escrita = new Escrita(segmentos.get(dia), diretorio.resolve(nomeSegmento(dia) + ".blocos.tmp"))) {
+				List<LinhaArquivada> conta = new ArrayList<>();
+				while (linhas.hasNext()) {
+					LinhaArquivada linha = linhas.next();
+					if (!conta.isEmpty() && !linha.contaId().equals(conta.get(0).contaId())) {
+						if (linha.contaId() < conta.get(0).contaId()) {
+							throw new IllegalArgumentException("Linhas do arquivamento fora da ordem de conta: " + linha);
+						}
+						escrita.conta(conta.get(0).contaId(), conta);
+						conta = new ArrayList<>();
+					}
+					conta.add(linha);
+				}
+				if (!conta.isEmpty()) {
+					escrita.conta(conta.get(0).contaId(), conta);
+				}
+				escrita.concluir(temporario);
+			}
+			Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			sincronizarDiretorio();
+
+			segmentos.put(dia, mapear(destino));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Falha ao gravar o segmento de " + dia, e);
+		} finally {
+			lockEscrita.unlock();
+		}
+	}
+
+	/**
+	 * Uma regravação de segmento: percorre as contas do segmento existente junto com as contas
+	 * novas (as duas em ordem de conta) e escreve os blocos em sequência.
+	 */
+	private static final class Escrita implements AutoCloseable {
+
+		private final ByteBuffer existente;
+		private final int contasExistentes;
+		private int proximaExistente;
+
+		private final Path arquivoBlocos;
+		private final FileChannel blocos;
+		private final ByteArrayOutputStream bytesIndice = new ByteArrayOutputStream();
+		private final DataOutputStream indice = new DataOutputStream(bytesIndice);
+		private int contas;
+		private long posicao;
+
+		Escrita(ByteBuffer existente, Path arquivoBlocos) throws IOException {
+			this.existente = existente;
+			this.contasExistentes = existente == null ? 0 : existente.getInt(4);
+			this.arquivoBlocos = arquivoBlocos;
+			this.blocos = FileChannel.open(arquivoBlocos, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+
+		void conta(long contaId, List<LinhaArquivada> novas) throws IOException {
+			copiarExistentesAntes(contaId);
+			List<LinhaArquivada> linhas = novas;
+			if (proximaExistente < contasExistentes && existente.getLong(entradaExistente()) == contaId) {
+				linhas = new ArrayList<>(lerBloco(existente, entradaExistente(), contaId));
+				linhas.addAll(novas);
+				proximaExistente++;
+			}
+			linhas = semRepetidos(linhas);
+			byte[] original = codificar(linhas);
+			acrescentar(contaId, ByteBuffer.wrap(comprimir(original)), original.length, linhas.size());
+		}
+
+		void concluir(Path arquivo) throws IOException {
+			copiarExistentesAntes(Long.MAX_VALUE);
+			indice.flush();
+
+			int tamanhoCabecalho = TAMANHO_CABECALHO + contas * TAMANHO_ENTRADA_INDICE;
+			ByteBuffer cabecalho = ByteBuffer.allocate(tamanhoCabecalho);
+			cabecalho.putInt(MARCA).putInt(contas).put(bytesIndice.toByteArray());
+			for (int i = 0; i < contas; i++) {
+				int entrada = TAMANHO_CABECALHO + i * TAMANHO_ENTRADA_INDICE + 8;
+				cabecalho.putLong(entrada, cabecalho.getLong(entrada) + tamanhoCabecalho);
+			}
+			cabecalho.flip();
+
+			try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				escreverTudo(canal, cabecalho);
+				long copiados = 0;
+				while (copiados < posicao) {
+					copiados += blocos.transferTo(copiados, posicao - copiados, canal);
+				}
+				canal.force(true);
+			}
+		}
+
+		/** Contas do segmento existente anteriores a {@code contaId}: o bloco é copiado como está. */
+		private void copiarExistentesAntes(long contaId) throws IOException {
+			while (proximaExistente < contasExistentes && existente.getLong(entradaExistente()) < contaId) {
+				int entrada = entradaExistente();
+				ByteBuffer comprimido = existente.slice((int) existente.getLong(entrada + 8), existente.getInt(entrada + 16));
+				acrescentar(existente.getLong(entrada), comprimido, existente.getInt(entrada + 20), existente.getInt(entrada + 24));
+				proximaExistente++;
+			}
+		}
+
+		private int entradaExistente() {
+			return TAMANHO_CABECALHO + proximaExistente * TAMANHO_ENTRADA_INDICE;
+		}
+
+		/** A posição fica relativa ao início dos blocos; o tamanho do cabeçalho é somado no {@link #concluir}. */
+		private void acrescentar(long contaId, ByteBuffer comprimido, int tamanhoOriginal, int linhas) throws IOException {
+			int tamanho = comprimido.remaining();
+			escreverTudo(blocos, comprimido);
+			indice.writeLong(contaId);
+			indice.writeLong(posicao);
+			indice.writeInt(tamanho);
+			indice.writeInt(tamanhoOriginal);
+			indice.writeInt(linhas);
+			posicao += tamanho;
+			contas++;
+		}
+
+		@Override
+		public void close() throws IOException {
+			blocos.close();
+			Files.deleteIfExists(arquivoBlocos);
+		}
+	}
+
+	private static List<LinhaArquivada> semRepetidos(List<LinhaArquivada> linhas) {
+		Map<Long, LinhaArquivada> porId = new LinkedHashMap<>();
+		for (LinhaArquivada linha : linhas) {
+			porId.putIfAbsent(linha.id(), linha);
+		}
+		List<LinhaArquivada> unicos = new ArrayList<>(porId.values());
+		unicos.sort(ORDEM_EXTRATO);
+		return unicos;
+	}
+
+	/**
+	 * Linha: id, segundos e nanos da data/hora (sem fuso, como na coluna), tipo, valor em
+	 * centavos e o id de correlação da transferência, se houver.
+	 */
+	private static byte[] codificar(List<LinhaArquivada> linhas) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(linhas.size() * 34);
+		try (DataOutputStream saida = new DataOutputStream(bytes)) {
+			for (LinhaArquivada linha : linhas) {
+				LocalDateTime dataHora = linha.dataHoraProcessamento();
+				saida.writeLong(linha.id());
+				saida.writeLong(dataHora.toEpochSecond(ZoneOffset.UTC));
+				saida.writeInt(dataHora.getNano());
+				saida.writeByte(linha.tipo().ordinal());
+				saida.writeLong(linha.valor());
+				UUID correlacao = linha.idCorrelacao();
+				saida.writeBoolean(correlacao != null);
+				if (correlacao != null) {
+					saida.writeLong(correlacao.getMostSignificantBits());
+					saida.writeLong(correlacao.getLeastSignificantBits());
+				}
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] comprimir(byte[] original) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(original.length / 2 + 16);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (DeflaterOutputStream saida = new DeflaterOutputStream(bytes, deflater)) {
+			saida.write(original);
+		} finally {
+			deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+
+	private List<LinhaArquivada> lerConta(ByteBuffer segmento, long contaId) {
+		int contas = segmento.getInt(4);
+		int inicio = 0;
+		int fim = contas - 1;
+		while (inicio <= fim) {
+			int meio = (inicio + fim) >>> 1;
+			int entrada = TAMANHO_CABECALHO + meio * TAMANHO_ENTRADA_INDICE;
+			long id = segmento.getLong(entrada);
+			if (id < contaId) {
+				inicio = meio + 1;
+			} else if (id > contaId) {
+				fim = meio - 1;
+			} else {
+				return lerBloco(segmento, entrada, contaId);
+			}
+		}
+		return List.of();
+	}
+
+	private static List<LinhaArquivada> lerBloco(ByteBuffer segmento, int entrada, long contaId) {
+		int posicao = (int) segmento.getLong(entrada + 8);
+		byte[] comprimido = new byte[segmento.getInt(entrada + 16)];
+		byte[] original = new byte[segmento.getInt(entrada + 20)];
+		int linhas = segmento.getInt(entrada + 24);
+		segmento.get(posicao, comprimido);
+
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(comprimido);
+			int lidos = 0;
+			while (lidos < original.length && !inflater.finished()) {
+				lidos += inflater.inflate(original, lidos, original.length - lidos);
+			}
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Bloco do arquivo de lançamentos corrompido", e);
+		} finally {
+			inflater.end();
+		}
+
+		TipoTransacao[] tipos = TipoTransacao.values();
+		List<LinhaArquivada> resultado = new ArrayList<>(linhas);
+		try (DataInputStream dados = new DataInputStream(new ByteArrayInputStream(original))) {
+			for (int i = 0; i < linhas; i++) {
+				long id = dados.readLong();
+				LocalDateTime dataHora = LocalDateTime.ofEpochSecond(dados.readLong(), dados.readInt(), ZoneOffset.UTC);
+				TipoTransacao tipo = tipos[dados.readByte()];
+				long valor = dados.readLong();
+				UUID correlacao = dados.readBoolean() ? new UUID(dados.readLong(), dados.readLong()) : null;
+				resultado.add(new LinhaArquivada(id, contaId, tipo, valor, dataHora, correlacao));
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Bloco do arquivo de lançamentos truncado", e);
+		}
+		return resultado;
+	}
+
+	private static boolean antes(LinhaArquivada linha, LocalDateTime dataHora, Long id) {
+		int comparacao = linha.dataHoraProcessamento().compareTo(dataHora);
+		return comparacao < 0 || (comparacao == 0 && linha.id() < id);
+	}
+
+	private void carregarSegmentos() {
+		if (!Files.isDirectory(diretorio)) {
+			return;
+		}
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			for (Path arquivo : arquivos.toList()) {
+				String nome = arquivo.getFileName().toString();
+				if (nome.startsWith(PREFIXO) && nome.endsWith(EXTENSAO)) {
+					LocalDate dia = LocalDate.parse(nome.substring(PREFIXO.length(), nome.length() - EXTENSAO.length()));
+					segmentos.put(dia, mapear(arquivo));
+				} else if (nome.startsWith(PREFIXO) && nome.endsWith(".tmp")) {
+					Files.delete(arquivo);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Falha ao ler o arquivo de lançamentos em " + diretorio, e);
+		}
+		log.info("Arquivo de lançamentos: {} segmento(s) em {}", segmentos.size(), diretorio);
+	}
+
+	private static MappedByteBuffer mapear(Path arquivo) throws IOException {
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			MappedByteBuffer segmento = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+			if (segmento.capacity() < TAMANHO_CABECALHO || segmento.getInt(0) != MARCA) {
+				throw new IllegalStateException("Segmento de lançamentos inválido: " + arquivo);
+			}
+			return segmento;
+		}
+	}
+
+	private void sincronizarDiretorio() {
+		try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+			canal.force(true);
+		} catch (IOException e) {
+			// Nem todo sistema de arquivos permite abrir o diretório; o rename já foi feito.
+			log.debug("fsync do diretório {} não suportado", diretorio, e);
+		}
+	}
+
+	private static void escreverTudo(FileChannel canal, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			canal.write(buffer);
+		}
+	}
+
+	private static String nomeSegmento(LocalDate dia) {
+		return PREFIXO + dia + EXTENSAO;
+	}
+}
@@ -0,0 +1,128 @@
+package com.desafio.java.api.lancamentos.infrastructure.cache;
+
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.LinhaSaldo;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoVersionado;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache em memória do saldo por {@code numeroConta}, usado pelo GET /saldo.
+ *
+ * As escritas chegam por write-through, somente depois do commit, e cada entrada
+ * guarda a versão (@Version) da conta: uma versão mais antiga nunca substitui uma
+ * mais nova, então uma leitura lenta não sobrescreve um commit mais recente.
+ * Limitado por tamanho e por tempo; desligado com {@code lancamentos.cache-saldo.habilitado=false}.
+ * As estatísticas são publicadas no Micrometer como {@code cache.*{cache=saldo}}.
+ */
+@Component
+public class SaldoCache {
+
+	private final Cache<String, Entrada> cache;
+
+	public SaldoCache(@Value("${lancamentos.cache-saldo.habilitado:true}") boolean habilitado,
+					  @Value("${lancamentos.cache-saldo.tamanho-maximo:100000}") long tamanhoMaximo,
+					  @Value("${lancamentos.cache-saldo.expiracao:30s}") Duration expiracao,
+					  ObjectProvider<MeterRegistry> meterRegistry) {
+		if (!habilitado) {
+			this.cache = null;
+			return;
+		}
+
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfterWrite(expiracao)
+				.recordStats()
+				.build();
+
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "saldo"));
+	}
+
+	public Optional<SaldoConta> buscar(String numeroConta) {
+		return buscarComVersao(numeroConta).map(SaldoVersionado::conta);
+	}
+
+	/**
+	 * Saldo com a versão da entrada (nunca nula: conta particionada não fica no cache).
+	 */
+	public Optional<SaldoVersionado> buscarComVersao(String numeroConta) {
+		if (cache == null) {
+			return Optional.empty();
+		}
+		Entrada entrada = cache.getIfPresent(numeroConta);
+		return entrada == null
+				? Optional.empty()
+				: Optional.of(new SaldoVersionado(new SaldoConta(numeroConta, entrada.saldo), entrada.versao));
+	}
+
+	/**
+	 * Registra o estado da conta no cache. Dentro de uma transação, a gravação só
+	 * acontece no afterCommit (um rollback nunca chega ao cache).
+	 */
+	public void atualizar(Conta conta) {
+		if (cache != null) {
+			depoisDoCommit(() -> gravar(conta));
+		}
+	}
+
+	/**
+	 * Registra um saldo lido como projeção ({@link LinhaSaldo}). Saldo e versão vêm da mesma
+	 * linha, então valem as mesmas regras: dentro de uma transação (que pode ter lido as
+	 * próprias escritas), só no afterCommit.
+	 */
+	public void atualizar(LinhaSaldo linha) {
+		if (cache != null) {
+			depoisDoCommit(() -> gravar(linha.numeroConta(), linha.saldo(), linha.versao(), linha.particionada()));
+		}
+	}
+
+	public CacheStats estatisticas() {
+		return cache == null ? CacheStats.empty() : cache.stats();
+	}
+
+	private void depoisDoCommit(Runnable gravacao) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					gravacao.run();
+				}
+			});
+		} else {
+			gravacao.run();
+		}
+	}
+
+	private void gravar(Conta conta) {
+		// A versão é lida aqui, depois do flush, quando o Hibernate já a incrementou na entidade.
+		long versao = conta.getVersion() == null ? 0 : conta.getVersion();
+		gravar(conta.getNumeroConta(), conta.getSaldoEmCentavos(), versao, conta.isParticionada());
+	}
+
+	private void gravar(String numeroConta, long saldo, long versao, boolean particionada) {
+		if (particionada) {
+			// Créditos em parcelas não passam pela conta nem mudam a versão: não há como
+			// manter a entrada atualizada, então conta particionada não fica no cache.
+			cache.invalidate(numeroConta);
+			return;
+		}
+
+		cache.asMap().merge(numeroConta, new Entrada(saldo, versao),
+				(atual, candidata) -> candidata.versao >= atual.versao ? candidata : atual);
+	}
+
+	private record Entrada(long saldo, long versao) {
+	}
+}
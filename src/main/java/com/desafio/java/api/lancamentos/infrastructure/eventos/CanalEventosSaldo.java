@@ -0,0 +1,167 @@
+package com.desafio.java.api.lancamentos.infrastructure.eventos;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Destino em memória: guarda os últimos {@code capacidade-historico} eventos e os repassa aos
+ * assinantes do stream SSE ({@code GET /eventos/saldos}).
+ *
+ * Cada assinante tem uma fila limitada e uma thread virtual que faz o envio, então um cliente
+ * lento não segura o publicador. Se a fila de um assinante enche, o stream é encerrado; o
+ * cliente reconecta com {@code Last-Event-ID} e recebe do histórico o que perdeu. O histórico
+ * é local à instância e não sobrevive a reinício.
+ */
+@Component
+public class CanalEventosSaldo implements DestinoEventos {
+
+	private final int capacidadeHistorico;
+	private final int capacidadeAssinante;
+	private final Duration timeout;
+	private final ArrayDeque<EventoSaldo> historico = new ArrayDeque<>();
+	private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+	private final ReentrantLock lock = new ReentrantLock();
+
+	public CanalEventosSaldo(@Value("${lancamentos.outbox.sse.capacidade-historico:10000}") int capacidadeHistorico,
+							 @Value("${lancamentos.outbox.sse.capacidade-assinante:1000}") int capacidadeAssinante,
+							 @Value("${lancamentos.outbox.sse.timeout:30m}") Duration timeout,
+							 MeterRegistry registry) {
+		this.capacidadeHistorico = capacidadeHistorico;
+		this.capacidadeAssinante = capacidadeAssinante;
+		this.timeout = timeout;
+
+		Gauge.builder("lancamentos.outbox.assinantes", assinantes, Set::size)
+				.description("Assinantes conectados ao stream de eventos de saldo")
+				.register(registry);
+	}
+
+	/**
+	 * Abre um stream. Com {@code ultimoId}, os eventos publicados depois dele são enviados
+	 * antes dos novos.
+	 *
+	 * "Depois" é a ordem de publicação, não a de id: um id menor cujo commit atrasou é
+	 * publicado depois de ids maiores. Por isso o reenvio parte da primeira ocorrência de
+	 * {@code ultimoId} no histórico (um lote reentregue repete ids), e, se ele não está mais
+	 * lá, o histórico inteiro é reenviado; o consumidor já descarta repetidos pelo id.
+	 *
+	 * @param numeroConta só eventos desta conta; {@code null} para todas
+	 */
+	public SseEmitter assinar(String numeroConta, Long ultimoId) {
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		Assinante assinante = new Assinante(emitter, numeroConta);
+
+		lock.lock();
+		try {
+			if (ultimoId != null) {
+				boolean encontrado = historico.stream().anyMatch(evento -> evento.id() == ultimoId);
+				boolean enviar = !encontrado;
+				for (EventoSaldo evento : historico) {
+					if (enviar && !assinante.oferecer(evento)) {
+						break;
+					}
+					if (!enviar && evento.id() == ultimoId) {
+						enviar = true;
+					}
+				}
+			}
+			assinantes.add(assinante);
+		} finally {
+			lock.unlock();
+		}
+
+		emitter.onCompletion(() -> encerrar(assinante));
+		emitter.onTimeout(() -> encerrar(assinante));
+		emitter.onError(erro -> encerrar(assinante));
+		assinante.remetente = Thread.ofVirtual().name("sse-saldos").start(assinante::enviar);
+		return emitter;
+	}
+
+	@Override
+	public void publicar(List<EventoSaldo> eventos) {
+		lock.lock();
+		try {
+			for (EventoSaldo evento : eventos) {
+				historico.addLast(evento);
+				if (historico.size() > capacidadeHistorico) {
+					historico.removeFirst();
+				}
+			}
+			for (Assinante assinante : assinantes) {
+				for (EventoSaldo evento : eventos) {
+					if (!assinante.oferecer(evento)) {
+						break;
+					}
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void encerrar(Assinante assinante) {
+		if (assinantes.remove(assinante) && assinante.remetente != null) {
+			assinante.remetente.interrupt();
+		}
+	}
+
+	private final class Assinante {
+
+		private final SseEmitter emitter;
+		private final String numeroConta;
+		private final BlockingQueue<EventoSaldo> fila = new ArrayBlockingQueue<>(capacidadeAssinante);
+		private volatile Thread remetente;
+
+		Assinante(SseEmitter emitter, String numeroConta) {
+			this.emitter = emitter;
+			this.numeroConta = numeroConta;
+		}
+
+		/**
+		 * @return {@code false} se a fila encheu e o stream foi encerrado
+		 */
+		boolean oferecer(EventoSaldo evento) {
+			if (numeroConta != null && !numeroConta.equals(evento.numeroConta())) {
+				return true;
+			}
+			if (fila.offer(evento)) {
+				return true;
+			}
+			emitter.complete();
+			return false;
+		}
+
+		void enviar() {
+			try {
+				// Comentário inicial: o cliente recebe os headers sem esperar o primeiro evento.
+				emitter.send(SseEmitter.event().comment("conectado"));
+				while (!Thread.currentThread().isInterrupted()) {
+					EventoSaldo evento = fila.take();
+					emitter.send(SseEmitter.event()
+							.id(String.valueOf(evento.id()))
+							.name("saldo")
+							.data(evento));
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException | IllegalStateException e) {
+				// Cliente desconectado ou stream já encerrado.
+				emitter.completeWithError(e);
+			} finally {
+				encerrar(this);
+			}
+		}
+	}
+}
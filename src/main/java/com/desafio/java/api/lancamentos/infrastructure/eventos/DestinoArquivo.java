@@ -0,0 +1,63 @@
+package com.desafio.java.api.lancamentos.infrastructure.eventos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino para uso local: acrescenta cada evento como uma linha JSON (NDJSON) ao arquivo,
+ * com fsync por lote. Só é chamado pelo {@link PublicadorOutbox}, um lote por vez. Um lote
+ * reenviado aparece repetido no arquivo (mesmo {@code id}).
+ */
+@Component
+@ConditionalOnProperty(name = "lancamentos.outbox.arquivo.habilitado", havingValue = "true")
+public class DestinoArquivo implements DestinoEventos {
+
+	private final FileChannel canal;
+	private final ObjectMapper objectMapper;
+
+	public DestinoArquivo(@Value("${lancamentos.outbox.arquivo.caminho}") Path caminho,
+						  ObjectMapper objectMapper) throws IOException {
+		if (caminho.getParent() != null) {
+			Files.createDirectories(caminho.getParent());
+		}
+		this.canal = FileChannel.open(caminho,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public void publicar(List<EventoSaldo> eventos) {
+		try {
+			ByteArrayOutputStream linhas = new ByteArrayOutputStream();
+			for (EventoSaldo evento : eventos) {
+				objectMapper.writeValue(linhas, evento);
+				linhas.write('\n');
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(linhas.toByteArray());
+			while (buffer.hasRemaining()) {
+				canal.write(buffer);
+			}
+			canal.force(false);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@PreDestroy
+	void fechar() throws IOException {
+		canal.close();
+	}
+}
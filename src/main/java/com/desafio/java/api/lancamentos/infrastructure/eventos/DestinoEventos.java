@@ -0,0 +1,16 @@
+package com.desafio.java.api.lancamentos.infrastructure.eventos;
+
+import java.util.List;
+
+/**
+ * Para onde o {@link PublicadorOutbox} entrega os eventos de saldo. Toda implementação
+ * registrada como bean recebe todos os lotes.
+ */
+public interface DestinoEventos {
+
+	/**
+	 * Entrega um lote, em ordem de id. Só retorna quando o lote foi aceito: uma exceção faz
+	 * o lote inteiro ser reenviado a todos os destinos.
+	 */
+	void publicar(List<EventoSaldo> eventos);
+}
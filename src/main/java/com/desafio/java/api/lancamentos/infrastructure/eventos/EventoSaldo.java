@@ -0,0 +1,29 @@
+package com.desafio.java.api.lancamentos.infrastructure.eventos;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.EventoOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Saldo de uma conta alterado, como é publicado: saldo e delta vão como string com duas casas,
+ * igual ao {@code SaldoResponse}.
+ *
+ * A entrega é ao menos uma vez, então o mesmo evento pode chegar repetido (mesmo {@code id}).
+ * Eventos de contas diferentes podem chegar fora de ordem; para a mesma conta, um evento com
+ * {@code versao} menor que a do último recebido é antigo e pode ser descartado.
+ *
+ * Eventos de conta particionada têm {@code saldo} e {@code versao} nulos: o consumidor soma o
+ * {@code delta} de cada evento (uma vez por {@code id}), em qualquer ordem.
+ */
+public record EventoSaldo(long id, String numeroConta, String saldo, Long versao, String delta,
+						  List<Long> idsTransacao, LocalDateTime dataHora) {
+
+	static EventoSaldo de(EventoOutbox evento) {
+		Long saldo = evento.getSaldoEmCentavos();
+		return new EventoSaldo(evento.getId(), evento.getNumeroConta(), saldo == null ? null : Centavos.formatar(saldo),
+				evento.getVersao(), Centavos.formatar(evento.getDeltaEmCentavos()), evento.getIdsTransacao(),
+				evento.getDataHoraRegistro());
+	}
+}
@@ -0,0 +1,66 @@
+package com.desafio.java.api.lancamentos.infrastructure.eventos;
+
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.EventoOutbox;
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava um {@link EventoOutbox} por conta dos lançamentos gravados na transação.
+ *
+ * O evento é montado no beforeCommit, depois de um flush: é quando a @Version da conta já foi
+ * incrementada e o saldo é o que vai ser commitado. O INSERT do evento entra no flush do commit,
+ * na mesma transação dos lançamentos. Conta particionada leva só o delta (ver {@link EventoOutbox}).
+ */
+@Component
+public class OutboxSaldo {
+
+	private final EntityManager entityManager;
+	private final boolean habilitado;
+
+	public OutboxSaldo(EntityManager entityManager,
+					   @Value("${lancamentos.outbox.habilitado:true}") boolean habilitado) {
+		this.entityManager = entityManager;
+		this.habilitado = habilitado;
+	}
+
+	/**
+	 * Deve ser chamado depois do persist dos lançamentos, dentro da transação.
+	 */
+	public void registrar(List<Transacao> transacoes) {
+		if (!habilitado || transacoes.isEmpty()) {
+			return;
+		}
+		Map<Conta, List<Transacao>> porConta = new IdentityHashMap<>();
+		for (Transacao transacao : transacoes) {
+			porConta.computeIfAbsent(transacao.getConta(), conta -> new ArrayList<>()).add(transacao);
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				try {
+					entityManager.flush();
+				} catch (PersistenceException e) {
+					// Fora do commit o Spring não traduz a exceção: sem isso, um conflito de
+					// @Version não seria reconhecido pelo @Retryable.
+					DataAccessException traduzida = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+					throw traduzida != null ? traduzida : e;
+				}
+				porConta.forEach((conta, lancamentos) -> entityManager.persist(new EventoOutbox(conta, lancamentos)));
+			}
+		});
+	}
+}
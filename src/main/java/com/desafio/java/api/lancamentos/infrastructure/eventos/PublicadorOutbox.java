@@ -0,0 +1,109 @@
+package com.desafio.java.api.lancamentos.infrastructure.eventos;
+
+import com.desafio.java.api.lancamentos.domain.model.EventoOutbox;
+import com.desafio.java.api.lancamentos.infrastructure.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Esvazia o outbox em lotes de {@code tamanho-lote}, em ordem de id: lê o lote, entrega a
+ * todos os {@link DestinoEventos} e só então apaga os eventos, na mesma transação. Se um
+ * destino falhar, ou o processo cair entre a entrega e o commit, o lote é entregue de novo
+ * (ao menos uma vez).
+ *
+ * A ordem de id não é a ordem de commit: um evento com id menor pode ficar visível depois de
+ * outro com id maior e sai no lote seguinte (ver {@link EventoSaldo}).
+ */
+@Component
+public class PublicadorOutbox {
+
+	private static final Logger log = LoggerFactory.getLogger(PublicadorOutbox.class);
+
+	private final EventoOutboxRepository outboxRepository;
+	private final List<DestinoEventos> destinos;
+	private final TransactionTemplate transacao;
+	private final boolean habilitado;
+	private final int tamanhoLote;
+	private final ReentrantLock publicador = new ReentrantLock();
+	private final Counter publicados;
+	private final Counter falhas;
+
+	public PublicadorOutbox(EventoOutboxRepository outboxRepository, List<DestinoEventos> destinos,
+							PlatformTransactionManager transactionManager, MeterRegistry registry,
+							@Value("${lancamentos.outbox.habilitado:true}") boolean habilitado,
+							@Value("${lancamentos.outbox.tamanho-lote:500}") int tamanhoLote) {
+		this.outboxRepository = outboxRepository;
+		this.destinos = destinos;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.habilitado = habilitado;
+		this.tamanhoLote = tamanhoLote;
+		this.publicados = Counter.builder("lancamentos.outbox.publicados")
+				.description("Eventos de saldo entregues aos destinos")
+				.register(registry);
+		this.falhas = Counter.builder("lancamentos.outbox.falhas")
+				.description("Lotes do outbox que falharam e serão reenviados")
+				.register(registry);
+	}
+
+	@Scheduled(fixedDelayString = "${lancamentos.outbox.intervalo:PT0.1S}")
+	public void publicarAgendado() {
+		if (!habilitado) {
+			return;
+		}
+		try {
+			publicar();
+		} catch (RuntimeException e) {
+			log.warn("Falha ao publicar eventos do outbox; o lote será reenviado: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Publica lotes até esvaziar o outbox.
+	 *
+	 * @return eventos publicados
+	 */
+	public int publicar() {
+		publicador.lock();
+		try {
+			int total = 0;
+			int lidos;
+			do {
+				lidos = transacao.execute(status -> publicarLote());
+				total += lidos;
+			} while (lidos == tamanhoLote);
+			return total;
+		} finally {
+			publicador.unlock();
+		}
+	}
+
+	private int publicarLote() {
+		List<EventoOutbox> pendentes = outboxRepository.findAllByOrderByIdAsc(Limit.of(tamanhoLote));
+		if (pendentes.isEmpty()) {
+			return 0;
+		}
+		List<EventoSaldo> eventos = pendentes.stream().map(EventoSaldo::de).toList();
+		try {
+			for (DestinoEventos destino : destinos) {
+				destino.publicar(eventos);
+			}
+		} catch (RuntimeException e) {
+			falhas.increment();
+			throw e;
+		}
+		outboxRepository.removerPorIds(pendentes.stream().map(EventoOutbox::getId).toList());
+		publicados.increment(eventos.size());
+		return eventos.size();
+	}
+}
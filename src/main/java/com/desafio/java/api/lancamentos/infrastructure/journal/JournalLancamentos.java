@@ -0,0 +1,489 @@
+package com.desafio.java.api.lancamentos.infrastructure.journal;
+
+import com.desafio.java.api.lancamentos.infrastructure.journal.RegistroJournal.Lancamento;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Journal (write-ahead log) append-only dos pedidos aceitos, em segmentos
+ * {@code journal-<primeira sequência>.log} no diretório configurado.
+ *
+ * <ul>
+ *   <li>{@link #anexar}: atribui a próxima sequência e enfileira o registro, sem I/O
+ *   na thread do chamador;</li>
+ *   <li>uma única thread grava tudo o que estiver na fila com um {@code write} e um
+ *   {@code force} (group fsync): sob carga, um fsync confirma muitos pedidos de uma vez.
+ *   O futuro de cada registro só completa depois do fsync que o cobre;</li>
+ *   <li>{@link #abrir} relê os segmentos existentes, entregando os registros posteriores
+ *   ao último checkpoint. Um registro final incompleto (queda no meio da gravação) é
+ *   truncado; corrupção no meio do journal interrompe a inicialização;</li>
+ *   <li>{@link #descartarAte} apaga os segmentos fechados já cobertos por um checkpoint.</li>
+ * </ul>
+ *
+ * Cada segmento começa com um cabeçalho (marca + identificador do banco). Segmentos de
+ * outro banco (ex: H2 em memória recriado) são renomeados para {@code .descartado} em vez
+ * de reaplicados.
+ */
+public class JournalLancamentos implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(JournalLancamentos.class);
+
+	private static final int MARCA = 0x4A524E31; // "JRN1"
+	private static final int TAMANHO_CABECALHO = Integer.BYTES + 2 * Long.BYTES;
+	private static final String PREFIXO = "journal-";
+	private static final String SUFIXO = ".log";
+	private static final Anexo FIM = new Anexo(null, null);
+
+	/** Pedido enfileirado: o futuro completa quando o registro estiver em disco. */
+	public record Anexo(RegistroJournal registro, CompletableFuture<Void> duravel) {
+	}
+
+	private record Segmento(Path arquivo, long primeiraSequencia) {
+	}
+
+	private final Path diretorio;
+	private final long tamanhoSegmento;
+	private final BlockingQueue<Anexo> fila;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+	private final Timer tempoFsync;
+	private final DistributionSummary registrosPorFsync;
+
+	/** Segmentos fechados, do mais antigo ao mais novo; o atual fica fora da lista. */
+	private final List<Segmento> fechados = new ArrayList<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ReentrantLock lockSegmentos = new ReentrantLock();
+
+	private UUID identificador;
+	private Segmento atual;
+	private FileChannel canal;
+	private long tamanhoAtual;
+	private long proximaSequencia;
+	private volatile long sequenciaDuravel;
+	private volatile IOException falha;
+	private Thread gravador;
+	private boolean fechando;
+
+	public JournalLancamentos(Path diretorio, long tamanhoSegmento, int capacidadeFila, MeterRegistry registry) {
+		if (tamanhoSegmento <= 0 || capacidadeFila <= 0) {
+			throw new IllegalArgumentException("Configuração inválida do journal.");
+		}
+		this.diretorio = diretorio;
+		this.tamanhoSegmento = tamanhoSegmento;
+		this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+		this.tempoFsync = Timer.builder("lancamentos.journal.fsync")
+				.description("Tempo de cada write + fsync do journal")
+				.publishPercentileHistogram()
+				.register(registry);
+		this.registrosPorFsync = DistributionSummary.builder("lancamentos.journal.fsync.registros")
+				.description("Pedidos confirmados por fsync do journal")
+				.baseUnit("pedidos")
+				.register(registry);
+	}
+
+	/**
+	 * Relê o journal e abre um segmento novo para escrita.
+	 *
+	 * @param identificador identificador do banco ao qual o journal pertence
+	 * @param checkpoint    última sequência já refletida no banco
+	 * @param consumidor    recebe, em ordem, cada registro com sequência maior que {@code checkpoint}
+	 * @return a última sequência encontrada (ou {@code checkpoint}, se o journal não for além dele)
+	 */
+	public long abrir(UUID identificador, long checkpoint, Consumer<RegistroJournal> consumidor) {
+		lock.lock();
+		try {
+			if (gravador != null) {
+				throw new IllegalStateException("Journal já aberto.");
+			}
+			this.identificador = identificador;
+			long ultima = reler(checkpoint, consumidor);
+
+			proximaSequencia = ultima + 1;
+			sequenciaDuravel = ultima;
+			abrirSegmento();
+
+			gravador = Thread.ofPlatform().name("journal-fsync").daemon(true).unstarted(this::gravar);
+			gravador.start();
+			return ultima;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Falha ao abrir o journal em " + diretorio, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private long reler(long checkpoint, Consumer<RegistroJournal> consumidor) throws IOException {
+		Files.createDirectories(diretorio);
+		List<Path> arquivos = listarSegmentos();
+
+		long ultima = checkpoint;
+		for (int i = 0; i < arquivos.size(); i++) {
+			Path arquivo = arquivos.get(i);
+			long primeira = primeiraSequencia(arquivo);
+			if (!pertenceAoBanco(arquivo)) {
+				log.warn("Segmento {} pertence a outro banco e não será reaplicado.", arquivo.getFileName());
+				Files.move(arquivo, arquivo.resolveSibling(arquivo.getFileName() + ".descartado"),
+						StandardCopyOption.REPLACE_EXISTING);
+				continue;
+			}
+			if (primeira > ultima + 1 && primeira > checkpoint + 1) {
+				throw new IllegalStateException("Lacuna no journal antes de " + arquivo.getFileName()
+						+ ": última sequência lida " + ultima + ".");
+			}
+
+			ultima = Math.max(ultima, relerSegmento(arquivo, primeira, checkpoint, i == arquivos.size() - 1, consumidor));
+			fechados.add(new Segmento(arquivo, primeira));
+		}
+
+		// Segmentos sem nenhum registro (ex: aberto logo antes da queda) não têm o que preservar.
+		for (int i = fechados.size() - 1; i >= 0 && fechados.get(i).primeiraSequencia() > ultima; i--) {
+			Files.delete(fechados.remove(i).arquivo());
+		}
+		return ultima;
+	}
+
+	/**
+	 * Atribui a próxima sequência ao pedido e o enfileira para gravação.
+	 * A ordem das sequências é a ordem de gravação no arquivo.
+	 */
+	public Anexo anexar(String numeroConta, List<Lancamento> lancamentos) {
+		lock.lock();
+		try {
+			return anexarComLock(numeroConta, lancamentos);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Anexo anexarComLock(String numeroConta, List<Lancamento> lancamentos) {
+		if (falha != null) {
+			throw new IllegalStateException("Journal indisponível após falha de I/O.", falha);
+		}
+		if (gravador == null || fechando) {
+			throw new IllegalStateException("Journal fechado.");
+		}
+
+		RegistroJournal registro = new RegistroJournal(
+				proximaSequencia, System.currentTimeMillis(), numeroConta, List.copyOf(lancamentos));
+		Anexo anexo = new Anexo(registro, new CompletableFuture<>());
+		try {
+			fila.put(anexo);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando espaço na fila do journal.", e);
+		}
+		proximaSequencia++;
+		return anexo;
+	}
+
+	/** Maior sequência já em disco: todos os registros até ela sobrevivem a uma queda. */
+	public long sequenciaDuravel() {
+		return sequenciaDuravel;
+	}
+
+	/**
+	 * Se a gravação falhou: nenhum registro além de {@link #sequenciaDuravel} chegará ao disco
+	 * e nenhum anexo novo é aceito.
+	 */
+	public boolean falhou() {
+		return falha != null;
+	}
+
+	/**
+	 * Apaga os segmentos fechados cujos registros são todos ≤ {@code sequencia}
+	 * (já refletidos no banco por um checkpoint).
+	 */
+	public void descartarAte(long sequencia) {
+		lockSegmentos.lock();
+		try {
+			while (!fechados.isEmpty()) {
+				long ultimaDoSegmento = (fechados.size() > 1
+						? fechados.get(1).primeiraSequencia()
+						: atual.primeiraSequencia()) - 1;
+				if (ultimaDoSegmento > sequencia) {
+					break;
+				}
+				Segmento segmento = fechados.remove(0);
+				try {
+					Files.deleteIfExists(segmento.arquivo());
+				} catch (IOException e) {
+					log.warn("Não foi possível apagar o segmento {}", segmento.arquivo(), e);
+				}
+			}
+		} finally {
+			lockSegmentos.unlock();
+		}
+	}
+
+	/**
+	 * Grava o que já estiver na fila e encerra a thread de gravação.
+	 */
+	@Override
+	public void close() {
+		Thread thread;
+		lock.lock();
+		try {
+			thread = gravador;
+			if (thread == null || fechando) {
+				return;
+			}
+			fechando = true;
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			// Depois de fechando = true nenhum anexar enfileira mais nada: FIM é o último item.
+			if (thread.isAlive()) {
+				fila.put(FIM);
+			}
+			thread.join(TimeUnit.SECONDS.toMillis(30));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void gravar() {
+		List<Anexo> lote = new ArrayList<>();
+		boolean encerrar = false;
+
+		while (!encerrar) {
+			try {
+				lote.add(fila.take());
+			} catch (InterruptedException e) {
+				// Sem interrupção de FileChannel: ela fecharia o canal no meio de um write.
+				continue;
+			}
+			fila.drainTo(lote);
+			encerrar = lote.remove(FIM);
+
+			try {
+				if (!lote.isEmpty()) {
+					gravarLote(lote);
+				}
+			} catch (IOException e) {
+				log.error("Falha de I/O no journal; novas escritas serão recusadas.", e);
+				falha = e;
+				lote.forEach(anexo -> anexo.duravel().completeExceptionally(
+						new IllegalStateException("Falha ao gravar o journal.", e)));
+				encerrar = true;
+			}
+			lote.clear();
+		}
+
+		fecharCanal();
+	}
+
+	private void gravarLote(List<Anexo> lote) throws IOException {
+		long inicio = System.nanoTime();
+
+		for (Anexo anexo : lote) {
+			RegistroJournal registro = anexo.registro();
+			int tamanho = registro.tamanhoCodificado();
+			if (buffer.remaining() < tamanho) {
+				escreverBuffer();
+			}
+			if (tamanho > buffer.capacity()) {
+				ByteBuffer grande = ByteBuffer.allocate(tamanho);
+				registro.codificar(grande);
+				escrever(grande.flip());
+			} else {
+				registro.codificar(buffer);
+			}
+		}
+		escreverBuffer();
+		canal.force(false);
+
+		tempoFsync.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+		registrosPorFsync.record(lote.size());
+		sequenciaDuravel = lote.get(lote.size() - 1).registro().sequencia();
+		lote.forEach(anexo -> anexo.duravel().complete(null));
+
+		if (tamanhoAtual >= tamanhoSegmento) {
+			rotacionar(sequenciaDuravel + 1);
+		}
+	}
+
+	private void escreverBuffer() throws IOException {
+		buffer.flip();
+		escrever(buffer);
+		buffer.clear();
+	}
+
+	private void escrever(ByteBuffer origem) throws IOException {
+		while (origem.hasRemaining()) {
+			tamanhoAtual += canal.write(origem);
+		}
+	}
+
+	private void rotacionar(long primeiraSequencia) throws IOException {
+		canal.close();
+		lockSegmentos.lock();
+		try {
+			fechados.add(atual);
+		} finally {
+			lockSegmentos.unlock();
+		}
+		abrirSegmento(primeiraSequencia);
+	}
+
+	private void abrirSegmento() throws IOException {
+		abrirSegmento(proximaSequencia);
+	}
+
+	private void abrirSegmento(long primeiraSequencia) throws IOException {
+		Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO, primeiraSequencia, SUFIXO));
+		FileChannel novo = FileChannel.open(arquivo,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+		ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO)
+				.putInt(MARCA)
+				.putLong(identificador.getMostSignificantBits())
+				.putLong(identificador.getLeastSignificantBits())
+				.flip();
+		while (cabecalho.hasRemaining()) {
+			novo.write(cabecalho);
+		}
+		novo.force(true);
+		sincronizarDiretorio();
+
+		lockSegmentos.lock();
+		try {
+			canal = novo;
+			atual = new Segmento(arquivo, primeiraSequencia);
+			tamanhoAtual = TAMANHO_CABECALHO;
+		} finally {
+			lockSegmentos.unlock();
+		}
+	}
+
+	/** Garante que a criação do arquivo também está em disco (Linux); ignorado onde não é suportado. */
+	private void sincronizarDiretorio() {
+		try (FileChannel dir = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+			dir.force(true);
+		} catch (IOException | UnsupportedOperationException e) {
+			log.debug("fsync do diretório do journal não suportado: {}", e.toString());
+		}
+	}
+
+	private void fecharCanal() {
+		try {
+			canal.close();
+		} catch (IOException e) {
+			log.warn("Falha ao fechar o segmento {}", atual.arquivo(), e);
+		}
+	}
+
+	private long relerSegmento(Path arquivo, long primeira, long checkpoint, boolean ultimo,
+							   Consumer<RegistroJournal> consumidor) throws IOException {
+		long esperada = primeira;
+		long posicao = TAMANHO_CABECALHO;
+		long tamanhoArquivo = Files.size(arquivo);
+
+		try (InputStream entrada = Files.newInputStream(arquivo);
+			 DataInputStream dados = new DataInputStream(new BufferedInputStream(entrada, 1 << 16))) {
+			dados.skipNBytes(TAMANHO_CABECALHO);
+
+			while (true) {
+				RegistroJournal registro;
+				int tamanho;
+				try {
+					tamanho = dados.readInt();
+					if (tamanho <= 0 || tamanho > tamanhoArquivo - posicao) {
+						registro = null;
+					} else {
+						byte[] corpo = dados.readNBytes(tamanho);
+						registro = corpo.length < tamanho ? null : RegistroJournal.decodificar(corpo, dados.readInt());
+					}
+				} catch (EOFException e) {
+					tamanho = -1;
+					registro = null;
+				}
+
+				if (registro == null) {
+					if (tamanho == -1 && posicao == tamanhoArquivo) {
+						break;
+					}
+					if (!ultimo) {
+						throw new IllegalStateException("Registro corrompido no meio do journal: "
+								+ arquivo.getFileName() + " na posição " + posicao + ".");
+					}
+					log.warn("Registro incompleto no fim de {} (posição {}); descartado.", arquivo.getFileName(), posicao);
+					try (FileChannel canalTruncar = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+						canalTruncar.truncate(posicao);
+						canalTruncar.force(true);
+					}
+					break;
+				}
+
+				if (registro.sequencia() != esperada) {
+					throw new IllegalStateException("Sequência fora de ordem em " + arquivo.getFileName()
+							+ ": esperada " + esperada + ", lida " + registro.sequencia() + ".");
+				}
+				if (registro.sequencia() > checkpoint) {
+					consumidor.accept(registro);
+				}
+				esperada++;
+				posicao += RegistroJournal.CABECALHO + tamanho + RegistroJournal.RODAPE;
+			}
+		}
+		return esperada - 1;
+	}
+
+	private boolean pertenceAoBanco(Path arquivo) throws IOException {
+		try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+			while (cabecalho.hasRemaining() && leitura.read(cabecalho) >= 0) {
+				// lê até completar o cabeçalho ou chegar ao fim
+			}
+			if (cabecalho.hasRemaining()) {
+				return false;
+			}
+			cabecalho.flip();
+			return cabecalho.getInt() == MARCA
+					&& new UUID(cabecalho.getLong(), cabecalho.getLong()).equals(identificador);
+		}
+	}
+
+	private List<Path> listarSegmentos() throws IOException {
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			return arquivos
+					.filter(arquivo -> {
+						String nome = arquivo.getFileName().toString();
+						return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+					})
+					.sorted()
+					.toList();
+		}
+	}
+
+	private static long primeiraSequencia(Path arquivo) {
+		String nome = arquivo.getFileName().toString();
+		return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+	}
+}
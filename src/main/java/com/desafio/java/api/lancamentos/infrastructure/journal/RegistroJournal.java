@@ -0,0 +1,104 @@
+package com.desafio.java.api.lancamentos.infrastructure.journal;
+
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Um pedido aceito de {@code POST /transacoes}, como gravado no journal.
+ *
+ * Formato binário (big-endian):
+ * <pre>
+ * int   tamanho do corpo
+ * corpo:
+ *   long  sequencia
+ *   long  instante (epoch millis)
+ *   short tamanho do numeroConta + bytes UTF-8
+ *   int   quantidade de lançamentos
+ *   quantidade x (byte tipo: 0 = CREDITO, 1 = DEBITO; long valor em centavos)
+ * int   CRC32C do corpo
+ * </pre>
+ * O pedido inteiro é um único registro: uma gravação interrompida no meio é descartada
+ * por completo na recuperação, nunca aplicada pela metade.
+ */
+public record RegistroJournal(long sequencia, long instante, String numeroConta, List<Lancamento> lancamentos) {
+
+	public record Lancamento(TipoTransacao tipo, long valor) {
+
+		public long delta() {
+			return tipo == TipoTransacao.DEBITO ? -valor : valor;
+		}
+	}
+
+	static final int CABECALHO = Integer.BYTES;
+	static final int RODAPE = Integer.BYTES;
+
+	public long delta() {
+		long delta = 0;
+		for (Lancamento lancamento : lancamentos) {
+			delta += lancamento.delta();
+		}
+		return delta;
+	}
+
+	int tamanhoCodificado() {
+		return CABECALHO + tamanhoCorpo(numeroConta.getBytes(StandardCharsets.UTF_8).length) + RODAPE;
+	}
+
+	void codificar(ByteBuffer destino) {
+		byte[] conta = numeroConta.getBytes(StandardCharsets.UTF_8);
+		int tamanhoCorpo = tamanhoCorpo(conta.length);
+
+		destino.putInt(tamanhoCorpo);
+		int inicioCorpo = destino.position();
+		destino.putLong(sequencia);
+		destino.putLong(instante);
+		destino.putShort((short) conta.length);
+		destino.put(conta);
+		destino.putInt(lancamentos.size());
+		for (Lancamento lancamento : lancamentos) {
+			destino.put(lancamento.tipo() == TipoTransacao.DEBITO ? (byte) 1 : (byte) 0);
+			destino.putLong(lancamento.valor());
+		}
+
+		CRC32C crc = new CRC32C();
+		crc.update(destino.duplicate().position(inicioCorpo).limit(inicioCorpo + tamanhoCorpo));
+		destino.putInt((int) crc.getValue());
+	}
+
+	/**
+	 * Lê um corpo já separado do seu tamanho e confere o CRC.
+	 *
+	 * @return o registro, ou {@code null} se o CRC não confere (gravação interrompida)
+	 */
+	static RegistroJournal decodificar(byte[] corpo, int crcEsperado) {
+		CRC32C crc = new CRC32C();
+		crc.update(corpo);
+		if ((int) crc.getValue() != crcEsperado) {
+			return null;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(corpo);
+		long sequencia = buffer.getLong();
+		long instante = buffer.getLong();
+		byte[] conta = new byte[buffer.getShort()];
+		buffer.get(conta);
+		int quantidade = buffer.getInt();
+
+		List<Lancamento> lancamentos = new ArrayList<>(quantidade);
+		for (int i = 0; i < quantidade; i++) {
+			TipoTransacao tipo = buffer.get() == 1 ? TipoTransacao.DEBITO : TipoTransacao.CREDITO;
+			lancamentos.add(new Lancamento(tipo, buffer.getLong()));
+		}
+		return new RegistroJournal(sequencia, instante, new String(conta, StandardCharsets.UTF_8), lancamentos);
+	}
+
+	private int tamanhoCorpo(int bytesConta) {
+		return Long.BYTES + Long.BYTES + Short.BYTES + bytesConta + Integer.BYTES
+				+ lancamentos.size() * (1 + Long.BYTES);
+	}
+}
@@ -0,0 +1,121 @@
+package com.desafio.java.api.lancamentos.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas do pipeline de transações do {@code ContaService}.
+ *
+ * <ul>
+ *   <li>{@code lancamentos.transacoes.etapa{etapa}}: tempo de cada etapa (carregar conta,
+ *   aplicar lançamentos, gravar transações, commit);</li>
+ *   <li>{@code lancamentos.transacoes.lote}: itens por requisição;</li>
+ *   <li>{@code lancamentos.transacoes.saldo.insuficiente}: pedidos rejeitados por falta de saldo;</li>
+ *   <li>{@code lancamentos.parcelas.consolidacoes}: débitos de contas quentes que precisaram juntar as parcelas;</li>
+ *   <li>{@code lancamentos.contencao.desvios}: pedidos desviados para o lock pessimista por contenção na conta.</li>
+ * </ul>
+ * Todas as tags têm cardinalidade fixa.
+ */
+@Component
+public class MetricasTransacoes {
+
+	public enum Etapa {
+		CARREGAR_CONTA("carregar_conta"),
+		APLICAR("aplicar"),
+		GRAVAR_TRANSACOES("gravar_transacoes"),
+		COMMIT("commit");
+
+		private final String tag;
+
+		Etapa(String tag) {
+			this.tag = tag;
+		}
+	}
+
+	private final Map<Etapa, Timer> etapas = new EnumMap<>(Etapa.class);
+	private final DistributionSummary tamanhoLote;
+	private final Counter saldoInsuficiente;
+	private final Counter consolidacoesParcelas;
+	private final Counter desviosPessimista;
+
+	public MetricasTransacoes(MeterRegistry registry) {
+		for (Etapa etapa : Etapa.values()) {
+			etapas.put(etapa, Timer.builder("lancamentos.transacoes.etapa")
+					.description("Tempo de cada etapa do processamento de transações")
+					.tag("etapa", etapa.tag)
+					.publishPercentileHistogram()
+					.register(registry));
+		}
+		this.tamanhoLote = DistributionSummary.builder("lancamentos.transacoes.lote")
+				.description("Quantidade de itens por requisição de transações")
+				.baseUnit("itens")
+				.serviceLevelObjectives(1, 10, 50, 100, 500)
+				.register(registry);
+		this.saldoInsuficiente = Counter.builder("lancamentos.transacoes.saldo.insuficiente")
+				.description("Pedidos rejeitados por saldo insuficiente")
+				.register(registry);
+		this.consolidacoesParcelas = Counter.builder("lancamentos.parcelas.consolidacoes")
+				.description("Consolidações das parcelas de saldo de contas quentes para cobrir um débito")
+				.register(registry);
+		this.desviosPessimista = Counter.builder("lancamentos.contencao.desvios")
+				.description("Pedidos desviados do lock otimista para o pessimista por contenção na conta")
+				.register(registry);
+	}
+
+	/**
+	 * Registra o tempo decorrido desde {@code inicio} (System.nanoTime) na etapa
+	 * e devolve o instante atual, para encadear a medição da próxima etapa.
+	 */
+	public long etapa(Etapa etapa, long inicio) {
+		long agora = System.nanoTime();
+		etapas.get(etapa).record(agora - inicio, TimeUnit.NANOSECONDS);
+		return agora;
+	}
+
+	/**
+	 * Mede o commit da transação corrente (flush + commit), do beforeCommit ao afterCommit.
+	 */
+	public void medirCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			private long inicio;
+
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				inicio = System.nanoTime();
+			}
+
+			@Override
+			public void afterCommit() {
+				etapa(Etapa.COMMIT, inicio);
+			}
+		});
+	}
+
+	public void lote(int itens) {
+		tamanhoLote.record(itens);
+	}
+
+	public void saldoInsuficiente() {
+		saldoInsuficiente.increment();
+	}
+
+	public void consolidacaoParcelas() {
+		consolidacoesParcelas.increment();
+	}
+
+	public void desvioPessimista() {
+		desviosPessimista.increment();
+	}
+}
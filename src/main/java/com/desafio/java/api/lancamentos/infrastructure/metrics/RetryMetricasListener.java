@@ -0,0 +1,61 @@
+package com.desafio.java.api.lancamentos.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observa todos os métodos {@code @Retryable} (o Spring Retry aplica qualquer
+ * RetryListener registrado como bean).
+ *
+ * <ul>
+ *   <li>{@code lancamentos.retry.conflitos{metodo}}: cada conflito de lock otimista;</li>
+ *   <li>{@code lancamentos.retry.resultado{metodo, resultado}}: desfecho de cada chamada
+ *   ({@code primeira_tentativa}, {@code apos_retry}, {@code esgotado}, {@code erro});</li>
+ *   <li>{@code lancamentos.retry.tentativas{metodo}}: tentativas usadas pelas chamadas bem-sucedidas.</li>
+ * </ul>
+ */
+@Component
+public class RetryMetricasListener implements RetryListener {
+
+	private final MeterRegistry registry;
+
+	public RetryMetricasListener(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+		if (throwable instanceof OptimisticLockingFailureException) {
+			registry.counter("lancamentos.retry.conflitos", "metodo", metodo(callback)).increment();
+		}
+	}
+
+	@Override
+	public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+		String metodo = metodo(callback);
+		String resultado;
+
+		if (throwable == null) {
+			resultado = context.getRetryCount() == 0 ? "primeira_tentativa" : "apos_retry";
+			registry.summary("lancamentos.retry.tentativas", "metodo", metodo).record(context.getRetryCount() + 1);
+		} else if (throwable instanceof OptimisticLockingFailureException) {
+			resultado = "esgotado";
+		} else {
+			resultado = "erro";
+		}
+
+		registry.counter("lancamentos.retry.resultado", "metodo", metodo, "resultado", resultado).increment();
+	}
+
+	private static String metodo(RetryCallback<?, ?> callback) {
+		if (callback instanceof MethodInvocationRetryCallback<?, ?> invocacao) {
+			return invocacao.getInvocation().getMethod().getName();
+		}
+		return "desconhecido";
+	}
+}
@@ -0,0 +1,7 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.CheckpointJournal;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CheckpointJournalRepository extends JpaRepository<CheckpointJournal, Integer> {
+}
@@ -1,10 +1,79 @@
 package com.desafio.java.api.lancamentos.infrastructure.repository;
 
 import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.LinhaSaldo;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ContaRepository extends JpaRepository<Conta, Long> {
+
+	/**
+	 * Soma das parcelas da conta {@code c}, para as projeções de saldo: lida no mesmo comando
+	 * que a linha da conta, uma consolidação concorrente nunca é vista pela metade.
+	 */
+	String SOMA_PARCELAS = "coalesce((select sum(p.saldo) from ParcelaSaldo p where p.conta.id = c.id), 0)";
+
 	Optional<Conta> findByNumeroConta(String numeroConta);
+
+	@Query("select c.id from Conta c where c.numeroConta = :numeroConta")
+	Optional<Long> findIdByNumeroConta(@Param("numeroConta") String numeroConta);
+
+	/**
+	 * Saldo total (linha mais parcelas) das contas informadas numa única consulta {@code IN}
+	 * (índice único de numero_conta). Números inexistentes simplesmente não aparecem no resultado.
+	 */
+	@Query("select new com.desafio.java.api.lancamentos.domain.model.LinhaSaldo("
+			+ "c.id, c.numeroConta, c.saldo + " + SOMA_PARCELAS + ", c.parcelasSaldo, c.version) "
+			+ "from Conta c where c.numeroConta in :numerosConta")
+	List<LinhaSaldo> buscarSaldos(@Param("numerosConta") Collection<String> numerosConta);
+
+	/**
+	 * Saldo total de uma conta como projeção: só as colunas do GET /saldo, sem entidade no
+	 * contexto de persistência (nada de hidratação, snapshot ou dirty checking).
+	 */
+	@Query("select new com.desafio.java.api.lancamentos.domain.model.LinhaSaldo("
+			+ "c.id, c.numeroConta, c.saldo + " + SOMA_PARCELAS + ", c.parcelasSaldo, c.version) "
+			+ "from Conta c where c.numeroConta = :numeroConta")
+	Optional<LinhaSaldo> buscarSaldo(@Param("numeroConta") String numeroConta);
+
+	/**
+	 * Só a @Version da conta, para responder If-None-Match sem ler o saldo. Vazio também
+	 * para conta particionada, cuja versão não cobre os créditos em parcelas.
+	 */
+	@Query("select c.version from Conta c where c.numeroConta = :numeroConta and c.parcelasSaldo <= 1")
+	Optional<Long> buscarVersao(@Param("numeroConta") String numeroConta);
+
+	/**
+	 * SELECT ... FOR UPDATE: bloqueia a linha da conta até o fim da transação.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select c from Conta c where c.numeroConta = :numeroConta")
+	Optional<Conta> findByNumeroContaParaAtualizacao(@Param("numeroConta") String numeroConta);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select c from Conta c where c.id = :id")
+	Optional<Conta> findByIdParaAtualizacao(@Param("id") Long id);
+
+	/**
+	 * Aplica o saldo líquido de um pedido em um único UPDATE condicional.
+	 *
+	 * {@code minimoParcial} é o menor saldo parcial (≤ 0) atingido ao aplicar os lançamentos
+	 * em ordem; exigir {@code saldo + minimoParcial >= 0} equivale a exigir saldo suficiente
+	 * para cada débito do pedido. Retorna 0 se a conta não existe ou não tem saldo.
+	 */
+	@Modifying
+	@Query(value = "update contas set saldo = saldo + :delta, version = version + 1 "
+			+ "where numero_conta = :numeroConta and saldo + :minimoParcial >= 0", nativeQuery = true)
+	int aplicarDeltaCondicional(@Param("numeroConta") String numeroConta,
+								@Param("delta") BigDecimal delta,
+								@Param("minimoParcial") BigDecimal minimoParcial);
 }
@@ -0,0 +1,20 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.EventoOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+	List<EventoOutbox> findAllByOrderByIdAsc(Limit limite);
+
+	@Modifying
+	@Query("delete from EventoOutbox e where e.id in :ids")
+	int removerPorIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,38 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.ParcelaSaldo;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ParcelaSaldoRepository extends JpaRepository<ParcelaSaldo, Long> {
+
+	/**
+	 * Soma {@code valor} à parcela sem ler antes: o lock de linha dura só até o commit
+	 * e não há @Version para conflitar. Retorna 0 se a parcela não existe mais.
+	 */
+	@Modifying
+	@Query(value = "update conta_parcela set saldo = saldo + :valor "
+			+ "where conta_id = :contaId and indice = :indice", nativeQuery = true)
+	int creditar(@Param("contaId") Long contaId, @Param("indice") int indice, @Param("valor") BigDecimal valor);
+
+	@Query(value = "select coalesce(sum(saldo), 0) from conta_parcela where conta_id = :contaId", nativeQuery = true)
+	BigDecimal somarSaldo(@Param("contaId") Long contaId);
+
+	/**
+	 * SELECT ... FOR UPDATE de todas as parcelas da conta, sempre na mesma ordem.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select p from ParcelaSaldo p where p.conta.id = :contaId order by p.indice")
+	List<ParcelaSaldo> bloquearPorConta(@Param("contaId") Long contaId);
+
+	@Modifying
+	@Query("delete from ParcelaSaldo p where p.conta.id = :contaId")
+	int removerPorConta(@Param("contaId") Long contaId);
+}
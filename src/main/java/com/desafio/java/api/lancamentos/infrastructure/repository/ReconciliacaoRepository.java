@@ -0,0 +1,121 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Leituras da reconciliação de saldos, por faixa de id de conta, com cursor (scroll) e
+ * sem entidades: cada linha vai direto para o consumidor, em tipos primitivos e centavos,
+ * então a memória não depende da quantidade de lançamentos da faixa.
+ * Deve ser chamado dentro de uma transação.
+ */
+@Repository
+public class ReconciliacaoRepository {
+
+	/**
+	 * Lançamentos da faixa, com sinal. Contas com snapshot só contam os lançamentos a partir
+	 * do último corte (os anteriores já estão no snapshot e podem ter ido para o arquivo).
+	 */
+	private static final String LANCAMENTOS = "select t.conta_id as conta_id, "
+			+ "cast(case when t.tipo = 'CREDITO' then t.valor else -t.valor end * 100 as bigint) as valor "
+			+ "from transacao t "
+			+ "left join (select conta_id, max(data_hora_corte) as corte from saldo_snapshot "
+			+ "where conta_id between :inicio and :fim group by conta_id) s on s.conta_id = t.conta_id "
+			+ "where t.conta_id between :inicio and :fim "
+			+ "and (s.corte is null or t.data_hora_processamento >= s.corte)";
+
+	/**
+	 * Saldo atual (conta + parcelas) e saldo base (último snapshot ou, sem snapshot, a abertura) de cada conta da faixa.
+	 */
+	private static final String CONTAS = "select c.id as conta_id, "
+			+ "cast((c.saldo + coalesce((select sum(p.saldo) from conta_parcela p where p.conta_id = c.id), 0)) * 100 as bigint) as atual, "
+			+ "cast(coalesce((select s.saldo from saldo_snapshot s where s.conta_id = c.id and s.data_hora_corte = "
+			+ "(select max(s2.data_hora_corte) from saldo_snapshot s2 where s2.conta_id = c.id)), c.saldo_abertura) * 100 as bigint) as base "
+			+ "from contas c where c.id between :inicio and :fim";
+
+	@FunctionalInterface
+	public interface ConsumidorLancamento {
+		void aceitar(long contaId, long valor);
+	}
+
+	@FunctionalInterface
+	public interface ConsumidorConta {
+		void aceitar(long contaId, long saldoAtual, long saldoBase);
+	}
+
+	private final EntityManager entityManager;
+	private final int tamanhoCursor;
+
+	public ReconciliacaoRepository(EntityManager entityManager,
+								   @Value("${lancamentos.reconciliacao.tamanho-cursor:1000}") int tamanhoCursor) {
+		this.entityManager = entityManager;
+		this.tamanhoCursor = tamanhoCursor;
+	}
+
+	/**
+	 * Menor e maior id de conta, ou vazio se não há contas.
+	 */
+	public Optional<long[]> faixaDeIds() {
+		Object[] linha = entityManager.unwrap(Session.class)
+				.createNativeQuery("select min(id), max(id) from contas", Object[].class)
+				.getSingleResult();
+		if (linha[0] == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new long[]{((Number) linha[0]).longValue(), ((Number) linha[1]).longValue()});
+	}
+
+	/**
+	 * @return quantidade de lançamentos lidos
+	 */
+	public long percorrerLancamentos(long inicio, long fim, ConsumidorLancamento consumidor) {
+		long lidos = 0;
+		try (ScrollableResults<Object[]> linhas = consulta(LANCAMENTOS, inicio, fim)
+				.addScalar("conta_id", StandardBasicTypes.LONG)
+				.addScalar("valor", StandardBasicTypes.LONG)
+				.scroll(ScrollMode.FORWARD_ONLY)) {
+			while (linhas.next()) {
+				Object[] linha = linhas.get();
+				consumidor.aceitar((Long) linha[0], (Long) linha[1]);
+				lidos++;
+			}
+		}
+		return lidos;
+	}
+
+	/**
+	 * @return quantidade de contas lidas
+	 */
+	public int percorrerContas(long inicio, long fim, ConsumidorConta consumidor) {
+		int lidas = 0;
+		try (ScrollableResults<Object[]> linhas = consulta(CONTAS, inicio, fim)
+				.addScalar("conta_id", StandardBasicTypes.LONG)
+				.addScalar("atual", StandardBasicTypes.LONG)
+				.addScalar("base", StandardBasicTypes.LONG)
+				.scroll(ScrollMode.FORWARD_ONLY)) {
+			while (linhas.next()) {
+				Object[] linha = linhas.get();
+				consumidor.aceitar((Long) linha[0], (Long) linha[1], (Long) linha[2]);
+				lidas++;
+			}
+		}
+		return lidas;
+	}
+
+	private NativeQuery<Object[]> consulta(String sql, long inicio, long fim) {
+		return entityManager.unwrap(Session.class)
+				.createNativeQuery(sql, Object[].class)
+				.setParameter("inicio", inicio)
+				.setParameter("fim", fim)
+				.setFetchSize(tamanhoCursor)
+				.setReadOnly(true);
+	}
+}
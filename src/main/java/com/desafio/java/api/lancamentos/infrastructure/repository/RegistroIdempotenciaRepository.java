@@ -0,0 +1,18 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface RegistroIdempotenciaRepository extends JpaRepository<RegistroIdempotencia, String> {
+
+	@Transactional
+	@Modifying
+	@Query("delete from RegistroIdempotencia r where r.criadoEm < :limite")
+	int removerCriadosAntesDe(@Param("limite") LocalDateTime limite);
+}
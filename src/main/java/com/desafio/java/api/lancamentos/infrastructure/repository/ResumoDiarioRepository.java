@@ -0,0 +1,32 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.ResumoDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, Long>, ResumoDiarioRepositoryCustom {
+
+	@Query("select min(r.dia) from ResumoDiario r")
+	Optional<LocalDate> buscarPrimeiroDia();
+
+	/**
+	 * Preenche o resumo de um dia a partir dos lançamentos da tabela quente, só para as contas
+	 * que ainda não têm resumo nesse dia: reexecutar não conta nada em dobro.
+	 *
+	 * @return linhas de resumo criadas
+	 */
+	@Modifying
+	@Query(value = "insert into resumo_diario (conta_id, dia, tipo, quantidade, total) "
+			+ "select t.conta_id, cast(:dia as date), t.tipo, count(*), sum(t.valor) from transacao t "
+			+ "where t.data_hora_processamento >= :inicio and t.data_hora_processamento < :fim "
+			+ "and not exists (select 1 from resumo_diario r where r.conta_id = t.conta_id and r.dia = :dia) "
+			+ "group by t.conta_id, t.tipo", nativeQuery = true)
+	int preencherDia(@Param("dia") LocalDate dia, @Param("inicio") LocalDateTime inicio,
+					 @Param("fim") LocalDateTime fim);
+}
@@ -0,0 +1,29 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.LinhaResumo;
+import com.desafio.java.api.lancamentos.domain.model.ResumoDiario;
+import com.desafio.java.api.lancamentos.domain.model.ResumoPendente;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Escrita em lote e leitura por período de {@link ResumoDiario}.
+ */
+public interface ResumoDiarioRepositoryCustom {
+
+	/**
+	 * Soma cada incremento (um por chave) à sua linha de resumo: um lote JDBC de UPDATEs e,
+	 * para as chaves que ainda não têm linha, um lote de INSERTs. Supõe um único escritor
+	 * (o consolidador), que não corre com outro INSERT da mesma chave.
+	 */
+	void somar(Collection<ResumoPendente> incrementos);
+
+	/**
+	 * Resumo da conta por dia e tipo em [inicio, fim], incluindo os incrementos ainda
+	 * pendentes. Uma única consulta, então uma consolidação concorrente não conta nada em
+	 * dobro nem deixa nada de fora.
+	 */
+	List<LinhaResumo> buscarPeriodo(Long contaId, LocalDate inicio, LocalDate fim);
+}
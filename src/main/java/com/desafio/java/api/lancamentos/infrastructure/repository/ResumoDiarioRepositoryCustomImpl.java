@@ -0,0 +1,104 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.ChaveResumo;
+import com.desafio.java.api.lancamentos.domain.model.LinhaResumo;
+import com.desafio.java.api.lancamentos.domain.model.ResumoPendente;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class ResumoDiarioRepositoryCustomImpl implements ResumoDiarioRepositoryCustom {
+
+	private static final String SOMAR = "update resumo_diario set quantidade = quantidade + ?, total = total + ? "
+			+ "where conta_id = ? and dia = ? and tipo = ?";
+
+	private static final String INSERIR = "insert into resumo_diario (quantidade, total, conta_id, dia, tipo) "
+			+ "values (?, ?, ?, ?, ?)";
+
+	private static final String PERIODO = "select dia, tipo, sum(quantidade) as quantidade, "
+			+ "cast(sum(total) * 100 as bigint) as total from ("
+			+ "select dia, tipo, quantidade, total from resumo_diario "
+			+ "where conta_id = :contaId and dia between :inicio and :fim "
+			+ "union all "
+			+ "select dia, tipo, quantidade, total from resumo_pendente "
+			+ "where conta_id = :contaId and dia between :inicio and :fim"
+			+ ") r group by dia, tipo order by dia, tipo";
+
+	private final EntityManager entityManager;
+
+	ResumoDiarioRepositoryCustomImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public void somar(Collection<ResumoPendente> incrementos) {
+		List<ResumoPendente> lista = List.copyOf(incrementos);
+		entityManager.unwrap(Session.class).doWork(conexao -> {
+			List<ResumoPendente> novos = new ArrayList<>();
+			try (PreparedStatement update = conexao.prepareStatement(SOMAR)) {
+				for (ResumoPendente incremento : lista) {
+					preencher(update, incremento);
+					update.addBatch();
+				}
+				int[] atualizadas = update.executeBatch();
+				for (int i = 0; i < atualizadas.length; i++) {
+					if (atualizadas[i] == 0) {
+						novos.add(lista.get(i));
+					}
+				}
+			}
+			if (novos.isEmpty()) {
+				return;
+			}
+			try (PreparedStatement insert = conexao.prepareStatement(INSERIR)) {
+				for (ResumoPendente incremento : novos) {
+					preencher(insert, incremento);
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+		});
+	}
+
+	/** Os dois comandos recebem os parâmetros na mesma ordem. */
+	private static void preencher(PreparedStatement comando, ResumoPendente incremento) throws SQLException {
+		ChaveResumo chave = incremento.chave();
+		comando.setLong(1, incremento.getQuantidade());
+		comando.setBigDecimal(2, Centavos.paraBigDecimal(incremento.getTotalEmCentavos()));
+		comando.setLong(3, chave.contaId());
+		comando.setObject(4, chave.dia());
+		comando.setString(5, chave.tipo().name());
+	}
+
+	@Override
+	public List<LinhaResumo> buscarPeriodo(Long contaId, LocalDate inicio, LocalDate fim) {
+		List<Object[]> linhas = entityManager.unwrap(Session.class)
+				.createNativeQuery(PERIODO, Object[].class)
+				.setParameter("contaId", contaId)
+				.setParameter("inicio", inicio)
+				.setParameter("fim", fim)
+				.addScalar("dia", StandardBasicTypes.LOCAL_DATE)
+				.addScalar("tipo", StandardBasicTypes.STRING)
+				.addScalar("quantidade", StandardBasicTypes.LONG)
+				.addScalar("total", StandardBasicTypes.LONG)
+				.setReadOnly(true)
+				.getResultList();
+
+		List<LinhaResumo> resultado = new ArrayList<>(linhas.size());
+		for (Object[] linha : linhas) {
+			resultado.add(new LinhaResumo((LocalDate) linha[0], TipoTransacao.valueOf((String) linha[1]),
+					(Long) linha[2], (Long) linha[3]));
+		}
+		return resultado;
+	}
+}
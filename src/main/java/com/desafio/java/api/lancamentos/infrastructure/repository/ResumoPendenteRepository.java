@@ -0,0 +1,25 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.ResumoPendente;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ResumoPendenteRepository extends JpaRepository<ResumoPendente, Long> {
+
+	List<ResumoPendente> findAllByOrderByIdAsc(Limit limite);
+
+	@Query("select min(p.dia) from ResumoPendente p")
+	Optional<LocalDate> buscarPrimeiroDia();
+
+	@Modifying
+	@Query("delete from ResumoPendente p where p.id in :ids")
+	int removerPorIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,17 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.SaldoSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SaldoSnapshotRepository extends JpaRepository<SaldoSnapshot, Long> {
+
+	@Query("select s from SaldoSnapshot s where s.conta.id = :contaId and s.dataHoraCorte = :corte")
+	Optional<SaldoSnapshot> buscar(@Param("contaId") Long contaId, @Param("corte") LocalDateTime corte);
+
+	Optional<SaldoSnapshot> findFirstByContaIdOrderByDataHoraCorteDesc(Long contaId);
+}
@@ -1,7 +1,113 @@
 package com.desafio.java.api.lancamentos.infrastructure.repository;
 
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+import com.desafio.java.api.lancamentos.domain.model.LinhaArquivada;
 import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface TransacaoRepository extends JpaRepository<Transacao, Long> {
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransacaoRepository extends JpaRepository<Transacao, Long>, TransacaoRepositoryCustom {
+
+	/**
+	 * Primeira página do extrato, do lançamento mais recente para o mais antigo.
+	 * Percorre o índice {@code idx_transacao_conta_data_id} de trás para frente; o
+	 * {@code conta.id} no ORDER BY (constante pelo WHERE) deixa o otimizador usar o
+	 * próprio índice para ordenar, em vez de ordenar todos os lançamentos da conta.
+	 */
+	@Query("select new com.desafio.java.api.lancamentos.domain.model.ItemExtrato("
+			+ "t.id, t.tipo, t.valor, t.dataHoraProcessamento) "
+			+ "from Transacao t where t.conta.id = :contaId "
+			+ "order by t.conta.id desc, t.dataHoraProcessamento desc, t.id desc")
+	List<ItemExtrato> buscarExtrato(@Param("contaId") Long contaId, Limit limite);
+
+	/**
+	 * Páginas seguintes: lançamentos estritamente anteriores a (dataHora, id) do cursor.
+	 * O {@code <=} redundante mantém a condição como faixa do índice, então o custo
+	 * não cresce com a profundidade da página (sem OFFSET).
+	 */
+	@Query("select new com.desafio.java.api.lancamentos.domain.model.ItemExtrato("
+			+ "t.id, t.tipo, t.valor, t.dataHoraProcessamento) "
+			+ "from Transacao t where t.conta.id = :contaId "
+			+ "and t.dataHoraProcessamento <= :dataHora "
+			+ "and (t.dataHoraProcessamento < :dataHora or t.id < :id) "
+			+ "order by t.conta.id desc, t.dataHoraProcessamento desc, t.id desc")
+	List<ItemExtrato> buscarExtratoApos(@Param("contaId") Long contaId,
+										@Param("dataHora") LocalDateTime dataHora,
+										@Param("id") Long id,
+										Limit limite);
+
+	/**
+	 * Instante do lançamento mais antigo anterior a {@code fim}: primeiro dia a arquivar.
+	 */
+	@Query("select min(t.dataHoraProcessamento) from Transacao t where t.dataHoraProcessamento < :fim")
+	Optional<LocalDateTime> buscarMaisAntigoAntes(@Param("fim") LocalDateTime fim);
+
+	/**
+	 * Instante do lançamento mais antigo em [inicio, fim), para o arquivamento pular dias vazios.
+	 */
+	@Query("select min(t.dataHoraProcessamento) from Transacao t "
+			+ "where t.dataHoraProcessamento >= :inicio and t.dataHoraProcessamento < :fim")
+	Optional<LocalDateTime> buscarMaisAntigoEntre(@Param("inicio") LocalDateTime inicio,
+												  @Param("fim") LocalDateTime fim);
+
+	/**
+	 * Primeiro bloco do arquivamento de [inicio, fim), na ordem (conta, dataHora, id): as
+	 * linhas de cada conta chegam juntas, como o segmento do arquivo as grava.
+	 */
+	@Query("select new com.desafio.java.api.lancamentos.domain.model.LinhaArquivada("
+			+ "t.id, t.conta.id, t.tipo, t.valor, t.dataHoraProcessamento, t.idCorrelacao) "
+			+ "from Transacao t "
+			+ "where t.dataHoraProcessamento >= :inicio and t.dataHoraProcessamento < :fim "
+			+ "order by t.conta.id, t.dataHoraProcessamento, t.id")
+	List<LinhaArquivada> buscarParaArquivar(@Param("inicio") LocalDateTime inicio,
+											@Param("fim") LocalDateTime fim,
+											Limit limite);
+
+	/**
+	 * Blocos seguintes do arquivamento: lançamentos de [inicio, fim) posteriores a
+	 * (conta, dataHora, id) do último bloco, na ordem do {@code idx_transacao_conta_data_id}.
+	 */
+	@Query("select new com.desafio.java.api.lancamentos.domain.model.LinhaArquivada("
+			+ "t.id, t.conta.id, t.tipo, t.valor, t.dataHoraProcessamento, t.idCorrelacao) "
+			+ "from Transacao t "
+			+ "where t.dataHoraProcessamento >= :inicio and t.dataHoraProcessamento < :fim "
+			+ "and t.conta.id >= :contaId "
+			+ "and (t.conta.id > :contaId or t.dataHoraProcessamento > :dataHora "
+			+ "or (t.dataHoraProcessamento = :dataHora and t.id > :id)) "
+			+ "order by t.conta.id, t.dataHoraProcessamento, t.id")
+	List<LinhaArquivada> buscarParaArquivarApos(@Param("inicio") LocalDateTime inicio,
+												@Param("fim") LocalDateTime fim,
+												@Param("contaId") Long contaId,
+												@Param("dataHora") LocalDateTime dataHora,
+												@Param("id") Long id,
+												Limit limite);
+
+	@Transactional
+	@Modifying
+	@Query("delete from Transacao t where t.id in :ids")
+	int removerPorIds(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Valor líquido (créditos - débitos) dos lançamentos da conta a partir de {@code desde}.
+	 */
+	@Query(value = "select coalesce(sum(case when tipo = 'CREDITO' then valor else -valor end), 0) "
+			+ "from transacao where conta_id = :contaId and data_hora_processamento >= :desde", nativeQuery = true)
+	BigDecimal somarDesde(@Param("contaId") Long contaId, @Param("desde") LocalDateTime desde);
+
+	/**
+	 * Valor líquido de todos os lançamentos da conta na tabela.
+	 */
+	@Query(value = "select coalesce(sum(case when tipo = 'CREDITO' then valor else -valor end), 0) "
+			+ "from transacao where conta_id = :contaId", nativeQuery = true)
+	BigDecimal somarPorConta(@Param("contaId") Long contaId);
 }
@@ -0,0 +1,18 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+
+import java.util.List;
+
+/**
+ * Caminho de persistência em massa para {@link Transacao}.
+ */
+public interface TransacaoRepositoryCustom {
+
+	/**
+	 * Insere todas as transações usando batching JDBC: os ids vêm do pool da sequence
+	 * (sem ida ao banco por linha) e os INSERTs são enviados em lotes de
+	 * {@code hibernate.jdbc.batch_size}.
+	 */
+	void inserirEmLote(List<Transacao> transacoes);
+}
@@ -0,0 +1,32 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+
+class TransacaoRepositoryCustomImpl implements TransacaoRepositoryCustom {
+
+	private final EntityManager entityManager;
+	private final int tamanhoLote;
+
+	TransacaoRepositoryCustomImpl(EntityManager entityManager,
+								  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanhoLote) {
+		this.entityManager = entityManager;
+		this.tamanhoLote = tamanhoLote;
+	}
+
+	@Override
+	public void inserirEmLote(List<Transacao> transacoes) {
+		// persist direto evita o merge/select do save() para entidades novas.
+		// O flush a cada lote mantém a fila de ações do Hibernate pequena em listas grandes
+		// sem desanexar a Conta, que ainda está em uso na transação.
+		for (int i = 0; i < transacoes.size(); i++) {
+			entityManager.persist(transacoes.get(i));
+			if ((i + 1) % tamanhoLote == 0) {
+				entityManager.flush();
+			}
+		}
+	}
+}
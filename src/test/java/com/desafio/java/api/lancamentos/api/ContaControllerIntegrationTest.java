@@ -1,9 +1,14 @@
 package com.desafio.java.api.lancamentos.api;
 
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
 import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.ParcelasSaldoService;
 import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ParcelaSaldoRepository;
 import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
 import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import com.desafio.java.api.lancamentos.model.TransferenciaRequest;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,12 +22,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -43,6 +54,12 @@ class ContaControllerIntegrationTest {
 	@Autowired
 	private TransacaoRepository transacaoRepository;
 
+	@Autowired
+	private ParcelasSaldoService parcelasSaldoService;
+
+	@Autowired
+	private ParcelaSaldoRepository parcelaSaldoRepository;
+
 	private final String NUMERO_CONTA = "0001-123456-7";
 
 	@BeforeEach
@@ -52,7 +69,7 @@ class ContaControllerIntegrationTest {
 
 		Conta conta = new Conta();
 		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
-		ReflectionTestUtils.setField(conta, "saldo", new BigDecimal("500.00"));
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal("500.00")));
 		contaRepository.save(conta);
 	}
 
@@ -97,6 +114,49 @@ class ContaControllerIntegrationTest {
 				.andExpect(jsonPath("$.saldo", is("500.00")));
 	}
 
+	@Test
+	void deveConsultarSaldosDeVariasContasEmUmaChamada() throws Exception {
+		List<Conta> contas = new ArrayList<>();
+		List<String> numeros = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			Conta conta = new Conta();
+			ReflectionTestUtils.setField(conta, "numeroConta", "SALDOS-" + i);
+			ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal(i)));
+			contas.add(conta);
+			numeros.add("SALDOS-" + i);
+		}
+		contaRepository.saveAllAndFlush(contas);
+		// Contas particionadas: o saldo inclui a soma das parcelas.
+		parcelasSaldoService.configurar("SALDOS-3", 4);
+		parcelaSaldoRepository.creditar(contas.get(3).getId(), 2, new BigDecimal("10.00"));
+		parcelasSaldoService.configurar("SALDOS-5", 2);
+		parcelaSaldoRepository.creditar(contas.get(5).getId(), 1, new BigDecimal("1.50"));
+		numeros.add(1, "SALDOS-INEXISTENTE");
+		numeros.add(NUMERO_CONTA);
+		numeros.add("SALDOS-7");
+
+		mockMvc.perform(post("/api/v1/contas/saldos")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("numerosConta", numeros))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.saldos", hasSize(252)))
+				.andExpect(jsonPath("$.saldos[0].status", is("ENCONTRADA")))
+				.andExpect(jsonPath("$.saldos[0].resultado.saldo", is("0.00")))
+				.andExpect(jsonPath("$.saldos[1].numeroConta", is("SALDOS-INEXISTENTE")))
+				.andExpect(jsonPath("$.saldos[1].status", is("NAO_ENCONTRADA")))
+				.andExpect(jsonPath("$.saldos[4].resultado.saldo", is("13.00")))
+				.andExpect(jsonPath("$.saldos[6].resultado.saldo", is("6.50")))
+				.andExpect(jsonPath("$.saldos[250].resultado.saldo", is("249.00")))
+				.andExpect(jsonPath("$.saldos[250].resultado._links.self.href", containsString("/api/v1/contas/SALDOS-249/saldo")))
+				.andExpect(jsonPath("$.saldos[251].numeroConta", is(NUMERO_CONTA)))
+				.andExpect(jsonPath("$.saldos[251].resultado.saldo", is("500.00")));
+
+		mockMvc.perform(post("/api/v1/contas/saldos")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"numerosConta\":[]}"))
+				.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	void deveRetornar404NotFoundParaContaInexistente() throws Exception {
 		mockMvc.perform(get("/api/v1/contas/CONTA-INEXISTENTE/saldo"))
@@ -112,4 +172,175 @@ class ContaControllerIntegrationTest {
 						.content(objectMapper.writeValueAsString(List.of(debito))))
 				.andExpect(status().isNotFound());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void devePercorrerOExtratoPorCursorDoMaisRecenteParaOMaisAntigo() throws Exception {
+		List<TransacaoRequest> requests = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) {
+			requests.add(new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor(i + ".00"));
+		}
+		mockMvc.perform(post("/api/v1/contas/{numeroConta}/transacoes", NUMERO_CONTA)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(requests)))
+				.andExpect(status().isOk());
+
+		List<String> valores = new ArrayList<>();
+		String cursor = null;
+		int paginas = 0;
+		do {
+			var requisicao = get("/api/v1/contas/{numeroConta}/extrato", NUMERO_CONTA).param("limite", "2");
+			if (cursor != null) {
+				requisicao.param("cursor", cursor);
+			}
+			String corpo = mockMvc.perform(requisicao)
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.numeroConta", is(NUMERO_CONTA)))
+					.andReturn().getResponse().getContentAsString();
+
+			JsonNode pagina = objectMapper.readTree(corpo);
+			pagina.path("lancamentos").forEach(lancamento -> valores.add(lancamento.path("valor").asText()));
+			cursor = pagina.hasNonNull("proximoCursor") ? pagina.path("proximoCursor").asText() : null;
+			paginas++;
+		} while (cursor != null);
+
+		assertEquals(3, paginas);
+		assertEquals(List.of("5.00", "4.00", "3.00", "2.00", "1.00"), valores);
+	}
+
+	@Test
+	void deveRetornar400ParaCursorInvalidoE404ParaContaInexistenteNoExtrato() throws Exception {
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/extrato", NUMERO_CONTA).param("cursor", "nao-e-um-cursor"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString("Cursor do extrato inválido")));
+
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/extrato", NUMERO_CONTA))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.lancamentos", hasSize(0)))
+				.andExpect(jsonPath("$._links.self.href", containsString("/api/v1/contas/" + NUMERO_CONTA + "/extrato")));
+
+		mockMvc.perform(get("/api/v1/contas/CONTA-INEXISTENTE/extrato"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void deveTransferirEntreContasOuRejeitarSemAlterarSaldos() throws Exception {
+		Conta destino = new Conta();
+		ReflectionTestUtils.setField(destino, "numeroConta", "0001-765432-1");
+		contaRepository.save(destino);
+
+		mockMvc.perform(post("/api/v1/transferencias")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(
+								new TransferenciaRequest(NUMERO_CONTA, "0001-765432-1", "120.50"))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.idTransferencia").isNotEmpty())
+				.andExpect(jsonPath("$.origem.saldo", is("379.50")))
+				.andExpect(jsonPath("$.destino.saldo", is("120.50")));
+
+		mockMvc.perform(post("/api/v1/transferencias")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(
+								new TransferenciaRequest("0001-765432-1", NUMERO_CONTA, "500.00"))))
+				.andExpect(status().isUnprocessableEntity());
+
+		mockMvc.perform(post("/api/v1/transferencias")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(
+								new TransferenciaRequest(NUMERO_CONTA, NUMERO_CONTA, "1.00"))))
+				.andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/saldo", NUMERO_CONTA))
+				.andExpect(jsonPath("$.saldo", is("379.50")));
+		assertEquals(2, transacaoRepository.count());
+	}
+
+	@Test
+	void deveUsarAVersaoDaContaComoETagNoGetENoPostCondicional() throws Exception {
+		String debito = objectMapper.writeValueAsString(List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("100.00")));
+
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/saldo", NUMERO_CONTA))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"0\""));
+
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/saldo", NUMERO_CONTA)
+						.header("If-None-Match", "W/\"7\", \"0\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", "\"0\""))
+				.andExpect(content().string(""));
+
+		mockMvc.perform(post("/api/v1/contas/{numeroConta}/transacoes", NUMERO_CONTA)
+						.header("If-Match", "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(debito))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""))
+				.andExpect(jsonPath("$.saldo", is("400.00")));
+
+		// Mesma versão de antes: outra escrita já passou por ela, então nada é aplicado.
+		mockMvc.perform(post("/api/v1/contas/{numeroConta}/transacoes", NUMERO_CONTA)
+						.header("If-Match", "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(debito))
+				.andExpect(status().isPreconditionFailed())
+				.andExpect(header().string("ETag", "\"1\""));
+
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/saldo", NUMERO_CONTA)
+						.header("If-None-Match", "\"0\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""))
+				.andExpect(jsonPath("$.saldo", is("400.00")));
+		assertEquals(1, transacaoRepository.count());
+
+		// Conta particionada: a versão não cobre os créditos em parcelas, então não há ETag.
+		mockMvc.perform(put("/api/v1/contas/{numeroConta}/parcelas", NUMERO_CONTA)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"parcelas\":4}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/saldo", NUMERO_CONTA)
+						.header("If-None-Match", "*"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("ETag"));
+		mockMvc.perform(post("/api/v1/contas/{numeroConta}/transacoes", NUMERO_CONTA)
+						.header("If-Match", "\"2\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(debito))
+				.andExpect(status().isPreconditionFailed())
+				.andExpect(header().doesNotExist("ETag"));
+	}
+
+	@Test
+	void deveResumirOsLancamentosDoPeriodo() throws Exception {
+		List<TransacaoRequest> requests = List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("30.00"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("10.25"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("40.00"));
+		mockMvc.perform(post("/api/v1/contas/{numeroConta}/transacoes", NUMERO_CONTA)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(requests)))
+				.andExpect(status().isOk());
+		LocalDate hoje = LocalDate.now();
+
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/resumo", NUMERO_CONTA)
+						.param("inicio", hoje.minusDays(30).toString())
+						.param("fim", hoje.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.creditos.quantidade", is(1)))
+				.andExpect(jsonPath("$.creditos.total", is("30.00")))
+				.andExpect(jsonPath("$.debitos.quantidade", is(2)))
+				.andExpect(jsonPath("$.debitos.total", is("50.25")))
+				.andExpect(jsonPath("$.liquido", is("-20.25")))
+				.andExpect(jsonPath("$.dias", hasSize(1)))
+				.andExpect(jsonPath("$.dias[0].dia", is(hoje.toString())))
+				.andExpect(jsonPath("$._links.self.href", containsString("/resumo?inicio=")));
+
+		mockMvc.perform(get("/api/v1/contas/{numeroConta}/resumo", NUMERO_CONTA)
+						.param("inicio", hoje.minusDays(400).toString())
+						.param("fim", hoje.toString()))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/contas/CONTA-INEXISTENTE/resumo")
+						.param("inicio", hoje.toString())
+						.param("fim", hoje.toString()))
+				.andExpect(status().isNotFound());
+	}
+}
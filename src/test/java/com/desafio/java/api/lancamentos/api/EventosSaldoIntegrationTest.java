@@ -0,0 +1,244 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.ParcelasSaldoService;
+import com.desafio.java.api.lancamentos.infrastructure.eventos.CanalEventosSaldo;
+import com.desafio.java.api.lancamentos.infrastructure.eventos.DestinoEventos;
+import com.desafio.java.api.lancamentos.infrastructure.eventos.EventoSaldo;
+import com.desafio.java.api.lancamentos.infrastructure.eventos.PublicadorOutbox;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.EventoOutboxRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ParcelaSaldoRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Publicador agendado fora do caminho: os testes chamam publicar() quando querem.
+@SpringBootTest(properties = "lancamentos.outbox.intervalo=PT1H")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventosSaldoIntegrationTest {
+
+	private static final String CONTA_A = "EVENTO-A";
+	private static final String CONTA_B = "EVENTO-B";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private PublicadorOutbox publicador;
+
+	@Autowired
+	private DestinoTeste destino;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private EventoOutboxRepository outboxRepository;
+
+	@Autowired
+	private ParcelaSaldoRepository parcelaRepository;
+
+	@Autowired
+	private ParcelasSaldoService parcelasSaldoService;
+
+	@Autowired
+	private CanalEventosSaldo canal;
+
+	@BeforeEach
+	void setUp() {
+		publicador.publicar();
+		outboxRepository.deleteAll();
+		transacaoRepository.deleteAll();
+		parcelaRepository.deleteAll();
+		contaRepository.deleteAll();
+		destino.recebidos.clear();
+		destino.falhar.set(false);
+
+		criarConta(CONTA_A, "100.00");
+		criarConta(CONTA_B, "0.00");
+	}
+
+	@Test
+	void deveGravarUmEventoPorContaNaTransacaoEPublicarEmLote() {
+		contaService.processarTransacoes(CONTA_A, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("10.00"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("2.50")));
+		contaService.transferir(CONTA_A, CONTA_B, "7.50");
+		assertThrows(SaldoInsuficienteException.class, () -> contaService.processarTransacoes(CONTA_B, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("1000.00"))));
+
+		assertEquals(3, outboxRepository.count(), "Transação desfeita não grava evento");
+		assertEquals(3, publicador.publicar());
+		assertEquals(0, outboxRepository.count());
+
+		List<EventoSaldo> eventosA = destino.recebidos.stream().filter(e -> e.numeroConta().equals(CONTA_A)).toList();
+		assertEquals(2, eventosA.size());
+		assertEquals("107.50", eventosA.get(0).saldo());
+		assertEquals("100.00", eventosA.get(1).saldo());
+		assertEquals(eventosA.get(0).versao() + 1, eventosA.get(1).versao());
+		assertEquals(contaRepository.findByNumeroConta(CONTA_A).orElseThrow().getVersion(), eventosA.get(1).versao());
+		assertEquals(2, eventosA.get(0).idsTransacao().size());
+
+		EventoSaldo eventoB = destino.recebidos.stream().filter(e -> e.numeroConta().equals(CONTA_B)).findFirst().orElseThrow();
+		assertEquals("7.50", eventoB.saldo());
+		assertEquals(transacaoRepository.findAll().stream().map(Transacao::getId).sorted().toList(),
+				destino.recebidos.stream().flatMap(e -> e.idsTransacao().stream()).sorted().toList());
+	}
+
+	@Test
+	void contaParticionadaDevePublicarSoODelta() {
+		parcelasSaldoService.configurar(CONTA_A, 4);
+		contaService.processarTransacoes(CONTA_A, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("10.00")));
+		contaService.processarTransacoes(CONTA_A, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("1.00"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("3.50")));
+		publicador.publicar();
+
+		List<EventoSaldo> eventos = destino.recebidos;
+		assertEquals(2, eventos.size());
+		assertEquals(List.of("10.00", "-2.50"), eventos.stream().map(EventoSaldo::delta).toList());
+		assertTrue(eventos.stream().allMatch(e -> e.saldo() == null && e.versao() == null),
+				"Saldo e versão de conta particionada não ordenam os eventos");
+	}
+
+	@Test
+	void deveReentregarOLoteQuandoODestinoFalha() {
+		contaService.processarTransacoes(CONTA_A, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("1.00")));
+		destino.falhar.set(true);
+
+		assertThrows(IllegalStateException.class, () -> publicador.publicar());
+		assertEquals(1, outboxRepository.count());
+		assertTrue(destino.recebidos.isEmpty());
+
+		destino.falhar.set(false);
+		assertEquals(1, publicador.publicar());
+		assertEquals("101.00", destino.recebidos.get(0).saldo());
+	}
+
+	@Test
+	void deveEnviarOsEventosDaContaPeloStreamEReenviarAPartirDoLastEventId() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/api/v1/eventos/saldos").param("numeroConta", CONTA_A))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		contaService.processarTransacoes(CONTA_B, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("3.00")));
+		contaService.processarTransacoes(CONTA_A, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("5.00")));
+		publicador.publicar();
+
+		String recebido = aguardarConteudo(stream, "\"saldo\":\"105.00\"");
+		assertFalse(recebido.contains(CONTA_B), "Filtro por conta");
+		assertTrue(recebido.contains("event:saldo"));
+
+		long idEvento = destino.recebidos.stream().filter(e -> e.numeroConta().equals(CONTA_A))
+				.findFirst().orElseThrow().id();
+		MvcResult reconexao = mockMvc.perform(get("/api/v1/eventos/saldos")
+						.header("Last-Event-ID", idEvento - 1))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String reenviado = aguardarConteudo(reconexao, "id:" + idEvento);
+		assertTrue(reenviado.contains("\"saldo\":\"105.00\""));
+	}
+
+	@Test
+	void deveReenviarPelaOrdemDePublicacaoEPelaPrimeiraOcorrenciaDoLastEventId() throws Exception {
+		// O id 11 teve o commit atrasado: saiu num lote depois do 12, e o lote foi reentregue.
+		canal.publicar(List.of(evento(10), evento(12)));
+		canal.publicar(List.of(evento(11), evento(12)));
+
+		MvcResult reconexao = mockMvc.perform(get("/api/v1/eventos/saldos")
+						.param("numeroConta", "REPLAY")
+						.header("Last-Event-ID", 12))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String reenviado = aguardarConteudo(reconexao, "id:11");
+		assertFalse(reenviado.contains("id:10"));
+
+		MvcResult desconhecido = mockMvc.perform(get("/api/v1/eventos/saldos")
+						.param("numeroConta", "REPLAY")
+						.header("Last-Event-ID", 99))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		aguardarConteudo(desconhecido, "id:10");
+	}
+
+	private static EventoSaldo evento(long id) {
+		return new EventoSaldo(id, "REPLAY", "1.00", id, "1.00", List.of(id), LocalDateTime.now());
+	}
+
+	private static String aguardarConteudo(MvcResult resultado, String esperado) throws Exception {
+		long limite = System.nanoTime() + 5_000_000_000L;
+		String conteudo = resultado.getResponse().getContentAsString();
+		while (!conteudo.contains(esperado) && System.nanoTime() < limite) {
+			Thread.sleep(20);
+			conteudo = resultado.getResponse().getContentAsString();
+		}
+		assertTrue(conteudo.contains(esperado), "Stream recebido: " + conteudo);
+		return conteudo;
+	}
+
+	private void criarConta(String numeroConta, String saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal(saldo)));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	@TestConfiguration
+	static class DestinoTesteConfig {
+
+		@Bean
+		DestinoTeste destinoTeste() {
+			return new DestinoTeste();
+		}
+	}
+
+	static class DestinoTeste implements DestinoEventos {
+
+		final List<EventoSaldo> recebidos = new CopyOnWriteArrayList<>();
+		final AtomicBoolean falhar = new AtomicBoolean();
+
+		@Override
+		public void publicar(List<EventoSaldo> eventos) {
+			if (falhar.get()) {
+				throw new IllegalStateException("Destino indisponível");
+			}
+			recebidos.addAll(eventos);
+		}
+	}
+}
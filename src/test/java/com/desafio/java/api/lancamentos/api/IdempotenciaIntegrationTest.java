@@ -0,0 +1,255 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia;
+import com.desafio.java.api.lancamentos.domain.model.RegistroIdempotencia.Situacao;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.IdempotenciaService;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.RegistroIdempotenciaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotenciaIntegrationTest {
+
+	private static final String CREDITO_10 = "[{\"tipo\":\"CREDITO\",\"valor\":\"10.00\"}]";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IdempotenciaService idempotenciaService;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private RegistroIdempotenciaRepository registroRepository;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@BeforeEach
+	void setUp() {
+		limparCacheEmMemoria();
+		registroRepository.deleteAll();
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		criarConta("IDEM-1", "100.00");
+	}
+
+	@Test
+	void deveAplicarUmaVezEReproduzirAResposta() throws Exception {
+		enviar("chave-1", CREDITO_10)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.saldo").value("110.00"));
+
+		enviar("chave-1", CREDITO_10)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.saldo").value("110.00"));
+
+		assertEquals(0, new BigDecimal("110.00").compareTo(saldo("IDEM-1")));
+		assertEquals(1, transacaoRepository.count());
+		assertEquals(Situacao.SUCESSO, registroRepository.findById("chave-1").orElseThrow().getSituacao());
+	}
+
+	@Test
+	void semChaveCadaRequisicaoEAplicada() throws Exception {
+		mockMvc.perform(post("/api/v1/contas/IDEM-1/transacoes")
+						.contentType("application/json").content(CREDITO_10))
+				.andExpect(status().isOk());
+		mockMvc.perform(post("/api/v1/contas/IDEM-1/transacoes")
+						.contentType("application/json").content(CREDITO_10))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.saldo").value("120.00"));
+
+		assertEquals(0, registroRepository.count());
+	}
+
+	@Test
+	void deveReproduzirErroDeNegocio() throws Exception {
+		String debitoAlto = "[{\"tipo\":\"DEBITO\",\"valor\":\"500.00\"}]";
+		enviar("chave-saldo", debitoAlto).andExpect(status().isUnprocessableEntity());
+
+		// Um crédito posterior tornaria o débito possível; o reenvio ainda devolve a resposta original.
+		enviar("outra-chave", "[{\"tipo\":\"CREDITO\",\"valor\":\"1000.00\"}]").andExpect(status().isOk());
+		enviar("chave-saldo", debitoAlto).andExpect(status().isUnprocessableEntity());
+
+		assertEquals(0, new BigDecimal("1100.00").compareTo(saldo("IDEM-1")));
+	}
+
+	@Test
+	void deveRejeitarChaveReutilizadaComOutroCorpo() throws Exception {
+		enviar("chave-corpo", CREDITO_10).andExpect(status().isOk());
+
+		enviar("chave-corpo", "[{\"tipo\":\"CREDITO\",\"valor\":\"99.00\"}]")
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.message").value("Idempotency-Key já utilizada com outra requisição."));
+
+		assertEquals(0, new BigDecimal("110.00").compareTo(saldo("IDEM-1")));
+	}
+
+	@Test
+	void deveUsarORegistroPersistidoQuandoOCacheEmMemoriaNaoTemAChave() throws Exception {
+		enviar("chave-banco", CREDITO_10).andExpect(status().isOk());
+
+		// Simula reinício ou outra instância: só o banco conhece a chave.
+		limparCacheEmMemoria();
+
+		enviar("chave-banco", CREDITO_10)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.saldo").value("110.00"));
+		assertEquals(1, transacaoRepository.count());
+	}
+
+	@Test
+	void duplicatasSimultaneasDevemExecutarAOperacaoUmaVez() throws Exception {
+		int duplicatas = 8;
+		List<TransacaoRequest> requests = List.of(
+				new TransacaoRequest(TransacaoRequest.TipoEnum.CREDITO, "10.00"));
+		AtomicInteger execucoes = new AtomicInteger();
+		CountDownLatch liberar = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(duplicatas);
+		try {
+			List<Future<SaldoConta>> respostas = new ArrayList<>();
+			for (int i = 0; i < duplicatas; i++) {
+				respostas.add(executor.submit(() -> idempotenciaService.executar(
+						"chave-simultanea", "IDEM-1", requests, registro -> {
+							execucoes.incrementAndGet();
+							aguardar(liberar);
+							return new SaldoConta("IDEM-1", 11_000L);
+						})));
+			}
+
+			// Dá tempo para todas as duplicatas chegarem enquanto a original está bloqueada.
+			Thread.sleep(200);
+			liberar.countDown();
+
+			for (Future<SaldoConta> resposta : respostas) {
+				assertEquals(11_000L, resposta.get(10, TimeUnit.SECONDS).saldo());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, execucoes.get());
+	}
+
+	@Test
+	void falhaTecnicaNaoDeveGravarAChave() {
+		List<TransacaoRequest> requests = List.of(
+				new TransacaoRequest(TransacaoRequest.TipoEnum.CREDITO, "10.00"));
+
+		assertThrows(IllegalStateException.class, () -> idempotenciaService.executar(
+				"chave-tecnica", "IDEM-1", requests, registro -> {
+					throw new IllegalStateException("falha técnica");
+				}));
+		assertFalse(registroRepository.existsById("chave-tecnica"));
+
+		SaldoConta saldo = idempotenciaService.executar("chave-tecnica", "IDEM-1", requests, registro ->
+				SaldoConta.de(contaService.processarTransacoesComLockPessimista("IDEM-1", requests, registro)));
+		assertEquals(11_000L, saldo.saldo());
+		assertEquals(Situacao.SUCESSO, registroRepository.findById("chave-tecnica").orElseThrow().getSituacao());
+	}
+
+	@Test
+	void deveDesfazerOsLancamentosQuandoOutraExecucaoGravouAChavePrimeiro() {
+		List<TransacaoRequest> requests = List.of(
+				new TransacaoRequest(TransacaoRequest.TipoEnum.CREDITO, "10.00"));
+
+		SaldoConta saldo = idempotenciaService.executar("chave-corrida", "IDEM-1", requests, registro -> {
+			// Outra instância conclui a mesma chave enquanto esta executa.
+			RegistroIdempotencia outra = RegistroIdempotencia.novo(
+					registro.getId(), registro.getNumeroConta(), registro.getImpressao());
+			outra.concluir(Situacao.SUCESSO, 12_345L, null);
+			registroRepository.saveAndFlush(outra);
+
+			return SaldoConta.de(contaService.processarTransacoesComLockPessimista("IDEM-1", requests, registro));
+		});
+
+		assertEquals(12_345L, saldo.saldo());
+		assertEquals(0, new BigDecimal("100.00").compareTo(saldo("IDEM-1")));
+		assertEquals(0, transacaoRepository.count());
+	}
+
+	@Test
+	void deveRemoverRegistrosForaDaRetencao() throws Exception {
+		enviar("chave-antiga", CREDITO_10).andExpect(status().isOk());
+
+		ReflectionTestUtils.setField(idempotenciaService, "retencao", Duration.ofSeconds(-1));
+		try {
+			idempotenciaService.removerExpirados();
+		} finally {
+			ReflectionTestUtils.setField(idempotenciaService, "retencao", Duration.ofHours(24));
+		}
+
+		assertFalse(registroRepository.existsById("chave-antiga"));
+	}
+
+	private ResultActions enviar(String chave, String corpo) throws Exception {
+		return mockMvc.perform(post("/api/v1/contas/IDEM-1/transacoes")
+				.header("Idempotency-Key", chave)
+				.contentType("application/json")
+				.content(corpo));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void limparCacheEmMemoria() {
+		((Cache<String, ?>) ReflectionTestUtils.getField(idempotenciaService, "concluidos")).invalidateAll();
+	}
+
+	private static void aguardar(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private BigDecimal saldo(String numeroConta) {
+		return contaRepository.findByNumeroConta(numeroConta).orElseThrow().getSaldo();
+	}
+
+	private void criarConta(String numeroConta, String saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal(saldo)));
+		contaRepository.saveAndFlush(conta);
+	}
+}
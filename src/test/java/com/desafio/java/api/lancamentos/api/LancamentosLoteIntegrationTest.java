@@ -0,0 +1,233 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.domain.exception.EscritaIndisponivelException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorTransacoes;
+import com.desafio.java.api.lancamentos.domain.service.lote.ImportadorLote;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "lancamentos.lote.tamanho-bloco=100")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LancamentosLoteIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ImportadorLote importadorLote;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private ExecutorTransacoes executorTransacoes;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private MetricasTransacoes metricas;
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		criarConta("LOTE-A", "100.00");
+		criarConta("LOTE-B", "10.00");
+	}
+
+	@Test
+	void deveDevolverUmResultadoPorLinhaNaOrdemDaEntrada() throws Exception {
+		String ndjson = """
+				{"numeroConta":"LOTE-A","tipo":"DEBITO","valor":"30.00"}
+				{"numeroConta":"LOTE-B","tipo":"DEBITO","valor":"50.00"}
+				isto não é json
+
+				{"numeroConta":"LOTE-INEXISTENTE","tipo":"CREDITO","valor":"1.00"}
+				{"numeroConta":"LOTE-A","tipo":"CREDITO","valor":"5.00"}
+				{"numeroConta":"LOTE-B","tipo":"CREDITO"}
+				""";
+
+		String corpo = mockMvc.perform(post("/api/v1/lancamentos/lote")
+						.contentType(LancamentosLoteController.NDJSON)
+						.content(ndjson))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(LancamentosLoteController.NDJSON))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		List<JsonNode> resultados = corpo.lines().map(this::lerJson).toList();
+		assertEquals(6, resultados.size());
+
+		assertResultado(resultados.get(0), 1, "OK", "70.00");
+		assertResultado(resultados.get(1), 2, "ERRO", null);
+		assertTrue(resultados.get(1).path("erro").asText().contains("Saldo insuficiente"));
+		assertResultado(resultados.get(2), 3, "ERRO", null);
+		assertResultado(resultados.get(3), 5, "ERRO", null);
+		assertTrue(resultados.get(3).path("erro").asText().contains("Conta não encontrada"));
+		assertResultado(resultados.get(4), 6, "OK", "75.00");
+		assertResultado(resultados.get(5), 7, "ERRO", null);
+
+		assertEquals(0, new BigDecimal("75.00").compareTo(saldo("LOTE-A")));
+		assertEquals(0, new BigDecimal("10.00").compareTo(saldo("LOTE-B")));
+		assertEquals(2, transacaoRepository.count());
+	}
+
+	@Test
+	void deveProcessarUmFluxoGrandeEmBlocosMantendoAOrdemPorConta() throws Exception {
+		int linhas = 5_000;
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+		importadorLote.importar(fluxoGerado(linhas), saida);
+
+		List<String> resultados = saida.toString(StandardCharsets.UTF_8).lines().toList();
+		assertEquals(linhas, resultados.size());
+		for (int i = 0; i < linhas; i++) {
+			JsonNode resultado = lerJson(resultados.get(i));
+			assertEquals(i + 1, resultado.path("linha").asLong());
+			assertEquals("OK", resultado.path("status").asText(), resultados.get(i));
+		}
+
+		// LOTE-B só não fica negativa se os créditos e débitos forem aplicados na ordem do arquivo.
+		assertEquals(0, new BigDecimal("2600.00").compareTo(saldo("LOTE-A")));
+		assertEquals(0, new BigDecimal("10.00").compareTo(saldo("LOTE-B")));
+		assertEquals(linhas, transacaoRepository.count());
+	}
+
+	@Test
+	void naoDeveExporOTextoDeUmaFalhaTecnica() throws Exception {
+		ContaService falho = mock(ContaService.class);
+		when(falho.processarLote(eq("LOTE-A"), anyList()))
+				.thenThrow(new IllegalStateException("could not execute statement [select ... from contas]"));
+		ImportadorLote importador = new ImportadorLote(falho, executorTransacoes, metricas, objectMapper, 100, 1, false);
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+		try {
+			importador.importar(new ByteArrayInputStream(
+					"{\"numeroConta\":\"LOTE-A\",\"tipo\":\"CREDITO\",\"valor\":\"1.00\"}\n"
+							.getBytes(StandardCharsets.UTF_8)), saida);
+		} finally {
+			importador.encerrar();
+		}
+
+		JsonNode resultado = lerJson(saida.toString(StandardCharsets.UTF_8).strip());
+		assertEquals("ERRO", resultado.path("status").asText());
+		assertEquals("Falha inesperada ao processar os lançamentos da conta.", resultado.path("erro").asText());
+	}
+
+	@Test
+	void deveRecusarAImportacaoNoModoJournal() {
+		ExecutorTransacoes journal = mock(ExecutorTransacoes.class);
+		doThrow(new EscritaIndisponivelException("Operação indisponível no modo de execução journal: importação em lote."))
+				.when(journal).verificarEscritaDireta(anyString());
+		ImportadorLote importador = new ImportadorLote(contaService, journal, metricas, objectMapper, 100, 1, false);
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+		try {
+			assertThrows(EscritaIndisponivelException.class, () -> importador.importar(new ByteArrayInputStream(
+					"{\"numeroConta\":\"LOTE-A\",\"tipo\":\"CREDITO\",\"valor\":\"1.00\"}\n"
+							.getBytes(StandardCharsets.UTF_8)), saida));
+		} finally {
+			importador.encerrar();
+		}
+
+		assertEquals(0, saida.size());
+		assertEquals(0, transacaoRepository.count());
+	}
+
+	/**
+	 * Gera as linhas sob demanda: a entrada nunca existe inteira em memória.
+	 * Linhas pares creditam 1.00 em LOTE-A; ímpares alternam crédito e débito de 10.00 em LOTE-B.
+	 */
+	private static InputStream fluxoGerado(int linhas) {
+		return new SequenceInputStream(new Enumeration<>() {
+			private int atual = 0;
+
+			@Override
+			public boolean hasMoreElements() {
+				return atual < linhas;
+			}
+
+			@Override
+			public InputStream nextElement() {
+				int indice = atual++;
+				String linha;
+				if (indice % 2 == 0) {
+					linha = "{\"numeroConta\":\"LOTE-A\",\"tipo\":\"CREDITO\",\"valor\":\"1.00\"}\n";
+				} else {
+					String tipo = (indice / 2) % 2 == 0 ? "CREDITO" : "DEBITO";
+					linha = "{\"numeroConta\":\"LOTE-B\",\"tipo\":\"" + tipo + "\",\"valor\":\"10.00\"}\n";
+				}
+				return new ByteArrayInputStream(linha.getBytes(StandardCharsets.UTF_8));
+			}
+		});
+	}
+
+	private void assertResultado(JsonNode resultado, long linha, String status, String saldo) {
+		assertEquals(linha, resultado.path("linha").asLong());
+		assertEquals(status, resultado.path("status").asText());
+		if (saldo != null) {
+			assertEquals(saldo, resultado.path("saldo").asText());
+		}
+	}
+
+	private JsonNode lerJson(String texto) {
+		try {
+			return objectMapper.readTree(texto);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private BigDecimal saldo(String numeroConta) {
+		return contaRepository.findByNumeroConta(numeroConta).orElseThrow().getSaldo();
+	}
+
+	private void criarConta(String numeroConta, String saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal(saldo)));
+		contaRepository.saveAndFlush(conta);
+	}
+}
@@ -0,0 +1,197 @@
+package com.desafio.java.api.lancamentos.api;
+
+import com.desafio.java.api.lancamentos.domain.exception.FilaOperacoesCheiaException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.service.Operacao;
+import com.desafio.java.api.lancamentos.domain.service.OperacaoService;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OperacoesAssincronasIntegrationTest {
+
+	private static final String CREDITO_10 = "[{\"tipo\":\"CREDITO\",\"valor\":\"10.00\"}]";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		criarConta("ASYNC-1", "100.00");
+	}
+
+	@Test
+	void deveAceitarNaHoraEEntregarOSaldoNaConsulta() throws Exception {
+		MvcResult aceito = submeter("ASYNC-1", CREDITO_10)
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andExpect(jsonPath("$.numeroConta").value("ASYNC-1"))
+				.andReturn();
+		String id = objectMapper.readTree(aceito.getResponse().getContentAsString()).get("idOperacao").asText();
+		assertTrue(aceito.getResponse().getHeader("Location").endsWith("/api/v1/operacoes/" + id));
+
+		JsonNode operacao = aguardarFim(id);
+
+		assertEquals("CONCLUIDA", operacao.get("status").asText());
+		assertEquals("110.00", operacao.at("/resultado/saldo").asText());
+		assertFalse(operacao.hasNonNull("erro"));
+		assertEquals(new BigDecimal("110.00"), saldo("ASYNC-1"));
+	}
+
+	@Test
+	void deveRegistrarNaOperacaoOErroDeNegocioDaExecucao() throws Exception {
+		MvcResult aceito = submeter("ASYNC-1", "[{\"tipo\":\"CREDITO\",\"valor\":\"5.00\"},{\"tipo\":\"DEBITO\",\"valor\":\"500.00\"}]")
+				.andExpect(status().isAccepted())
+				.andReturn();
+		String id = objectMapper.readTree(aceito.getResponse().getContentAsString()).get("idOperacao").asText();
+
+		JsonNode operacao = aguardarFim(id);
+
+		assertEquals("FALHOU", operacao.get("status").asText());
+		assertEquals(422, operacao.at("/erro/status").asInt());
+		assertFalse(operacao.hasNonNull("resultado"));
+		assertEquals(new BigDecimal("100.00"), saldo("ASYNC-1"));
+	}
+
+	@Test
+	void deveRecusarNaHoraPedidoInvalidoOuContaInexistente() throws Exception {
+		submeter("ASYNC-1", "[{\"tipo\":\"DEBITO\",\"valor\":\"0.00\"}]")
+				.andExpect(status().isBadRequest());
+		submeter("ASYNC-1", "[{\"tipo\":\"CREDITO\",\"valor\":\"1.001\"}]")
+				.andExpect(status().isBadRequest());
+		submeter("ASYNC-INEXISTENTE", CREDITO_10)
+				.andExpect(status().isNotFound());
+
+		mockMvc.perform(get("/api/v1/operacoes/{id}", UUID.randomUUID()))
+				.andExpect(status().isNotFound());
+		assertEquals(0, transacaoRepository.count());
+	}
+
+	@Test
+	void deveRecusarComFilaCheiaSemPerderOsPedidosAceitos() throws InterruptedException {
+		CountDownLatch liberar = new CountDownLatch(1);
+		@SuppressWarnings("unchecked")
+		ObjectProvider<MeterRegistry> semMetricas = mock(ObjectProvider.class);
+		OperacaoService service = new OperacaoService((numeroConta, requests) -> {
+			aguardar(liberar);
+			return new SaldoConta(numeroConta, 0);
+		}, contaRepository, 1, 1, 10, Duration.ofMinutes(1), false, semMetricas);
+		List<TransacaoRequest> pedido = List.of(new TransacaoRequest(TransacaoRequest.TipoEnum.CREDITO, "1.00"));
+
+		try {
+			Operacao emExecucao = service.submeter("ASYNC-1", pedido);
+			Operacao naFila = service.submeter("ASYNC-1", pedido);
+			assertThrows(FilaOperacoesCheiaException.class, () -> service.submeter("ASYNC-1", pedido));
+
+			liberar.countDown();
+			service.encerrar();
+			assertEquals(Operacao.Status.CONCLUIDA, service.consultar(emExecucao.id()).orElseThrow().status());
+			assertEquals(Operacao.Status.CONCLUIDA, service.consultar(naFila.id()).orElseThrow().status());
+		} finally {
+			liberar.countDown();
+		}
+	}
+
+	@Test
+	void deveTerminarComFalhaInternaQuandoAExecucaoLancaError() throws InterruptedException {
+		@SuppressWarnings("unchecked")
+		ObjectProvider<MeterRegistry> semMetricas = mock(ObjectProvider.class);
+		OperacaoService service = new OperacaoService((numeroConta, requests) -> {
+			throw new AssertionError("detalhe interno");
+		}, contaRepository, 1, 1, 10, Duration.ofMinutes(1), false, semMetricas);
+
+		Operacao operacao = service.submeter("ASYNC-1", List.of(new TransacaoRequest(TransacaoRequest.TipoEnum.CREDITO, "1.00")));
+		service.encerrar();
+
+		Operacao terminada = service.consultar(operacao.id()).orElseThrow();
+		assertEquals(Operacao.Status.FALHOU, terminada.status());
+		assertEquals(Operacao.Falha.Motivo.INTERNA, terminada.falha().motivo());
+		assertNull(terminada.falha().mensagem());
+	}
+
+	private ResultActions submeter(String numeroConta, String corpo) throws Exception {
+		return mockMvc.perform(post("/api/v1/contas/{numeroConta}/transacoes/assincronas", numeroConta)
+				.contentType("application/json")
+				.content(corpo));
+	}
+
+	private JsonNode aguardarFim(String id) throws Exception {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (true) {
+			MvcResult resultado = mockMvc.perform(get("/api/v1/operacoes/{id}", id))
+					.andExpect(status().isOk())
+					.andReturn();
+			JsonNode operacao = objectMapper.readTree(resultado.getResponse().getContentAsString());
+			if (!"PENDENTE".equals(operacao.get("status").asText())) {
+				return operacao;
+			}
+			assertTrue(System.nanoTime() < limite, "Operação " + id + " não terminou");
+			Thread.sleep(10);
+		}
+	}
+
+	private static void aguardar(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private BigDecimal saldo(String numeroConta) {
+		return contaRepository.findByNumeroConta(numeroConta).orElseThrow().getSaldo();
+	}
+
+	private void criarConta(String numeroConta, String saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal(saldo)));
+		contaRepository.saveAndFlush(conta);
+	}
+}
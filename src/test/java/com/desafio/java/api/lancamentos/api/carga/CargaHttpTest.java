@@ -0,0 +1,135 @@
+package com.desafio.java.api.lancamentos.api.carga;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga HTTP ponta a ponta. Não roda na suíte normal; para executar:
+ *
+ * <pre>
+ * mvn test -Dtest=CargaHttpTest -Dcarga=true -Dcarga.concorrencia=32 -Dcarga.skew=1.2 \
+ *     -Dcarga.duracao=PT60S -Dcarga.baseline=target/carga/relatorio-anterior.json
+ * </pre>
+ *
+ * O relatório JSON é gravado em target/carga/. Se {@code carga.baseline} apontar para
+ * um relatório anterior, as diferenças de throughput e p99 são registradas no log.
+ * Para comparar threads de plataforma e virtuais, rode uma vez com
+ * {@code -Dspring.threads.virtual.enabled=true} usando a execução padrão como baseline.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "spring.datasource.url=jdbc:h2:mem:carga;LOCK_TIMEOUT=10000")
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class CargaHttpTest {
+
+	private static final Logger log = LoggerFactory.getLogger(CargaHttpTest.class);
+
+	@LocalServerPort
+	private int porta;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private RequisicoesEmAndamentoFilter emAndamento;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean threadsVirtuais;
+
+	private final GeradorCarga.Configuracao configuracao = GeradorCarga.Configuracao.doSistema();
+
+	@BeforeEach
+	void setUp() {
+		List<Conta> contas = new ArrayList<>(configuracao.contas());
+		for (int i = 0; i < configuracao.contas(); i++) {
+			Conta conta = new Conta();
+			ReflectionTestUtils.setField(conta, "numeroConta", configuracao.numeroConta(i));
+			ReflectionTestUtils.setField(conta, "saldo", Centavos.parse("1000000.00"));
+			contas.add(conta);
+		}
+		contaRepository.saveAllAndFlush(contas);
+	}
+
+	@Test
+	void executarCarga() throws Exception {
+		GeradorCarga.Relatorio relatorio = new GeradorCarga(configuracao, "http://localhost:" + porta + "/api/v1")
+				.executar();
+
+		ObjectNode json = relatorio.paraJson(objectMapper);
+		json.put("threadsVirtuais", threadsVirtuais);
+		json.put("maxEmAndamento", emAndamento.maximo());
+		Path arquivo = gravar(json);
+
+		log.warn("--- RELATORIO DE CARGA ({}) ---", arquivo);
+		log.warn("{}", objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json));
+
+		String baseline = System.getProperty("carga.baseline");
+		if (baseline != null) {
+			compararCom(objectMapper.readTree(Path.of(baseline).toFile()), json);
+		}
+
+		assertTrue(relatorio.totalRequisicoes() > 0, "Nenhuma requisição foi concluída.");
+	}
+
+	private Path gravar(ObjectNode json) throws IOException {
+		Path diretorio = Path.of("target", "carga");
+		Files.createDirectories(diretorio);
+		Path arquivo = diretorio.resolve("relatorio-"
+				+ LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(arquivo.toFile(), json);
+		return arquivo;
+	}
+
+	private void compararCom(JsonNode anterior, JsonNode atual) {
+		log.warn("--- COMPARATIVO COM BASELINE ---");
+		log.warn("throughput: {} -> {} req/s", anterior.path("throughput").asDouble(), atual.path("throughput").asDouble());
+		for (String operacao : List.of("saldo", "transacoes")) {
+			log.warn("{} p99: {} -> {} ms | p99.9: {} -> {} ms", operacao,
+					anterior.path(operacao).path("p99Ms").asDouble(), atual.path(operacao).path("p99Ms").asDouble(),
+					anterior.path(operacao).path("p999Ms").asDouble(), atual.path(operacao).path("p999Ms").asDouble());
+		}
+		log.warn("taxa409: {} -> {} | taxa422: {} -> {}",
+				anterior.path("taxa409").asDouble(), atual.path("taxa409").asDouble(),
+				anterior.path("taxa422").asDouble(), atual.path("taxa422").asDouble());
+		log.warn("threadsVirtuais: {} -> {} | maxEmAndamento: {} -> {}",
+				anterior.path("threadsVirtuais").asBoolean(), atual.path("threadsVirtuais").asBoolean(),
+				anterior.path("maxEmAndamento").asInt(), atual.path("maxEmAndamento").asInt());
+	}
+
+	@TestConfiguration
+	static class ConfiguracaoCarga {
+
+		@Bean
+		RequisicoesEmAndamentoFilter requisicoesEmAndamentoFilter() {
+			return new RequisicoesEmAndamentoFilter();
+		}
+	}
+}
@@ -0,0 +1,252 @@
+package com.desafio.java.api.lancamentos.api.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga HTTP contra uma instância real da API.
+ *
+ * Cada worker escolhe uma conta segundo uma distribuição de Zipf (contas quentes),
+ * sorteia GET /saldo ou POST /transacoes conforme o mix configurado e registra a
+ * latência em um HdrHistogram por operação. Respostas 409 são reenviadas até
+ * {@code maxRetries} vezes, e cada reenvio é contado.
+ */
+public class GeradorCarga {
+
+	/**
+	 * Parâmetros da carga, lidos de propriedades de sistema {@code carga.*}.
+	 */
+	public record Configuracao(int contas, double skewZipf, int tamanhoLote, int concorrencia,
+							   int percentualLeitura, Duration duracao, Duration aquecimento, int maxRetries) {
+
+		public static Configuracao doSistema() {
+			return new Configuracao(
+					Integer.getInteger("carga.contas", 100),
+					Double.parseDouble(System.getProperty("carga.skew", "1.1")),
+					Integer.getInteger("carga.tamanho-lote", 5),
+					Integer.getInteger("carga.concorrencia", 16),
+					Integer.getInteger("carga.percentual-leitura", 80),
+					Duration.parse(System.getProperty("carga.duracao", "PT30S")),
+					Duration.parse(System.getProperty("carga.aquecimento", "PT5S")),
+					Integer.getInteger("carga.max-retries", 3));
+		}
+
+		public String numeroConta(int indice) {
+			return String.format("CARGA-%06d", indice);
+		}
+	}
+
+	private enum Operacao { SALDO, TRANSACOES }
+
+	private final Configuracao configuracao;
+	private final String urlBase;
+	private final HttpClient httpClient;
+	private final double[] cdfZipf;
+
+	private final Map<Operacao, Recorder> latencias = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> status = new ConcurrentHashMap<>();
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder errosDeRede = new LongAdder();
+
+	private volatile boolean medindo;
+
+	public GeradorCarga(Configuracao configuracao, String urlBase) {
+		this.configuracao = configuracao;
+		this.urlBase = urlBase;
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		this.cdfZipf = cdfZipf(configuracao.contas(), configuracao.skewZipf());
+
+		for (Operacao operacao : Operacao.values()) {
+			latencias.put(operacao, new Recorder(3));
+		}
+	}
+
+	public Relatorio executar() throws InterruptedException {
+		// Um cliente por thread virtual: permite milhares de clientes simultâneos.
+		ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+		long fimAquecimento = System.nanoTime() + configuracao.aquecimento().toNanos();
+		long fim = fimAquecimento + configuracao.duracao().toNanos();
+		CountDownLatch terminaram = new CountDownLatch(configuracao.concorrencia());
+
+		for (int i = 0; i < configuracao.concorrencia(); i++) {
+			workers.submit(() -> {
+				try {
+					while (System.nanoTime() < fim) {
+						executarUmaOperacao();
+					}
+				} finally {
+					terminaram.countDown();
+				}
+			});
+		}
+
+		TimeUnit.NANOSECONDS.sleep(fimAquecimento - System.nanoTime());
+		latencias.values().forEach(Recorder::reset);
+		status.clear();
+		retries.reset();
+		errosDeRede.reset();
+		medindo = true;
+
+		terminaram.await();
+		medindo = false;
+		workers.shutdown();
+
+		return new Relatorio(configuracao, latencias.get(Operacao.SALDO).getIntervalHistogram(),
+				latencias.get(Operacao.TRANSACOES).getIntervalHistogram(), contagemPorStatus(),
+				retries.sum(), errosDeRede.sum());
+	}
+
+	private void executarUmaOperacao() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String numeroConta = configuracao.numeroConta(sortearConta(random));
+		boolean leitura = random.nextInt(100) < configuracao.percentualLeitura();
+
+		HttpRequest request = leitura
+				? HttpRequest.newBuilder(URI.create(urlBase + "/contas/" + numeroConta + "/saldo")).GET().build()
+				: HttpRequest.newBuilder(URI.create(urlBase + "/contas/" + numeroConta + "/transacoes"))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(corpoTransacoes(random)))
+						.build();
+
+		long inicio = System.nanoTime();
+		try {
+			int codigo = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			for (int tentativa = 0; codigo == 409 && tentativa < configuracao.maxRetries(); tentativa++) {
+				if (medindo) {
+					retries.increment();
+				}
+				codigo = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			}
+			if (medindo) {
+				latencias.get(leitura ? Operacao.SALDO : Operacao.TRANSACOES).recordValue(System.nanoTime() - inicio);
+				status.computeIfAbsent(String.valueOf(codigo), k -> new LongAdder()).increment();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			if (medindo) {
+				errosDeRede.increment();
+			}
+		}
+	}
+
+	private String corpoTransacoes(ThreadLocalRandom random) {
+		StringBuilder corpo = new StringBuilder("[");
+		for (int i = 0; i < configuracao.tamanhoLote(); i++) {
+			if (i > 0) {
+				corpo.append(',');
+			}
+			corpo.append("{\"tipo\":\"")
+					.append(random.nextBoolean() ? "DEBITO" : "CREDITO")
+					.append("\",\"valor\":\"")
+					.append(1 + random.nextInt(100))
+					.append(".00\"}");
+		}
+		return corpo.append(']').toString();
+	}
+
+	private int sortearConta(ThreadLocalRandom random) {
+		double alvo = random.nextDouble();
+		int baixo = 0;
+		int alto = cdfZipf.length - 1;
+		while (baixo < alto) {
+			int meio = (baixo + alto) >>> 1;
+			if (cdfZipf[meio] < alvo) {
+				baixo = meio + 1;
+			} else {
+				alto = meio;
+			}
+		}
+		return baixo;
+	}
+
+	private static double[] cdfZipf(int n, double skew) {
+		double[] cdf = new double[n];
+		double soma = 0;
+		for (int i = 0; i < n; i++) {
+			soma += 1.0 / Math.pow(i + 1, skew);
+			cdf[i] = soma;
+		}
+		for (int i = 0; i < n; i++) {
+			cdf[i] /= soma;
+		}
+		return cdf;
+	}
+
+	private Map<String, Long> contagemPorStatus() {
+		Map<String, Long> contagem = new TreeMap<>();
+		status.forEach((codigo, total) -> contagem.put(codigo, total.sum()));
+		return contagem;
+	}
+
+	/**
+	 * Resultado de uma execução, serializável em JSON para comparação entre builds.
+	 */
+	public record Relatorio(Configuracao configuracao, Histogram saldo, Histogram transacoes,
+							Map<String, Long> status, long retries, long errosDeRede) {
+
+		public long totalRequisicoes() {
+			return saldo.getTotalCount() + transacoes.getTotalCount();
+		}
+
+		public double taxa(String codigo) {
+			long total = totalRequisicoes();
+			return total == 0 ? 0 : status.getOrDefault(codigo, 0L) / (double) total;
+		}
+
+		public ObjectNode paraJson(ObjectMapper objectMapper) {
+			ObjectNode json = objectMapper.createObjectNode();
+			json.set("configuracao", objectMapper.valueToTree(Map.of(
+					"contas", configuracao.contas(),
+					"skewZipf", configuracao.skewZipf(),
+					"tamanhoLote", configuracao.tamanhoLote(),
+					"concorrencia", configuracao.concorrencia(),
+					"percentualLeitura", configuracao.percentualLeitura(),
+					"duracaoSegundos", configuracao.duracao().toSeconds(),
+					"maxRetries", configuracao.maxRetries())));
+
+			double segundos = configuracao.duracao().toNanos() / 1_000_000_000.0;
+			json.put("throughput", totalRequisicoes() / segundos);
+			json.put("totalRequisicoes", totalRequisicoes());
+			json.put("taxa409", taxa("409"));
+			json.put("taxa422", taxa("422"));
+			json.put("retries", retries);
+			json.put("errosDeRede", errosDeRede);
+			json.set("status", objectMapper.valueToTree(status));
+			json.set("saldo", latenciasJson(objectMapper, saldo, segundos));
+			json.set("transacoes", latenciasJson(objectMapper, transacoes, segundos));
+			return json;
+		}
+
+		private static ObjectNode latenciasJson(ObjectMapper objectMapper, Histogram histograma, double segundos) {
+			ObjectNode json = objectMapper.createObjectNode();
+			json.put("requisicoes", histograma.getTotalCount());
+			json.put("throughput", histograma.getTotalCount() / segundos);
+			json.put("p50Ms", histograma.getValueAtPercentile(50) / 1_000_000.0);
+			json.put("p99Ms", histograma.getValueAtPercentile(99) / 1_000_000.0);
+			json.put("p999Ms", histograma.getValueAtPercentile(99.9) / 1_000_000.0);
+			json.put("maxMs", histograma.getMaxValue() / 1_000_000.0);
+			return json;
+		}
+	}
+}
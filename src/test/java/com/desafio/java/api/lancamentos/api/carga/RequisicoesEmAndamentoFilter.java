@@ -0,0 +1,36 @@
+package com.desafio.java.api.lancamentos.api.carga;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta quantas requisições o servidor está atendendo ao mesmo tempo e guarda o
+ * máximo observado. Com threads de plataforma o teto é o pool do Tomcat
+ * ({@code server.tomcat.threads.max}); com threads virtuais, não há esse limite.
+ */
+public class RequisicoesEmAndamentoFilter extends OncePerRequestFilter {
+
+	private final AtomicInteger emAndamento = new AtomicInteger();
+	private final AtomicInteger maximo = new AtomicInteger();
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			emAndamento.decrementAndGet();
+		}
+	}
+
+	public int maximo() {
+		return maximo.get();
+	}
+}
@@ -0,0 +1,89 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentavosTest {
+
+	@Test
+	void deveLerValoresDecimaisComoCentavos() {
+		assertEquals(15075, Centavos.parse("150.75"));
+		assertEquals(1050, Centavos.parse("10.5"));
+		assertEquals(1000, Centavos.parse("10"));
+		assertEquals(1000, Centavos.parse("10."));
+		assertEquals(50, Centavos.parse(".5"));
+		assertEquals(100, Centavos.parse("1.000"));
+		assertEquals(-5000, Centavos.parse("-50.00"));
+		assertEquals(5000, Centavos.parse("+50.00"));
+	}
+
+	@Test
+	void deveRejeitarValoresInvalidosOuForaDoLimite() {
+		assertThrows(IllegalArgumentException.class, () -> Centavos.parse(""));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.parse("-"));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.parse("."));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.parse("12a.00"));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.parse("1.005"));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.parse("1e3"));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.parse("92233720368547758.08"));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.somar(Long.MAX_VALUE, 1));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.subtrair(Long.MIN_VALUE, 1));
+		assertThrows(IllegalArgumentException.class, () -> Centavos.de(new BigDecimal("0.001")));
+	}
+
+	@Test
+	void deveFormatarComoBigDecimalComEscalaDois() {
+		for (long centavos : new long[] { 0, 5, 50, 100, 123025, -50, -123025, Long.MAX_VALUE, Long.MIN_VALUE }) {
+			assertEquals(BigDecimal.valueOf(centavos, 2).toPlainString(), Centavos.formatar(centavos));
+			assertEquals(centavos, Centavos.de(Centavos.paraBigDecimal(centavos)));
+		}
+	}
+
+	/**
+	 * O laço de débito/crédito em centavos chega ao mesmo saldo que o código anterior com
+	 * BigDecimal. A comparação de tempo e alocação fica no {@code CentavosBenchmark} (JMH).
+	 */
+	@Test
+	void caminhoEmCentavosDeveChegarAoMesmoSaldoQueBigDecimal() {
+		String[] valores = { "1.00", "150.75", "0.35", "20.10" };
+		int operacoes = 10_000;
+
+		long resultadoCentavos = executarEmCentavos(valores, operacoes);
+		BigDecimal resultadoBigDecimal = executarEmBigDecimal(valores, operacoes);
+
+		assertEquals(0, resultadoBigDecimal.compareTo(Centavos.paraBigDecimal(resultadoCentavos)));
+	}
+
+	private static long executarEmCentavos(String[] valores, int operacoes) {
+		Conta conta = new Conta();
+		conta.creditar(Centavos.parse("1000000.00"));
+		for (int i = 0; i < operacoes; i++) {
+			long valor = Centavos.parse(valores[i & 3]);
+			if ((i & 1) == 0) {
+				conta.debitar(valor);
+			} else {
+				conta.creditar(valor);
+			}
+		}
+		return conta.getSaldoEmCentavos();
+	}
+
+	private static BigDecimal executarEmBigDecimal(String[] valores, int operacoes) {
+		BigDecimal saldo = new BigDecimal("1000000.00");
+		for (int i = 0; i < operacoes; i++) {
+			BigDecimal valor = new BigDecimal(valores[i & 3]);
+			if ((i & 1) == 0) {
+				if (saldo.compareTo(valor) < 0) {
+					throw new IllegalStateException();
+				}
+				saldo = saldo.subtract(valor);
+			} else {
+				saldo = saldo.add(valor);
+			}
+		}
+		return saldo;
+	}
+}
@@ -16,7 +16,7 @@ class ContaTest {
 	@BeforeEach
 	void setUp() {
 		conta = new Conta();
-		ReflectionTestUtils.setField(conta, "saldo", new BigDecimal("100.00"));
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal("100.00")));
 	}
 
 	@Test
@@ -24,7 +24,7 @@ class ContaTest {
 		BigDecimal valorDebito = new BigDecimal("40.00");
 		BigDecimal saldoEsperado = new BigDecimal("60.00");
 
-		conta.debitar(valorDebito);
+		conta.debitar(Centavos.de(valorDebito));
 
 		assertEquals(0, saldoEsperado.compareTo(conta.getSaldo()));
 	}
@@ -35,7 +35,7 @@ class ContaTest {
 
 		SaldoInsuficienteException exception = assertThrows(
 				SaldoInsuficienteException.class,
-				() -> conta.debitar(valorDebito)
+				() -> conta.debitar(Centavos.de(valorDebito))
 		);
 
 		assertTrue(exception.getMessage().contains("Saldo insuficiente"));
@@ -45,8 +45,8 @@ class ContaTest {
 
 	@Test
 	void deveLancarIllegalArgumentExceptionParaDebitoNegativoOuZero() {
-		assertThrows(IllegalArgumentException.class, () -> conta.debitar(BigDecimal.ZERO));
-		assertThrows(IllegalArgumentException.class, () -> conta.debitar(new BigDecimal("-50.00")));
+		assertThrows(IllegalArgumentException.class, () -> conta.debitar(0));
+		assertThrows(IllegalArgumentException.class, () -> conta.debitar(Centavos.parse("-50.00")));
 	}
 
 	@Test
@@ -54,14 +54,14 @@ class ContaTest {
 		BigDecimal valorCredito = new BigDecimal("50.50");
 		BigDecimal saldoEsperado = new BigDecimal("150.50");
 
-		conta.creditar(valorCredito);
+		conta.creditar(Centavos.de(valorCredito));
 
 		assertEquals(0, saldoEsperado.compareTo(conta.getSaldo()));
 	}
 
 	@Test
 	void deveLancarIllegalArgumentExceptionParaCreditoNegativoOuZero() {
-		assertThrows(IllegalArgumentException.class, () -> conta.creditar(BigDecimal.ZERO));
-		assertThrows(IllegalArgumentException.class, () -> conta.creditar(new BigDecimal("-50.00")));
+		assertThrows(IllegalArgumentException.class, () -> conta.creditar(0));
+		assertThrows(IllegalArgumentException.class, () -> conta.creditar(Centavos.parse("-50.00")));
 	}
 }
@@ -0,0 +1,33 @@
+package com.desafio.java.api.lancamentos.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventoOutboxTest {
+
+	@Test
+	void deveCompactarIdsContiguosEmFaixas() {
+		List<Long> ids = List.of(150L, 101L, 102L, 103L, 175L, 104L, 176L);
+
+		String compactado = EventoOutbox.compactar(ids);
+
+		assertEquals("101-104,150,175-176", compactado);
+		assertEquals(List.of(101L, 102L, 103L, 104L, 150L, 175L, 176L), EventoOutbox.expandir(compactado));
+	}
+
+	@Test
+	void deveManterUmaFaixaParaUmPedidoGrande() {
+		List<Long> ids = new ArrayList<>();
+		for (long id = 1_000; id < 1_500; id++) {
+			ids.add(id);
+		}
+
+		assertEquals("1000-1499", EventoOutbox.compactar(ids));
+		assertEquals(ids, EventoOutbox.expandir("1000-1499"));
+		assertEquals(List.of(), EventoOutbox.expandir(""));
+	}
+}
@@ -0,0 +1,198 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+import com.desafio.java.api.lancamentos.domain.model.LinhaArquivada;
+import com.desafio.java.api.lancamentos.domain.model.SaldoSnapshot;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.infrastructure.arquivo.ArquivoTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.SaldoSnapshotRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"lancamentos.arquivamento.habilitado=true", "lancamentos.arquivamento.retencao=30d"})
+@ActiveProfiles("test")
+class ArquivamentoServiceTest {
+
+	@TempDir
+	static Path diretorio;
+
+	@DynamicPropertySource
+	static void diretorioArquivo(DynamicPropertyRegistry registry) {
+		registry.add("lancamentos.arquivamento.diretorio", () -> diretorio.toString());
+	}
+
+	@Autowired
+	private ArquivamentoService arquivamentoService;
+
+	@Autowired
+	private ExtratoService extratoService;
+
+	@Autowired
+	private SaldoSnapshotService snapshotService;
+
+	@Autowired
+	private ArquivoTransacoes arquivo;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private SaldoSnapshotRepository snapshotRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static final LocalDateTime AGORA = LocalDateTime.of(2024, 6, 15, 12, 0);
+	private static final LocalDateTime CORTE = LocalDate.of(2024, 5, 16).atStartOfDay();
+
+	private final String NUMERO_CONTA = "ARQUIVO-1";
+
+	private Conta conta;
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		snapshotRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		conta = criarConta(NUMERO_CONTA, new BigDecimal("500.00"));
+		Conta outra = criarConta("ARQUIVO-2", new BigDecimal("10.00"));
+
+		// 3 dias antigos com 10 lançamentos cada, 10 recentes (2 deles já depois do corte, no dia do corte)
+		List<Transacao> transacoes = new ArrayList<>();
+		for (int dia = 0; dia < 3; dia++) {
+			LocalDateTime inicio = LocalDate.of(2024, 5, 1).plusDays(dia * 5L).atTime(9, 0);
+			for (int i = 0; i < 10; i++) {
+				TipoTransacao tipo = i % 3 == 0 ? TipoTransacao.DEBITO : TipoTransacao.CREDITO;
+				transacoes.add(new Transacao(conta, tipo, 100, inicio.plusMinutes(i)));
+			}
+			transacoes.add(new Transacao(outra, TipoTransacao.CREDITO, 100, inicio));
+		}
+		for (int i = 0; i < 10; i++) {
+			transacoes.add(new Transacao(conta, TipoTransacao.CREDITO, 250, CORTE.plusDays(i).plusHours(1)));
+		}
+		transactionTemplate.executeWithoutResult(status -> transacaoRepository.inserirEmLote(transacoes));
+	}
+
+	@Test
+	void deveMoverLancamentosAntigosEManterOExtratoCompleto() {
+		List<Long> idsAntes = idsNoExtrato(200);
+
+		assertEquals(33, arquivamentoService.arquivar(AGORA));
+
+		assertEquals(10, transacaoRepository.count());
+		assertEquals(LocalDate.of(2024, 5, 12).atStartOfDay(), arquivo.limiteSuperior().orElseThrow());
+		assertEquals(idsAntes, idsNoExtrato(7), "A paginação deve atravessar tabela quente e arquivo");
+		assertEquals(idsAntes, idsNoExtrato(200));
+	}
+
+	@Test
+	void snapshotMaisLancamentosQuentesDeveSerOSaldoAtual() {
+		arquivamentoService.arquivar(AGORA);
+
+		Long contaId = contaRepository.findIdByNumeroConta(NUMERO_CONTA).orElseThrow();
+		SaldoSnapshot snapshot = snapshotService.ultimo(contaId).orElseThrow();
+		long quentes = Centavos.de(transacaoRepository.somarDesde(contaId, CORTE));
+
+		assertEquals(CORTE, snapshot.getDataHoraCorte());
+		assertEquals(2_500, quentes);
+		assertEquals(50_000 - 2_500, snapshot.getSaldoEmCentavos());
+		assertEquals(contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow().getSaldoEmCentavos(),
+				snapshot.getSaldoEmCentavos() + quentes);
+	}
+
+	@Test
+	void reexecutarAposQuedaEntreGravarEApagarNaoDeveDuplicar() {
+		List<Long> idsAntes = idsNoExtrato(200);
+
+		// Queda: o segmento do primeiro dia foi gravado, mas as linhas não saíram do banco.
+		LocalDate primeiroDia = LocalDate.of(2024, 5, 1);
+		arquivo.gravar(primeiroDia, transacaoRepository.buscarParaArquivar(
+				primeiroDia.atStartOfDay(), primeiroDia.plusDays(1).atStartOfDay(), Limit.unlimited()).iterator());
+		assertEquals(idsAntes, idsNoExtrato(7));
+
+		assertEquals(33, arquivamentoService.arquivar(AGORA));
+		assertEquals(0, arquivamentoService.arquivar(AGORA));
+
+		assertEquals(idsAntes, idsNoExtrato(7));
+		assertEquals(2, snapshotRepository.count(), "Um snapshot por conta e corte");
+	}
+
+	@Test
+	void deveArquivarUmDiaMaiorQueUmBlocoDeLeitura() {
+		// 2.500 lançamentos no mesmo instante, intercalados entre as duas contas: o keyset
+		// atravessa blocos dentro da mesma conta e no mesmo dataHora.
+		Conta outra = contaRepository.findByNumeroConta("ARQUIVO-2").orElseThrow();
+		LocalDateTime instante = LocalDate.of(2024, 5, 3).atTime(8, 0);
+		List<Transacao> transacoes = new ArrayList<>();
+		for (int i = 0; i < 2_500; i++) {
+			transacoes.add(new Transacao(i % 2 == 0 ? conta : outra, TipoTransacao.CREDITO, 1, instante));
+		}
+		transactionTemplate.executeWithoutResult(status -> transacaoRepository.inserirEmLote(transacoes));
+		List<Long> idsAntes = idsNoExtrato(200);
+
+		assertEquals(2_533, arquivamentoService.arquivar(AGORA));
+
+		assertEquals(10, transacaoRepository.count());
+		List<LinhaArquivada> arquivadas = new ArrayList<>();
+		arquivo.percorrer(LocalDate.of(2024, 5, 3), contaId -> true, arquivadas::addAll);
+		assertEquals(2_500, arquivadas.stream().map(LinhaArquivada::id).distinct().count());
+		assertEquals(idsAntes, idsNoExtrato(200));
+	}
+
+	private List<Long> idsNoExtrato(int limite) {
+		List<Long> ids = new ArrayList<>();
+		Set<Long> vistos = new HashSet<>();
+		ItemExtrato anterior = null;
+		String cursor = null;
+		do {
+			PaginaExtrato pagina = extratoService.consultar(NUMERO_CONTA, limite, cursor);
+			for (ItemExtrato item : pagina.itens()) {
+				assertTrue(vistos.add(item.id()), "Lançamento repetido: " + item.id());
+				if (anterior != null) {
+					int ordem = item.dataHoraProcessamento().compareTo(anterior.dataHoraProcessamento());
+					assertTrue(ordem < 0 || (ordem == 0 && item.id() < anterior.id()), "Fora de ordem: " + item);
+				}
+				anterior = item;
+				ids.add(item.id());
+			}
+			cursor = pagina.proximo() == null ? null : pagina.proximo().codificar();
+		} while (cursor != null);
+		return ids;
+	}
+
+	private Conta criarConta(String numeroConta, BigDecimal saldo) {
+		Conta nova = new Conta();
+		ReflectionTestUtils.setField(nova, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(nova, "saldo", Centavos.de(saldo));
+		return contaRepository.saveAndFlush(nova);
+	}
+}
@@ -0,0 +1,101 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Cenário de contenção usado pelos testes comparativos: N threads disparadas
+ * juntas (mesmo portão de largada do ContaConcorrenciaTest), cada uma executando
+ * a mesma operação repetidas vezes contra uma conta quente. As threads podem
+ * ser de plataforma (pool fixo) ou virtuais (uma por tarefa).
+ */
+public final class CenarioContencao {
+
+	private final int threads;
+	private final int operacoesPorThread;
+	private final boolean threadsVirtuais;
+
+	public CenarioContencao(int threads, int operacoesPorThread) {
+		this(threads, operacoesPorThread, false);
+	}
+
+	public CenarioContencao(int threads, int operacoesPorThread, boolean threadsVirtuais) {
+		this.threads = threads;
+		this.operacoesPorThread = operacoesPorThread;
+		this.threadsVirtuais = threadsVirtuais;
+	}
+
+	public Medicao executar(String nome, Runnable operacao) throws InterruptedException {
+		ExecutorService executor = threadsVirtuais
+				? Executors.newVirtualThreadPerTaskExecutor()
+				: Executors.newFixedThreadPool(threads);
+
+		CountDownLatch startGate = new CountDownLatch(1);
+		CountDownLatch finishGate = new CountDownLatch(threads);
+
+		AtomicInteger falhas = new AtomicInteger(0);
+		long[] latencias = new long[threads * operacoesPorThread];
+		AtomicInteger indice = new AtomicInteger(0);
+
+		for (int i = 0; i < threads; i++) {
+			executor.submit(() -> {
+				try {
+					startGate.await();
+					for (int op = 0; op < operacoesPorThread; op++) {
+						long inicio = System.nanoTime();
+						try {
+							operacao.run();
+						} catch (Exception e) {
+							falhas.incrementAndGet();
+						}
+						latencias[indice.getAndIncrement()] = System.nanoTime() - inicio;
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					finishGate.countDown();
+				}
+			});
+		}
+
+		long inicio = System.nanoTime();
+		startGate.countDown();
+
+		if (!finishGate.await(120, TimeUnit.SECONDS)) {
+			fail("Timeout - Nem todas as threads terminaram (" + nome + ").");
+		}
+		long duracao = System.nanoTime() - inicio;
+		executor.shutdown();
+
+		Arrays.sort(latencias);
+		return new Medicao(nome, latencias.length, falhas.get(), duracao, latencias);
+	}
+
+	public record Medicao(String nome, int operacoes, int falhas, long duracaoNanos, long[] latenciasOrdenadas) {
+
+		public int sucessos() {
+			return operacoes - falhas;
+		}
+
+		public double throughput() {
+			return operacoes / (duracaoNanos / 1_000_000_000.0);
+		}
+
+		public double percentilMillis(double percentil) {
+			int posicao = (int) Math.ceil(percentil / 100.0 * latenciasOrdenadas.length) - 1;
+			return latenciasOrdenadas[Math.max(posicao, 0)] / 1_000_000.0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-16s ops=%d sucesso=%d falhas=%d throughput=%.1f ops/s p50=%.2fms p99=%.2fms",
+					nome, operacoes, sucessos(), falhas, throughput(), percentilMillis(50), percentilMillis(99));
+		}
+	}
+}
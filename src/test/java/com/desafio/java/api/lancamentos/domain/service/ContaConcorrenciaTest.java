@@ -1,5 +1,6 @@
 package com.desafio.java.api.lancamentos.domain.service;
 
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
 import com.desafio.java.api.lancamentos.domain.model.Conta;
 import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
 import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
@@ -53,7 +54,7 @@ class ContaConcorrenciaTest {
 
 		Conta conta = new Conta();
 		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
-		ReflectionTestUtils.setField(conta, "saldo", SALDO_INICIAL);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(SALDO_INICIAL));
 		contaRepository.saveAndFlush(conta);
 	}
 
@@ -2,8 +2,11 @@ package com.desafio.java.api.lancamentos.domain.service;
 
 import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
 import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
 import com.desafio.java.api.lancamentos.domain.model.Conta;
-import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.infrastructure.cache.SaldoCache;
+import com.desafio.java.api.lancamentos.infrastructure.eventos.OutboxSaldo;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
 import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
 import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
 import com.desafio.java.api.lancamentos.model.TransacaoRequest;
@@ -21,6 +24,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +37,18 @@ class ContaServiceTest {
 	@Mock
 	private TransacaoRepository transacaoRepository;
 
+	@Mock
+	private SaldoCache saldoCache;
+
+	@Mock
+	private MetricasTransacoes metricas;
+
+	@Mock
+	private ResumoDiarioService resumoDiario;
+
+	@Mock
+	private OutboxSaldo outbox;
+
 	@InjectMocks
 	private ContaService contaService;
 
@@ -44,7 +60,7 @@ class ContaServiceTest {
 		contaMock = new Conta();
 		ReflectionTestUtils.setField(contaMock, "id", 1L);
 		ReflectionTestUtils.setField(contaMock, "numeroConta", NUMERO_CONTA);
-		ReflectionTestUtils.setField(contaMock, "saldo", new BigDecimal("1000.00"));
+		ReflectionTestUtils.setField(contaMock, "saldo", Centavos.de(new BigDecimal("1000.00")));
 		ReflectionTestUtils.setField(contaMock, "version", 0L);
 	}
 
@@ -67,7 +83,7 @@ class ContaServiceTest {
 		assertEquals(0, saldoEsperado.compareTo(contaAtualizada.getSaldo()));
 
 		verify(contaRepository, times(1)).findByNumeroConta(NUMERO_CONTA);
-		verify(transacaoRepository, times(2)).save(any(Transacao.class));
+		verify(transacaoRepository, times(1)).inserirEmLote(argThat(transacoes -> transacoes.size() == 2));
 	}
 
 	@Test
@@ -82,7 +98,7 @@ class ContaServiceTest {
 			contaService.processarTransacoes("CONTA_INEXISTENTE", List.of(debito));
 		});
 
-		verify(transacaoRepository, never()).save(any());
+		verify(transacaoRepository, never()).inserirEmLote(any());
 	}
 
 	@Test
@@ -102,7 +118,7 @@ class ContaServiceTest {
 			contaService.processarTransacoes(NUMERO_CONTA, requests);
 		});
 
-		verify(transacaoRepository, times(1)).save(any(Transacao.class));
+		verify(transacaoRepository, never()).inserirEmLote(any());
 
 		assertEquals(0, new BigDecimal("900.00").compareTo(contaMock.getSaldo()));
 	}
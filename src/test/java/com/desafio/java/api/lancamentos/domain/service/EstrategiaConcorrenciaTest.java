@@ -0,0 +1,146 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao.Medicao;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorDireto;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EstrategiaConcorrenciaTest {
+
+	private static final Logger log = LoggerFactory.getLogger(EstrategiaConcorrenciaTest.class);
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private GerenciadorContencao contencao;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private MetricasTransacoes metricas;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final String NUMERO_CONTA = "ESTRATEGIA-1";
+	private final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(SALDO_INICIAL));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	@Test
+	void atomicaDeveMapearLinhasAfetadasParaExcecoesDeNegocio() {
+		List<TransacaoRequest> creditoEDebitoAlto = List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("100.00"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("1100.00"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("1.00"));
+
+		Conta conta = contaService.processarTransacoesAtomicamente(NUMERO_CONTA, creditoEDebitoAlto.subList(0, 2));
+		assertEquals(0, BigDecimal.ZERO.compareTo(conta.getSaldo()));
+
+		SaldoInsuficienteException exception = assertThrows(SaldoInsuficienteException.class,
+				() -> contaService.processarTransacoesAtomicamente(NUMERO_CONTA, creditoEDebitoAlto));
+		assertTrue(exception.getMessage().contains("Saldo insuficiente"));
+
+		assertThrows(ContaNotFoundException.class,
+				() -> contaService.processarTransacoesAtomicamente("CONTA-INEXISTENTE", creditoEDebitoAlto));
+
+		assertEquals(0, BigDecimal.ZERO.compareTo(contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow().getSaldo()));
+		assertEquals(2, transacaoRepository.count());
+	}
+
+	@Test
+	void deveCompararAsEstrategiasSobContencao() throws InterruptedException {
+		CenarioContencao cenario = new CenarioContencao(20, 10);
+		List<TransacaoRequest> debito = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("1.00"));
+
+		Map<EstrategiaConcorrencia, Medicao> medicoes = new EnumMap<>(EstrategiaConcorrencia.class);
+		for (EstrategiaConcorrencia estrategia : EstrategiaConcorrencia.values()) {
+			ExecutorDireto executor = new ExecutorDireto(contaService, estrategia, contencao, metricas);
+			medicoes.put(estrategia, cenario.executar(estrategia.name().toLowerCase(),
+					() -> executor.executar(NUMERO_CONTA, debito)));
+		}
+
+		log.warn("--- COMPARATIVO: ESTRATEGIAS DE CONCORRENCIA ---");
+		medicoes.values().forEach(medicao -> log.warn("{}", medicao));
+		log.warn("------------------------------------------------");
+
+		assertEquals(0, medicoes.get(EstrategiaConcorrencia.PESSIMISTA).falhas());
+		assertEquals(0, medicoes.get(EstrategiaConcorrencia.ATOMICA).falhas());
+
+		int debitosComSucesso = medicoes.values().stream().mapToInt(Medicao::sucessos).sum();
+		BigDecimal saldoEsperado = SALDO_INICIAL.subtract(new BigDecimal(debitosComSucesso));
+
+		Conta contaFinal = contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+		assertEquals(0, saldoEsperado.compareTo(contaFinal.getSaldo()));
+		assertEquals(debitosComSucesso, transacaoRepository.count());
+	}
+
+	@Test
+	void otimistaDeveDesviarContaQuenteParaOLockPessimista() throws InterruptedException {
+		CenarioContencao cenario = new CenarioContencao(20, 10);
+		List<TransacaoRequest> debito = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("1.00"));
+
+		GerenciadorContencao desligado = new GerenciadorContencao(false, Duration.ofSeconds(10), 0.3, 20, 1_000, metricas);
+		ExecutorDireto semDesvio = new ExecutorDireto(contaService, EstrategiaConcorrencia.OTIMISTA, desligado, metricas);
+		ExecutorDireto adaptativo = new ExecutorDireto(contaService, EstrategiaConcorrencia.OTIMISTA, contencao, metricas);
+
+		Medicao puro = cenario.executar("otimista", () -> semDesvio.executar(NUMERO_CONTA, debito));
+		double desviosAntes = meterRegistry.counter("lancamentos.contencao.desvios").count();
+		Medicao comDesvio = cenario.executar("otimista-adaptativo", () -> adaptativo.executar(NUMERO_CONTA, debito));
+
+		log.warn("--- COMPARATIVO: OTIMISTA COM E SEM DESVIO POR CONTENCAO ---");
+		log.warn("{}", puro);
+		log.warn("{}", comDesvio);
+		log.warn("-----------------------------------------------------------");
+
+		assertTrue(contencao.emContencao(NUMERO_CONTA));
+		assertTrue(meterRegistry.counter("lancamentos.contencao.desvios").count() > desviosAntes);
+
+		int debitosComSucesso = puro.sucessos() + comDesvio.sucessos();
+		Conta contaFinal = contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+		assertEquals(0, SALDO_INICIAL.subtract(new BigDecimal(debitosComSucesso)).compareTo(contaFinal.getSaldo()));
+	}
+}
@@ -0,0 +1,51 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GerenciadorContencaoTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final AtomicLong agora = new AtomicLong();
+
+	@Test
+	void deveDesviarContaAcimaDoLimiarEVoltarQuandoOsConflitosSaemDaJanela() {
+		GerenciadorContencao contencao = novo(true, Duration.ofMillis(200));
+
+		assertFalse(contencao.emContencao("QUENTE"));
+		for (int i = 0; i < 10; i++) {
+			contencao.registrar("QUENTE", 3, 2);
+			contencao.registrar("FRIA", 1, 0);
+		}
+
+		assertTrue(contencao.emContencao("QUENTE"));
+		assertFalse(contencao.emContencao("FRIA"));
+		assertEquals(1, registry.counter("lancamentos.contencao.desvios").count());
+
+		agora.addAndGet(Duration.ofMillis(250).toNanos());
+		assertFalse(contencao.emContencao("QUENTE"));
+	}
+
+	@Test
+	void naoDeveDesviarComPoucasAmostrasOuDesligado() {
+		GerenciadorContencao contencao = novo(true, Duration.ofSeconds(10));
+		contencao.registrar("CONTA", 5, 4);
+		assertFalse(contencao.emContencao("CONTA"), "Abaixo de amostras-minimas");
+
+		GerenciadorContencao desligado = novo(false, Duration.ofSeconds(10));
+		for (int i = 0; i < 10; i++) {
+			desligado.registrar("CONTA", 5, 4);
+		}
+		assertFalse(desligado.emContencao("CONTA"));
+	}
+
+	private GerenciadorContencao novo(boolean habilitado, Duration janela) {
+		return new GerenciadorContencao(habilitado, janela, 0.3, 20, 1_000, new MetricasTransacoes(registry), agora::get);
+	}
+}
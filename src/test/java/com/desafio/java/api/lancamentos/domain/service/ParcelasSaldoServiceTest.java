@@ -0,0 +1,178 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao.Medicao;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ParcelaSaldoRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ParcelasSaldoServiceTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ParcelasSaldoServiceTest.class);
+
+	@Autowired
+	private ParcelasSaldoService parcelasSaldoService;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private ParcelaSaldoRepository parcelaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final String NUMERO_CONTA = "PARCELAS-1";
+	private final List<TransacaoRequest> CREDITO = List.of(new TransacaoRequest()
+			.tipo(TransacaoRequest.TipoEnum.CREDITO)
+			.valor("1.00"));
+
+	@BeforeEach
+	void setUp() {
+		limpar();
+		criarConta(NUMERO_CONTA, new BigDecimal("100.00"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		// Outras classes de teste apagam as contas sem conhecer as parcelas.
+		limpar();
+	}
+
+	@Test
+	void creditosConcorrentesNaoDevemConflitarNaContaParticionada() throws InterruptedException {
+		assertEquals(10_000, parcelasSaldoService.configurar(NUMERO_CONTA, 8).saldo());
+
+		Medicao medicao = new CenarioContencao(20, 10).executar("parcelas-8",
+				() -> contaService.processarTransacoes(NUMERO_CONTA, CREDITO));
+		log.warn("{}", medicao);
+
+		assertEquals(0, medicao.falhas());
+		assertEquals(10_000 + 100L * medicao.sucessos(), contaService.consultarSaldo(NUMERO_CONTA).saldo());
+		assertEquals(10_000, saldoNoBanco(), "Créditos em parcelas não deveriam escrever a linha da conta");
+		assertEquals(medicao.sucessos(), transacaoRepository.count());
+	}
+
+	@Test
+	void debitoMaiorQueOSaldoDaContaDeveConsolidarAsParcelas() {
+		parcelasSaldoService.configurar(NUMERO_CONTA, 4);
+		for (int i = 0; i < 50; i++) {
+			contaService.processarTransacoes(NUMERO_CONTA, CREDITO);
+		}
+		double antes = meterRegistry.counter("lancamentos.parcelas.consolidacoes").count();
+
+		List<TransacaoRequest> debito = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("120.00"));
+		assertEquals(3_000, contaService.processarTransacoes(NUMERO_CONTA, debito).getSaldoTotalEmCentavos());
+
+		assertEquals(3_000, saldoNoBanco());
+		assertEquals(0, BigDecimal.ZERO.compareTo(parcelaRepository.somarSaldo(contaId())));
+		assertEquals(antes + 1, meterRegistry.counter("lancamentos.parcelas.consolidacoes").count());
+
+		List<TransacaoRequest> debitoAlto = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("30.01"));
+		assertThrows(SaldoInsuficienteException.class, () -> contaService.processarTransacoes(NUMERO_CONTA, debitoAlto));
+		assertThrows(SaldoInsuficienteException.class, () -> contaService.processarTransacoesAtomicamente(NUMERO_CONTA, debitoAlto));
+		assertEquals(3_000, contaService.consultarSaldo(NUMERO_CONTA).saldo());
+	}
+
+	@Test
+	void estrategiaAtomicaDeveConsolidarQuandoOSaldoDaContaNaoBasta() {
+		parcelasSaldoService.configurar(NUMERO_CONTA, 2);
+		contaService.processarTransacoes(NUMERO_CONTA, List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.CREDITO)
+				.valor("50.00")));
+
+		List<TransacaoRequest> debito = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("130.00"));
+		assertEquals(2_000, contaService.processarTransacoesAtomicamente(NUMERO_CONTA, debito).getSaldoTotalEmCentavos());
+		assertEquals(2_000, saldoNoBanco());
+	}
+
+	@Test
+	void desligarParcelasDeveManterOSaldoTotal() {
+		parcelasSaldoService.configurar(NUMERO_CONTA, 8);
+		for (int i = 0; i < 10; i++) {
+			contaService.processarTransacoes(NUMERO_CONTA, CREDITO);
+		}
+
+		assertEquals(11_000, parcelasSaldoService.configurar(NUMERO_CONTA, 1).saldo());
+		assertEquals(11_000, saldoNoBanco());
+		assertEquals(0, parcelaRepository.count());
+
+		assertThrows(IllegalArgumentException.class, () -> parcelasSaldoService.configurar(NUMERO_CONTA, 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> parcelasSaldoService.configurar(NUMERO_CONTA, ParcelasSaldoService.PARCELAS_MAXIMO + 1));
+	}
+
+	@Test
+	void deveCompararCreditosComESemParcelas() throws InterruptedException {
+		CenarioContencao cenario = new CenarioContencao(20, 10);
+
+		Medicao semParcelas = cenario.executar("parcelas-1",
+				() -> contaService.processarTransacoes(NUMERO_CONTA, CREDITO));
+		parcelasSaldoService.configurar(NUMERO_CONTA, 16);
+		Medicao comParcelas = cenario.executar("parcelas-16",
+				() -> contaService.processarTransacoes(NUMERO_CONTA, CREDITO));
+
+		log.warn("--- COMPARATIVO: CONTA QUENTE COM E SEM PARCELAS ---");
+		log.warn("{}", semParcelas);
+		log.warn("{}", comParcelas);
+		log.warn("----------------------------------------------------");
+
+		assertEquals(0, comParcelas.falhas());
+		long creditos = semParcelas.sucessos() + comParcelas.sucessos();
+		assertEquals(10_000 + 100L * creditos, contaService.consultarSaldo(NUMERO_CONTA).saldo());
+		assertEquals(creditos, transacaoRepository.count());
+	}
+
+	private long saldoNoBanco() {
+		return contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow().getSaldoEmCentavos();
+	}
+
+	private Long contaId() {
+		return contaRepository.findIdByNumeroConta(NUMERO_CONTA).orElseThrow();
+	}
+
+	private void limpar() {
+		transacaoRepository.deleteAll();
+		parcelaRepository.deleteAll();
+		contaRepository.deleteAll();
+	}
+
+	private void criarConta(String numeroConta, BigDecimal saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(saldo));
+		contaRepository.saveAndFlush(conta);
+	}
+}
@@ -0,0 +1,197 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.RelatorioReconciliacao.Divergencia;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ParcelaSaldoRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.SaldoSnapshotRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = "lancamentos.reconciliacao.contas-por-particao=8")
+@ActiveProfiles("test")
+class ReconciliacaoServiceTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ReconciliacaoServiceTest.class);
+
+	private static final int CONTAS = 40;
+
+	@Autowired
+	private ReconciliacaoService reconciliacaoService;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private ParcelasSaldoService parcelasSaldoService;
+
+	@Autowired
+	private SaldoSnapshotService snapshotService;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private ParcelaSaldoRepository parcelaRepository;
+
+	@Autowired
+	private SaldoSnapshotRepository snapshotRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		limpar();
+		for (int i = 0; i < CONTAS; i++) {
+			criarConta("RECONCILIA-" + i, new BigDecimal(100 + i));
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		limpar();
+	}
+
+	@Test
+	void naoDeveApontarDivergenciasQuandoOsSaldosBatem() {
+		for (int i = 0; i < CONTAS; i++) {
+			contaService.processarTransacoes("RECONCILIA-" + i, List.of(
+					new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("10.25"),
+					new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("3.10")));
+		}
+		contaService.transferir("RECONCILIA-1", "RECONCILIA-2", "50.00");
+		parcelasSaldoService.configurar("RECONCILIA-3", 4);
+		for (int i = 0; i < 5; i++) {
+			contaService.processarTransacoes("RECONCILIA-3", List.of(
+					new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("1.00")));
+		}
+		Long contaComSnapshot = contaRepository.findIdByNumeroConta("RECONCILIA-4").orElseThrow();
+		snapshotService.registrar(contaComSnapshot, LocalDateTime.now().plusSeconds(1));
+
+		RelatorioReconciliacao relatorio = reconciliacaoService.reconciliar();
+
+		assertEquals(CONTAS, relatorio.contasVerificadas());
+		// Os 2 lançamentos da conta com snapshot ficam antes do corte.
+		assertEquals(transacaoRepository.count() - 2, relatorio.lancamentosLidos());
+		assertEquals(0, relatorio.totalDivergencias());
+		assertTrue(relatorio.divergencias().isEmpty());
+	}
+
+	@Test
+	void deveApontarContasComSaldoAlteradoForaDosLancamentos() {
+		contaService.processarTransacoes("RECONCILIA-5", List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("20.00")));
+		transactionTemplate.executeWithoutResult(status -> {
+			contaRepository.aplicarDeltaCondicional("RECONCILIA-5", new BigDecimal("0.01"), BigDecimal.ZERO);
+			contaRepository.aplicarDeltaCondicional("RECONCILIA-30", new BigDecimal("-7.00"), BigDecimal.ZERO);
+		});
+
+		RelatorioReconciliacao relatorio = reconciliacaoService.reconciliar();
+
+		assertEquals(2, relatorio.totalDivergencias());
+		assertEquals(List.of(
+						new Divergencia("RECONCILIA-5", 12_500, 12_501),
+						new Divergencia("RECONCILIA-30", 13_000, 12_300)),
+				relatorio.divergencias().stream()
+						.sorted((a, b) -> Long.compare(a.saldoEsperado(), b.saldoEsperado()))
+						.toList());
+		assertEquals(1, relatorio.divergencias().stream().filter(d -> d.diferenca() == 1).count());
+	}
+
+	@Test
+	void snapshotNaoDeveSubtrairUmCreditoEmParcelaQueNaoEstaNoSaldoLido() {
+		parcelasSaldoService.configurar("RECONCILIA-6", 4);
+		contaService.processarTransacoes("RECONCILIA-6", List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("5.00")));
+		Long contaId = contaRepository.findIdByNumeroConta("RECONCILIA-6").orElseThrow();
+		LocalDateTime corte = LocalDateTime.now().minusHours(1);
+
+		// Um crédito em parcela tenta entrar entre a leitura do saldo e a soma dos lançamentos.
+		// Com as parcelas bloqueadas ele espera o snapshot; sem o lock, faria commit no meio.
+		List<CompletableFuture<?>> creditos = new ArrayList<>();
+		TransacaoRepository lancamentos = mock(TransacaoRepository.class, delegatesTo(transacaoRepository));
+		doAnswer(invocacao -> {
+			CompletableFuture<?> credito = CompletableFuture.runAsync(() -> contaService.processarTransacoes("RECONCILIA-6",
+					List.of(new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("7.00"))));
+			creditos.add(credito);
+			try {
+				credito.get(500, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException esperado) {
+				// Bloqueado pelo lock das parcelas.
+			}
+			return transacaoRepository.somarDesde(contaId, corte);
+		}).when(lancamentos).somarDesde(contaId, corte);
+		SaldoSnapshotService snapshots = new SaldoSnapshotService(contaRepository, lancamentos, snapshotRepository,
+				parcelasSaldoService);
+
+		long noCorte = transactionTemplate.execute(status -> snapshots.registrar(contaId, corte));
+		creditos.forEach(CompletableFuture::join);
+
+		long posteriores = Centavos.de(transacaoRepository.somarDesde(contaId, corte));
+		assertEquals(contaRepository.findById(contaId).orElseThrow().getSaldoEmCentavos()
+				+ parcelasSaldoService.saldoDasParcelas(contaId), noCorte + posteriores);
+		assertEquals(0, reconciliacaoService.reconciliar().totalDivergencias());
+	}
+
+	@Test
+	void deveMedirAReconciliacaoDeUmVolumeMaior() {
+		List<TransacaoRequest> pedido = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			pedido.add(new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("0.03"));
+			pedido.add(new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("0.01"));
+		}
+		for (int i = 0; i < CONTAS; i++) {
+			contaService.processarTransacoes("RECONCILIA-" + i, pedido);
+		}
+
+		RelatorioReconciliacao relatorio = reconciliacaoService.reconciliar();
+		log.warn("Reconciliação: {} contas, {} lançamentos em {} ms ({} lançamentos/s)",
+				relatorio.contasVerificadas(), relatorio.lancamentosLidos(), relatorio.duracao().toMillis(),
+				relatorio.lancamentosLidos() * 1_000_000_000L / Math.max(1, relatorio.duracao().toNanos()));
+
+		assertEquals(CONTAS * 500L, relatorio.lancamentosLidos());
+		assertEquals(0, relatorio.totalDivergencias());
+	}
+
+	private void limpar() {
+		transacaoRepository.deleteAll();
+		parcelaRepository.deleteAll();
+		snapshotRepository.deleteAll();
+		contaRepository.deleteAll();
+	}
+
+	private void criarConta(String numeroConta, BigDecimal saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(saldo));
+		contaRepository.saveAndFlush(conta);
+	}
+}
@@ -0,0 +1,180 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.domain.service.ResumoPeriodo.Dia;
+import com.desafio.java.api.lancamentos.domain.service.ResumoPeriodo.Totais;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ResumoDiarioRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ResumoPendenteRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Consolidador agendado fora do caminho: os testes consolidam quando precisam.
+@SpringBootTest(properties = "lancamentos.resumos.intervalo=PT1H")
+@ActiveProfiles("test")
+class ResumoDiarioServiceTest {
+
+	private static final String CONTA = "RESUMO-1";
+	private static final String OUTRA_CONTA = "RESUMO-2";
+
+	@Autowired
+	private ResumoDiarioService resumoService;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private ResumoDiarioRepository resumoRepository;
+
+	@Autowired
+	private ResumoPendenteRepository pendenteRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		limpar();
+		criarConta(CONTA, new BigDecimal("1000.00"));
+		criarConta(OUTRA_CONTA, new BigDecimal("1000.00"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		limpar();
+	}
+
+	@Test
+	void deveManterOResumoAtualizadoAntesEDepoisDaConsolidacao() {
+		for (int i = 0; i < 3; i++) {
+			contaService.processarTransacoes(CONTA, List.of(
+					new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("10.50"),
+					new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("2.25"),
+					new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("1.00")));
+		}
+		contaService.transferir(CONTA, OUTRA_CONTA, "5.00");
+		LocalDate hoje = LocalDate.now();
+
+		ResumoPeriodo antes = resumoService.resumir(CONTA, hoje, hoje);
+		resumoService.consolidar();
+		ResumoPeriodo depois = resumoService.resumir(CONTA, hoje, hoje);
+
+		assertEquals(antes, depois);
+		assertEquals(new Totais(3, 3_150), depois.creditos());
+		assertEquals(new Totais(7, 1_475), depois.debitos());
+		assertEquals(1_675, depois.liquido());
+		assertEquals(List.of(new Dia(hoje, depois.creditos(), depois.debitos())), depois.dias());
+		assertEquals(new Totais(1, 500), resumoService.resumir(OUTRA_CONTA, hoje, hoje).creditos());
+		assertEquals(0, pendenteRepository.count());
+		assertEquals(3, resumoRepository.count());
+	}
+
+	@Test
+	void naoDeveSomarPendentesJaConsolidadosPorOutraInstancia() {
+		contaService.processarTransacoes(CONTA, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("10.00")));
+		LocalDate hoje = LocalDate.now();
+
+		// Outra instância: lê os mesmos pendentes e, antes do seu DELETE, esta consolida e faz commit.
+		ResumoPendenteRepository atrasado = mock(ResumoPendenteRepository.class, delegatesTo(pendenteRepository));
+		doAnswer(invocacao -> {
+			CompletableFuture.runAsync(resumoService::consolidar).join();
+			return pendenteRepository.removerPorIds(invocacao.getArgument(0));
+		}).when(atrasado).removerPorIds(anyCollection());
+		ResumoDiarioService outraInstancia = new ResumoDiarioService(contaRepository, transacaoRepository,
+				resumoRepository, atrasado, transactionManager, true, false, 1000);
+
+		assertEquals(0, outraInstancia.consolidar());
+
+		assertEquals(new Totais(1, 1_000), resumoService.resumir(CONTA, hoje, hoje).creditos());
+		assertEquals(0, pendenteRepository.count());
+	}
+
+	@Test
+	void devePreencherOHistoricoSemContarEmDobro() {
+		Conta conta = contaRepository.findByNumeroConta(CONTA).orElseThrow();
+		LocalDate hoje = LocalDate.now();
+		List<Transacao> historico = new ArrayList<>();
+		for (int dias = 1; dias <= 30; dias++) {
+			historico.add(new Transacao(conta, TipoTransacao.CREDITO, 1_000, hoje.minusDays(dias).atTime(10, 0)));
+			historico.add(new Transacao(conta, TipoTransacao.DEBITO, 250, hoje.minusDays(dias).atTime(18, 30)));
+		}
+		// saveAll não passa pelo registrarPendentes: é o histórico anterior à manutenção incremental.
+		transacaoRepository.saveAll(historico);
+		contaService.processarTransacoes(CONTA, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("1.00")));
+
+		assertEquals(hoje, resumoService.inicioManutencao());
+		assertEquals(60, resumoService.preencherHistorico());
+		assertEquals(0, resumoService.preencherHistorico(), "Reexecutar não cria linhas");
+		resumoService.consolidar();
+
+		ResumoPeriodo resumo = resumoService.resumir(CONTA, hoje.minusDays(365), hoje);
+		assertEquals(new Totais(31, 30_100), resumo.creditos());
+		assertEquals(new Totais(30, 7_500), resumo.debitos());
+		assertEquals(31, resumo.dias().size());
+		assertEquals(hoje.minusDays(30), resumo.dias().get(0).dia());
+
+		ResumoPeriodo semana = resumoService.resumir(CONTA, hoje.minusDays(7), hoje.minusDays(1));
+		assertEquals(new Totais(7, 7_000), semana.creditos());
+		assertEquals(new Totais(7, 1_750), semana.debitos());
+	}
+
+	@Test
+	void deveRejeitarPeriodoInvalidoOuContaInexistente() {
+		LocalDate hoje = LocalDate.now();
+
+		assertThrows(IllegalArgumentException.class, () -> resumoService.resumir(CONTA, hoje, hoje.minusDays(1)));
+		assertThrows(IllegalArgumentException.class,
+				() -> resumoService.resumir(CONTA, hoje.minusDays(ResumoDiarioService.MAXIMO_DIAS), hoje));
+		assertThrows(ContaNotFoundException.class, () -> resumoService.resumir("NAO-EXISTE", hoje, hoje));
+
+		ResumoPeriodo vazio = resumoService.resumir(CONTA, hoje.minusDays(ResumoDiarioService.MAXIMO_DIAS - 1), hoje);
+		assertEquals(new Totais(0, 0), vazio.creditos());
+		assertTrue(vazio.dias().isEmpty());
+	}
+
+	private void limpar() {
+		pendenteRepository.deleteAll();
+		resumoRepository.deleteAll();
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+	}
+
+	private void criarConta(String numeroConta, BigDecimal saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(saldo));
+		contaRepository.saveAndFlush(conta);
+	}
+}
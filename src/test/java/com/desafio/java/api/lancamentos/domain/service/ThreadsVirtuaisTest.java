@@ -0,0 +1,105 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao.Medicao;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorDireto;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ThreadsVirtuaisTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ThreadsVirtuaisTest.class);
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private GerenciadorContencao contencao;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private MetricasTransacoes metricas;
+
+	private final String NUMERO_CONTA = "VIRTUAL-1";
+	private final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(SALDO_INICIAL));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	@Test
+	void naoDeveFixarThreadsVirtuaisNoCaminhoJdbc() throws Exception {
+		ExecutorDireto executor = new ExecutorDireto(contaService, EstrategiaConcorrencia.PESSIMISTA, contencao, metricas);
+		List<TransacaoRequest> debito = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("1.00"));
+
+		Medicao plataforma = new CenarioContencao(40, 5, false)
+				.executar("plataforma", () -> executor.executar(NUMERO_CONTA, debito));
+
+		Path arquivo = Files.createTempFile("pinned", ".jfr");
+		Medicao virtuais;
+		try (Recording recording = new Recording()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+
+			virtuais = new CenarioContencao(40, 5, true)
+					.executar("virtuais", () -> executor.executar(NUMERO_CONTA, debito));
+
+			recording.stop();
+			recording.dump(arquivo);
+		}
+
+		List<RecordedEvent> fixacoes = RecordingFile.readAllEvents(arquivo);
+		Files.deleteIfExists(arquivo);
+
+		log.warn("--- COMPARATIVO: THREADS DE PLATAFORMA x VIRTUAIS ---");
+		log.warn("{}", plataforma);
+		log.warn("{}", virtuais);
+		fixacoes.forEach(evento -> log.warn("thread virtual fixada: {}", evento));
+		log.warn("-----------------------------------------------------");
+
+		assertEquals(0, plataforma.falhas());
+		assertEquals(0, virtuais.falhas());
+		assertTrue(fixacoes.isEmpty(), "Threads virtuais fixadas na carrier: " + fixacoes.size());
+
+		Conta contaFinal = contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+		assertEquals(0, SALDO_INICIAL.subtract(new BigDecimal(400)).compareTo(contaFinal.getSaldo()));
+	}
+}
@@ -0,0 +1,131 @@
+package com.desafio.java.api.lancamentos.domain.service;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferenciaConcorrenciaTest {
+
+	private static final Logger log = LoggerFactory.getLogger(TransferenciaConcorrenciaTest.class);
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final String CONTA_A = "TRANSFERENCIA-A";
+	private final String CONTA_B = "TRANSFERENCIA-B";
+	private final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+	private final String VALOR_TRANSFERENCIA = "1.00";
+	private final int NUMERO_THREADS = 20;
+	private final int TRANSFERENCIAS_POR_THREAD = 10;
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		criarConta(CONTA_A);
+		criarConta(CONTA_B);
+	}
+
+	@Test
+	void transferenciasOpostasSimultaneasNaoDevemEntrarEmDeadlockNemFalhar() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(NUMERO_THREADS);
+
+		CountDownLatch startGate = new CountDownLatch(1);
+		CountDownLatch finishGate = new CountDownLatch(NUMERO_THREADS);
+
+		AtomicInteger falhas = new AtomicInteger(0);
+
+		for (int i = 0; i < NUMERO_THREADS; i++) {
+			// Metade das threads transfere A→B, a outra metade B→A.
+			boolean deAParaB = i % 2 == 0;
+			int threadNum = i + 1;
+			executor.submit(() -> {
+				try {
+					startGate.await();
+					for (int t = 0; t < TRANSFERENCIAS_POR_THREAD; t++) {
+						if (deAParaB) {
+							contaService.transferir(CONTA_A, CONTA_B, VALOR_TRANSFERENCIA);
+						} else {
+							contaService.transferir(CONTA_B, CONTA_A, VALOR_TRANSFERENCIA);
+						}
+					}
+				} catch (Exception e) {
+					log.warn("Thread {} falhou: {}", threadNum, e.getMessage());
+					falhas.incrementAndGet();
+				} finally {
+					finishGate.countDown();
+				}
+			});
+		}
+
+		log.info("Disparando {} threads (A→B e B→A)...", NUMERO_THREADS);
+		startGate.countDown();
+
+		if (!finishGate.await(60, TimeUnit.SECONDS)) {
+			fail("Timeout - possível deadlock entre transferências opostas.");
+		}
+
+		executor.shutdown();
+
+		int transferencias = NUMERO_THREADS * TRANSFERENCIAS_POR_THREAD;
+
+		log.warn("--- RELATÓRIO DE TRANSFERÊNCIAS CONCORRENTES ---");
+		log.warn("Transferências: {} | Falhas: {}", transferencias, falhas.get());
+		log.warn("-----------------------------------------------");
+
+		assertEquals(0, falhas.get(), "Nenhuma transferência deveria falhar (sem deadlock nem retries esgotados).");
+
+		// Mesmo número de transferências em cada sentido: os saldos voltam ao inicial.
+		assertEquals(0, SALDO_INICIAL.compareTo(saldo(CONTA_A)));
+		assertEquals(0, SALDO_INICIAL.compareTo(saldo(CONTA_B)));
+
+		assertEquals(transferencias * 2L, transacaoRepository.count());
+		assertEquals(transferencias, jdbcTemplate.queryForObject(
+				"select count(*) from (select id_correlacao from transacao group by id_correlacao "
+						+ "having count(*) = 2 and count(distinct tipo) = 2 and count(distinct conta_id) = 2)",
+				Integer.class));
+	}
+
+	private BigDecimal saldo(String numeroConta) {
+		return contaRepository.findByNumeroConta(numeroConta).orElseThrow().getSaldo();
+	}
+
+	private void criarConta(String numeroConta) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(SALDO_INICIAL));
+		contaRepository.saveAndFlush(conta);
+	}
+}
@@ -0,0 +1,154 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.SaldoConta;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao.Medicao;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.EstrategiaConcorrencia;
+import com.desafio.java.api.lancamentos.domain.service.GerenciadorContencao;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExecutorGroupCommitTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutorGroupCommitTest.class);
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private GerenciadorContencao contencao;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private MetricasTransacoes metricas;
+
+	private ExecutorGroupCommit groupCommit;
+
+	private final String NUMERO_CONTA = "GROUP-COMMIT-1";
+	private final List<TransacaoRequest> DEBITO = List.of(new TransacaoRequest()
+			.tipo(TransacaoRequest.TipoEnum.DEBITO)
+			.valor("1.00"));
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		groupCommit = new ExecutorGroupCommit(contaService, metricas, Duration.ofMillis(5), 128);
+	}
+
+	@Test
+	void deveRejeitarSomenteOsPedidosSemSaldo() throws InterruptedException {
+		criarConta(new BigDecimal("10.00"));
+
+		Medicao medicao = new CenarioContencao(20, 1)
+				.executar("group-commit", () -> groupCommit.executar(NUMERO_CONTA, DEBITO));
+
+		assertEquals(10, medicao.sucessos());
+		assertEquals(10, medicao.falhas());
+		assertEquals(0, BigDecimal.ZERO.compareTo(buscarConta().getSaldo()));
+		assertEquals(10, transacaoRepository.count());
+	}
+
+	@Test
+	void deveReduzirONumeroDeCommitsNaContaQuente() throws InterruptedException {
+		criarConta(new BigDecimal("100000.00"));
+		CenarioContencao cenario = new CenarioContencao(50, 10);
+		ExecutorDireto direto = new ExecutorDireto(contaService, EstrategiaConcorrencia.OTIMISTA, contencao, metricas);
+
+		long versaoInicial = versaoAtual();
+		Medicao otimista = cenario.executar("otimista", () -> direto.executar(NUMERO_CONTA, DEBITO));
+		long commitsOtimista = versaoAtual() - versaoInicial;
+
+		versaoInicial = versaoAtual();
+		Medicao agrupado = cenario.executar("group-commit", () -> groupCommit.executar(NUMERO_CONTA, DEBITO));
+		long commitsAgrupado = versaoAtual() - versaoInicial;
+
+		log.warn("--- COMPARATIVO: GROUP COMMIT ---");
+		log.warn("{} commits={}", otimista, commitsOtimista);
+		log.warn("{} commits={}", agrupado, commitsAgrupado);
+		log.warn("---------------------------------");
+
+		assertEquals(0, agrupado.falhas());
+		assertTrue(commitsAgrupado * 2 < agrupado.operacoes(),
+				"Esperava menos commits que requisições, mas houve " + commitsAgrupado);
+
+		int debitosComSucesso = otimista.sucessos() + agrupado.sucessos();
+		BigDecimal saldoEsperado = new BigDecimal("100000.00").subtract(new BigDecimal(debitosComSucesso));
+		assertEquals(0, saldoEsperado.compareTo(buscarConta().getSaldo()));
+		assertEquals(debitosComSucesso, transacaoRepository.count());
+	}
+
+	@Test
+	void deveFalharTodoOGrupoQuandoOCommitLancaError() throws Exception {
+		ContaService falho = mock(ContaService.class);
+		when(falho.processarLote(eq(NUMERO_CONTA), anyList())).thenThrow(new AssertionError("falha no commit"));
+		ExecutorGroupCommit executor = new ExecutorGroupCommit(falho, metricas, Duration.ofMillis(200), 128);
+
+		ExecutorService threads = Executors.newFixedThreadPool(3);
+		try {
+			List<Future<SaldoConta>> pedidos = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				pedidos.add(threads.submit(() -> executor.executar(NUMERO_CONTA, DEBITO)));
+			}
+			for (Future<SaldoConta> pedido : pedidos) {
+				ExecutionException erro = assertThrows(ExecutionException.class, () -> pedido.get(5, TimeUnit.SECONDS));
+				assertInstanceOf(IllegalStateException.class, erro.getCause());
+				assertInstanceOf(AssertionError.class, erro.getCause().getCause());
+			}
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	private void criarConta(BigDecimal saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(saldo));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	private Conta buscarConta() {
+		return contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+	}
+
+	private long versaoAtual() {
+		return (Long) ReflectionTestUtils.getField(buscarConta(), "version");
+	}
+}
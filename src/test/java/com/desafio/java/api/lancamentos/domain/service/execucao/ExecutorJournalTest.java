@@ -0,0 +1,290 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.exception.ContaNotFoundException;
+import com.desafio.java.api.lancamentos.domain.exception.EscritaIndisponivelException;
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao.Medicao;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.ParcelasSaldoService;
+import com.desafio.java.api.lancamentos.infrastructure.journal.JournalLancamentos;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.CheckpointJournalRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ParcelaSaldoRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExecutorJournalTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutorJournalTest.class);
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private CheckpointJournalRepository checkpointRepository;
+
+	@Autowired
+	private ParcelaSaldoRepository parcelaRepository;
+
+	@Autowired
+	private ParcelasSaldoService parcelasSaldoService;
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private GravadorCheckpoint gravadorCheckpoint;
+
+	@Autowired
+	private MetricasTransacoes metricas;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@TempDir
+	Path diretorio;
+
+	private ExecutorJournal executor;
+
+	private final String NUMERO_CONTA = "JOURNAL-1";
+	private final List<TransacaoRequest> CREDITO = List.of(new TransacaoRequest()
+			.tipo(TransacaoRequest.TipoEnum.CREDITO)
+			.valor("10.00"));
+	private final List<TransacaoRequest> DEBITO = List.of(new TransacaoRequest()
+			.tipo(TransacaoRequest.TipoEnum.DEBITO)
+			.valor("1.00"));
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		parcelaRepository.deleteAll();
+		contaRepository.deleteAll();
+		checkpointRepository.deleteAll();
+		criarConta(NUMERO_CONTA, new BigDecimal("100.00"));
+
+		executor = iniciarExecutor();
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.encerrar();
+	}
+
+	@Test
+	void deveResponderDaMemoriaEGravarNoBancoApenasNoCheckpoint() throws IOException {
+		assertEquals(11_000, executor.executar(NUMERO_CONTA, CREDITO).saldo());
+		assertEquals(10_900, executor.executar(NUMERO_CONTA, DEBITO).saldo());
+
+		assertEquals(10_900, executor.consultarSaldo(NUMERO_CONTA).orElseThrow().saldo());
+		assertEquals(10_000, saldoNoBanco(NUMERO_CONTA));
+		assertEquals(0, transacaoRepository.count());
+
+		executor.checkpoint();
+
+		assertEquals(10_900, saldoNoBanco(NUMERO_CONTA));
+		assertEquals(2, transacaoRepository.count());
+		assertEquals(2, checkpointRepository.findAll().get(0).getSequencia());
+		assertEquals(1, segmentos(), "Somente o segmento atual deveria restar");
+	}
+
+	@Test
+	void deveRejeitarPedidoInvalidoSemGravarNoJournal() {
+		List<TransacaoRequest> debitoAlto = List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("5.00"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("500.00"));
+
+		assertThrows(SaldoInsuficienteException.class, () -> executor.executar(NUMERO_CONTA, debitoAlto));
+		assertThrows(ContaNotFoundException.class, () -> executor.executar("JOURNAL-INEXISTENTE", CREDITO));
+
+		assertEquals(10_000, executor.consultarSaldo(NUMERO_CONTA).orElseThrow().saldo());
+		executor.checkpoint();
+		assertEquals(0, transacaoRepository.count());
+	}
+
+	@Test
+	void deveReaplicarOJournalAposUmaQuedaSemCheckpoint() {
+		for (int i = 0; i < 20; i++) {
+			executor.executar(NUMERO_CONTA, CREDITO);
+		}
+		executor.checkpoint();
+		for (int i = 0; i < 5; i++) {
+			executor.executar(NUMERO_CONTA, DEBITO);
+		}
+
+		// Queda: o processo some sem o checkpoint final; só o que está no journal sobrevive.
+		((JournalLancamentos) ReflectionTestUtils.getField(executor, "journal")).close();
+		assertEquals(30_000, saldoNoBanco(NUMERO_CONTA));
+		assertEquals(20, transacaoRepository.count());
+
+		executor = iniciarExecutor();
+
+		assertEquals(29_500, saldoNoBanco(NUMERO_CONTA));
+		assertEquals(25, transacaoRepository.count());
+		assertEquals(25, checkpointRepository.findAll().get(0).getSequencia());
+
+		// O journal continua a partir da última sequência reaplicada.
+		assertEquals(30_500, executor.executar(NUMERO_CONTA, CREDITO).saldo());
+		executor.checkpoint();
+		assertEquals(26, checkpointRepository.findAll().get(0).getSequencia());
+	}
+
+	@Test
+	void falhaNoFsyncDeveDescartarOSaldoEmMemoria() throws IOException {
+		executor.executar(NUMERO_CONTA, CREDITO);
+
+		// O canal do segmento fechado por fora: o próximo write do gravador falha.
+		JournalLancamentos journal = (JournalLancamentos) ReflectionTestUtils.getField(executor, "journal");
+		((FileChannel) ReflectionTestUtils.getField(journal, "canal")).close();
+
+		assertThrows(IllegalStateException.class, () -> executor.executar(NUMERO_CONTA, CREDITO));
+		assertTrue(journal.falhou());
+
+		// O segundo crédito nunca chegou ao disco: o saldo não é mais servido da memória.
+		assertTrue(executor.consultarSaldo(NUMERO_CONTA).isEmpty());
+		assertThrows(IllegalStateException.class, () -> executor.executar(NUMERO_CONTA, DEBITO));
+
+		// O checkpoint grava só o primeiro crédito e não traz o segundo de volta para a memória.
+		executor.checkpoint();
+		assertEquals(11_000, saldoNoBanco(NUMERO_CONTA));
+		assertEquals(1, transacaoRepository.count());
+		assertEquals(1, checkpointRepository.findAll().get(0).getSequencia());
+		assertTrue(executor.consultarSaldo(NUMERO_CONTA).isEmpty());
+	}
+
+	@Test
+	void deveRecusarEscritasForaDoJournal() {
+		EscritaIndisponivelException erro = assertThrows(EscritaIndisponivelException.class,
+				() -> executor.verificarEscritaDireta("transferência"));
+		assertTrue(erro.getMessage().contains("transferência"));
+	}
+
+	@Test
+	void contaComParcelasDeveSerCarregadaComOSaldoTotal() {
+		// Parcelas configuradas antes de o modo journal assumir a conta.
+		executor.encerrar();
+		parcelasSaldoService.configurar(NUMERO_CONTA, 4);
+		for (int i = 0; i < 3; i++) {
+			contaService.processarTransacoes(NUMERO_CONTA, CREDITO);
+		}
+		executor = iniciarExecutor();
+
+		// O débito só é coberto somando as parcelas (100,00 + 30,00).
+		List<TransacaoRequest> debitoAlto = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("120.00"));
+		assertEquals(1_000, executor.executar(NUMERO_CONTA, debitoAlto).saldo());
+		assertEquals(1_000, executor.consultarSaldo(NUMERO_CONTA).orElseThrow().saldo());
+
+		Conta conta = contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+		assertFalse(conta.isParticionada());
+		assertEquals(0, parcelaRepository.count());
+
+		executor.checkpoint();
+		assertEquals(1_000, saldoNoBanco(NUMERO_CONTA));
+	}
+
+	@Test
+	void naoDeveGravarCheckpointQueDeixariaOSaldoNegativo() {
+		executor.executar(NUMERO_CONTA, List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("90.00")));
+
+		// Escrita que não passou pelo journal: o saldo do banco diverge do saldo em memória.
+		Conta conta = contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+		conta.ajustarSaldo(-5_000);
+		contaRepository.saveAndFlush(conta);
+
+		assertThrows(IllegalStateException.class, executor::checkpoint);
+		assertEquals(5_000, saldoNoBanco(NUMERO_CONTA));
+		assertEquals(0, transacaoRepository.count());
+		assertEquals(0, checkpointRepository.findAll().get(0).getSequencia());
+
+		// O journal é mantido: com o banco corrigido, o checkpoint seguinte grava o registro.
+		conta = contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+		conta.ajustarSaldo(5_000);
+		contaRepository.saveAndFlush(conta);
+		executor.checkpoint();
+		assertEquals(1_000, saldoNoBanco(NUMERO_CONTA));
+	}
+
+	@Test
+	void deveLiberarContasOciosasDaMemoria() {
+		executor.executar(NUMERO_CONTA, CREDITO);
+		executor.checkpoint();
+		assertTrue(executor.consultarSaldo(NUMERO_CONTA).isPresent());
+
+		executor.checkpoint();
+		assertTrue(executor.consultarSaldo(NUMERO_CONTA).isEmpty());
+		assertEquals(11_000, saldoNoBanco(NUMERO_CONTA));
+	}
+
+	@Test
+	void deveProcessarContaQuenteSemConflitos() throws InterruptedException {
+		criarConta("JOURNAL-QUENTE", new BigDecimal("1000.00"));
+
+		Medicao medicao = new CenarioContencao(20, 25).executar("journal",
+				() -> executor.executar("JOURNAL-QUENTE", DEBITO));
+		log.warn("{}", medicao);
+
+		assertEquals(0, medicao.falhas());
+		executor.checkpoint();
+		assertEquals(100_000 - 100L * medicao.sucessos(), saldoNoBanco("JOURNAL-QUENTE"));
+		assertEquals(medicao.sucessos(), transacaoRepository.count());
+	}
+
+	private ExecutorJournal iniciarExecutor() {
+		ExecutorJournal novo = new ExecutorJournal(contaRepository, parcelasSaldoService, gravadorCheckpoint,
+				metricas, meterRegistry,
+				diretorio, DataSize.ofKilobytes(1), 1_000);
+		novo.afterSingletonsInstantiated();
+		return novo;
+	}
+
+	private long saldoNoBanco(String numeroConta) {
+		return contaRepository.findByNumeroConta(numeroConta).orElseThrow().getSaldoEmCentavos();
+	}
+
+	private long segmentos() throws IOException {
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			return arquivos.filter(arquivo -> arquivo.toString().endsWith(".log")).count();
+		}
+	}
+
+	private void criarConta(String numeroConta, BigDecimal saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(saldo));
+		contaRepository.saveAndFlush(conta);
+	}
+}
@@ -0,0 +1,116 @@
+package com.desafio.java.api.lancamentos.domain.service.execucao;
+
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao;
+import com.desafio.java.api.lancamentos.domain.service.CenarioContencao.Medicao;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.EstrategiaConcorrencia;
+import com.desafio.java.api.lancamentos.domain.service.GerenciadorContencao;
+import com.desafio.java.api.lancamentos.infrastructure.metrics.MetricasTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExecutorSingleWriterTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ExecutorSingleWriterTest.class);
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private GerenciadorContencao contencao;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private MetricasTransacoes metricas;
+
+	private ExecutorSingleWriter singleWriter;
+
+	private final String NUMERO_CONTA = "SINGLE-WRITER-1";
+	private final BigDecimal SALDO_INICIAL = new BigDecimal("100000.00");
+	private final List<TransacaoRequest> DEBITO = List.of(new TransacaoRequest()
+			.tipo(TransacaoRequest.TipoEnum.DEBITO)
+			.valor("1.00"));
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+		criarConta(NUMERO_CONTA, SALDO_INICIAL);
+
+		singleWriter = new ExecutorSingleWriter(contaService, metricas, 4, 64, 10_000, true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		singleWriter.encerrar();
+	}
+
+	@Test
+	void deveRejeitarApenasOPedidoSemSaldoDentroDoLote() {
+		criarConta("SINGLE-WRITER-2", new BigDecimal("10.00"));
+
+		List<TransacaoRequest> debitoAlto = List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("50.00"));
+
+		assertThrows(SaldoInsuficienteException.class,
+				() -> singleWriter.executar("SINGLE-WRITER-2", debitoAlto));
+
+		assertEquals(900, singleWriter.executar("SINGLE-WRITER-2", DEBITO).saldo());
+	}
+
+	@Test
+	void deveProcessarContaQuenteSemConflitosEComparar() throws InterruptedException {
+		ExecutorDireto direto = new ExecutorDireto(contaService, EstrategiaConcorrencia.OTIMISTA, contencao, metricas);
+		CenarioContencao cenario = new CenarioContencao(20, 25);
+
+		Medicao otimista = cenario.executar("otimista", () -> direto.executar(NUMERO_CONTA, DEBITO));
+		Medicao shard = cenario.executar("single-writer", () -> singleWriter.executar(NUMERO_CONTA, DEBITO));
+
+		log.warn("--- COMPARATIVO: CONTA QUENTE ---");
+		log.warn("{}", otimista);
+		log.warn("{}", shard);
+		log.warn("---------------------------------");
+
+		assertEquals(0, shard.falhas(), "O motor single-writer não deveria gerar conflitos.");
+
+		int debitosComSucesso = otimista.sucessos() + shard.sucessos();
+		BigDecimal saldoEsperado = SALDO_INICIAL.subtract(new BigDecimal(debitosComSucesso));
+
+		Conta contaFinal = contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow();
+		assertEquals(0, saldoEsperado.compareTo(contaFinal.getSaldo()));
+		assertEquals(debitosComSucesso, transacaoRepository.count());
+	}
+
+	private void criarConta(String numeroConta, BigDecimal saldo) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(saldo));
+		contaRepository.saveAndFlush(conta);
+	}
+}
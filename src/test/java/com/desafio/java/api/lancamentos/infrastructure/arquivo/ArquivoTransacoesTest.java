@@ -0,0 +1,137 @@
+package com.desafio.java.api.lancamentos.infrastructure.arquivo;
+
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+import com.desafio.java.api.lancamentos.domain.model.LinhaArquivada;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArquivoTransacoesTest {
+
+	private static final LocalDate DIA_1 = LocalDate.of(2024, 3, 1);
+	private static final LocalDate DIA_2 = LocalDate.of(2024, 3, 2);
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void deveBuscarLancamentosDaContaNaOrdemDoExtrato() {
+		ArquivoTransacoes arquivo = new ArquivoTransacoes(diretorio, true);
+		arquivo.gravar(DIA_1, linhasDoDia(DIA_1, 1, 40));
+		arquivo.gravar(DIA_2, linhasDoDia(DIA_2, 1_000, 40));
+
+		List<ItemExtrato> conta7 = arquivo.buscar(7, null, null, 100);
+
+		// 1 de cada 4 linhas é da conta 7 (contas 5..8 alternadas), 10 por dia
+		assertEquals(20, conta7.size());
+		for (int i = 1; i < conta7.size(); i++) {
+			ItemExtrato anterior = conta7.get(i - 1);
+			ItemExtrato item = conta7.get(i);
+			int ordem = item.dataHoraProcessamento().compareTo(anterior.dataHoraProcessamento());
+			assertTrue(ordem < 0 || (ordem == 0 && item.id() < anterior.id()), "Fora de ordem: " + item);
+		}
+		assertEquals(DIA_2, conta7.get(0).dataHoraProcessamento().toLocalDate());
+		assertEquals(DIA_1, conta7.get(19).dataHoraProcessamento().toLocalDate());
+		assertTrue(arquivo.buscar(99, null, null, 100).isEmpty());
+		assertEquals(DIA_2.plusDays(1).atStartOfDay(), arquivo.limiteSuperior().orElseThrow());
+	}
+
+	@Test
+	void devePaginarPeloCursorAtravessandoDias() {
+		ArquivoTransacoes arquivo = new ArquivoTransacoes(diretorio, true);
+		arquivo.gravar(DIA_1, linhasDoDia(DIA_1, 1, 40));
+		arquivo.gravar(DIA_2, linhasDoDia(DIA_2, 1_000, 40));
+
+		List<ItemExtrato> todos = new ArrayList<>();
+		List<ItemExtrato> pagina = arquivo.buscar(5, null, null, 3);
+		while (!pagina.isEmpty()) {
+			todos.addAll(pagina);
+			ItemExtrato ultimo = pagina.get(pagina.size() - 1);
+			pagina = arquivo.buscar(5, ultimo.dataHoraProcessamento(), ultimo.id(), 3);
+		}
+
+		assertEquals(arquivo.buscar(5, null, null, 100), todos);
+	}
+
+	@Test
+	void regravarODiaDeveJuntarSemRepetirEPersistirEntreInstancias() throws IOException {
+		UUID correlacao = UUID.randomUUID();
+		List<LinhaArquivada> linhasDoDia = linhasDoDia(DIA_1, 1, 15);
+		List<LinhaArquivada> primeiras = linhasDoDia.subList(0, 10);
+		List<LinhaArquivada> segundas = new ArrayList<>(linhasDoDia.subList(5, 15)); // ids 6..10 repetidos
+		segundas.add(new LinhaArquivada(500L, 5L, TipoTransacao.DEBITO, 1_234,
+				DIA_1.atTime(23, 59, 59, 999_999_999), correlacao));
+
+		ArquivoTransacoes arquivo = new ArquivoTransacoes(diretorio, true);
+		arquivo.gravar(DIA_1, primeiras);
+		arquivo.gravar(DIA_1, segundas);
+		assertEquals(16, arquivo.ler(DIA_1).size());
+
+		ArquivoTransacoes reaberto = new ArquivoTransacoes(diretorio, true);
+		List<LinhaArquivada> linhas = reaberto.ler(DIA_1);
+		assertEquals(16, linhas.size());
+		assertEquals(16, linhas.stream().map(LinhaArquivada::id).distinct().count());
+		LinhaArquivada transferencia = linhas.stream().filter(linha -> linha.id() == 500L).findFirst().orElseThrow();
+		assertEquals(new LinhaArquivada(500L, 5L, TipoTransacao.DEBITO, 1_234,
+				DIA_1.atTime(23, 59, 59, 999_999_999), correlacao), transferencia);
+
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			assertEquals(List.of("transacoes-2024-03-01.seg"),
+					arquivos.map(caminho -> caminho.getFileName().toString()).toList());
+		}
+	}
+
+	@Test
+	void regravarDeveIntercalarAsContasNovasComAsDoSegmento() {
+		ArquivoTransacoes arquivo = new ArquivoTransacoes(diretorio, true);
+		arquivo.gravar(DIA_1, List.of(linha(1, 1), linha(2, 3), linha(3, 9)));
+		arquivo.gravar(DIA_1, List.of(linha(4, 2), linha(5, 3), linha(2, 3)).iterator());
+
+		List<LinhaArquivada> linhas = arquivo.ler(DIA_1);
+		assertEquals(List.of(1L, 2L, 3L, 3L, 9L), linhas.stream().map(LinhaArquivada::contaId).toList());
+		assertEquals(List.of(1L, 4L, 5L, 2L, 3L), linhas.stream().map(LinhaArquivada::id).toList());
+		assertEquals(List.of(5L, 2L), arquivo.buscar(3, null, null, 10).stream().map(ItemExtrato::id).toList());
+		assertEquals(List.of(3L), arquivo.buscar(9, null, null, 10).stream().map(ItemExtrato::id).toList());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> arquivo.gravar(DIA_2, List.of(linha(6, 3), linha(7, 1)).iterator()));
+		assertEquals(5, new ArquivoTransacoes(diretorio, true).ler(DIA_1).size());
+	}
+
+	@Test
+	void desabilitadoNaoDeveLerSegmentosExistentes() {
+		new ArquivoTransacoes(diretorio, true).gravar(DIA_1, linhasDoDia(DIA_1, 1, 10));
+
+		ArquivoTransacoes desabilitado = new ArquivoTransacoes(diretorio, false);
+		assertTrue(desabilitado.limiteSuperior().isEmpty());
+		assertTrue(desabilitado.buscar(5, null, null, 10).isEmpty());
+	}
+
+	private static LinhaArquivada linha(long id, long contaId) {
+		return new LinhaArquivada(id, contaId, TipoTransacao.CREDITO, 100L, DIA_1.atTime(10, 0).plusMinutes(id), null);
+	}
+
+	/** Linhas com ids a partir de {@code primeiroId}, de contas 5 a 8 alternadas, a cada 30 minutos. */
+	private static List<LinhaArquivada> linhasDoDia(LocalDate dia, long primeiroId, int quantidade) {
+		List<LinhaArquivada> linhas = new ArrayList<>();
+		LocalDateTime inicio = dia.atStartOfDay();
+		for (int i = 0; i < quantidade; i++) {
+			TipoTransacao tipo = i % 2 == 0 ? TipoTransacao.CREDITO : TipoTransacao.DEBITO;
+			linhas.add(new LinhaArquivada(primeiroId + i, 5L + i % 4, tipo, 100L + i,
+					inicio.plusMinutes(30L * (i / 2)), null));
+		}
+		return linhas;
+	}
+}
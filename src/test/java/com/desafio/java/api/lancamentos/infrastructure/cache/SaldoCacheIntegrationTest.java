@@ -0,0 +1,94 @@
+package com.desafio.java.api.lancamentos.infrastructure.cache;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SaldoCacheIntegrationTest {
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private SaldoCache saldoCache;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final String NUMERO_CONTA = "CACHE-1";
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal("100.00")));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	@Test
+	void deveServirLeiturasRepetidasDoCacheEAtualizarAposOCommit() {
+		CacheStats antes = saldoCache.estatisticas();
+
+		assertEquals(10000, contaService.consultarSaldo(NUMERO_CONTA).saldo());
+		assertEquals(10000, contaService.consultarSaldo(NUMERO_CONTA).saldo());
+
+		CacheStats depoisDasLeituras = saldoCache.estatisticas().minus(antes);
+		assertEquals(1, depoisDasLeituras.missCount());
+		assertEquals(1, depoisDasLeituras.hitCount());
+
+		contaService.processarTransacoes(NUMERO_CONTA, List.of(new TransacaoRequest()
+				.tipo(TransacaoRequest.TipoEnum.DEBITO)
+				.valor("30.00")));
+
+		assertEquals(7000, contaService.consultarSaldo(NUMERO_CONTA).saldo());
+		assertEquals(1, saldoCache.estatisticas().minus(antes).missCount(),
+				"O commit deveria ter atualizado o cache (write-through), sem novo miss.");
+	}
+
+	@Test
+	void naoDeveGuardarLeituraDeTransacaoDesfeita() {
+		// Uma leitura dentro de uma transação pode ver as próprias escritas, que o rollback desfaz.
+		Conta outra = new Conta();
+		ReflectionTestUtils.setField(outra, "numeroConta", "CACHE-ROLLBACK");
+		ReflectionTestUtils.setField(outra, "saldo", 10000L);
+		contaRepository.saveAndFlush(outra);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			contaService.processarTransacoes("CACHE-ROLLBACK", List.of(new TransacaoRequest()
+					.tipo(TransacaoRequest.TipoEnum.DEBITO)
+					.valor("30.00")));
+			assertEquals(7000, contaService.consultarSaldo("CACHE-ROLLBACK").saldo());
+			status.setRollbackOnly();
+		});
+
+		assertTrue(saldoCache.buscar("CACHE-ROLLBACK").isEmpty());
+		assertEquals(10000, contaService.consultarSaldo("CACHE-ROLLBACK").saldo());
+	}
+}
@@ -0,0 +1,61 @@
+package com.desafio.java.api.lancamentos.infrastructure.cache;
+
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.LinhaSaldo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class SaldoCacheTest {
+
+	@Mock
+	private ObjectProvider<MeterRegistry> semMetricas;
+
+	private final String NUMERO_CONTA = "CACHE-1";
+
+	@Test
+	void naoDeveSubstituirVersaoMaisNovaPorMaisAntiga() {
+		SaldoCache cache = new SaldoCache(true, 10, Duration.ofMinutes(1), semMetricas);
+
+		cache.atualizar(conta(5000, 2L));
+		cache.atualizar(conta(9000, 1L));
+
+		assertEquals(5000, cache.buscar(NUMERO_CONTA).orElseThrow().saldo());
+	}
+
+	@Test
+	void deveAplicarAVersaoDaProjecao() {
+		SaldoCache cache = new SaldoCache(true, 10, Duration.ofMinutes(1), semMetricas);
+
+		cache.atualizar(new LinhaSaldo(1L, NUMERO_CONTA, 5000, 1, 3L));
+		cache.atualizar(conta(9000, 2L));
+
+		assertEquals(5000, cache.buscar(NUMERO_CONTA).orElseThrow().saldo());
+	}
+
+	@Test
+	void naoDeveGuardarNadaQuandoDesabilitado() {
+		SaldoCache cache = new SaldoCache(false, 10, Duration.ofMinutes(1), semMetricas);
+
+		cache.atualizar(conta(5000, 1L));
+
+		assertTrue(cache.buscar(NUMERO_CONTA).isEmpty());
+	}
+
+	private Conta conta(long saldo, Long versao) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", saldo);
+		ReflectionTestUtils.setField(conta, "version", versao);
+		return conta;
+	}
+}
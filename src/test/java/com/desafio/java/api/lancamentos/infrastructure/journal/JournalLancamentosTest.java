@@ -0,0 +1,205 @@
+package com.desafio.java.api.lancamentos.infrastructure.journal;
+
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import com.desafio.java.api.lancamentos.infrastructure.journal.JournalLancamentos.Anexo;
+import com.desafio.java.api.lancamentos.infrastructure.journal.RegistroJournal.Lancamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalLancamentosTest {
+
+	private static final List<Lancamento> CREDITO = List.of(new Lancamento(TipoTransacao.CREDITO, 1_000));
+
+	@TempDir
+	Path diretorio;
+
+	private final UUID banco = UUID.randomUUID();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void deveRelerApenasOsRegistrosPosterioresAoCheckpoint() {
+		try (JournalLancamentos journal = novoJournal(1 << 20)) {
+			journal.abrir(banco, 0, registro -> fail("Journal novo não tem o que reler"));
+			aguardar(journal.anexar("CONTA-A", CREDITO));
+			aguardar(journal.anexar("CONTA-B", List.of(
+					new Lancamento(TipoTransacao.DEBITO, 250),
+					new Lancamento(TipoTransacao.CREDITO, 75))));
+			aguardar(journal.anexar("CONTA-Á", CREDITO));
+			assertEquals(3, journal.sequenciaDuravel());
+		}
+
+		List<RegistroJournal> relidos = new ArrayList<>();
+		try (JournalLancamentos journal = novoJournal(1 << 20)) {
+			assertEquals(3, journal.abrir(banco, 1, relidos::add));
+			assertEquals(4, journal.anexar("CONTA-A", CREDITO).registro().sequencia());
+		}
+
+		assertEquals(2, relidos.size());
+		assertEquals(2, relidos.get(0).sequencia());
+		assertEquals("CONTA-B", relidos.get(0).numeroConta());
+		assertEquals(List.of(new Lancamento(TipoTransacao.DEBITO, 250), new Lancamento(TipoTransacao.CREDITO, 75)),
+				relidos.get(0).lancamentos());
+		assertEquals(-175, relidos.get(0).delta());
+		assertEquals("CONTA-Á", relidos.get(1).numeroConta());
+	}
+
+	@Test
+	void deveDescartarRegistroIncompletoNoFimDoUltimoSegmento() throws IOException {
+		try (JournalLancamentos journal = novoJournal(1 << 20)) {
+			journal.abrir(banco, 0, registro -> { });
+			aguardar(journal.anexar("CONTA-A", CREDITO));
+			aguardar(journal.anexar("CONTA-A", CREDITO));
+		}
+
+		// Simula a queda no meio de um write: o último registro ficou pela metade.
+		Path segmento = segmentos().get(segmentos().size() - 1);
+		long tamanhoValido = Files.size(segmento);
+		Files.write(segmento, new byte[]{0, 0, 0, 40, 0, 0, 0, 0, 0, 0, 0, 3}, StandardOpenOption.APPEND);
+
+		List<RegistroJournal> relidos = new ArrayList<>();
+		try (JournalLancamentos journal = novoJournal(1 << 20)) {
+			assertEquals(2, journal.abrir(banco, 0, relidos::add));
+			assertEquals(tamanhoValido, Files.size(segmento));
+			aguardar(journal.anexar("CONTA-A", CREDITO));
+		}
+		assertEquals(2, relidos.size());
+
+		relidos.clear();
+		try (JournalLancamentos journal = novoJournal(1 << 20)) {
+			assertEquals(3, journal.abrir(banco, 0, relidos::add));
+		}
+		assertEquals(List.of(1L, 2L, 3L), relidos.stream().map(RegistroJournal::sequencia).toList());
+	}
+
+	@Test
+	void deveRecusarCorrupcaoNoMeioDoJournal() throws IOException {
+		try (JournalLancamentos journal = novoJournal(128)) {
+			journal.abrir(banco, 0, registro -> { });
+			for (int i = 0; i < 10; i++) {
+				aguardar(journal.anexar("CONTA-A", CREDITO));
+			}
+		}
+
+		Path primeiro = segmentos().get(0);
+		byte[] conteudo = Files.readAllBytes(primeiro);
+		conteudo[conteudo.length - 6] ^= 0x7F;
+		Files.write(primeiro, conteudo);
+
+		try (JournalLancamentos journal = novoJournal(128)) {
+			assertThrows(IllegalStateException.class, () -> journal.abrir(banco, 0, registro -> { }));
+		}
+	}
+
+	@Test
+	void deveApagarSomenteSegmentosCobertosPeloCheckpoint() throws IOException {
+		try (JournalLancamentos journal = novoJournal(128)) {
+			journal.abrir(banco, 0, registro -> { });
+			for (int i = 0; i < 30; i++) {
+				aguardar(journal.anexar("CONTA-A", CREDITO));
+			}
+			int antes = segmentos().size();
+			assertTrue(antes > 3, "esperava vários segmentos, encontrou " + antes);
+
+			journal.descartarAte(15);
+			assertTrue(segmentos().size() < antes);
+		}
+
+		List<RegistroJournal> relidos = new ArrayList<>();
+		try (JournalLancamentos journal = novoJournal(128)) {
+			assertEquals(30, journal.abrir(banco, 15, relidos::add));
+		}
+		assertEquals(15, relidos.size());
+		assertEquals(16, relidos.get(0).sequencia());
+	}
+
+	@Test
+	void naoDeveReaplicarSegmentosDeOutroBanco() throws IOException {
+		try (JournalLancamentos journal = novoJournal(1 << 20)) {
+			journal.abrir(UUID.randomUUID(), 0, registro -> { });
+			aguardar(journal.anexar("CONTA-A", CREDITO));
+		}
+
+		try (JournalLancamentos journal = novoJournal(1 << 20)) {
+			assertEquals(0, journal.abrir(banco, 0, registro -> fail("Registro de outro banco reaplicado")));
+		}
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			assertTrue(arquivos.anyMatch(arquivo -> arquivo.toString().endsWith(".descartado")));
+		}
+	}
+
+	@Test
+	void escritasConcorrentesDevemTerSequenciaContinuaEDuravel() throws Exception {
+		int threads = 8;
+		int porThread = 250;
+		List<Anexo> anexos = Collections.synchronizedList(new ArrayList<>());
+
+		try (JournalLancamentos journal = novoJournal(64 * 1024)) {
+			journal.abrir(banco, 0, registro -> { });
+
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				List<Future<?>> tarefas = new ArrayList<>();
+				for (int t = 0; t < threads; t++) {
+					String conta = "CONTA-" + t;
+					tarefas.add(executor.submit(() -> {
+						for (int i = 0; i < porThread; i++) {
+							Anexo anexo = journal.anexar(conta, CREDITO);
+							anexos.add(anexo);
+							aguardar(anexo);
+						}
+					}));
+				}
+				for (Future<?> tarefa : tarefas) {
+					tarefa.get(30, TimeUnit.SECONDS);
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+
+			assertEquals((long) threads * porThread, journal.sequenciaDuravel());
+			assertTrue(anexos.stream().map(Anexo::duravel).allMatch(CompletableFuture::isDone));
+			assertTrue(registry.get("lancamentos.journal.fsync.registros").summary().count() > 0);
+		}
+
+		List<RegistroJournal> relidos = new ArrayList<>();
+		try (JournalLancamentos journal = novoJournal(64 * 1024)) {
+			journal.abrir(banco, 0, relidos::add);
+		}
+		assertEquals(threads * porThread, relidos.size());
+		for (int i = 0; i < relidos.size(); i++) {
+			assertEquals(i + 1, relidos.get(i).sequencia());
+		}
+	}
+
+	private JournalLancamentos novoJournal(long tamanhoSegmento) {
+		return new JournalLancamentos(diretorio, tamanhoSegmento, 1_000, registry);
+	}
+
+	private List<Path> segmentos() throws IOException {
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			return arquivos.filter(arquivo -> arquivo.toString().endsWith(".log")).sorted().toList();
+		}
+	}
+
+	private static void aguardar(Anexo anexo) {
+		anexo.duravel().orTimeout(10, TimeUnit.SECONDS).join();
+	}
+}
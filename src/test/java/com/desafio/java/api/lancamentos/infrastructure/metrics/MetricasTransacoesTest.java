@@ -0,0 +1,99 @@
+package com.desafio.java.api.lancamentos.infrastructure.metrics;
+
+import com.desafio.java.api.lancamentos.domain.exception.SaldoInsuficienteException;
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.domain.service.execucao.ExecutorTransacoes;
+import com.desafio.java.api.lancamentos.infrastructure.repository.ContaRepository;
+import com.desafio.java.api.lancamentos.infrastructure.repository.TransacaoRepository;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MetricasTransacoesTest {
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private ExecutorTransacoes executorTransacoes;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	private final String NUMERO_CONTA = "METRICAS-1";
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal("100.00")));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	@Test
+	void deveMedirEtapasTamanhoDoLoteERetry() {
+		long commitsAntes = contagemEtapa("commit");
+		long lotesAntes = registry.get("lancamentos.transacoes.lote").summary().count();
+		double primeiraTentativaAntes = contador("primeira_tentativa");
+
+		// O tamanho do pedido é registrado pelo executor, fora do @Retryable.
+		executorTransacoes.executar(NUMERO_CONTA, List.of(
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.CREDITO).valor("10.00"),
+				new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("5.00")));
+
+		assertTrue(contagemEtapa("carregar_conta") > 0);
+		assertTrue(contagemEtapa("aplicar") > 0);
+		assertTrue(contagemEtapa("gravar_transacoes") > 0);
+		assertEquals(commitsAntes + 1, contagemEtapa("commit"));
+		assertEquals(lotesAntes + 1, registry.get("lancamentos.transacoes.lote").summary().count());
+		assertEquals(primeiraTentativaAntes + 1, contador("primeira_tentativa"));
+	}
+
+	@Test
+	void deveContarSaldoInsuficienteSemRegistrarCommit() {
+		double rejeicoesAntes = registry.get("lancamentos.transacoes.saldo.insuficiente").counter().count();
+		long commitsAntes = contagemEtapa("commit");
+
+		assertThrows(SaldoInsuficienteException.class, () -> contaService.processarTransacoes(NUMERO_CONTA,
+				List.of(new TransacaoRequest().tipo(TransacaoRequest.TipoEnum.DEBITO).valor("500.00"))));
+
+		assertEquals(rejeicoesAntes + 1, registry.get("lancamentos.transacoes.saldo.insuficiente").counter().count());
+		assertEquals(commitsAntes, contagemEtapa("commit"));
+		assertTrue(contador("erro") >= 1);
+	}
+
+	private long contagemEtapa(String etapa) {
+		return registry.get("lancamentos.transacoes.etapa").tag("etapa", etapa).timer().count();
+	}
+
+	private double contador(String resultado) {
+		var contador = registry.find("lancamentos.retry.resultado")
+				.tag("metodo", "processarTransacoes")
+				.tag("resultado", resultado)
+				.counter();
+		return contador == null ? 0 : contador.count();
+	}
+}
@@ -0,0 +1,111 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.model.ItemExtrato;
+import com.desafio.java.api.lancamentos.domain.model.TipoTransacao;
+import com.desafio.java.api.lancamentos.domain.model.Transacao;
+import com.desafio.java.api.lancamentos.domain.service.ExtratoService;
+import com.desafio.java.api.lancamentos.domain.service.PaginaExtrato;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExtratoRepositoryTest {
+
+	@Autowired
+	private ExtratoService extratoService;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final String NUMERO_CONTA = "EXTRATO-1";
+	private final int QUANTIDADE = 1_000;
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		Conta outra = criarConta("EXTRATO-2");
+		Conta conta = criarConta(NUMERO_CONTA);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Transacao> transacoes = new ArrayList<>(QUANTIDADE * 2);
+			for (int i = 0; i < QUANTIDADE; i++) {
+				transacoes.add(new Transacao(conta, TipoTransacao.CREDITO, 100));
+				transacoes.add(new Transacao(outra, TipoTransacao.DEBITO, 100));
+			}
+			transacaoRepository.inserirEmLote(transacoes);
+		});
+	}
+
+	@Test
+	void devePercorrerTodasAsPaginasSemRepetirNemPularLancamentos() {
+		Set<Long> ids = new HashSet<>();
+		ItemExtrato anterior = null;
+		String cursor = null;
+
+		do {
+			PaginaExtrato pagina = extratoService.consultar(NUMERO_CONTA, 70, cursor);
+			for (ItemExtrato item : pagina.itens()) {
+				assertTrue(ids.add(item.id()), "Lançamento repetido: " + item.id());
+				assertEquals(TipoTransacao.CREDITO, item.tipo());
+				if (anterior != null) {
+					int ordem = item.dataHoraProcessamento().compareTo(anterior.dataHoraProcessamento());
+					assertTrue(ordem < 0 || (ordem == 0 && item.id() < anterior.id()), "Fora de ordem: " + item);
+				}
+				anterior = item;
+			}
+			cursor = pagina.proximo() == null ? null : pagina.proximo().codificar();
+		} while (cursor != null);
+
+		assertEquals(QUANTIDADE, ids.size());
+	}
+
+	@Test
+	void consultaPorCursorDeveSerUmaFaixaOrdenadaDoIndiceComposto() {
+		Long contaId = contaRepository.findIdByNumeroConta(NUMERO_CONTA).orElseThrow();
+
+		String plano = jdbcTemplate.queryForObject(
+				"explain select id, tipo, valor, data_hora_processamento from transacao "
+						+ "where conta_id = ? and data_hora_processamento <= current_timestamp "
+						+ "and (data_hora_processamento < current_timestamp or id < 500) "
+						+ "order by conta_id desc, data_hora_processamento desc, id desc limit 51",
+				String.class, contaId);
+
+		assertTrue(plano.toUpperCase().contains("IDX_TRANSACAO_CONTA_DATA_ID"), plano);
+		assertTrue(plano.contains("index sorted"), "A ordenação deveria vir do índice: " + plano);
+	}
+
+	private Conta criarConta(String numeroConta) {
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", numeroConta);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal("0.00")));
+		return contaRepository.saveAndFlush(conta);
+	}
+}
@@ -0,0 +1,143 @@
+package com.desafio.java.api.lancamentos.infrastructure.repository;
+
+import com.desafio.java.api.lancamentos.domain.model.Centavos;
+import com.desafio.java.api.lancamentos.domain.model.Conta;
+import com.desafio.java.api.lancamentos.domain.service.ContaService;
+import com.desafio.java.api.lancamentos.model.TransacaoRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Consolidador do resumo diário e publicador do outbox fora do caminho: o contador vê todos
+// os statements do DataSource.
+@SpringBootTest(properties = {"lancamentos.resumos.intervalo=PT1H", "lancamentos.outbox.intervalo=PT1H"})
+@ActiveProfiles("test")
+class TransacaoRepositoryLoteTest {
+
+	private static final ContadorDeStatements CONTADOR = new ContadorDeStatements();
+
+	@Autowired
+	private ContaService contaService;
+
+	@Autowired
+	private ContaRepository contaRepository;
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+
+	private final String NUMERO_CONTA = "LOTE-1";
+	private final int QUANTIDADE_ITENS = 500;
+	private final int TAMANHO_LOTE = 50;
+
+	@BeforeEach
+	void setUp() {
+		transacaoRepository.deleteAll();
+		contaRepository.deleteAll();
+
+		Conta conta = new Conta();
+		ReflectionTestUtils.setField(conta, "numeroConta", NUMERO_CONTA);
+		ReflectionTestUtils.setField(conta, "saldo", Centavos.de(new BigDecimal("0.00")));
+		contaRepository.saveAndFlush(conta);
+	}
+
+	@Test
+	void deveGravarRequisicaoGrandeComPoucosStatementsEmLote() {
+		List<TransacaoRequest> requests = new ArrayList<>(QUANTIDADE_ITENS);
+		for (int i = 0; i < QUANTIDADE_ITENS; i++) {
+			requests.add(new TransacaoRequest()
+					.tipo(TransacaoRequest.TipoEnum.CREDITO)
+					.valor("1.00"));
+		}
+
+		CONTADOR.zerar();
+		contaService.processarTransacoes(NUMERO_CONTA, requests);
+
+		int lotesEsperados = QUANTIDADE_ITENS / TAMANHO_LOTE;
+
+		assertEquals(lotesEsperados, CONTADOR.execucoesInsert.get(),
+				"Os INSERTs de transacao deveriam ser enviados em lotes JDBC.");
+		assertEquals(QUANTIDADE_ITENS, CONTADOR.linhasInsert.get());
+		assertTrue(CONTADOR.execucoesSequence.get() <= lotesEsperados,
+				"Os ids deveriam vir do pool da sequence, e não de uma chamada por linha.");
+		// 1 select da conta + sequence + inserts + 1 update da conta
+		// + sequence e insert do resumo pendente (uma linha por conta, dia e tipo)
+		// + sequence e insert do evento de saldo (outbox)
+		assertTrue(CONTADOR.execucoes.get() <= 6 + 2 * lotesEsperados,
+				"Statements executados: " + CONTADOR.execucoes.get());
+
+		assertEquals(QUANTIDADE_ITENS, transacaoRepository.count());
+		assertEquals(0, new BigDecimal("500.00").compareTo(
+				contaRepository.findByNumeroConta(NUMERO_CONTA).orElseThrow().getSaldo()));
+	}
+
+	@TestConfiguration
+	static class ProxyDataSourceConfig {
+
+		@Bean
+		static BeanPostProcessor dataSourceComContador() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource dataSource) {
+						return ProxyDataSourceBuilder.create(dataSource)
+								.listener(CONTADOR)
+								.build();
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
+	static class ContadorDeStatements implements QueryExecutionListener {
+
+		final AtomicInteger execucoes = new AtomicInteger();
+		final AtomicInteger execucoesInsert = new AtomicInteger();
+		final AtomicInteger execucoesSequence = new AtomicInteger();
+		final AtomicInteger linhasInsert = new AtomicInteger();
+
+		void zerar() {
+			execucoes.set(0);
+			execucoesInsert.set(0);
+			execucoesSequence.set(0);
+			linhasInsert.set(0);
+		}
+
+		@Override
+		public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		}
+
+		@Override
+		public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			execucoes.incrementAndGet();
+
+			String sql = queryInfoList.get(0).getQuery().toLowerCase(Locale.ROOT);
+			if (sql.startsWith("insert into transacao")) {
+				execucoesInsert.incrementAndGet();
+				linhasInsert.addAndGet(execInfo.isBatch() ? execInfo.getBatchSize() : 1);
+			} else if (sql.contains("transacao_seq")) {
+				execucoesSequence.incrementAndGet();
+			}
+		}
+	}
+}